@@ -9,3 +9,12 @@
 -- -------------------------------------------------------------------------------------------------
 
 \c mosip_idmap sysadmin
+
+CREATE TABLE idmap.uin_status(
+	uin_hash character varying(128) NOT NULL,
+	status_code character varying(32) NOT NULL,
+	status_dtimes timestamp,
+	upd_by character varying(256),
+	upd_dtimes timestamp,
+	CONSTRAINT pk_uinsts PRIMARY KEY (uin_hash)
+);
@@ -8,4 +8,6 @@
 -- Modified Date        Modified By         Comments / Remarks
 -- -------------------------------------------------------------------------------------------------
 
-\c mosip_idmap sysadmin
\ No newline at end of file
+\c mosip_idmap sysadmin
+
+DROP TABLE IF EXISTS idmap.uin_status;
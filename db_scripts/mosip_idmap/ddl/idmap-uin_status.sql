@@ -0,0 +1,37 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name: mosip_idmap
+-- Table Name 	: idmap.uin_status
+-- Purpose    	: UIN Status: Stores the status of uin of an individual, as published by the identity service, to validate the uin for vid operations.
+--           
+-- Create By   	: Manoj SP
+-- Created Date	: Oct-2026
+-- 
+-- Modified Date        Modified By         Comments / Remarks
+-- ------------------------------------------------------------------------------------------
+-- 
+-- ------------------------------------------------------------------------------------------
+
+-- object: idmap.uin_status | type: TABLE --
+-- DROP TABLE IF EXISTS idmap.uin_status CASCADE;
+CREATE TABLE idmap.uin_status(
+	uin_hash character varying(128) NOT NULL,
+	status_code character varying(32) NOT NULL,
+	status_dtimes timestamp,
+	upd_by character varying(256),
+	upd_dtimes timestamp,
+	CONSTRAINT pk_uinsts PRIMARY KEY (uin_hash)
+
+);
+-- ddl-end --
+COMMENT ON TABLE idmap.uin_status IS 'UIN Status: Stores the status of uin of an individual, as published by the identity service, to validate the uin for vid operations.';
+-- ddl-end --
+COMMENT ON COLUMN idmap.uin_status.uin_hash IS 'UIN Hash: Hash value of the uin, as stored with its vids.';
+-- ddl-end --
+COMMENT ON COLUMN idmap.uin_status.status_code IS 'Status Code: Current status of the uin.';
+-- ddl-end --
+COMMENT ON COLUMN idmap.uin_status.status_dtimes IS 'Status DateTimestamp : Date and Timestamp when the status of the uin is set in the identity service';
+-- ddl-end --
+COMMENT ON COLUMN idmap.uin_status.upd_by IS 'Updated By : ID or name of the user who update the record with new values';
+-- ddl-end --
+COMMENT ON COLUMN idmap.uin_status.upd_dtimes IS 'Updated DateTimestamp : Date and Timestamp when any of the fields in the record is updated with new values.';
+-- ddl-end --
@@ -5,4 +5,5 @@
 \ir ddl/idmap-vid_seq.sql
 \ir ddl/idmap-uin_hash_salt.sql
 \ir ddl/idmap-uin_encrypt_salt.sql
+\ir ddl/idmap-uin_status.sql
 
@@ -1,11 +1,13 @@
 package io.mosip.credential.request.generator.util;
 import java.io.IOException;
+import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import javax.net.ssl.SSLContext;
 
@@ -36,6 +38,8 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import com.google.gson.Gson;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.mosip.credential.request.generator.constants.ApiName;
 
 import io.mosip.credential.request.generator.exception.ApiNotAccessibleException;
@@ -43,6 +47,7 @@ import io.mosip.idrepository.core.dto.Metadata;
 import io.mosip.idrepository.core.dto.PasswordRequest;
 import io.mosip.idrepository.core.dto.SecretKeyRequest;
 import io.mosip.idrepository.core.dto.TokenRequestDTO;
+import io.mosip.idrepository.core.util.MetricsUtil;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.core.util.StringUtils;
 import io.mosip.kernel.core.util.TokenHandlerUtil;
@@ -58,6 +63,10 @@ public class RestUtil {
     @Autowired
     private Environment environment;
 
+	/** The meter registry. */
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
 	/** The Constant AUTHORIZATION. */
     private static final String AUTHORIZATION = "Authorization=";
 
@@ -106,8 +115,10 @@ public class RestUtil {
 
         try {
             restTemplate = getRestTemplate();
-				result = (T) restTemplate.postForObject(builder.toUriString(), setRequestHeader(requestType, mediaType),
-						responseClass);
+				String uri = builder.toUriString();
+				HttpEntity<Object> request = setRequestHeader(requestType, mediaType);
+				result = (T) timed(apiName.name(), HttpMethod.POST,
+						() -> restTemplate.postForObject(uri, request, responseClass));
 
         } catch (Exception e) {
             throw new Exception(e);
@@ -162,9 +173,10 @@ public class RestUtil {
 
         try {
             restTemplate = getRestTemplate();
-				result = (T) restTemplate
-						.exchange(uriComponents.toUri(), HttpMethod.GET, setRequestHeader(null, null), responseType)
-                    .getBody();
+				URI uri = uriComponents.toUri();
+				HttpEntity<Object> request = setRequestHeader(null, null);
+				result = (T) timed(apiName.name(), HttpMethod.GET,
+						() -> restTemplate.exchange(uri, HttpMethod.GET, request, responseType).getBody());
         } catch (Exception e) {
             throw new Exception(e);
         }
@@ -304,4 +316,26 @@ public class RestUtil {
 		request.setUserName(environment.getProperty("credential.request.token.request.username"));
         return request;
     }
+
+	/**
+	 * Makes the call, recording its time against the api.
+	 *
+	 * @param         <T> the generic type
+	 * @param apiName the api name
+	 * @param method  the method
+	 * @param call    the call
+	 * @return the response
+	 * @throws Exception the exception
+	 */
+	private <T> T timed(String apiName, HttpMethod method, Callable<T> call) throws Exception {
+		Timer.Sample sample = MetricsUtil.startTimer(meterRegistry);
+		try {
+			T response = call.call();
+			MetricsUtil.recordRestCall(meterRegistry, sample, apiName, method, null);
+			return response;
+		} catch (Exception e) {
+			MetricsUtil.recordRestCall(meterRegistry, sample, apiName, method, e);
+			throw e;
+		}
+	}
 }
@@ -90,7 +90,7 @@ public class DataShareUtil {
 			dataShareUrl = new URL(protocol, domain, env.getProperty(ApiName.CREATEDATASHARE.name()));
 			url = dataShareUrl.toString();
 			url = url.replaceAll("[\\[\\]]", "");
-			String responseString = restUtil.postApi(url, pathsegments, "", "", MediaType.MULTIPART_FORM_DATA,
+			String responseString = restUtil.postApi(ApiName.CREATEDATASHARE, url, pathsegments, "", "", MediaType.MULTIPART_FORM_DATA,
 					requestEntity, String.class);
 		DataShareResponseDto responseObject = mapper.readValue(responseString, DataShareResponseDto.class);
 
@@ -9,6 +9,7 @@ import java.security.cert.X509Certificate;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import javax.net.ssl.SSLContext;
 
@@ -38,11 +39,14 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import com.google.gson.Gson;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.mosip.credentialstore.constants.ApiName;
 import io.mosip.idrepository.core.dto.Metadata;
 import io.mosip.idrepository.core.dto.PasswordRequest;
 import io.mosip.idrepository.core.dto.SecretKeyRequest;
 import io.mosip.idrepository.core.dto.TokenRequestDTO;
+import io.mosip.idrepository.core.util.MetricsUtil;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.core.util.StringUtils;
 import io.mosip.kernel.core.util.TokenHandlerUtil;
@@ -52,6 +56,9 @@ public class RestUtil {
     @Autowired
     private Environment environment;
 
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
     private static final String AUTHORIZATION = "Authorization=";
 
 	@SuppressWarnings("unchecked")
@@ -85,7 +92,10 @@ public class RestUtil {
       
         try {
             restTemplate = getRestTemplate();
-            result = (T) restTemplate.postForObject(builder.toUriString(), setRequestHeader(requestType, mediaType), responseClass);
+            String uri = builder.toUriString();
+            HttpEntity<Object> request = setRequestHeader(requestType, mediaType);
+            result = (T) timed(apiName.name(), HttpMethod.POST,
+                    () -> restTemplate.postForObject(uri, request, responseClass));
 
         } catch (Exception e) {
              throw new Exception(e);
@@ -128,8 +138,10 @@ public class RestUtil {
 
         try {
             restTemplate = getRestTemplate();
-            result = (T) restTemplate.exchange(uriComponents.toUri(), HttpMethod.GET, setRequestHeader(null, null), responseType)
-                    .getBody();
+            URI uri = uriComponents.toUri();
+            HttpEntity<Object> request = setRequestHeader(null, null);
+            result = (T) timed(apiName.name(), HttpMethod.GET,
+                    () -> restTemplate.exchange(uri, HttpMethod.GET, request, responseType).getBody());
         } catch (Exception e) {
             throw new Exception(e);
         }
@@ -156,8 +168,9 @@ public class RestUtil {
 
         try {
             restTemplate = getRestTemplate();
-            result = (T) restTemplate.exchange(urlWithPath, HttpMethod.GET, setRequestHeader(null, null), responseType)
-                    .getBody();
+            HttpEntity<Object> request = setRequestHeader(null, null);
+            result = (T) timed(apiName.name(), HttpMethod.GET,
+                    () -> restTemplate.exchange(urlWithPath, HttpMethod.GET, request, responseType).getBody());
         } catch (Exception e) {
         	throw new Exception(e);
         }
@@ -266,8 +279,8 @@ public class RestUtil {
     }
 
 	@SuppressWarnings("unchecked")
-	public <T> T postApi(String url, List<String> pathsegments, String queryParamName, String queryParamValue,
-			MediaType mediaType, Object requestType, Class<?> responseClass) throws Exception {
+	public <T> T postApi(ApiName apiName, String url, List<String> pathsegments, String queryParamName,
+			String queryParamValue, MediaType mediaType, Object requestType, Class<?> responseClass) throws Exception {
 		T result = null;
 
 		UriComponentsBuilder builder = null;
@@ -296,8 +309,10 @@ public class RestUtil {
 
 			try {
 				restTemplate = getRestTemplate();
-				result = (T) restTemplate.postForObject(builder.toUriString(), setRequestHeader(requestType, mediaType),
-						responseClass);
+				String uri = builder.toUriString();
+				HttpEntity<Object> request = setRequestHeader(requestType, mediaType);
+				result = (T) timed(apiName.name(), HttpMethod.POST,
+						() -> restTemplate.postForObject(uri, request, responseClass));
 
 			} catch (Exception e) {
 				throw new Exception(e);
@@ -305,4 +320,26 @@ public class RestUtil {
 		}
 		return result;
 	}
+
+	/**
+	 * Makes the call, recording its time against the service.
+	 *
+	 * @param         <T> the generic type
+	 * @param service the service
+	 * @param method  the method
+	 * @param call    the call
+	 * @return the response
+	 * @throws Exception the exception
+	 */
+	private <T> T timed(String service, HttpMethod method, Callable<T> call) throws Exception {
+		Timer.Sample sample = MetricsUtil.startTimer(meterRegistry);
+		try {
+			T response = call.call();
+			MetricsUtil.recordRestCall(meterRegistry, sample, service, method, null);
+			return response;
+		} catch (Exception e) {
+			MetricsUtil.recordRestCall(meterRegistry, sample, service, method, e);
+			throw e;
+		}
+	}
 }
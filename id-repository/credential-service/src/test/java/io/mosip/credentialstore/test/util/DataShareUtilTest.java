@@ -71,8 +71,8 @@ public class DataShareUtilTest {
 		
 		Mockito.when(objectMapper.readValue(dataShareResponse, DataShareResponseDto.class)).thenReturn(dataShareResponseDto);
 
-		Mockito.when(restUtil.postApi(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(), Mockito.any())).thenReturn(dataShareResponse);
+		Mockito.when(restUtil.postApi(Mockito.any(), Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(dataShareResponse);
 	}
 	@Test
 	public void dataShareSuccessTest() throws IOException, ApiNotAccessibleException, SignatureException, DataShareException {
@@ -117,8 +117,8 @@ public class DataShareUtilTest {
 		Exception e=new Exception(httpClientErrorException);
 		String test = "testdata";
 		byte[] sample = test.getBytes();
-		Mockito.when(restUtil.postApi(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(), Mockito.any())).thenThrow(e);
+		Mockito.when(restUtil.postApi(Mockito.any(), Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any(), Mockito.any())).thenThrow(e);
 		dataShareUtil.getDataShare(sample, "policyId", "partnerId", "datashare-service");
 	}
 	@SuppressWarnings("unchecked")
@@ -129,8 +129,8 @@ public class DataShareUtilTest {
 		Exception e=new Exception(httpServerErrorException);
 		String test = "testdata";
 		byte[] sample = test.getBytes();
-		Mockito.when(restUtil.postApi(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(), Mockito.any())).thenThrow(e);
+		Mockito.when(restUtil.postApi(Mockito.any(), Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any(), Mockito.any())).thenThrow(e);
 		dataShareUtil.getDataShare(sample, "policyId", "partnerId", "datashare-service");
 	}
 }
@@ -0,0 +1,98 @@
+package io.mosip.idrepository.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.io.IOUtils;
+import org.mockito.Mockito;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The Class BenchmarkUtil - wires the components under benchmark without a
+ * Spring context, the same way the unit tests of the services do.
+ */
+public final class BenchmarkUtil {
+
+	/**
+	 * Instantiates a new benchmark util.
+	 */
+	private BenchmarkUtil() {
+	}
+
+	/**
+	 * Reads the fixture from the classpath.
+	 *
+	 * @param name the name
+	 * @return the bytes
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public static byte[] readFixture(String name) throws IOException {
+		try (InputStream fixture = BenchmarkUtil.class.getResourceAsStream("/" + name)) {
+			if (Objects.isNull(fixture)) {
+				throw new IOException("fixture not found : " + name);
+			}
+			return IOUtils.toByteArray(fixture);
+		}
+	}
+
+	/**
+	 * Sets the field of the target, declared by the class of the target or any
+	 * of its super classes.
+	 *
+	 * @param target    the target
+	 * @param fieldName the field name
+	 * @param value     the value
+	 */
+	public static void inject(Object target, String fieldName, Object value) {
+		inject(target, target.getClass(), fieldName, value);
+	}
+
+	/**
+	 * Sets the field of the target declared by the given class. Used where a
+	 * sub class hides a field of its super class with the same name.
+	 *
+	 * @param target         the target
+	 * @param declaringClass the class declaring the field
+	 * @param fieldName      the field name
+	 * @param value          the value
+	 */
+	public static void inject(Object target, Class<?> declaringClass, String fieldName, Object value) {
+		Field field = ReflectionUtils.findField(declaringClass, fieldName);
+		if (Objects.isNull(field)) {
+			throw new IllegalArgumentException(declaringClass.getSimpleName() + " has no field " + fieldName);
+		}
+		ReflectionUtils.makeAccessible(field);
+		ReflectionUtils.setField(field, target, value);
+	}
+
+	/**
+	 * Builds an environment with the given properties over the system
+	 * properties.
+	 *
+	 * @param properties the properties
+	 * @return the environment
+	 */
+	public static StandardEnvironment environment(Map<String, Object> properties) {
+		StandardEnvironment env = new StandardEnvironment();
+		env.getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+		return env;
+	}
+
+	/**
+	 * Creates a stub of a collaborator which is not part of the benchmark.
+	 * Invocations are not recorded, so the stub does not grow over the
+	 * millions of calls of a benchmark.
+	 *
+	 * @param <T>  the generic type
+	 * @param type the type
+	 * @return the stub
+	 */
+	public static <T> T stub(Class<T> type) {
+		return Mockito.mock(type, Mockito.withSettings().stubOnly());
+	}
+}
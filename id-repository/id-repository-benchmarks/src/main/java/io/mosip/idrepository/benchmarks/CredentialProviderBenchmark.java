@@ -0,0 +1,262 @@
+package io.mosip.idrepository.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.mvel2.MVEL;
+import org.mvel2.integration.VariableResolverFactory;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.Environment;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.credentialstore.constants.CredentialConstants;
+import io.mosip.credentialstore.dto.AllowedKycDto;
+import io.mosip.credentialstore.dto.DataProviderResponse;
+import io.mosip.credentialstore.dto.EncryptZkResponseDto;
+import io.mosip.credentialstore.dto.PartnerCredentialTypePolicyDto;
+import io.mosip.credentialstore.dto.PolicyAttributesDto;
+import io.mosip.credentialstore.dto.ZkDataAttribute;
+import io.mosip.credentialstore.exception.CredentialFormatterException;
+import io.mosip.credentialstore.provider.CredentialProvider;
+import io.mosip.credentialstore.provider.impl.IdAuthProvider;
+import io.mosip.credentialstore.util.EncryptionUtil;
+import io.mosip.credentialstore.util.Utilities;
+import io.mosip.idrepository.core.dto.CredentialServiceRequestDto;
+import io.mosip.idrepository.core.dto.DocumentsDTO;
+import io.mosip.idrepository.core.dto.IdResponseDTO;
+import io.mosip.idrepository.core.dto.ResponseDTO;
+import io.mosip.kernel.cbeffutil.impl.CbeffImpl;
+import io.mosip.kernel.core.cbeffutil.spi.CbeffUtil;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+/**
+ * The Class CredentialProviderBenchmark - benchmarks preparing the attributes
+ * shared by a credential, including the filtering of the CBEFF of the
+ * individual by the biometric types allowed by the partner policy, and
+ * formatting them by {@link CredentialProvider} and {@link IdAuthProvider}.
+ * Encryption is done by the key manager and is replaced by base64 encoding.
+ * <p>
+ * The CBEFF schema is loaded the same way the services load it, so
+ * {@code mosip.kernel.xsdstorage-uri} and {@code mosip.kernel.xsdfile} are to be
+ * passed as system properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CredentialProviderBenchmark {
+
+	/** The size of the BDB of each biometric in the CBEFF. */
+	@Param({ "10240", "102400" })
+	private int bdbSize;
+
+	/** The context holding the CBEFF util. */
+	private AnnotationConfigApplicationContext context;
+
+	/** The credential provider. */
+	private CredentialProvider credentialProvider;
+
+	/** The id auth provider. */
+	private IdAuthProvider idAuthProvider;
+
+	/** The identity retrieved from id repository. */
+	private IdResponseDTO idResponse;
+
+	/** The policy of the partner. */
+	private PartnerCredentialTypePolicyDto policy;
+
+	/** The policy sharing only the biometrics. */
+	private PartnerCredentialTypePolicyDto biometricPolicy;
+
+	/** The credential request. */
+	private CredentialServiceRequestDto credentialRequest;
+
+	/** The attributes shared as per the policy. */
+	private Map<AllowedKycDto, Object> sharableAttributes;
+
+	/**
+	 * Setup.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Setup
+	public void setup() throws Exception {
+		ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(CredentialProvider.DATETIME_PATTERN, "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+		properties.put("mosip.credential.service.credential.schema", "https://schema.mosip.io/credential.json");
+		properties.put("mosip.credential.service.format.id", "https://credential.mosip.io/");
+		properties.put("mosip.credential.service.format.issuer", "https://mosip.io/issuers/");
+		Environment env = BenchmarkUtil.environment(properties);
+		context = new AnnotationConfigApplicationContext(CbeffImpl.class);
+		CbeffUtil cbeffUtil = context.getBean(CbeffUtil.class);
+		VariableResolverFactory functionFactory = new MapVariableResolverFactory();
+		MVEL.eval(new String(BenchmarkUtil.readFixture("credential-functions.mvel"), StandardCharsets.UTF_8),
+				functionFactory);
+		EncryptionUtil encryptionUtil = new LocalEncryptionUtil();
+		Utilities utilities = new Utilities();
+
+		credentialProvider = new CredentialProvider();
+		idAuthProvider = new IdAuthProvider();
+		for (CredentialProvider provider : new CredentialProvider[] { credentialProvider, idAuthProvider }) {
+			BenchmarkUtil.inject(provider, CredentialProvider.class, "encryptionUtil", encryptionUtil);
+			BenchmarkUtil.inject(provider, CredentialProvider.class, "utilities", utilities);
+			BenchmarkUtil.inject(provider, CredentialProvider.class, "env", env);
+			BenchmarkUtil.inject(provider, CredentialProvider.class, "mapper", mapper);
+			BenchmarkUtil.inject(provider, CredentialProvider.class, "cbeffutil", cbeffUtil);
+			BenchmarkUtil.inject(provider, CredentialProvider.class, "functionFactory", functionFactory);
+			BenchmarkUtil.inject(provider, CredentialProvider.class, "primaryLang", "eng");
+			BenchmarkUtil.inject(provider, CredentialProvider.class, "dobFormat", "yyyy/MM/dd");
+		}
+		BenchmarkUtil.inject(idAuthProvider, IdAuthProvider.class, "encryptionUtil", encryptionUtil);
+		BenchmarkUtil.inject(idAuthProvider, IdAuthProvider.class, "utilities", utilities);
+		BenchmarkUtil.inject(idAuthProvider, IdAuthProvider.class, "env", env);
+		BenchmarkUtil.inject(idAuthProvider, IdAuthProvider.class, "mapper", mapper);
+
+		byte[] bdb = new byte[bdbSize];
+		new Random(bdbSize).nextBytes(bdb);
+		String cbeff = new String(BenchmarkUtil.readFixture("cbeff.xml"), StandardCharsets.UTF_8)
+				.replace("${bdb}", CryptoUtil.encodeBase64(bdb));
+		ResponseDTO response = new ResponseDTO();
+		response.setIdentity(mapper.readValue(BenchmarkUtil.readFixture("identity.json"), Map.class));
+		response.setDocuments(Collections.singletonList(new DocumentsDTO("individualBiometrics",
+				CryptoUtil.encodeBase64(cbeff.getBytes(StandardCharsets.UTF_8)))));
+		idResponse = new IdResponseDTO();
+		idResponse.setResponse(response);
+
+		policy = mapper.readValue(BenchmarkUtil.readFixture("credential-policy.json"),
+				PartnerCredentialTypePolicyDto.class);
+		biometricPolicy = mapper.readValue(BenchmarkUtil.readFixture("credential-policy.json"),
+				PartnerCredentialTypePolicyDto.class);
+		PolicyAttributesDto biometricAttributes = biometricPolicy.getPolicies();
+		biometricAttributes.setShareableAttributes(biometricAttributes.getShareableAttributes().stream()
+				.filter(attribute -> CredentialConstants.CBEFF.equalsIgnoreCase(attribute.getGroup()))
+				.collect(Collectors.toList()));
+
+		credentialRequest = new CredentialServiceRequestDto();
+		credentialRequest.setId("2396584751");
+		credentialRequest.setCredentialType("auth");
+		credentialRequest.setIssuer("mpartner-default-auth");
+		credentialRequest.setEncryptionKey("");
+		credentialRequest.setAdditionalData(new HashMap<>());
+		sharableAttributes = credentialProvider.prepareSharableAttributes(idResponse, policy, credentialRequest);
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	/**
+	 * Filters the CBEFF of the individual by the biometrics allowed by the
+	 * policy.
+	 *
+	 * @return the filtered biometrics
+	 * @throws CredentialFormatterException the credential formatter exception
+	 */
+	@Benchmark
+	public Map<AllowedKycDto, Object> filterBiometrics() throws CredentialFormatterException {
+		return credentialProvider.prepareSharableAttributes(idResponse, biometricPolicy, credentialRequest);
+	}
+
+	/**
+	 * Prepares all the attributes shared as per the policy.
+	 *
+	 * @return the sharable attributes
+	 * @throws CredentialFormatterException the credential formatter exception
+	 */
+	@Benchmark
+	public Map<AllowedKycDto, Object> prepareSharableAttributes() throws CredentialFormatterException {
+		return credentialProvider.prepareSharableAttributes(idResponse, policy, credentialRequest);
+	}
+
+	/**
+	 * Formats the credential with the default provider.
+	 *
+	 * @return the data provider response
+	 * @throws CredentialFormatterException the credential formatter exception
+	 */
+	@Benchmark
+	public DataProviderResponse formatCredential() throws CredentialFormatterException {
+		return credentialProvider.getFormattedCredentialData(credentialRequest, sharableAttributes);
+	}
+
+	/**
+	 * Formats the credential with the provider of the auth credentials.
+	 *
+	 * @return the data provider response
+	 * @throws CredentialFormatterException the credential formatter exception
+	 */
+	@Benchmark
+	public DataProviderResponse formatIdAuthCredential() throws CredentialFormatterException {
+		return idAuthProvider.getFormattedCredentialData(credentialRequest, sharableAttributes);
+	}
+
+	/**
+	 * Encryption util which encodes the data instead of calling the key manager.
+	 */
+	private static class LocalEncryptionUtil extends EncryptionUtil {
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see
+		 * io.mosip.credentialstore.util.EncryptionUtil#encryptDataWithPin(java.lang.
+		 * String, java.lang.String)
+		 */
+		@Override
+		public String encryptDataWithPin(String data, String pin) {
+			return CryptoUtil.encodeBase64(data.getBytes(StandardCharsets.UTF_8));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see
+		 * io.mosip.credentialstore.util.EncryptionUtil#encryptDataWithZK(java.lang.
+		 * String, java.util.List)
+		 */
+		@Override
+		public EncryptZkResponseDto encryptDataWithZK(String id, List<ZkDataAttribute> zkDataAttributes) {
+			List<ZkDataAttribute> encryptedAttributes = new ArrayList<>(zkDataAttributes.size());
+			for (ZkDataAttribute attribute : zkDataAttributes) {
+				ZkDataAttribute encryptedAttribute = new ZkDataAttribute();
+				encryptedAttribute.setIdentifier(attribute.getIdentifier());
+				encryptedAttribute.setValue(encryptDataWithPin(attribute.getValue(), id));
+				encryptedAttributes.add(encryptedAttribute);
+			}
+			EncryptZkResponseDto response = new EncryptZkResponseDto();
+			response.setZkDataAttributes(encryptedAttributes);
+			response.setEncryptedRandomKey("");
+			response.setRankomKeyIndex("0");
+			return response;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package io.mosip.idrepository.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.core.util.TokenIDGenerator;
+
+/**
+ * The Class HashBenchmark - benchmarks the hashes computed for every identity
+ * request: the salted hash of the UIN used to look up the identity, the hash of
+ * the identity data and the token ID generated for a partner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashBenchmark {
+
+	/** The uin. */
+	private static final String UIN = "2396584751";
+
+	/** The security manager. */
+	private IdRepoSecurityManager securityManager;
+
+	/** The token ID generator. */
+	private TokenIDGenerator tokenIDGenerator;
+
+	/** The uin bytes. */
+	private byte[] uin;
+
+	/** The salt of the uin, as stored in the salt table. */
+	private byte[] salt;
+
+	/** The identity data. */
+	private byte[] identity;
+
+	/**
+	 * Setup.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Setup
+	public void setup() throws Exception {
+		securityManager = new IdRepoSecurityManager();
+		tokenIDGenerator = new TokenIDGenerator();
+		BenchmarkUtil.inject(tokenIDGenerator, "uinSalt", "zHuDEAbmbxiUbUShgy6pwUhKh9DE0EZn9kQDKPPKbWscGajMwf");
+		BenchmarkUtil.inject(tokenIDGenerator, "partnerCodeSalt", "yS8w5Wb6vhIKdf1msi4LYTJks7mqkbmITk2O63Iq8h0bkRlD0d");
+		BenchmarkUtil.inject(tokenIDGenerator, "tokenIDLength", 36);
+		uin = UIN.getBytes(StandardCharsets.UTF_8);
+		salt = "bDL4eV0kYzBtdkiFdaWmHA".getBytes(StandardCharsets.UTF_8);
+		identity = BenchmarkUtil.readFixture("identity.json");
+	}
+
+	/**
+	 * Hashes the uin with its salt.
+	 *
+	 * @return the hash
+	 */
+	@Benchmark
+	public String hashUinWithSalt() {
+		return securityManager.hashwithSalt(uin, salt);
+	}
+
+	/**
+	 * Hashes the identity data.
+	 *
+	 * @return the hash
+	 */
+	@Benchmark
+	public String hashIdentity() {
+		return securityManager.hash(identity);
+	}
+
+	/**
+	 * Generates the token ID of the uin for a partner.
+	 *
+	 * @return the token ID
+	 */
+	@Benchmark
+	public String generateTokenID() {
+		return tokenIDGenerator.generateTokenID(UIN, "mpartner-default-auth");
+	}
+}
@@ -0,0 +1,121 @@
+package io.mosip.idrepository.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.idrepository.core.constant.IdRepoConstants;
+import io.mosip.idrepository.core.dto.DocumentsDTO;
+import io.mosip.idrepository.core.dto.IdRequestDTO;
+import io.mosip.idrepository.core.dto.RequestDTO;
+import io.mosip.idrepository.core.validator.BaseIdRepoValidator;
+import io.mosip.idrepository.identity.validator.IdRequestValidator;
+import io.mosip.kernel.core.idobjectvalidator.spi.IdObjectValidator;
+import io.mosip.kernel.core.idvalidator.spi.RidValidator;
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.kernel.core.util.DateUtils;
+
+/**
+ * The Class IdRequestValidatorBenchmark - benchmarks the validation of create
+ * and update identity requests by {@link IdRequestValidator}. The ID schema
+ * validation and the RID validation are done by kernel libraries and are
+ * stubbed out, the benchmark measures the request handling around them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdRequestValidatorBenchmark {
+
+	/** The id of the request. */
+	@Param({ "mosip.id.create", "mosip.id.update" })
+	private String id;
+
+	/** The validator. */
+	private IdRequestValidator validator;
+
+	/** The request. */
+	private IdRequestDTO request;
+
+	/**
+	 * Setup.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(IdRepoConstants.VERSION_PATTERN, "^v\\d+(\\.\\d+)?$");
+		properties.put(IdRepoConstants.DATETIME_ADJUSTMENT, "2");
+		Map<String, String> ids = new HashMap<>();
+		ids.put("create", "mosip.id.create");
+		ids.put("update", "mosip.id.update");
+
+		validator = new IdRequestValidator();
+		BenchmarkUtil.inject(validator, BaseIdRepoValidator.class, "env", BenchmarkUtil.environment(properties));
+		BenchmarkUtil.inject(validator, BaseIdRepoValidator.class, "id", ids);
+		BenchmarkUtil.inject(validator, "mapper", mapper);
+		BenchmarkUtil.inject(validator, "uinStatus", Arrays.asList("ACTIVATED", "BLOCKED", "DEACTIVATED"));
+		BenchmarkUtil.inject(validator, "newRegistrationFields", new ArrayList<>());
+		BenchmarkUtil.inject(validator, "updateUinFields", new ArrayList<>());
+		BenchmarkUtil.inject(validator, "idObjectValidator", BenchmarkUtil.stub(IdObjectValidator.class));
+		RidValidator<String> ridValidator = BenchmarkUtil.stub(RidValidator.class);
+		Mockito.when(ridValidator.validateId(Mockito.anyString())).thenReturn(true);
+		BenchmarkUtil.inject(validator, "ridValidator", ridValidator);
+		Map<String, String> schemaMap = new HashMap<>();
+		schemaMap.put("1.0", "{}");
+		BenchmarkUtil.inject(validator, "schemaMap", schemaMap);
+
+		RequestDTO requestDTO = new RequestDTO();
+		requestDTO.setRegistrationId("10001100010002720200805120102");
+		requestDTO.setStatus("ACTIVATED");
+		requestDTO.setIdentity(mapper.readValue(BenchmarkUtil.readFixture("identity.json"), Map.class));
+		List<DocumentsDTO> documents = new ArrayList<>();
+		documents.add(new DocumentsDTO("individualBiometrics",
+				CryptoUtil.encodeBase64(BenchmarkUtil.readFixture("cbeff.xml"))));
+		documents.add(new DocumentsDTO("proofOfAddress", CryptoUtil.encodeBase64(new byte[64 * 1024])));
+		documents.add(new DocumentsDTO("proofOfIdentity", CryptoUtil.encodeBase64(new byte[64 * 1024])));
+		requestDTO.setDocuments(documents);
+		request = new IdRequestDTO();
+		request.setId(id);
+		request.setVersion("v1");
+		request.setRequesttime(DateUtils.getUTCCurrentDateTime());
+		request.setRequest(requestDTO);
+	}
+
+	/**
+	 * Validates the request.
+	 *
+	 * @return the errors
+	 */
+	@Benchmark
+	public Errors validate() {
+		Errors errors = new BeanPropertyBindingResult(request, "idRequestDto");
+		validator.validate(request, errors);
+		return errors;
+	}
+}
@@ -0,0 +1,75 @@
+package io.mosip.idrepository.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.mosip.idrepository.identity.helper.IdentityMerger;
+import io.mosip.idrepository.identity.service.impl.IdRepoServiceImpl;
+
+/**
+ * The Class IdentityMergeBenchmark - benchmarks the merge of the identity of an
+ * update request into the stored identity, as done by
+ * {@link IdRepoServiceImpl#updateIdentity}. The stored identity is parsed from
+ * JSON on every invocation as the merge modifies it, and the request identity
+ * is converted from the map it is deserialized to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentityMergeBenchmark {
+
+	/** The identity of the update request, identity.json updates nothing. */
+	@Param({ "identity-update.json", "identity.json" })
+	private String update;
+
+	/** The mapper. */
+	private ObjectMapper mapper;
+
+	/** The stored identity. */
+	private byte[] dbIdentity;
+
+	/** The identity of the update request. */
+	private Object inputIdentity;
+
+	/**
+	 * Setup.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Setup
+	public void setup() throws Exception {
+		mapper = new ObjectMapper();
+		dbIdentity = BenchmarkUtil.readFixture("identity.json");
+		inputIdentity = mapper.readValue(BenchmarkUtil.readFixture(update), Object.class);
+	}
+
+	/**
+	 * Merges the identities, converting the result to the bytes stored.
+	 *
+	 * @return the merged identity
+	 * @throws Exception the exception
+	 */
+	@Benchmark
+	public byte[] merge() throws Exception {
+		ObjectNode dbData = (ObjectNode) mapper.readTree(dbIdentity);
+		IdentityMerger.merge(dbData, mapper.valueToTree(inputIdentity));
+		return mapper.writeValueAsBytes(dbData);
+	}
+}
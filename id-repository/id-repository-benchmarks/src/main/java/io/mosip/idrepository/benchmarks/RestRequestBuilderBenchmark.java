@@ -0,0 +1,92 @@
+package io.mosip.idrepository.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.idrepository.core.builder.RestRequestBuilder;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.dto.RestRequestDTO;
+import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
+import io.mosip.kernel.core.http.RequestWrapper;
+import io.mosip.kernel.core.http.ResponseWrapper;
+
+/**
+ * The Class RestRequestBuilderBenchmark - benchmarks building the requests of
+ * the downstream calls made for every identity request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestRequestBuilderBenchmark {
+
+	/** The rest builder. */
+	private RestRequestBuilder restBuilder;
+
+	/** The request body. */
+	private RequestWrapper<Map<String, String>> requestBody;
+
+	/**
+	 * Setup.
+	 */
+	@Setup
+	public void setup() {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("mosip.idrepo.encryptor.rest.uri", "https://localhost/v1/cryptomanager/encrypt");
+		properties.put("mosip.idrepo.encryptor.rest.httpMethod", "POST");
+		properties.put("mosip.idrepo.encryptor.rest.headers.mediaType", "application/json");
+		properties.put("mosip.idrepo.encryptor.rest.timeout", "100");
+		properties.put("mosip.idrepo.retrieve-by-uin.rest.uri", "https://localhost/idrepository/v1/identity/idvid/{id}");
+		properties.put("mosip.idrepo.retrieve-by-uin.rest.uri.pathparam.id", "{id}");
+		properties.put("mosip.idrepo.retrieve-by-uin.rest.uri.queryparam.type", "bio");
+		properties.put("mosip.idrepo.retrieve-by-uin.rest.httpMethod", "GET");
+		properties.put("mosip.idrepo.retrieve-by-uin.rest.headers.mediaType", "application/json");
+		properties.put("mosip.idrepo.retrieve-by-uin.rest.timeout", "100");
+		restBuilder = new RestRequestBuilder();
+		BenchmarkUtil.inject(restBuilder, "env", BenchmarkUtil.environment(properties));
+		restBuilder.init();
+		requestBody = new RequestWrapper<>();
+		Map<String, String> request = new HashMap<>();
+		request.put("applicationId", "ID_REPO");
+		request.put("data", "eyJJRFNjaGVtYVZlcnNpb24iOjEuMCwiVUlOIjoiMjM5NjU4NDc1MSJ9");
+		requestBody.setRequest(request);
+	}
+
+	/**
+	 * Builds the request of an encryption call, with a body.
+	 *
+	 * @return the rest request DTO
+	 * @throws IdRepoDataValidationException the id repo data validation exception
+	 */
+	@Benchmark
+	public RestRequestDTO buildEncryptRequest() throws IdRepoDataValidationException {
+		return restBuilder.buildRequest(RestServicesConstants.CRYPTO_MANAGER_ENCRYPT, requestBody,
+				ResponseWrapper.class);
+	}
+
+	/**
+	 * Builds the request of a retrieve identity call, with path and query
+	 * params.
+	 *
+	 * @return the rest request DTO
+	 * @throws IdRepoDataValidationException the id repo data validation exception
+	 */
+	@Benchmark
+	public RestRequestDTO buildRetrieveIdentityRequest() throws IdRepoDataValidationException {
+		return restBuilder.buildRequest(RestServicesConstants.IDREPO_IDENTITY_SERVICE, null, ResponseWrapper.class);
+	}
+}
@@ -2,11 +2,17 @@ package io.mosip.idrepository.core.builder;
 
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.INVALID_INPUT_PARAMETER;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.AbstractEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
@@ -30,7 +36,8 @@ import lombok.NoArgsConstructor;
 
 /**
  * A builder for creating and building RestRequest objects from
- * properties
+ * properties. The properties of each rest service are compiled once into a
+ * request template, which is recompiled when the properties are refreshed.
  * 
  * @author Manoj SP
  *
@@ -61,6 +68,38 @@ public class RestRequestBuilder {
 	/** The logger. */
 	private static Logger mosipLogger = IdRepoLogger.getLogger(RestRequestBuilder.class);
 
+	/** The request templates compiled from properties, by rest service. */
+	private volatile Map<RestServicesConstants, RestRequestDTO> templates = new ConcurrentHashMap<>();
+
+	/**
+	 * Compiles the request templates of all rest services configured.
+	 */
+	@PostConstruct
+	public void init() {
+		Map<RestServicesConstants, RestRequestDTO> compiledTemplates = new ConcurrentHashMap<>();
+		for (RestServicesConstants restService : RestServicesConstants.values()) {
+			try {
+				compiledTemplates.put(restService, compileTemplate(restService));
+			} catch (IdRepoDataValidationException | RuntimeException e) {
+				// services not configured for this application are compiled on first use,
+				// reporting the error to the caller
+				mosipLogger.debug(IdRepoSecurityManager.getUser(), METHOD_BUILD_REQUEST, "init",
+						restService.getServiceName() + " not compiled : " + e.getMessage());
+			}
+		}
+		templates = compiledTemplates;
+	}
+
+	/**
+	 * Recompiles the request templates once the properties are refreshed.
+	 *
+	 * @param event the event
+	 */
+	@EventListener
+	public void onEnvironmentChange(EnvironmentChangeEvent event) {
+		init();
+	}
+
 	/**
 	 * Builds the rest request based on the rest service provided using {@code RestServicesConstants}.
 	 *
@@ -72,24 +111,14 @@ public class RestRequestBuilder {
 	 */
 	public RestRequestDTO buildRequest(RestServicesConstants restService, Object requestBody, Class<?> returnType)
 			throws IdRepoDataValidationException {
+		RestRequestDTO template = getTemplate(restService);
 		RestRequestDTO request = new RestRequestDTO();
-		MultiValueMap<String, String> paramMap = new LinkedMultiValueMap<>();
-		Map<String, String> pathVariables = new HashMap<>();
-
-		String serviceName = restService.getServiceName();
-
-		String uri = env.getProperty(serviceName.concat(REST_URI));
-		String httpMethod = env.getProperty(serviceName.concat(REST_HTTP_METHOD));
-		String timeout = env.getProperty(serviceName.concat(REST_TIMEOUT));
-
-		HttpHeaders headers = constructHttpHeaders(serviceName);
-
-		checkUri(request, uri);
-
-		checkHttpMethod(request, httpMethod);
+		request.setRestService(restService);
+		request.setUri(template.getUri());
+		request.setHttpMethod(template.getHttpMethod());
 
 		if (requestBody != null) {
-			if (!headers.getContentType().includes(MediaType.MULTIPART_FORM_DATA)) {
+			if (!template.getHeaders().getContentType().includes(MediaType.MULTIPART_FORM_DATA)) {
 				request.setRequestBody(requestBody);
 			} else {
 				if (requestBody instanceof MultiValueMap) {
@@ -104,23 +133,86 @@ public class RestRequestBuilder {
 
 		checkReturnType(returnType, request);
 
+		HttpHeaders headers = new HttpHeaders();
+		headers.addAll(template.getHeaders());
+		request.setHeaders(headers);
+
+		if (template.getParams() != null) {
+			MultiValueMap<String, String> paramMap = new LinkedMultiValueMap<>();
+			template.getParams().forEach((key, values) -> paramMap.put(key, new ArrayList<>(values)));
+			request.setParams(paramMap);
+		}
+
+		if (template.getPathVariables() != null) {
+			request.setPathVariables(new HashMap<>(template.getPathVariables()));
+		}
+
+		request.setTimeout(template.getTimeout());
+
+		return request;
+	}
+
+	/**
+	 * Gets the compiled request template of the rest service, compiling it if not
+	 * compiled yet.
+	 *
+	 * @param restService the rest service
+	 * @return the template
+	 * @throws IdRepoDataValidationException the id repo data validation exception
+	 */
+	private RestRequestDTO getTemplate(RestServicesConstants restService) throws IdRepoDataValidationException {
+		Map<RestServicesConstants, RestRequestDTO> currentTemplates = templates;
+		RestRequestDTO template = currentTemplates.get(restService);
+		if (template == null) {
+			template = compileTemplate(restService);
+			currentTemplates.put(restService, template);
+		}
+		return template;
+	}
+
+	/**
+	 * Compiles the request template of the rest service from properties. The
+	 * template holds everything of the request which does not depend on the
+	 * caller, and is never modified once compiled.
+	 *
+	 * @param restService the rest service
+	 * @return the template
+	 * @throws IdRepoDataValidationException the id repo data validation exception
+	 */
+	private RestRequestDTO compileTemplate(RestServicesConstants restService) throws IdRepoDataValidationException {
+		RestRequestDTO template = new RestRequestDTO();
+		MultiValueMap<String, String> paramMap = new LinkedMultiValueMap<>();
+		Map<String, String> pathVariables = new HashMap<>();
+
+		String serviceName = restService.getServiceName();
+
+		String uri = env.getProperty(serviceName.concat(REST_URI));
+		String httpMethod = env.getProperty(serviceName.concat(REST_HTTP_METHOD));
+		String timeout = env.getProperty(serviceName.concat(REST_TIMEOUT));
+
+		HttpHeaders headers = constructHttpHeaders(serviceName);
+
+		checkUri(template, uri);
+
+		checkHttpMethod(template, httpMethod);
+
 		constructParams(paramMap, pathVariables, headers, serviceName);
 
-		request.setHeaders(headers);
+		template.setHeaders(HttpHeaders.readOnlyHttpHeaders(headers));
 
 		if (!paramMap.isEmpty()) {
-			request.setParams(paramMap);
+			template.setParams(paramMap);
 		}
 
 		if (!pathVariables.isEmpty()) {
-			request.setPathVariables(pathVariables);
+			template.setPathVariables(pathVariables);
 		}
 
 		if (!StringUtils.isEmpty(timeout)) {
-			request.setTimeout(Integer.parseInt(timeout));
+			template.setTimeout(Integer.parseInt(timeout));
 		}
 
-		return request;
+		return template;
 	}
 
 	/**
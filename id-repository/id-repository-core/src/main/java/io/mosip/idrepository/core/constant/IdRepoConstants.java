@@ -104,6 +104,144 @@ public class IdRepoConstants {
 	
 	public static final String OBJECT_STORE_ADAPTER_NAME = "mosip.idrepo.objectstore.adapter-name";
 	
+	/** Enables encryption/decryption in-process using a key manager wrapped data key. */
+	public static final String LOCAL_CRYPTO_ENABLED = "mosip.idrepo.crypto.local.enabled";
+	
+	/** Interval in minutes after which the local data encryption key is rotated. */
+	public static final String LOCAL_CRYPTO_KEY_ROTATION_INTERVAL = "mosip.idrepo.crypto.local.key-rotation-interval-mins";
+	
+	/** Maximum number of unwrapped data encryption keys kept in memory. */
+	public static final String LOCAL_CRYPTO_KEY_CACHE_SIZE = "mosip.idrepo.crypto.local.key-cache-size";
+	
+	/** Time in seconds for which a wrapped key that key manager failed to unwrap is not sent to it again. */
+	public static final String LOCAL_CRYPTO_FAILED_UNWRAP_TTL = "mosip.idrepo.crypto.local.failed-unwrap-ttl-secs";
+	
+	/** The splitter used by kernel-cryptomanager between the wrapped key and the encrypted data. */
+	public static final String DATA_KEY_SPLITTER = "mosip.kernel.data-key-splitter";
+	
+	/** Enables sending audit events in the background. */
+	public static final String AUDIT_ASYNC_ENABLED = "mosip.idrepo.audit.async.enabled";
+	
+	/** Number of audit events that can wait to be sent. */
+	public static final String AUDIT_QUEUE_CAPACITY = "mosip.idrepo.audit.queue.capacity";
+	
+	/** Maximum number of audit events sent in one batch. */
+	public static final String AUDIT_BATCH_MAX_SIZE = "mosip.idrepo.audit.batch.max-size";
+	
+	/** Maximum number of audit requests in flight. */
+	public static final String AUDIT_BATCH_CONCURRENCY = "mosip.idrepo.audit.batch.concurrency";
+	
+	/** What to do with an audit event when the queue is full - BLOCK, DROP_OLDEST or SPILL. */
+	public static final String AUDIT_OVERFLOW_POLICY = "mosip.idrepo.audit.overflow-policy";
+	
+	/** Time in milliseconds to wait for room in the queue with the BLOCK overflow policy, 0 to wait without a limit. */
+	public static final String AUDIT_BLOCK_TIMEOUT_MILLIS = "mosip.idrepo.audit.block-timeout-millis";
+	
+	/** File to which audit events are spilled with the SPILL overflow policy, private to the service instance. */
+	public static final String AUDIT_SPILL_FILE = "mosip.idrepo.audit.spill-file";
+	
+	/** File to which audit events rejected by the audit service are written, private to the service instance. */
+	public static final String AUDIT_DEAD_LETTER_FILE = "mosip.idrepo.audit.dead-letter-file";
+	
+	/** Enables the local journal from which audit events are replayed to the audit service. */
+	public static final String AUDIT_JOURNAL_ENABLED = "mosip.idrepo.audit.journal.enabled";
+	
+	/** Directory holding the audit journal segments and checkpoint, private to the service instance. */
+	public static final String AUDIT_JOURNAL_DIRECTORY = "mosip.idrepo.audit.journal.directory";
+	
+	/** Size in bytes of an audit journal segment. */
+	public static final String AUDIT_JOURNAL_SEGMENT_SIZE = "mosip.idrepo.audit.journal.segment-size";
+	
+	/** Maximum number of audit journal segments kept before events are held in memory instead. */
+	public static final String AUDIT_JOURNAL_MAX_SEGMENTS = "mosip.idrepo.audit.journal.max-segments";
+	
+	/** Maximum time in milliseconds an appended audit journal record waits before it is flushed to the storage device. */
+	public static final String AUDIT_JOURNAL_FORCE_INTERVAL_MILLIS = "mosip.idrepo.audit.journal.force-interval-millis";
+	
+	/** Enables the Server-Timing header on responses. */
+	public static final String SERVER_TIMING_ENABLED = "mosip.idrepo.server-timing.enabled";
+	
+	/** Number of virtual nodes of each identity shard on the consistent hash ring. */
+	public static final String SHARD_VIRTUAL_NODES = "mosip.idrepo.identity.shard-virtual-nodes";
+	
+	/** Enables the in-memory cache of decrypted identities. */
+	public static final String IDENTITY_CACHE_ENABLED = "mosip.idrepo.identity.cache.enabled";
+	
+	/** Maximum number of identities held in the identity cache. */
+	public static final String IDENTITY_CACHE_MAX_SIZE = "mosip.idrepo.identity.cache.max-size";
+	
+	/** Time in seconds for which an identity is held in the identity cache. */
+	public static final String IDENTITY_CACHE_TTL_SECS = "mosip.idrepo.identity.cache.ttl-secs";
+	
+	/** Enables the off-heap cache of encrypted object store objects. */
+	public static final String OBJECT_STORE_CACHE_ENABLED = "mosip.idrepo.objectstore.cache.enabled";
+	
+	/** Size in bytes of the direct memory allocated to the object store cache. */
+	public static final String OBJECT_STORE_CACHE_CAPACITY = "mosip.idrepo.objectstore.cache.capacity-bytes";
+	
+	/** Size in bytes of a block of the object store cache. */
+	public static final String OBJECT_STORE_CACHE_BLOCK_SIZE = "mosip.idrepo.objectstore.cache.block-size-bytes";
+	
+	/** Size in bytes of the largest object held in the object store cache. */
+	public static final String OBJECT_STORE_CACHE_MAX_OBJECT_SIZE = "mosip.idrepo.objectstore.cache.max-object-size-bytes";
+	
+	/** Number of threads fetching or storing the documents of an identity in the object store in parallel. */
+	public static final String OBJECT_STORE_FETCH_THREADS = "mosip.idrepo.objectstore.fetch-threads";
+	
+	/** Enables spooling of large document values of identity requests to temp files. */
+	public static final String DOCUMENT_SPOOL_ENABLED = "mosip.idrepo.identity.document.spool.enabled";
+	
+	/** Size in characters above which a document value of an identity request is spooled. */
+	public static final String DOCUMENT_SPOOL_THRESHOLD = "mosip.idrepo.identity.document.spool.threshold-chars";
+	
+	/** Enables publishing of UIN status changes by the identity service to the VID service. */
+	public static final String UIN_STATUS_PUBLISH_ENABLED = "mosip.idrepo.identity.uin-status.publish.enabled";
+	
+	/** Enables the check of UIN status against the local UIN status projection of the VID service. */
+	public static final String UIN_STATUS_PROJECTION_ENABLED = "mosip.idrepo.vid.uin-status.projection.enabled";
+	
+	/** Time in seconds after which a UIN status in the projection is checked again with the identity service. */
+	public static final String UIN_STATUS_PROJECTION_MAX_AGE_SECS = "mosip.idrepo.vid.uin-status.projection.max-age-secs";
+	
+	/** Enables the pool of VIDs pre-fetched from the VID generator. */
+	public static final String VID_POOL_ENABLED = "mosip.idrepo.vid.pool.enabled";
+	
+	/** Number of VIDs the VID pool holds when full. */
+	public static final String VID_POOL_SIZE = "mosip.idrepo.vid.pool.size";
+	
+	/** Number of VIDs below which the VID pool is refilled. */
+	public static final String VID_POOL_LOW_WATERMARK = "mosip.idrepo.vid.pool.low-watermark";
+	
+	/** Enables the cache of UINs resolved by VID in the VID service. */
+	public static final String VID_RESOLUTION_CACHE_ENABLED = "mosip.idrepo.vid.resolution-cache.enabled";
+	
+	/** Maximum number of VIDs held in the VID resolution cache. */
+	public static final String VID_RESOLUTION_CACHE_MAX_SIZE = "mosip.idrepo.vid.resolution-cache.max-size";
+	
+	/** Time in seconds for which a VID is held in the VID resolution cache. */
+	public static final String VID_RESOLUTION_CACHE_TTL_SECS = "mosip.idrepo.vid.resolution-cache.ttl-secs";
+	
+	/** URL of the auth manager API issuing a token for a client id and secret key. */
+	public static final String SERVICE_TOKEN_URL = "KEYBASEDTOKENAPI";
+	
+	/** Request id of the token request of the service. */
+	public static final String SERVICE_TOKEN_REQUEST_ID = "mosip.idrepo.token.request.id";
+	
+	/** Request version of the token request of the service. */
+	public static final String SERVICE_TOKEN_REQUEST_VERSION = "mosip.idrepo.token.request.version";
+	
+	/** App id of the service in the auth manager. */
+	public static final String SERVICE_TOKEN_APP_ID = "mosip.idrepo.token.request.appid";
+	
+	/** Client id of the service in the auth manager. */
+	public static final String SERVICE_TOKEN_CLIENT_ID = "mosip.idrepo.token.request.clientId";
+	
+	/** Secret key of the client id of the service. */
+	public static final String SERVICE_TOKEN_SECRET_KEY = "mosip.idrepo.token.request.secretKey";
+	
+	/** Issuer URL the token of the service is validated against. */
+	public static final String SERVICE_TOKEN_ISSUER_URL = "mosip.idrepo.token.request.issuerUrl";
+	
 	/** The value. */
 	private final String value;
 
@@ -51,6 +51,9 @@ public enum IdRepoErrorConstants {
 	/** The record exists. */
 	RECORD_EXISTS("IDR-IDC-012", "Record already exists in DB"),
 
+	/** The service unavailable. */
+	SERVICE_UNAVAILABLE("IDR-IDC-013", "Service unavailable - too many requests in progress or service is failing"),
+
 	// Identity Service
 	
 	/** The identity mismatch. */
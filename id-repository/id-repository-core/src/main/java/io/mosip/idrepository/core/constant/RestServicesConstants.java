@@ -31,7 +31,13 @@ public enum RestServicesConstants {
 	
 	RETRIEVE_UIN_BY_VID("mosip.idrepo.retrieve-uin-by-vid"),
 	
-	BIO_EXTRACTOR_SERVICE("mosip.idrepo.bio-extractor-service");
+	VID_UIN_STATUS_SERVICE("mosip.idrepo.vid.uin-status"),
+	
+	BIO_EXTRACTOR_SERVICE("mosip.idrepo.bio-extractor-service"),
+	
+	KEYMANAGER_GET_CERTIFICATE("mosip.idrepo.keymanager.get-certificate"),
+	
+	KEYMANAGER_DECRYPT_KEY("mosip.idrepo.keymanager.decrypt-key");
 
 	/** The service name. */
 	private final String serviceName;
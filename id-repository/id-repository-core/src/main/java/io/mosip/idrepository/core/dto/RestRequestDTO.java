@@ -9,6 +9,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.util.MultiValueMap;
 
+import io.mosip.idrepository.core.constant.RestServicesConstants;
 import lombok.Data;
 
 /**
@@ -42,4 +43,7 @@ public class RestRequestDTO {
 
 	@Pattern(regexp = "^[0-9]*$", message = "{mosip.rest.request.timeout.message}")
 	private Integer timeout;
+
+	/** The rest service the request is built for, null if built elsewhere. */
+	private RestServicesConstants restService;
 }
@@ -0,0 +1,29 @@
+package io.mosip.idrepository.core.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The status of a UIN, as published by the identity service to the VID
+ * service.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UinStatusDTO {
+
+	/** The Value to hold uin */
+	@JsonProperty("UIN")
+	private String uin;
+
+	/** The Value to hold status */
+	private String status;
+
+	/** The Value to hold the time the status was set */
+	private LocalDateTime updatedDTimes;
+}
@@ -0,0 +1,692 @@
+package io.mosip.idrepository.core.helper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.idrepository.core.builder.RestRequestBuilder;
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.dto.AuditResponseDTO;
+import io.mosip.idrepository.core.exception.AuthenticationException;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The Class AuditDispatcher - sends audit events to the audit service in the
+ * background. Events are queued in a bounded lock-free ring buffer and a single
+ * dispatcher thread sends them in batches, with a bounded number of requests in
+ * flight. What happens to an event when the buffer is full is decided by the
+ * {@link OverflowPolicy}.
+ * <p>
+ * With an {@link AuditJournal}, events are appended to the journal instead and
+ * replayed from it in order, the buffer only taking the events the journal
+ * refuses. Each journaled event is acknowledged once it is accepted by the audit
+ * service, and the events which failed are replayed again after a backoff, so
+ * an event is not lost while the audit service is down. An event may still be
+ * sent more than once if the service instance stops during a replay.
+ * <p>
+ * Events rejected by the audit service, and events it refuses to authenticate,
+ * are not retried but written to the dead letter file.
+ * <p>
+ * Events are stored with the user who raised them, not with the credentials of
+ * that user, and are sent under the token of the service itself.
+ */
+public class AuditDispatcher {
+
+	/**
+	 * The policy applied when an event is submitted to a full buffer.
+	 */
+	public enum OverflowPolicy {
+
+		/** Wait for the buffer to have room, dropping the event after the block timeout if one is set. */
+		BLOCK,
+
+		/** Drop the oldest event in the buffer to make room. */
+		DROP_OLDEST,
+
+		/** Write the event to the spill file, to be sent once the buffer is drained. */
+		SPILL
+	}
+
+	/** The mosip logger. */
+	private static Logger mosipLogger = IdRepoLogger.getLogger(AuditDispatcher.class);
+
+	/** The Constant AUDIT_DISPATCHER. */
+	private static final String AUDIT_DISPATCHER = "AuditDispatcher";
+
+	/** The Constant IDLE_PARK_NANOS. */
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	/** The Constant BLOCK_PARK_NANOS. */
+	private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	/** The Constant MIN_REPLAY_BACKOFF_NANOS. */
+	private static final long MIN_REPLAY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/** The Constant MAX_REPLAY_BACKOFF_NANOS. */
+	private static final long MAX_REPLAY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+	/** The Constant AUDIT_REQUEST. */
+	private static final String AUDIT_REQUEST = "auditRequest";
+
+	/** The Constant USER. */
+	private static final String USER = "user";
+
+	/** The rest helper. */
+	private final RestHelper restHelper;
+
+	/** The rest builder. */
+	private final RestRequestBuilder restBuilder;
+
+	/** The service token provider. */
+	private final ServiceTokenProvider tokenProvider;
+
+	/** The mapper. */
+	private final ObjectMapper mapper;
+
+	/** The buffer. */
+	private final RingBuffer<AuditEvent> buffer;
+
+	/** The max batch size. */
+	private final int maxBatchSize;
+
+	/** The max requests in flight. */
+	private final int concurrency;
+
+	/** The overflow policy. */
+	private final OverflowPolicy overflowPolicy;
+
+	/** The block timeout in nanos, 0 to wait without a limit. */
+	private final long blockTimeoutNanos;
+
+	/** The spill file. */
+	private final Path spillFile;
+
+	/** The dead letter file, null if rejected events are only logged. */
+	private final Path deadLetterFile;
+
+	/** The journal, null if events are only kept in memory. */
+	private final AuditJournal journal;
+
+	/** The dropped events counter, null if metrics are not available. */
+	private final Counter droppedEvents;
+
+	/** The spilled events counter, null if metrics are not available. */
+	private final Counter spilledEvents;
+
+	/** The dead lettered events counter, null if metrics are not available. */
+	private final Counter deadLetteredEvents;
+
+	/** The batch latency timer, null if metrics are not available. */
+	private final Timer batchLatency;
+
+	/** The dispatcher. */
+	private final Thread dispatcher;
+
+	/** The running. */
+	private volatile boolean running = true;
+
+	/** Whether the dispatcher is waiting for events. */
+	private volatile boolean idle;
+
+	/** The earliest time the journal is replayed again after a failure. */
+	private long replayAfterNanos = System.nanoTime();
+
+	/** The replay backoff nanos. */
+	private long replayBackoffNanos = MIN_REPLAY_BACKOFF_NANOS;
+
+	/**
+	 * Instantiates a new audit dispatcher.
+	 *
+	 * @param restHelper         the rest helper
+	 * @param restBuilder        the rest builder
+	 * @param tokenProvider      the service token provider
+	 * @param mapper             the mapper
+	 * @param capacity           the buffer capacity, rounded up to a power of 2
+	 * @param maxBatchSize       the max batch size
+	 * @param concurrency        the max requests in flight
+	 * @param overflowPolicy     the overflow policy
+	 * @param blockTimeoutMillis the block timeout millis, 0 to wait without a limit
+	 * @param spillFile          the spill file
+	 * @param deadLetterFile     the dead letter file, can be null
+	 * @param journal            the journal, can be null
+	 * @param meterRegistry      the meter registry, can be null
+	 */
+	public AuditDispatcher(RestHelper restHelper, RestRequestBuilder restBuilder, ServiceTokenProvider tokenProvider,
+			ObjectMapper mapper, int capacity, int maxBatchSize, int concurrency, OverflowPolicy overflowPolicy,
+			long blockTimeoutMillis, Path spillFile, Path deadLetterFile, AuditJournal journal,
+			MeterRegistry meterRegistry) {
+		this.restHelper = restHelper;
+		this.restBuilder = restBuilder;
+		this.tokenProvider = tokenProvider;
+		this.mapper = mapper;
+		this.buffer = new RingBuffer<>(capacity);
+		this.maxBatchSize = Math.max(maxBatchSize, 1);
+		this.concurrency = Math.max(concurrency, 1);
+		this.overflowPolicy = overflowPolicy;
+		this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+		this.spillFile = spillFile;
+		this.deadLetterFile = deadLetterFile;
+		this.journal = journal;
+		if (Objects.isNull(meterRegistry)) {
+			this.droppedEvents = null;
+			this.spilledEvents = null;
+			this.deadLetteredEvents = null;
+			this.batchLatency = null;
+		} else {
+			Gauge.builder("idrepo.audit.queue.depth", buffer, RingBuffer::size)
+					.description("Number of audit events waiting to be sent").register(meterRegistry);
+			this.droppedEvents = Counter.builder("idrepo.audit.dropped")
+					.description("Number of audit events dropped").register(meterRegistry);
+			this.spilledEvents = Counter.builder("idrepo.audit.spilled")
+					.description("Number of audit events written to the spill file").register(meterRegistry);
+			this.deadLetteredEvents = Counter.builder("idrepo.audit.dead-lettered")
+					.description("Number of audit events written to the dead letter file").register(meterRegistry);
+			this.batchLatency = Timer.builder("idrepo.audit.batch.latency")
+					.description("Time taken to send a batch of audit events").register(meterRegistry);
+			if (Objects.nonNull(journal)) {
+				Gauge.builder("idrepo.audit.journal.segments", journal, AuditJournal::getSegmentCount)
+						.description("Number of audit journal segments not yet replayed").register(meterRegistry);
+			}
+		}
+		this.dispatcher = new Thread(this::dispatch, "idrepo-audit-dispatcher");
+		this.dispatcher.setDaemon(true);
+	}
+
+	/**
+	 * Starts the dispatcher.
+	 */
+	public void start() {
+		dispatcher.start();
+	}
+
+	/**
+	 * Stops the dispatcher after sending the events already queued, waiting at
+	 * most the given time. Journaled events not yet replayed are left in the
+	 * journal for the next start.
+	 *
+	 * @param timeoutMillis the timeout millis
+	 */
+	public void stop(long timeoutMillis) {
+		running = false;
+		LockSupport.unpark(dispatcher);
+		try {
+			dispatcher.join(timeoutMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Submits the audit request to be sent in the background.
+	 *
+	 * @param auditRequest the audit request
+	 */
+	public void submit(Object auditRequest) {
+		AuditEvent event = new AuditEvent(auditRequest, IdRepoSecurityManager.getUser(), null);
+		if (Objects.nonNull(journal) && journal(event)) {
+			if (idle) {
+				LockSupport.unpark(dispatcher);
+			}
+			return;
+		}
+		if (!buffer.offer(event)) {
+			handleOverflow(event);
+		}
+		if (idle) {
+			LockSupport.unpark(dispatcher);
+		}
+	}
+
+	/**
+	 * Gets the number of events waiting to be sent.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueDepth() {
+		return buffer.size();
+	}
+
+	/**
+	 * Applies the overflow policy to the event which did not fit in the buffer.
+	 *
+	 * @param event the event
+	 */
+	private void handleOverflow(AuditEvent event) {
+		switch (overflowPolicy) {
+		case BLOCK:
+			long deadline = System.nanoTime() + blockTimeoutNanos;
+			while (!buffer.offer(event)) {
+				if (!running || (blockTimeoutNanos > 0 && System.nanoTime() - deadline >= 0)) {
+					drop(event);
+					return;
+				}
+				LockSupport.unpark(dispatcher);
+				LockSupport.parkNanos(BLOCK_PARK_NANOS);
+			}
+			break;
+		case DROP_OLDEST:
+			while (!buffer.offer(event)) {
+				AuditEvent oldest = buffer.poll();
+				if (Objects.nonNull(oldest)) {
+					drop(oldest);
+				}
+			}
+			break;
+		case SPILL:
+			spill(event);
+			break;
+		}
+	}
+
+	/**
+	 * Appends the event to the journal.
+	 *
+	 * @param event the event
+	 * @return true, if journaled. False if the journal is full or failed, in
+	 *         which case the event is kept in memory.
+	 */
+	private boolean journal(AuditEvent event) {
+		try {
+			return journal.append(toRecord(event));
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "journal",
+					"journaling audit event failed : " + ExceptionUtils.getStackTrace(e));
+			return false;
+		}
+	}
+
+	/**
+	 * Drops the event.
+	 *
+	 * @param event the event
+	 */
+	private void drop(AuditEvent event) {
+		if (Objects.nonNull(droppedEvents)) {
+			droppedEvents.increment();
+		}
+		mosipLogger.debug(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "drop",
+				"audit buffer full - dropping audit event");
+	}
+
+	/**
+	 * Appends the event to the spill file. Spilling happens only while the buffer
+	 * is full, so writers are simply serialized.
+	 *
+	 * @param event the event
+	 */
+	private synchronized void spill(AuditEvent event) {
+		try {
+			Files.write(spillFile,
+					Collections.singletonList(new String(toRecord(event), StandardCharsets.UTF_8)),
+					StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			if (Objects.nonNull(spilledEvents)) {
+				spilledEvents.increment();
+			}
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "spill",
+					"spilling audit event failed : " + ExceptionUtils.getStackTrace(e));
+			drop(event);
+		}
+	}
+
+	/**
+	 * Moves as many spilled events as the buffer can hold back to the buffer, in
+	 * the order they were spilled.
+	 */
+	private synchronized void replaySpilled() {
+		try {
+			if (Objects.isNull(spillFile) || !Files.exists(spillFile) || Files.size(spillFile) == 0) {
+				return;
+			}
+			List<String> lines = Files.readAllLines(spillFile, StandardCharsets.UTF_8);
+			int replayed = 0;
+			while (replayed < lines.size()
+					&& buffer.offer(fromRecord(lines.get(replayed).getBytes(StandardCharsets.UTF_8), null))) {
+				replayed++;
+			}
+			Files.write(spillFile, lines.subList(replayed, lines.size()), StandardCharsets.UTF_8,
+					StandardOpenOption.TRUNCATE_EXISTING);
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "replaySpilled",
+					"replaying spilled audit events failed : " + ExceptionUtils.getStackTrace(e));
+		}
+	}
+
+	/**
+	 * Writes the event to the dead letter file, where it is kept for an operator
+	 * to look into.
+	 *
+	 * @param event the event
+	 */
+	private synchronized void deadLetter(AuditEvent event) {
+		if (Objects.nonNull(deadLetteredEvents)) {
+			deadLetteredEvents.increment();
+		}
+		if (Objects.isNull(deadLetterFile)) {
+			return;
+		}
+		try {
+			Files.write(deadLetterFile,
+					Collections.singletonList(new String(toRecord(event), StandardCharsets.UTF_8)),
+					StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "deadLetter",
+					"writing audit event to dead letter file failed : " + ExceptionUtils.getStackTrace(e));
+		}
+	}
+
+	/**
+	 * Sends the next batch of journaled events, unless waiting for the backoff of
+	 * a failed batch. The events sent or dead lettered are acknowledged, and only
+	 * the events which failed are read again after the backoff.
+	 *
+	 * @return true, if a batch was replayed without failures
+	 */
+	private boolean replayJournal() {
+		if (Objects.isNull(journal) || System.nanoTime() - replayAfterNanos < 0) {
+			return false;
+		}
+		try {
+			List<AuditJournal.Entry> entries = journal.read(maxBatchSize);
+			if (entries.isEmpty()) {
+				return false;
+			}
+			List<AuditEvent> batch = new ArrayList<>(entries.size());
+			for (AuditJournal.Entry entry : entries) {
+				try {
+					batch.add(fromRecord(entry.getRecord(), entry));
+				} catch (IOException e) {
+					mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "replayJournal",
+							"skipping unreadable journaled audit event : " + e.getMessage());
+					journal.ack(entry);
+				}
+			}
+			List<AuditEvent> failed = send(batch);
+			if (failed.isEmpty()) {
+				journal.commit();
+				replayBackoffNanos = MIN_REPLAY_BACKOFF_NANOS;
+				return true;
+			}
+			batch.stream().filter(event -> !failed.contains(event)).forEach(event -> journal.ack(event.entry));
+			journal.rewind();
+			replayAfterNanos = System.nanoTime() + replayBackoffNanos;
+			replayBackoffNanos = Math.min(replayBackoffNanos * 2, MAX_REPLAY_BACKOFF_NANOS);
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "replayJournal",
+					"replaying audit journal failed : " + ExceptionUtils.getStackTrace(e));
+		}
+		return false;
+	}
+
+	/**
+	 * Sends the queued events in batches until stopped. Once stopped, the events
+	 * still queued are sent before exiting.
+	 */
+	private void dispatch() {
+		while (true) {
+			List<AuditEvent> batch = drainBatch();
+			if (!batch.isEmpty()) {
+				send(batch);
+			} else if (!running) {
+				if (Objects.nonNull(journal)) {
+					journal.close();
+				}
+				return;
+			} else if (!replayJournal()) {
+				if (overflowPolicy == OverflowPolicy.SPILL) {
+					replaySpilled();
+				}
+				if (buffer.size() == 0) {
+					idle = true;
+					LockSupport.parkNanos(IDLE_PARK_NANOS);
+					idle = false;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drains up to max batch size events from the buffer.
+	 *
+	 * @return the batch
+	 */
+	private List<AuditEvent> drainBatch() {
+		List<AuditEvent> batch = new ArrayList<>(Math.min(maxBatchSize, Math.max(buffer.size(), 1)));
+		AuditEvent event;
+		while (batch.size() < maxBatchSize && Objects.nonNull(event = buffer.poll())) {
+			batch.add(event);
+		}
+		return batch;
+	}
+
+	/**
+	 * Sends the batch under the token of the service and waits for all
+	 * responses, so that no more than the configured number of requests are ever
+	 * in flight. Failures are logged and do not affect the other events of the
+	 * batch. Events rejected by the audit service are dead lettered.
+	 *
+	 * @param batch the batch
+	 * @return the events which failed for a reason worth retrying, in batch order
+	 */
+	private List<AuditEvent> send(List<AuditEvent> batch) {
+		long start = System.nanoTime();
+		List<Mono<Object>> requests = new ArrayList<>(batch.size());
+		Set<AuditEvent> failed = ConcurrentHashMap.newKeySet();
+		failed.addAll(batch);
+		for (AuditEvent event : batch) {
+			try {
+				requests.add(restHelper
+						.requestReactive(tokenProvider.authenticate(restBuilder.buildRequest(
+								RestServicesConstants.AUDIT_MANAGER_SERVICE, event.auditRequest, AuditResponseDTO.class)))
+						.doOnSuccess(response -> failed.remove(event))
+						.onErrorResume(e -> {
+							mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "send",
+									"audit request of " + event.user + " failed : " + e.getMessage());
+							if (isRejected(e)) {
+								deadLetter(event);
+								failed.remove(event);
+							}
+							return Mono.empty();
+						}));
+			} catch (Exception e) {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "send",
+						"Exception : " + ExceptionUtils.getStackTrace(e));
+			}
+		}
+		try {
+			Flux.fromIterable(requests)
+					.flatMap(request -> request, concurrency)
+					.then()
+					.block(Duration.ofMinutes(1));
+		} catch (RuntimeException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_DISPATCHER, "send",
+					"Exception : " + ExceptionUtils.getStackTrace(e));
+		}
+		if (Objects.nonNull(batchLatency)) {
+			batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+		return batch.stream().filter(failed::contains).collect(Collectors.toList());
+	}
+
+	/**
+	 * Checks if the audit service rejected the event, as opposed to failing to
+	 * process it. A token refused by the audit service is dropped, so that the
+	 * next request gets a new one.
+	 *
+	 * @param e the error
+	 * @return true, if rejected
+	 */
+	private boolean isRejected(Throwable e) {
+		Throwable error = Exceptions.unwrap(e);
+		if (error instanceof AuthenticationException) {
+			tokenProvider.invalidate();
+			return true;
+		}
+		return error instanceof RestServiceException
+				&& IdRepoErrorConstants.CLIENT_ERROR.getErrorCode().equals(((RestServiceException) error).getErrorCode());
+	}
+
+	/**
+	 * Converts the event to the record stored in the spill file, journal or dead
+	 * letter file.
+	 *
+	 * @param event the event
+	 * @return the record
+	 * @throws IOException if the audit request cannot be written
+	 */
+	private byte[] toRecord(AuditEvent event) throws IOException {
+		ObjectNode record = mapper.createObjectNode();
+		record.set(AUDIT_REQUEST, mapper.valueToTree(event.auditRequest));
+		record.put(USER, event.user);
+		return mapper.writeValueAsBytes(record);
+	}
+
+	/**
+	 * Reads the event from a record of the spill file or journal.
+	 *
+	 * @param record the record
+	 * @param entry  the journal entry of the record, null if not journaled
+	 * @return the event
+	 * @throws IOException if the record cannot be read
+	 */
+	private AuditEvent fromRecord(byte[] record, AuditJournal.Entry entry) throws IOException {
+		ObjectNode recordNode = mapper.readValue(record, ObjectNode.class);
+		JsonNode auditRequest = recordNode.get(AUDIT_REQUEST);
+		if (Objects.isNull(auditRequest)) {
+			throw new IOException("audit request missing");
+		}
+		return new AuditEvent(auditRequest, recordNode.path(USER).asText(""), entry);
+	}
+
+	/**
+	 * An audit event waiting to be sent.
+	 */
+	private static final class AuditEvent {
+
+		/** The audit request. */
+		private final Object auditRequest;
+
+		/** The user who raised the event. */
+		private final String user;
+
+		/** The journal entry of the event, null if not journaled. */
+		private final AuditJournal.Entry entry;
+
+		private AuditEvent(Object auditRequest, String user, AuditJournal.Entry entry) {
+			this.auditRequest = auditRequest;
+			this.user = user;
+			this.entry = entry;
+		}
+	}
+
+	/**
+	 * A bounded multi-producer multi-consumer ring buffer. Each slot carries a
+	 * sequence number telling whether it is ready to be written or read for the
+	 * current lap, so offer and poll only need a compare-and-set on the tail or
+	 * head.
+	 *
+	 * @param <E> the element type
+	 */
+	static final class RingBuffer<E> {
+
+		/** The mask. */
+		private final int mask;
+
+		/** The elements. */
+		private final AtomicReferenceArray<E> elements;
+
+		/** The sequences. */
+		private final AtomicLongArray sequences;
+
+		/** The head. */
+		private final AtomicLong head = new AtomicLong();
+
+		/** The tail. */
+		private final AtomicLong tail = new AtomicLong();
+
+		RingBuffer(int capacity) {
+			int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+			this.mask = size - 1;
+			this.elements = new AtomicReferenceArray<>(size);
+			this.sequences = new AtomicLongArray(size);
+			for (int i = 0; i < size; i++) {
+				sequences.set(i, i);
+			}
+		}
+
+		boolean offer(E element) {
+			long position = tail.get();
+			while (true) {
+				int index = (int) (position & mask);
+				long difference = sequences.get(index) - position;
+				if (difference == 0) {
+					if (tail.compareAndSet(position, position + 1)) {
+						elements.set(index, element);
+						sequences.set(index, position + 1);
+						return true;
+					}
+					position = tail.get();
+				} else if (difference < 0) {
+					return false;
+				} else {
+					position = tail.get();
+				}
+			}
+		}
+
+		E poll() {
+			long position = head.get();
+			while (true) {
+				int index = (int) (position & mask);
+				long difference = sequences.get(index) - (position + 1);
+				if (difference == 0) {
+					if (head.compareAndSet(position, position + 1)) {
+						E element = elements.getAndSet(index, null);
+						sequences.set(index, position + mask + 1);
+						return element;
+					}
+					position = head.get();
+				} else if (difference < 0) {
+					return null;
+				} else {
+					position = head.get();
+				}
+			}
+		}
+
+		int size() {
+			return (int) Math.max(0, tail.get() - head.get());
+		}
+	}
+}
@@ -1,11 +1,35 @@
 package io.mosip.idrepository.core.helper;
 
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_ASYNC_ENABLED;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_BATCH_CONCURRENCY;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_BATCH_MAX_SIZE;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_BLOCK_TIMEOUT_MILLIS;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_DEAD_LETTER_FILE;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_JOURNAL_DIRECTORY;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_JOURNAL_ENABLED;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_JOURNAL_FORCE_INTERVAL_MILLIS;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_JOURNAL_MAX_SEGMENTS;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_JOURNAL_SEGMENT_SIZE;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_OVERFLOW_POLICY;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_QUEUE_CAPACITY;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.AUDIT_SPILL_FILE;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.idrepository.core.builder.AuditRequestBuilder;
 import io.mosip.idrepository.core.builder.RestRequestBuilder;
 import io.mosip.idrepository.core.constant.AuditEvents;
@@ -17,6 +41,7 @@ import io.mosip.idrepository.core.dto.AuditResponseDTO;
 import io.mosip.idrepository.core.dto.RestRequestDTO;
 import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
 import io.mosip.idrepository.core.exception.IdRepoExceptionHandler;
+import io.mosip.idrepository.core.helper.AuditDispatcher.OverflowPolicy;
 import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
 import io.mosip.kernel.core.exception.ExceptionUtils;
@@ -25,7 +50,8 @@ import io.mosip.kernel.core.logger.spi.Logger;
 
 /**
  * The Class AuditHelper - helper class that makes async rest call to audit
- * service with provided audit details .
+ * service with provided audit details . When enabled, audit events are queued
+ * and sent in batches by an {@link AuditDispatcher}.
  *
  * @author Manoj SP
  */
@@ -46,6 +72,10 @@ public class AuditHelper {
 	/** The rest factory. */
 	@Autowired
 	private RestRequestBuilder restBuilder;
+
+	/** The service token provider. */
+	@Autowired
+	private ServiceTokenProvider tokenProvider;
 	
 	/** The security manager. */
 	@Autowired
@@ -55,6 +85,72 @@ public class AuditHelper {
 	@Autowired
 	private ObjectMapper mapper;
 
+	/** The env. */
+	@Autowired
+	private Environment env;
+
+	/** The meter registry. */
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	/** The audit dispatcher, null if audit events are sent individually. */
+	private AuditDispatcher auditDispatcher;
+
+	/**
+	 * Starts the audit dispatcher if enabled.
+	 *
+	 * @throws IOException if the audit journal cannot be opened
+	 */
+	@PostConstruct
+	public void init() throws IOException {
+		if (env.getProperty(AUDIT_ASYNC_ENABLED, Boolean.class, false)) {
+			AuditJournal journal = null;
+			if (env.getProperty(AUDIT_JOURNAL_ENABLED, Boolean.class, false)) {
+				journal = new AuditJournal(
+						Paths.get(env.getProperty(AUDIT_JOURNAL_DIRECTORY,
+								Paths.get(System.getProperty("java.io.tmpdir"), "idrepo-audit-journal-" + getInstanceName())
+										.toString())),
+						env.getProperty(AUDIT_JOURNAL_SEGMENT_SIZE, Integer.class, 16 * 1024 * 1024),
+						env.getProperty(AUDIT_JOURNAL_MAX_SEGMENTS, Integer.class, 64),
+						env.getProperty(AUDIT_JOURNAL_FORCE_INTERVAL_MILLIS, Long.class, 1000L));
+			}
+			auditDispatcher = new AuditDispatcher(restHelper, restBuilder, tokenProvider, mapper,
+					env.getProperty(AUDIT_QUEUE_CAPACITY, Integer.class, 4096),
+					env.getProperty(AUDIT_BATCH_MAX_SIZE, Integer.class, 64),
+					env.getProperty(AUDIT_BATCH_CONCURRENCY, Integer.class, 8),
+					OverflowPolicy.valueOf(env.getProperty(AUDIT_OVERFLOW_POLICY, OverflowPolicy.BLOCK.name())),
+					env.getProperty(AUDIT_BLOCK_TIMEOUT_MILLIS, Long.class, 0L),
+					Paths.get(env.getProperty(AUDIT_SPILL_FILE, Paths.get(System.getProperty("java.io.tmpdir"),
+							"idrepo-audit-spill-" + getInstanceName() + ".log").toString())),
+					Paths.get(env.getProperty(AUDIT_DEAD_LETTER_FILE, Paths.get(System.getProperty("java.io.tmpdir"),
+							"idrepo-audit-dead-letter-" + getInstanceName() + ".log").toString())),
+					journal, meterRegistry);
+			auditDispatcher.start();
+		}
+	}
+
+	/**
+	 * Gets a name for the default local files of this service instance, so that
+	 * instances sharing a host or volume do not replay each other's events.
+	 *
+	 * @return the instance name
+	 * @throws IOException if the host name cannot be resolved
+	 */
+	private String getInstanceName() throws IOException {
+		return String.join("-", env.getProperty("spring.application.name", "idrepo"),
+				InetAddress.getLocalHost().getHostName(), env.getProperty("server.port", "0"));
+	}
+
+	/**
+	 * Stops the audit dispatcher, sending the audit events still queued.
+	 */
+	@PreDestroy
+	public void destroy() {
+		if (Objects.nonNull(auditDispatcher)) {
+			auditDispatcher.stop(5000);
+		}
+	}
+
 	/**
 	 * Audit - method to call audit service and store audit details.
 	 *
@@ -69,6 +165,10 @@ public class AuditHelper {
 				securityManager.hash(id.getBytes()), idType, desc);
 		RestRequestDTO restRequest;
 		try {
+			if (Objects.nonNull(auditDispatcher)) {
+				auditDispatcher.submit(auditRequest);
+				return;
+			}
 			restRequest = restBuilder.buildRequest(RestServicesConstants.AUDIT_MANAGER_SERVICE, auditRequest,
 					AuditResponseDTO.class);
 			restHelper.requestAsync(restRequest);
@@ -0,0 +1,489 @@
+package io.mosip.idrepository.core.helper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * The Class AuditJournal - a local write-ahead journal of audit events, kept in
+ * fixed size memory-mapped segment files. Appending a record is a single copy
+ * into the mapped segment of the writer. Records are read back in the order
+ * they were appended, and the position up to which they have been delivered is
+ * saved in a checkpoint file, so that a restart resumes from there. Segments
+ * behind the checkpoint are deleted.
+ * <p>
+ * Records can also be acknowledged one by one. A rewind then moves the
+ * checkpoint past the leading acknowledged records, and the acknowledged
+ * records behind an unacknowledged one are skipped when read again, so a
+ * record which is retried does not hold back or repeat the others. Records
+ * acknowledged behind the checkpoint are read again after a restart.
+ * <p>
+ * A record is laid out as its length, the CRC32 of its payload and the payload.
+ * The length is written last, so a zero length marks the end of the segment
+ * and a record torn by a crash fails its CRC check.
+ * <p>
+ * The write segment is flushed to the storage device by an append once the
+ * force interval has passed since the last flush, so that at most that much of
+ * the appended records can be lost when the host crashes.
+ */
+public class AuditJournal implements Closeable {
+
+	/** The mosip logger. */
+	private static Logger mosipLogger = IdRepoLogger.getLogger(AuditJournal.class);
+
+	/** The Constant AUDIT_JOURNAL. */
+	private static final String AUDIT_JOURNAL = "AuditJournal";
+
+	/** The Constant SEGMENT_PREFIX. */
+	private static final String SEGMENT_PREFIX = "audit-";
+
+	/** The Constant SEGMENT_SUFFIX. */
+	private static final String SEGMENT_SUFFIX = ".journal";
+
+	/** The Constant CHECKPOINT_FILE. */
+	private static final String CHECKPOINT_FILE = "checkpoint";
+
+	/** The Constant RECORD_HEADER_SIZE. */
+	private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+
+	/** The directory. */
+	private final Path directory;
+
+	/** The segment size. */
+	private final int segmentSize;
+
+	/** The max segments. */
+	private final int maxSegments;
+
+	/** The segments present in the directory. */
+	private final TreeSet<Long> segments = new TreeSet<>();
+
+	/** The write segment. */
+	private long writeSegment;
+
+	/** The write buffer. */
+	private MappedByteBuffer writeBuffer;
+
+	/** The read segment. */
+	private long readSegment;
+
+	/** The read offset. */
+	private int readOffset;
+
+	/** The read buffer. */
+	private ByteBuffer readBuffer;
+
+	/** The checkpoint segment. */
+	private long checkpointSegment;
+
+	/** The checkpoint offset. */
+	private int checkpointOffset;
+
+	/** The force interval in nanoseconds. */
+	private final long forceIntervalNanos;
+
+	/** The time in nanoseconds of the last flush of the write segment. */
+	private long lastForceNanos;
+
+	/** The records read since the checkpoint, in order. */
+	private final List<Entry> readEntries = new ArrayList<>();
+
+	/** The positions of the records acknowledged ahead of the checkpoint. */
+	private final Set<Long> acknowledged = new HashSet<>();
+
+	/**
+	 * Opens the journal in the directory, recovering the segments and the
+	 * checkpoint left by a previous run.
+	 *
+	 * @param directory   the directory
+	 * @param segmentSize the segment size in bytes
+	 * @param maxSegments the max segments kept before appends are refused
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public AuditJournal(Path directory, int segmentSize, int maxSegments) throws IOException {
+		this(directory, segmentSize, maxSegments, 1000);
+	}
+
+	/**
+	 * Opens the journal in the directory, recovering the segments and the
+	 * checkpoint left by a previous run.
+	 *
+	 * @param directory           the directory
+	 * @param segmentSize         the segment size in bytes
+	 * @param maxSegments         the max segments kept before appends are refused
+	 * @param forceIntervalMillis the max time in milliseconds an appended record
+	 *                            waits to be flushed, 0 to flush on every append
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public AuditJournal(Path directory, int segmentSize, int maxSegments, long forceIntervalMillis)
+			throws IOException {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxSegments = Math.max(maxSegments, 2);
+		this.forceIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(forceIntervalMillis, 0));
+		this.lastForceNanos = System.nanoTime();
+		Files.createDirectories(directory);
+		readCheckpoint();
+		try (Stream<Path> files = Files.list(directory)) {
+			files.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+					.map(name -> Long.valueOf(name.substring(SEGMENT_PREFIX.length(),
+							name.length() - SEGMENT_SUFFIX.length())))
+					.forEach(segments::add);
+		}
+		while (!segments.isEmpty() && segments.first() < checkpointSegment) {
+			Files.deleteIfExists(segmentPath(segments.pollFirst()));
+		}
+		if (segments.isEmpty()) {
+			segments.add(checkpointSegment);
+		} else if (!segments.contains(checkpointSegment)) {
+			checkpointSegment = segments.first();
+			checkpointOffset = 0;
+		}
+		writeSegment = segments.last();
+		writeBuffer = map(writeSegment, MapMode.READ_WRITE);
+		int writeOffset = 0;
+		while (isValidRecord(writeBuffer, writeOffset)) {
+			writeOffset += RECORD_HEADER_SIZE + writeBuffer.getInt(writeOffset);
+		}
+		writeBuffer.position(writeOffset);
+		rewind();
+	}
+
+	/**
+	 * Appends the record to the journal, flushing the write segment if the
+	 * force interval has passed.
+	 *
+	 * @param record the record
+	 * @return true, if appended. False if the record does not fit in a segment
+	 *         or the journal already holds the max segments.
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public synchronized boolean append(byte[] record) throws IOException {
+		int recordSize = RECORD_HEADER_SIZE + record.length;
+		if (record.length == 0 || recordSize > segmentSize) {
+			return false;
+		}
+		if (writeBuffer.remaining() < recordSize) {
+			if (segments.size() >= maxSegments) {
+				return false;
+			}
+			rotate();
+		}
+		int offset = writeBuffer.position();
+		CRC32 crc = new CRC32();
+		crc.update(record);
+		writeBuffer.position(offset + RECORD_HEADER_SIZE);
+		writeBuffer.put(record);
+		writeBuffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+		writeBuffer.putInt(offset, record.length);
+		if (System.nanoTime() - lastForceNanos >= forceIntervalNanos) {
+			force();
+		}
+		return true;
+	}
+
+	/**
+	 * Reads up to max records following the records already read, skipping the
+	 * records already acknowledged.
+	 *
+	 * @param maxRecords the max records
+	 * @return the records, empty if there is nothing more to read
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public synchronized List<Entry> read(int maxRecords) throws IOException {
+		List<Entry> records = new ArrayList<>();
+		while (records.size() < maxRecords) {
+			if (isValidRecord(readBuffer, readOffset)) {
+				int length = readBuffer.getInt(readOffset);
+				Entry entry;
+				if (acknowledged.contains(position(readSegment, readOffset))) {
+					entry = new Entry(readSegment, readOffset, length, null);
+				} else {
+					byte[] record = new byte[length];
+					ByteBuffer view = readBuffer.duplicate();
+					view.position(readOffset + RECORD_HEADER_SIZE);
+					view.get(record);
+					entry = new Entry(readSegment, readOffset, length, record);
+					records.add(entry);
+				}
+				readEntries.add(entry);
+				readOffset += RECORD_HEADER_SIZE + length;
+			} else if (readSegment < writeSegment) {
+				if (readOffset <= readBuffer.capacity() - Integer.BYTES && readBuffer.getInt(readOffset) != 0) {
+					mosipLogger.error(IdRepoSecurityManager.getUser(), AUDIT_JOURNAL, "read",
+							"corrupt record in segment " + readSegment + " at " + readOffset
+									+ " - skipping rest of the segment");
+				}
+				openReadSegment(segments.higher(readSegment), 0);
+			} else {
+				break;
+			}
+		}
+		return records;
+	}
+
+	/**
+	 * Marks the record as delivered, or as not to be delivered again. It is
+	 * passed by the checkpoint on the next rewind if no record before it is
+	 * still unacknowledged.
+	 *
+	 * @param entry the entry read
+	 */
+	public synchronized void ack(Entry entry) {
+		acknowledged.add(position(entry.segment, entry.offset));
+	}
+
+	/**
+	 * Marks all records read so far as delivered, saving the checkpoint and
+	 * deleting the segments no longer needed.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public synchronized void commit() throws IOException {
+		readEntries.forEach(entry -> acknowledged.remove(position(entry.segment, entry.offset)));
+		readEntries.clear();
+		saveCheckpoint(readSegment, readOffset);
+	}
+
+	/**
+	 * Moves the checkpoint past the leading acknowledged records read so far,
+	 * and the read position back to the checkpoint, so that the records read
+	 * but not acknowledged are read again.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public synchronized void rewind() throws IOException {
+		long segment = checkpointSegment;
+		int offset = checkpointOffset;
+		for (Entry entry : readEntries) {
+			if (!acknowledged.remove(position(entry.segment, entry.offset))) {
+				break;
+			}
+			segment = entry.segment;
+			offset = entry.offset + RECORD_HEADER_SIZE + entry.length;
+		}
+		readEntries.clear();
+		saveCheckpoint(segment, offset);
+		openReadSegment(checkpointSegment, checkpointOffset);
+	}
+
+	/**
+	 * Saves the checkpoint at the position, deleting the segments no longer
+	 * needed.
+	 *
+	 * @param segment the segment
+	 * @param offset  the offset
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void saveCheckpoint(long segment, int offset) throws IOException {
+		if (segment == checkpointSegment && offset == checkpointOffset) {
+			return;
+		}
+		checkpointSegment = segment;
+		checkpointOffset = offset;
+		Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+		Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+		ByteBuffer content = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+		content.putLong(checkpointSegment).putInt(checkpointOffset);
+		content.flip();
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			channel.write(content);
+			channel.force(true);
+		}
+		Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		while (segments.first() < checkpointSegment) {
+			Files.deleteIfExists(segmentPath(segments.pollFirst()));
+		}
+	}
+
+	/**
+	 * Checks if there are records not read yet.
+	 *
+	 * @return true, if there are records not read yet
+	 */
+	public synchronized boolean hasUnread() {
+		return readSegment < writeSegment || isValidRecord(readBuffer, readOffset);
+	}
+
+	/**
+	 * Gets the number of segments in the journal.
+	 *
+	 * @return the segment count
+	 */
+	public synchronized int getSegmentCount() {
+		return segments.size();
+	}
+
+	/**
+	 * Flushes the write segment to the storage device.
+	 */
+	@Override
+	public synchronized void close() {
+		force();
+	}
+
+	/**
+	 * Flushes the write segment to the storage device.
+	 */
+	private void force() {
+		writeBuffer.force();
+		lastForceNanos = System.nanoTime();
+	}
+
+	/**
+	 * Starts a new write segment, after flushing the current one.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void rotate() throws IOException {
+		force();
+		writeSegment++;
+		segments.add(writeSegment);
+		writeBuffer = map(writeSegment, MapMode.READ_WRITE);
+	}
+
+	/**
+	 * Points the reader to the offset in the segment. The write segment is read
+	 * through the writer's mapping.
+	 *
+	 * @param segment the segment
+	 * @param offset  the offset
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void openReadSegment(long segment, int offset) throws IOException {
+		readSegment = segment;
+		readOffset = offset;
+		readBuffer = segment == writeSegment ? writeBuffer.duplicate() : map(segment, MapMode.READ_ONLY);
+	}
+
+	/**
+	 * Maps the segment, creating it if needed.
+	 *
+	 * @param segment the segment
+	 * @param mode    the mode
+	 * @return the mapped byte buffer
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private MappedByteBuffer map(long segment, MapMode mode) throws IOException {
+		try (RandomAccessFile file = new RandomAccessFile(segmentPath(segment).toFile(),
+				mode == MapMode.READ_ONLY ? "r" : "rw")) {
+			if (mode != MapMode.READ_ONLY && file.length() < segmentSize) {
+				file.setLength(segmentSize);
+			}
+			return file.getChannel().map(mode, 0, file.length());
+		}
+	}
+
+	/**
+	 * Checks if a complete record with a matching CRC starts at the offset.
+	 *
+	 * @param buffer the buffer
+	 * @param offset the offset
+	 * @return true, if valid record
+	 */
+	private boolean isValidRecord(ByteBuffer buffer, int offset) {
+		if (offset > buffer.capacity() - RECORD_HEADER_SIZE) {
+			return false;
+		}
+		int length = buffer.getInt(offset);
+		if (length <= 0 || length > buffer.capacity() - offset - RECORD_HEADER_SIZE) {
+			return false;
+		}
+		ByteBuffer payload = buffer.duplicate();
+		payload.position(offset + RECORD_HEADER_SIZE).limit(offset + RECORD_HEADER_SIZE + length);
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES);
+	}
+
+	/**
+	 * Reads the checkpoint file, if present.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void readCheckpoint() throws IOException {
+		Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+		if (Files.exists(checkpoint)) {
+			ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+			checkpointSegment = content.getLong();
+			checkpointOffset = content.getInt();
+		}
+	}
+
+	/**
+	 * Gets the position of a record, ordered by segment then offset.
+	 *
+	 * @param segment the segment
+	 * @param offset  the offset
+	 * @return the position
+	 */
+	private static long position(long segment, int offset) {
+		return (segment << Integer.SIZE) | offset;
+	}
+
+	/**
+	 * Gets the path of the segment.
+	 *
+	 * @param segment the segment
+	 * @return the path
+	 */
+	private Path segmentPath(long segment) {
+		return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+	}
+
+	/**
+	 * A record read from the journal.
+	 */
+	public static final class Entry {
+
+		/** The segment. */
+		private final long segment;
+
+		/** The offset. */
+		private final int offset;
+
+		/** The length. */
+		private final int length;
+
+		/** The record, null if skipped. */
+		private final byte[] record;
+
+		private Entry(long segment, int offset, int length, byte[] record) {
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+			this.record = record;
+		}
+
+		/**
+		 * Gets the record.
+		 *
+		 * @return the record
+		 */
+		public byte[] getRecord() {
+			return record;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package io.mosip.idrepository.core.helper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.idrepository.core.util.MetricsUtil;
+import io.mosip.idrepository.core.util.ServerTimingRecorder;
+import io.mosip.idrepository.core.util.ServerTimingRecorder.Metric;
+
+/**
+ * The Class MetricsAspect - times the methods annotated with {@link Timed} and
+ * all calls to JPA repositories, tagging them with the outcome of the call.
+ * The time is also added to the {@link ServerTimingRecorder} of the request,
+ * if any.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+	/** The repository names by proxy class. */
+	private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+	/** The meter registry. */
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Times the method annotated with {@link Timed}, tagged by class and method.
+	 *
+	 * @param joinPoint the join point
+	 * @param timed     the timed
+	 * @return the result of the method
+	 * @throws Throwable the error thrown by the method
+	 */
+	@Around("execution(* *(..)) && @annotation(timed)")
+	public Object timeMethod(ProceedingJoinPoint joinPoint, Timed timed) throws Throwable {
+		return proceed(joinPoint, timed.value(),
+				Tags.of(timed.extraTags()).and("class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+						"method", joinPoint.getSignature().getName()));
+	}
+
+	/**
+	 * Times the repository call, tagged by repository and method.
+	 *
+	 * @param joinPoint the join point
+	 * @return the result of the call
+	 * @throws Throwable the error thrown by the call
+	 */
+	@Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+	public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+		return proceed(joinPoint, MetricsUtil.REPOSITORY_CALLS, Tags.of("repository",
+				getRepositoryName(joinPoint.getThis()), "method", joinPoint.getSignature().getName()));
+	}
+
+	/**
+	 * Proceeds with the join point, recording its time.
+	 *
+	 * @param joinPoint the join point
+	 * @param name      the timer name
+	 * @param tags      the tags
+	 * @return the result
+	 * @throws Throwable the error thrown
+	 */
+	private Object proceed(ProceedingJoinPoint joinPoint, String name, Tags tags) throws Throwable {
+		Timer.Sample sample = MetricsUtil.startTimer(meterRegistry);
+		long startNanos = System.nanoTime();
+		try {
+			Object result = joinPoint.proceed();
+			MetricsUtil.recordCall(meterRegistry, sample, name, tags, null);
+			return result;
+		} catch (Throwable e) {
+			MetricsUtil.recordCall(meterRegistry, sample, name, tags, e);
+			throw e;
+		} finally {
+			ServerTimingRecorder.record(Metric.forMeter(name), System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * Gets the name of the application repository interface implemented by the
+	 * repository proxy.
+	 *
+	 * @param repository the repository
+	 * @return the repository name
+	 */
+	private String getRepositoryName(Object repository) {
+		return repositoryNames.computeIfAbsent(repository.getClass(), proxyClass -> {
+			for (Class<?> repositoryInterface : ClassUtils.getAllInterfacesForClassAsSet(proxyClass)) {
+				if (Repository.class.isAssignableFrom(repositoryInterface)
+						&& !repositoryInterface.getName().startsWith("org.springframework.")) {
+					return repositoryInterface.getSimpleName();
+				}
+			}
+			return proxyClass.getSimpleName();
+		});
+	}
+}
@@ -8,13 +8,17 @@ import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.UNKNOWN_E
 import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
+import javax.annotation.PreDestroy;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.RequestBodySpec;
@@ -25,15 +29,22 @@ import org.springframework.web.util.UriComponentsBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
 import io.mosip.idrepository.core.dto.RestRequestDTO;
 import io.mosip.idrepository.core.exception.AuthenticationException;
 import io.mosip.idrepository.core.exception.RestServiceException;
 import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.core.util.MetricsUtil;
+import io.mosip.idrepository.core.util.ServerTimingRecorder;
+import io.mosip.idrepository.core.util.ServerTimingRecorder.Metric;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.logger.spi.Logger;
 import lombok.NoArgsConstructor;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 
 /**
@@ -78,6 +89,25 @@ public class RestHelper {
 	
 	@Autowired
 	private WebClient webClient;
+
+	/** The env. */
+	@Autowired
+	private Environment env;
+
+	/** The meter registry. */
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	/** The guards of the rest services, created on first use. */
+	private final Map<RestServicesConstants, RestServiceGuard> guards = new ConcurrentHashMap<>();
+
+	/**
+	 * Releases the connection pools dedicated to rest services.
+	 */
+	@PreDestroy
+	public void destroy() {
+		guards.values().forEach(RestServiceGuard::dispose);
+	}
 	
 	/**
 	 * Request to send/receive HTTP requests and return the response synchronously.
@@ -93,11 +123,7 @@ public class RestHelper {
 		try {
 			mosipLogger.debug(IdRepoSecurityManager.getUser(), CLASS_REST_HELPER, METHOD_REQUEST_SYNC,
 					request.getUri());
-			if (request.getTimeout() != null) {
-				response = request(request).timeout(Duration.ofSeconds(request.getTimeout())).block();
-			} else {
-				response = request(request).block();
-			}
+			response = send(request).block();
 			checkErrorResponse(response, request.getResponseType());
 			mosipLogger.debug(IdRepoSecurityManager.getUser(), CLASS_REST_HELPER, METHOD_REQUEST_SYNC,
 					"Received valid response");
@@ -108,7 +134,11 @@ public class RestHelper {
 							+ " \n Response Body : \n" + ExceptionUtils.getStackTrace(e));
 			throw handleStatusError(e, request.getResponseType());
 		} catch (RuntimeException e) {
-			if (e.getCause() != null && e.getCause().getClass().equals(TimeoutException.class)) {
+			if (Exceptions.unwrap(e) instanceof RestServiceException) {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), CLASS_REST_HELPER, METHOD_REQUEST_SYNC,
+						THROWING_REST_SERVICE_EXCEPTION + " - " + e.getMessage());
+				throw (RestServiceException) Exceptions.unwrap(e);
+			} else if (e.getCause() != null && e.getCause().getClass().equals(TimeoutException.class)) {
 				mosipLogger.error(IdRepoSecurityManager.getUser(), CLASS_REST_HELPER, METHOD_REQUEST_SYNC,
 						THROWING_REST_SERVICE_EXCEPTION + "- CONNECTION_TIMED_OUT - \n " + e.getMessage());
 				throw new RestServiceException(CONNECTION_TIMED_OUT, e);
@@ -129,11 +159,99 @@ public class RestHelper {
 	public Supplier<Object> requestAsync(@Valid RestRequestDTO request) {
 		mosipLogger.debug(IdRepoSecurityManager.getUser(), CLASS_REST_HELPER, METHOD_REQUEST_ASYNC,
 				PREFIX_REQUEST + request.getUri());
-		Mono<?> sendRequest = request(request);
+		Mono<?> sendRequest = send(request);
 		sendRequest.subscribe();
 		return () -> sendRequest.block();
 	}
 
+	/**
+	 * Sends the HTTP request without blocking. The response is validated and errors
+	 * are mapped the same way as {@link #requestSync(RestRequestDTO)}.
+	 *
+	 * @param request the request
+	 * @return the mono
+	 */
+	@SuppressWarnings("unchecked")
+	public Mono<Object> requestReactive(RestRequestDTO request) {
+		Mono<Object> response;
+		try {
+			response = (Mono<Object>) send(request);
+		} catch (RuntimeException e) {
+			return Mono.error(e);
+		}
+		return response
+				.switchIfEmpty(Mono.error(new RestServiceException(CLIENT_ERROR)))
+				.flatMap(responseBody -> {
+					try {
+						checkErrorResponse(responseBody, request.getResponseType());
+						return Mono.just(responseBody);
+					} catch (RestServiceException e) {
+						return Mono.error(e);
+					}
+				})
+				.onErrorMap(WebClientResponseException.class,
+						e -> handleStatusError(e, request.getResponseType()))
+				.onErrorMap(TimeoutException.class, e -> new RestServiceException(CONNECTION_TIMED_OUT, e));
+	}
+
+	/**
+	 * Builds the HTTP request and applies the timeout and the guard of its rest
+	 * service, if any. The request is timed as seen by the caller, including
+	 * retries.
+	 *
+	 * @param request the request
+	 * @return the mono
+	 */
+	private Mono<?> send(RestRequestDTO request) {
+		Mono<?> response = request(request);
+		if (request.getTimeout() != null) {
+			response = response.timeout(Duration.ofSeconds(request.getTimeout()));
+		}
+		RestServiceGuard guard = getGuard(request);
+		return timed(request, Objects.isNull(guard) ? response : guard.protect(response, request.getHttpMethod()));
+	}
+
+	/**
+	 * Records the time taken by each subscription to the response, in the meter
+	 * registry and in the server timing of the calling request.
+	 *
+	 * @param          <T> the generic type
+	 * @param request  the request
+	 * @param response the response
+	 * @return the mono
+	 */
+	private <T> Mono<T> timed(RestRequestDTO request, Mono<T> response) {
+		ServerTimingRecorder serverTiming = ServerTimingRecorder.current();
+		if (Objects.isNull(meterRegistry) && Objects.isNull(serverTiming)) {
+			return response;
+		}
+		String service = Objects.isNull(request.getRestService()) ? "NONE" : request.getRestService().name();
+		return Mono.defer(() -> {
+			Timer.Sample sample = MetricsUtil.startTimer(meterRegistry);
+			long startNanos = System.nanoTime();
+			return response.doOnSuccessOrError((responseBody, error) -> {
+				MetricsUtil.recordRestCall(meterRegistry, sample, service, request.getHttpMethod(), error);
+				if (Objects.nonNull(serverTiming)) {
+					serverTiming.add(Metric.REST, System.nanoTime() - startNanos);
+				}
+			});
+		});
+	}
+
+	/**
+	 * Gets the guard of the rest service of the request.
+	 *
+	 * @param request the request
+	 * @return the guard, null if the request is not built for a rest service
+	 */
+	private RestServiceGuard getGuard(RestRequestDTO request) {
+		if (Objects.isNull(env) || Objects.isNull(request.getRestService())) {
+			return null;
+		}
+		return guards.computeIfAbsent(request.getRestService(),
+				restService -> RestServiceGuard.create(restService, env, webClient));
+	}
+
 	/**
 	 * Method to send/receive HTTP requests and return the response as Mono.
 	 *
@@ -164,7 +282,9 @@ public class RestHelper {
 					.toUriString());
 		}
 		
-		requestBodySpec = webClient.method(request.getHttpMethod()).uri(request.getUri());
+		RestServiceGuard guard = getGuard(request);
+		requestBodySpec = (Objects.isNull(guard) ? webClient : guard.getWebClient(webClient))
+				.method(request.getHttpMethod()).uri(request.getUri());
 
 		if (request.getHeaders() != null) {
 			requestBodySpec = requestBodySpec
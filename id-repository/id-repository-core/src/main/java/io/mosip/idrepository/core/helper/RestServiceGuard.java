@@ -0,0 +1,318 @@
+package io.mosip.idrepository.core.helper;
+
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.SERVICE_UNAVAILABLE;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.logger.spi.Logger;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.ipc.netty.resources.PoolResources;
+
+/**
+ * The Class RestServiceGuard - isolates the calls made to one downstream
+ * service. Each guard can have its own connection pool, a bulkhead limiting the
+ * number of calls in flight, a circuit breaker which fails calls fast while the
+ * service is failing, and retries with jittered backoff for idempotent calls.
+ * All of them are configured with the same {@code <service>.rest.*} properties
+ * used to build the request, and are disabled when not configured.
+ */
+public class RestServiceGuard {
+
+	/** The mosip logger. */
+	private static Logger mosipLogger = IdRepoLogger.getLogger(RestServiceGuard.class);
+
+	/** The Constant REST_SERVICE_GUARD. */
+	private static final String REST_SERVICE_GUARD = "RestServiceGuard";
+
+	/** The Constant REST_MAX_CONNECTIONS. */
+	private static final String REST_MAX_CONNECTIONS = ".rest.pool.max-connections";
+
+	/** The Constant REST_MAX_CONCURRENT_CALLS. */
+	private static final String REST_MAX_CONCURRENT_CALLS = ".rest.bulkhead.max-concurrent-calls";
+
+	/** The Constant REST_FAILURE_THRESHOLD. */
+	private static final String REST_FAILURE_THRESHOLD = ".rest.circuit-breaker.failure-threshold";
+
+	/** The Constant REST_OPEN_DURATION_MILLIS. */
+	private static final String REST_OPEN_DURATION_MILLIS = ".rest.circuit-breaker.open-duration-millis";
+
+	/** The Constant REST_RETRY_MAX_ATTEMPTS. */
+	private static final String REST_RETRY_MAX_ATTEMPTS = ".rest.retry.max-attempts";
+
+	/** The Constant REST_RETRY_BACKOFF_MILLIS. */
+	private static final String REST_RETRY_BACKOFF_MILLIS = ".rest.retry.backoff-millis";
+
+	/** The Constant REST_RETRY_MAX_BACKOFF_MILLIS. */
+	private static final String REST_RETRY_MAX_BACKOFF_MILLIS = ".rest.retry.max-backoff-millis";
+
+	/** The Constant REST_RETRY_ALL_METHODS. */
+	private static final String REST_RETRY_ALL_METHODS = ".rest.retry.all-methods";
+
+	/** The Constant IDEMPOTENT_METHODS. */
+	private static final Set<HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD,
+			HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+	/** The service name. */
+	private final String serviceName;
+
+	/** The web client with a dedicated connection pool, null to use the shared one. */
+	private final WebClient webClient;
+
+	/** The pool resources, null if the shared connection pool is used. */
+	private final PoolResources poolResources;
+
+	/** The bulkhead, null if calls are not limited. */
+	private final Semaphore bulkhead;
+
+	/** The consecutive failures after which the circuit opens, 0 if disabled. */
+	private final int failureThreshold;
+
+	/** The open duration of the circuit in millis. */
+	private final long openDurationMillis;
+
+	/** The max retry attempts. */
+	private final int maxRetryAttempts;
+
+	/** The retry backoff in millis. */
+	private final long retryBackoffMillis;
+
+	/** The max retry backoff in millis. */
+	private final long maxRetryBackoffMillis;
+
+	/** Whether calls of any http method can be retried. */
+	private final boolean retryAllMethods;
+
+	/** The consecutive failures. */
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+	/** The time until which the circuit is open, 0 if closed. */
+	private volatile long openUntilMillis;
+
+	/** Whether a trial call is in flight while the circuit is half open. */
+	private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+	/**
+	 * Instantiates a new rest service guard.
+	 *
+	 * @param serviceName           the service name
+	 * @param webClient             the web client, can be null
+	 * @param poolResources         the pool resources, can be null
+	 * @param maxConcurrentCalls    the max concurrent calls, 0 if unlimited
+	 * @param failureThreshold      the failure threshold, 0 if disabled
+	 * @param openDurationMillis    the open duration millis
+	 * @param maxRetryAttempts      the max retry attempts
+	 * @param retryBackoffMillis    the retry backoff millis
+	 * @param maxRetryBackoffMillis the max retry backoff millis
+	 * @param retryAllMethods       whether calls which are not idempotent by http
+	 *                              method can be retried
+	 */
+	public RestServiceGuard(String serviceName, WebClient webClient, PoolResources poolResources,
+			int maxConcurrentCalls, int failureThreshold, long openDurationMillis, int maxRetryAttempts,
+			long retryBackoffMillis, long maxRetryBackoffMillis, boolean retryAllMethods) {
+		this.serviceName = serviceName;
+		this.webClient = webClient;
+		this.poolResources = poolResources;
+		this.bulkhead = maxConcurrentCalls > 0 ? new Semaphore(maxConcurrentCalls) : null;
+		this.failureThreshold = failureThreshold;
+		this.openDurationMillis = openDurationMillis;
+		this.maxRetryAttempts = maxRetryAttempts;
+		this.retryBackoffMillis = retryBackoffMillis;
+		this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+		this.retryAllMethods = retryAllMethods;
+	}
+
+	/**
+	 * Creates the guard of the rest service from its properties.
+	 *
+	 * @param restService     the rest service
+	 * @param env             the env
+	 * @param sharedWebClient the shared web client
+	 * @return the rest service guard
+	 */
+	public static RestServiceGuard create(RestServicesConstants restService, Environment env,
+			WebClient sharedWebClient) {
+		String serviceName = restService.getServiceName();
+		int maxConnections = env.getProperty(serviceName.concat(REST_MAX_CONNECTIONS), Integer.class, 0);
+		WebClient webClient = null;
+		PoolResources poolResources = null;
+		if (maxConnections > 0 && Objects.nonNull(sharedWebClient)) {
+			PoolResources pool = PoolResources.fixed(serviceName, maxConnections);
+			poolResources = pool;
+			webClient = sharedWebClient.mutate()
+					.clientConnector(new ReactorClientHttpConnector(options -> options.poolResources(pool)))
+					.build();
+		}
+		return new RestServiceGuard(serviceName, webClient, poolResources,
+				env.getProperty(serviceName.concat(REST_MAX_CONCURRENT_CALLS), Integer.class, 0),
+				env.getProperty(serviceName.concat(REST_FAILURE_THRESHOLD), Integer.class, 0),
+				env.getProperty(serviceName.concat(REST_OPEN_DURATION_MILLIS), Long.class, 30000L),
+				env.getProperty(serviceName.concat(REST_RETRY_MAX_ATTEMPTS), Integer.class, 0),
+				env.getProperty(serviceName.concat(REST_RETRY_BACKOFF_MILLIS), Long.class, 100L),
+				env.getProperty(serviceName.concat(REST_RETRY_MAX_BACKOFF_MILLIS), Long.class, 2000L),
+				env.getProperty(serviceName.concat(REST_RETRY_ALL_METHODS), Boolean.class, false));
+	}
+
+	/**
+	 * Gets the web client of the service.
+	 *
+	 * @param sharedWebClient the shared web client
+	 * @return the dedicated web client if configured, else the shared web client
+	 */
+	public WebClient getWebClient(WebClient sharedWebClient) {
+		return Objects.isNull(webClient) ? sharedWebClient : webClient;
+	}
+
+	/**
+	 * Applies the bulkhead, circuit breaker and retry to the call. Calls with an
+	 * idempotent http method are retried by subscribing to the call again.
+	 *
+	 * @param <T>        the generic type
+	 * @param call       the call
+	 * @param httpMethod the http method of the call
+	 * @return the mono
+	 */
+	public <T> Mono<T> protect(Mono<T> call, HttpMethod httpMethod) {
+		Mono<T> attempt = Mono.defer(() -> {
+			if (!allowRequest()) {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), REST_SERVICE_GUARD, "protect",
+						serviceName + " - circuit open, failing fast");
+				return Mono.error(new RestServiceException(SERVICE_UNAVAILABLE));
+			}
+			boolean trial = openUntilMillis != 0;
+			if (Objects.nonNull(bulkhead) && !bulkhead.tryAcquire()) {
+				if (trial) {
+					trialInFlight.set(false);
+				}
+				mosipLogger.error(IdRepoSecurityManager.getUser(), REST_SERVICE_GUARD, "protect",
+						serviceName + " - max concurrent calls reached, failing fast");
+				return Mono.error(new RestServiceException(SERVICE_UNAVAILABLE));
+			}
+			return call
+					.doOnSuccess(response -> onSuccess())
+					.doOnError(this::onError)
+					.doFinally(signal -> {
+						if (trial && signal == SignalType.CANCEL) {
+							trialInFlight.set(false);
+						}
+						if (Objects.nonNull(bulkhead)) {
+							bulkhead.release();
+						}
+					});
+		});
+		if (maxRetryAttempts <= 0 || !(retryAllMethods || IDEMPOTENT_METHODS.contains(httpMethod))) {
+			return attempt;
+		}
+		return attempt.retryWhen(errors -> {
+			AtomicInteger attempts = new AtomicInteger();
+			return errors.flatMap(error -> {
+				int retry = attempts.incrementAndGet();
+				if (retry > maxRetryAttempts || !isFailure(error)) {
+					return Mono.<Long>error(error);
+				}
+				mosipLogger.debug(IdRepoSecurityManager.getUser(), REST_SERVICE_GUARD, "protect",
+						serviceName + " - retry attempt : " + retry);
+				return Mono.delay(backoff(retry));
+			});
+		});
+	}
+
+	/**
+	 * Releases the dedicated connection pool.
+	 */
+	public void dispose() {
+		if (Objects.nonNull(poolResources)) {
+			poolResources.dispose();
+		}
+	}
+
+	/**
+	 * Checks if the circuit allows the request. Once the open duration elapses,
+	 * a single trial call is allowed to decide whether to close the circuit.
+	 *
+	 * @return true, if allowed
+	 */
+	private boolean allowRequest() {
+		long openUntil = openUntilMillis;
+		if (failureThreshold <= 0 || openUntil == 0) {
+			return true;
+		}
+		return System.currentTimeMillis() >= openUntil && trialInFlight.compareAndSet(false, true);
+	}
+
+	/**
+	 * Closes the circuit.
+	 */
+	private void onSuccess() {
+		consecutiveFailures.set(0);
+		openUntilMillis = 0;
+		trialInFlight.set(false);
+	}
+
+	/**
+	 * Counts the failure, opening the circuit when the threshold is reached or
+	 * when the trial call fails. Errors reported by the service for the request
+	 * itself (4XX) do not count as failures.
+	 *
+	 * @param error the error
+	 */
+	private void onError(Throwable error) {
+		if (failureThreshold <= 0) {
+			return;
+		}
+		if (!isFailure(error)) {
+			onSuccess();
+			return;
+		}
+		if (trialInFlight.get() || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+			openUntilMillis = System.currentTimeMillis() + openDurationMillis;
+			trialInFlight.set(false);
+			mosipLogger.error(IdRepoSecurityManager.getUser(), REST_SERVICE_GUARD, "onError",
+					serviceName + " - circuit opened for " + openDurationMillis + " millis");
+		}
+	}
+
+	/**
+	 * Checks if the error is a failure of the service: a 5XX status, a timeout or
+	 * a connection error.
+	 *
+	 * @param error the error
+	 * @return true, if the error is a failure of the service
+	 */
+	private static boolean isFailure(Throwable error) {
+		if (error instanceof WebClientResponseException) {
+			return ((WebClientResponseException) error).getStatusCode().is5xxServerError();
+		}
+		return !(error instanceof RestServiceException);
+	}
+
+	/**
+	 * Exponential backoff with jitter, between half and the full backoff of the
+	 * attempt.
+	 *
+	 * @param retry the retry
+	 * @return the duration
+	 */
+	private Duration backoff(int retry) {
+		long backoff = Math.min(maxRetryBackoffMillis, retryBackoffMillis << Math.min(retry - 1, 20));
+		long half = backoff / 2;
+		return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+	}
+}
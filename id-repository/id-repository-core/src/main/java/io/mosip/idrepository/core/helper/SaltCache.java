@@ -0,0 +1,171 @@
+package io.mosip.idrepository.core.helper;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+/**
+ * The Class SaltCache - holds all salts of a salt table in memory, indexed by
+ * the modulo value of the id. Salts are loaded once and reloaded only when
+ * {@link #refresh()} is invoked. Salt ids missing from the cache are looked up
+ * through the fallback on every call and are not cached.
+ *
+ * <p>
+ * The byte arrays returned are shared and must not be modified.
+ */
+public class SaltCache {
+
+	/** The mosip logger. */
+	private static Logger mosipLogger = IdRepoLogger.getLogger(SaltCache.class);
+
+	/** The Constant SALT_CACHE. */
+	private static final String SALT_CACHE = "SaltCache";
+
+	/** The name. */
+	private final String name;
+
+	/** The loader. */
+	private final Supplier<Map<Integer, String>> loader;
+
+	/** The fallback. */
+	private final IntFunction<String> fallback;
+
+	/** The salts. */
+	private volatile Salts salts = new Salts(new String[0], new byte[0][], new byte[0][], 0);
+
+	/**
+	 * Instantiates a new salt cache.
+	 *
+	 * @param name     the name
+	 * @param loader   loads all salts mapped by id
+	 * @param fallback looks up a single salt by id
+	 */
+	public SaltCache(String name, Supplier<Map<Integer, String>> loader, IntFunction<String> fallback) {
+		this.name = name;
+		this.loader = loader;
+		this.fallback = fallback;
+	}
+
+	/**
+	 * Reloads all salts. If loading fails, the salts loaded earlier are retained.
+	 *
+	 * @return the number of salts cached
+	 */
+	public int refresh() {
+		try {
+			Map<Integer, String> saltMap = loader.get();
+			int length = saltMap.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+			String[] saltArray = new String[length];
+			byte[][] bytesArray = new byte[length][];
+			byte[][] decodedArray = new byte[length][];
+			int count = 0;
+			for (Map.Entry<Integer, String> entry : saltMap.entrySet()) {
+				if (entry.getKey() >= 0 && Objects.nonNull(entry.getValue())) {
+					saltArray[entry.getKey()] = entry.getValue();
+					bytesArray[entry.getKey()] = entry.getValue().getBytes();
+					decodedArray[entry.getKey()] = CryptoUtil.decodeBase64(entry.getValue());
+					count++;
+				}
+			}
+			salts = new Salts(saltArray, bytesArray, decodedArray, count);
+			mosipLogger.info(IdRepoSecurityManager.getUser(), SALT_CACHE, "refresh",
+					name + " - loaded salts : " + count);
+		} catch (RuntimeException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), SALT_CACHE, "refresh",
+					name + " - loading salts failed : " + ExceptionUtils.getStackTrace(e));
+		}
+		return salts.count;
+	}
+
+	/**
+	 * Gets the salt.
+	 *
+	 * @param id the id
+	 * @return the salt
+	 */
+	public String getSalt(int id) {
+		Salts current = salts;
+		if (id >= 0 && id < current.salt.length && Objects.nonNull(current.salt[id])) {
+			return current.salt[id];
+		}
+		return fallback.apply(id);
+	}
+
+	/**
+	 * Gets the bytes of the salt string.
+	 *
+	 * @param id the id
+	 * @return the salt bytes
+	 */
+	public byte[] getSaltBytes(int id) {
+		Salts current = salts;
+		if (id >= 0 && id < current.bytes.length && Objects.nonNull(current.bytes[id])) {
+			return current.bytes[id];
+		}
+		return fallback.apply(id).getBytes();
+	}
+
+	/**
+	 * Gets the base64 decoded salt.
+	 *
+	 * @param id the id
+	 * @return the decoded salt
+	 */
+	public byte[] getDecodedSalt(int id) {
+		Salts current = salts;
+		if (id >= 0 && id < current.decoded.length && Objects.nonNull(current.decoded[id])) {
+			return current.decoded[id];
+		}
+		return CryptoUtil.decodeBase64(fallback.apply(id));
+	}
+
+	/**
+	 * Gets the name.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the number of salts cached.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return salts.count;
+	}
+
+	/**
+	 * An immutable snapshot of the loaded salts.
+	 */
+	private static final class Salts {
+
+		/** The salt. */
+		private final String[] salt;
+
+		/** The bytes. */
+		private final byte[][] bytes;
+
+		/** The decoded. */
+		private final byte[][] decoded;
+
+		/** The count. */
+		private final int count;
+
+		private Salts(String[] salt, byte[][] bytes, byte[][] decoded, int count) {
+			this.salt = salt;
+			this.bytes = bytes;
+			this.decoded = decoded;
+			this.count = count;
+		}
+	}
+}
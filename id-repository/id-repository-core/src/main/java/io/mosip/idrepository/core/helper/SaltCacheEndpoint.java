@@ -0,0 +1,57 @@
+package io.mosip.idrepository.core.helper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class SaltCacheEndpoint - actuator endpoint to view and reload the salt
+ * caches of the service. Reloading changes the cache state, so the endpoint is
+ * not in the default web exposure list; add saltcache to
+ * management.endpoints.web.exposure.include only where the actuator endpoints
+ * are secured.
+ */
+@Component
+@Endpoint(id = "saltcache")
+public class SaltCacheEndpoint {
+
+	/** The salt caches. */
+	@Autowired(required = false)
+	private List<SaltCache> saltCaches;
+
+	/**
+	 * Returns the number of salts held by each cache.
+	 *
+	 * @return the salt count by cache name
+	 */
+	@ReadOperation
+	public Map<String, Integer> saltCount() {
+		Map<String, Integer> saltCount = new TreeMap<>();
+		getSaltCaches().forEach(saltCache -> saltCount.put(saltCache.getName(), saltCache.size()));
+		return saltCount;
+	}
+
+	/**
+	 * Reloads all salt caches from the database.
+	 *
+	 * @return the salt count by cache name
+	 */
+	@WriteOperation
+	public Map<String, Integer> refresh() {
+		Map<String, Integer> saltCount = new TreeMap<>();
+		getSaltCaches().forEach(saltCache -> saltCount.put(saltCache.getName(), saltCache.refresh()));
+		return saltCount;
+	}
+
+	private List<SaltCache> getSaltCaches() {
+		return Objects.isNull(saltCaches) ? Collections.emptyList() : saltCaches;
+	}
+}
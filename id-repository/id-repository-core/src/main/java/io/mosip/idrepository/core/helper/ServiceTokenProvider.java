@@ -0,0 +1,144 @@
+package io.mosip.idrepository.core.helper;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SERVICE_TOKEN_APP_ID;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SERVICE_TOKEN_CLIENT_ID;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SERVICE_TOKEN_ISSUER_URL;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SERVICE_TOKEN_REQUEST_ID;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SERVICE_TOKEN_REQUEST_VERSION;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SERVICE_TOKEN_SECRET_KEY;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SERVICE_TOKEN_URL;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.dto.RestRequestDTO;
+import io.mosip.idrepository.core.dto.SecretKeyRequest;
+import io.mosip.idrepository.core.dto.TokenRequestDTO;
+import io.mosip.idrepository.core.exception.IdRepoAppUncheckedException;
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.kernel.core.util.TokenHandlerUtil;
+
+/**
+ * The Class ServiceTokenProvider - obtains a token for the service itself from
+ * the auth manager, with the client id and secret key of the service. It
+ * authenticates the rest calls made from background threads, which have no
+ * caller whose token could be passed on. The token is reused until it expires
+ * or is invalidated.
+ */
+@Component
+public class ServiceTokenProvider {
+
+	/** The mosip logger. */
+	private static Logger mosipLogger = IdRepoLogger.getLogger(ServiceTokenProvider.class);
+
+	/** The Constant SERVICE_TOKEN_PROVIDER. */
+	private static final String SERVICE_TOKEN_PROVIDER = "ServiceTokenProvider";
+
+	/** The Constant AUTHORIZATION. */
+	private static final String AUTHORIZATION = "Authorization";
+
+	/** The Constant TOKEN_REQUEST_TIMEOUT. */
+	private static final Duration TOKEN_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	/** The env. */
+	@Autowired
+	private Environment env;
+
+	/**
+	 * The web client, without the filters of the shared web client which pass on
+	 * the token of the caller.
+	 */
+	private WebClient webClient = WebClient.create();
+
+	/** The token, null until obtained or once invalidated. */
+	private volatile String token;
+
+	/**
+	 * Adds the token of the service to the request.
+	 *
+	 * @param request the request
+	 * @return the request
+	 */
+	public RestRequestDTO authenticate(RestRequestDTO request) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.addAll(request.getHeaders());
+		headers.set(HttpHeaders.COOKIE, AUTHORIZATION + "=" + getToken());
+		request.setHeaders(headers);
+		return request;
+	}
+
+	/**
+	 * Gets the token of the service, obtaining a new one if there is none or it
+	 * has expired.
+	 *
+	 * @return the token
+	 */
+	public String getToken() {
+		String currentToken = token;
+		if (Objects.nonNull(currentToken) && TokenHandlerUtil.isValidBearerToken(currentToken,
+				env.getProperty(SERVICE_TOKEN_ISSUER_URL), env.getProperty(SERVICE_TOKEN_CLIENT_ID))) {
+			return currentToken;
+		}
+		return generateToken(currentToken);
+	}
+
+	/**
+	 * Drops the token, so that a new one is obtained for the next request. To be
+	 * called when the token is rejected.
+	 */
+	public void invalidate() {
+		token = null;
+	}
+
+	/**
+	 * Obtains a new token from the auth manager, unless another thread has
+	 * already replaced the stale one.
+	 *
+	 * @param staleToken the stale token
+	 * @return the token
+	 */
+	private synchronized String generateToken(String staleToken) {
+		if (Objects.nonNull(token) && !token.equals(staleToken)) {
+			return token;
+		}
+		TokenRequestDTO<SecretKeyRequest> tokenRequest = new TokenRequestDTO<>();
+		tokenRequest.setId(env.getProperty(SERVICE_TOKEN_REQUEST_ID));
+		tokenRequest.setVersion(env.getProperty(SERVICE_TOKEN_REQUEST_VERSION));
+		tokenRequest.setRequesttime(DateUtils.getUTCCurrentDateTimeString());
+		SecretKeyRequest secretKeyRequest = new SecretKeyRequest();
+		secretKeyRequest.setAppId(env.getProperty(SERVICE_TOKEN_APP_ID));
+		secretKeyRequest.setClientId(env.getProperty(SERVICE_TOKEN_CLIENT_ID));
+		secretKeyRequest.setSecretKey(env.getProperty(SERVICE_TOKEN_SECRET_KEY));
+		tokenRequest.setRequest(secretKeyRequest);
+		try {
+			ClientResponse response = webClient.post().uri(env.getProperty(SERVICE_TOKEN_URL))
+					.contentType(MediaType.APPLICATION_JSON).syncBody(tokenRequest).exchange()
+					.block(TOKEN_REQUEST_TIMEOUT);
+			ResponseCookie cookie = response.cookies().getFirst(AUTHORIZATION);
+			response.bodyToMono(Void.class).block(TOKEN_REQUEST_TIMEOUT);
+			if (!response.statusCode().is2xxSuccessful() || Objects.isNull(cookie)) {
+				throw new IdRepoAppUncheckedException(IdRepoErrorConstants.AUTHORIZATION_FAILED);
+			}
+			token = cookie.getValue();
+			return token;
+		} catch (RuntimeException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), SERVICE_TOKEN_PROVIDER, "generateToken",
+					"obtaining service token failed : " + e.getMessage());
+			throw e instanceof IdRepoAppUncheckedException ? e
+					: new IdRepoAppUncheckedException(IdRepoErrorConstants.AUTHORIZATION_FAILED, e);
+		}
+	}
+}
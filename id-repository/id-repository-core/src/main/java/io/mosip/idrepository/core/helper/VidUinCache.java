@@ -0,0 +1,284 @@
+package io.mosip.idrepository.core.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * The Class VidUinCache - holds the UIN resolved for recently read VIDs, keyed
+ * by VID. Entries expire after the configured time to live, or when the VID
+ * expires if earlier, and the least recently used entries are evicted beyond
+ * the configured size.
+ * <p>
+ * The UIN is kept encrypted in memory with a key generated when the cache is
+ * created, which is never persisted or shared with other instances. Entries
+ * can be removed by VID or by the uin hash they were cached with. A resolution
+ * which started before a removal is not cached, so that it does not put back
+ * what the removal dropped.
+ */
+public class VidUinCache {
+
+	/** The mosip logger. */
+	private static Logger mosipLogger = IdRepoLogger.getLogger(VidUinCache.class);
+
+	/** The Constant VID_UIN_CACHE. */
+	private static final String VID_UIN_CACHE = "VidUinCache";
+
+	/** The Constant AES. */
+	private static final String AES = "AES";
+
+	/** The Constant AES_GCM_TRANSFORMATION. */
+	private static final String AES_GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+
+	/** The Constant AES_KEY_SIZE. */
+	private static final int AES_KEY_SIZE = 256;
+
+	/** The Constant GCM_TAG_LENGTH. */
+	private static final int GCM_TAG_LENGTH = 128;
+
+	/** The Constant IV_LENGTH. */
+	private static final int IV_LENGTH = 12;
+
+	/** The name. */
+	private final String name;
+
+	/** The enabled. */
+	private final boolean enabled;
+
+	/** The time to live of an entry in milliseconds. */
+	private final long ttlMillis;
+
+	/** The secure random. */
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	/** Incremented on every removal. */
+	private final AtomicLong version = new AtomicLong();
+
+	/** The key encrypting the cached UINs. */
+	private SecretKey cacheKey;
+
+	/** The cached UINs, by VID. */
+	private Map<String, CachedUin> cache;
+
+	/**
+	 * Instantiates a new vid uin cache.
+	 *
+	 * @param name      the name
+	 * @param enabled   the enabled
+	 * @param maxSize   the max number of entries
+	 * @param ttlMillis the time to live of an entry in milliseconds
+	 */
+	public VidUinCache(String name, boolean enabled, int maxSize, long ttlMillis) {
+		this.name = name;
+		this.ttlMillis = ttlMillis;
+		boolean keyGenerated = false;
+		if (enabled) {
+			try {
+				KeyGenerator keyGenerator = KeyGenerator.getInstance(AES);
+				keyGenerator.init(AES_KEY_SIZE, secureRandom);
+				cacheKey = keyGenerator.generateKey();
+				cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedUin>(16, 0.75f, true) {
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<String, CachedUin> eldest) {
+						return size() > maxSize;
+					}
+				});
+				keyGenerated = true;
+			} catch (GeneralSecurityException e) {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), VID_UIN_CACHE, name,
+						"cache disabled - " + e.getMessage());
+			}
+		}
+		this.enabled = keyGenerated;
+	}
+
+	/**
+	 * Checks if the cache is enabled.
+	 *
+	 * @return true, if enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Gets the version, which is to be read before resolving a VID and passed
+	 * when caching the resolution.
+	 *
+	 * @return the version
+	 */
+	public long version() {
+		return version.get();
+	}
+
+	/**
+	 * Gets the UIN of the VID from the cache.
+	 *
+	 * @param vid the vid
+	 * @return the uin, or empty if not cached
+	 */
+	public Optional<String> getUin(String vid) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+		CachedUin cachedUin = cache.get(vid);
+		if (Objects.isNull(cachedUin) || cachedUin.isExpired()) {
+			return Optional.empty();
+		}
+		try {
+			Cipher cipher = Cipher.getInstance(AES_GCM_TRANSFORMATION);
+			cipher.init(Cipher.DECRYPT_MODE, cacheKey, new GCMParameterSpec(GCM_TAG_LENGTH, cachedUin.iv));
+			return Optional.of(new String(cipher.doFinal(cachedUin.encryptedUin), StandardCharsets.UTF_8));
+		} catch (GeneralSecurityException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_UIN_CACHE, name, e.getMessage());
+			cache.remove(vid);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Caches the UIN resolved for the VID, unless an entry was removed since the
+	 * version was read.
+	 *
+	 * @param vid       the vid
+	 * @param uin       the uin
+	 * @param uinHash   the uin hash by which the entry can be removed, or null
+	 * @param vidExpiry the expiry of the vid in UTC, or null if not known
+	 * @param version   the version read before the VID was resolved
+	 */
+	public void put(String vid, String uin, String uinHash, LocalDateTime vidExpiry, long version) {
+		if (!enabled) {
+			return;
+		}
+		long expiryTime = System.currentTimeMillis() + ttlMillis;
+		if (Objects.nonNull(vidExpiry)) {
+			expiryTime = Math.min(expiryTime, vidExpiry.toInstant(ZoneOffset.UTC).toEpochMilli());
+		}
+		try {
+			byte[] iv = new byte[IV_LENGTH];
+			secureRandom.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance(AES_GCM_TRANSFORMATION);
+			cipher.init(Cipher.ENCRYPT_MODE, cacheKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+			CachedUin cachedUin = new CachedUin(uinHash, iv, cipher.doFinal(uin.getBytes(StandardCharsets.UTF_8)),
+					expiryTime);
+			synchronized (cache) {
+				if (this.version.get() == version) {
+					cache.put(vid, cachedUin);
+				}
+			}
+		} catch (GeneralSecurityException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_UIN_CACHE, name, e.getMessage());
+		}
+	}
+
+	/**
+	 * Removes the entry of the VID.
+	 *
+	 * @param vid the vid
+	 */
+	public void invalidate(String vid) {
+		if (enabled) {
+			removeNowAndOnCompletion(() -> cache.remove(vid));
+		}
+	}
+
+	/**
+	 * Removes the entries cached with any of the uin hashes.
+	 *
+	 * @param uinHashes the uin hashes
+	 */
+	public void invalidateUinHashes(Collection<String> uinHashes) {
+		if (enabled && !uinHashes.isEmpty()) {
+			removeNowAndOnCompletion(() -> cache.values().removeIf(
+					cachedUin -> Objects.nonNull(cachedUin.uinHash) && uinHashes.contains(cachedUin.uinHash)));
+		}
+	}
+
+	/**
+	 * Runs the removal now and, if a transaction is active, again once it
+	 * completes, so that a resolution reading the data before the commit is not
+	 * left in the cache.
+	 *
+	 * @param removal the removal
+	 */
+	private void removeNowAndOnCompletion(Runnable removal) {
+		remove(removal);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					remove(removal);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Runs the removal and increments the version.
+	 *
+	 * @param removal the removal
+	 */
+	private void remove(Runnable removal) {
+		synchronized (cache) {
+			version.incrementAndGet();
+			removal.run();
+		}
+	}
+
+	/**
+	 * A cached UIN.
+	 */
+	private static final class CachedUin {
+
+		/** The uin hash. */
+		private final String uinHash;
+
+		/** The iv. */
+		private final byte[] iv;
+
+		/** The encrypted uin. */
+		private final byte[] encryptedUin;
+
+		/** The expiry time in milliseconds. */
+		private final long expiryTime;
+
+		private CachedUin(String uinHash, byte[] iv, byte[] encryptedUin, long expiryTime) {
+			this.uinHash = uinHash;
+			this.iv = iv;
+			this.encryptedUin = encryptedUin;
+			this.expiryTime = expiryTime;
+		}
+
+		/**
+		 * Checks if expired.
+		 *
+		 * @return true, if expired
+		 */
+		private boolean isExpired() {
+			return System.currentTimeMillis() >= expiryTime;
+		}
+	}
+}
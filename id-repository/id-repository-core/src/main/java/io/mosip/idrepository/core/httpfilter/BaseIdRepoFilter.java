@@ -1,6 +1,9 @@
 package io.mosip.idrepository.core.httpfilter;
 
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SERVER_TIMING_ENABLED;
+
 import java.io.IOException;
+import java.io.PrintWriter;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
@@ -12,15 +15,21 @@ import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
 import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.AntPathMatcher;
 
 import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.core.spi.ReplicaDataSourceResolver;
+import io.mosip.idrepository.core.util.ServerTimingRecorder;
 import io.mosip.kernel.core.logger.spi.Logger;
 
 /**
@@ -37,6 +46,9 @@ public abstract class BaseIdRepoFilter implements Filter  {
 	/** The Constant ID_REPO. */
 	private static final String ID_REPO = "IdRepo";
 
+	/** The Constant SERVER_TIMING. */
+	private static final String SERVER_TIMING = "Server-Timing";
+
 	/** The mosip logger. */
 	Logger mosipLogger = IdRepoLogger.getLogger(BaseIdRepoFilter.class);
 
@@ -49,6 +61,10 @@ public abstract class BaseIdRepoFilter implements Filter  {
 
 	/** The uin. */
 	String uin;
+
+	/** Whether the server timing header is sent. */
+	@Value("${" + SERVER_TIMING_ENABLED + ":false}")
+	private boolean serverTimingEnabled;
 	
 	/* (non-Javadoc)
 	 * @see javax.servlet.Filter#init(javax.servlet.FilterConfig)
@@ -87,6 +103,36 @@ public abstract class BaseIdRepoFilter implements Filter  {
 	@Override
 	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
+		try {
+			if (serverTimingEnabled) {
+				ServerTimingRecorder serverTiming = ServerTimingRecorder.start();
+				ServerTimingResponseWrapper responseWrapper = new ServerTimingResponseWrapper(
+						(HttpServletResponse) response, serverTiming);
+				try {
+					filter(request, responseWrapper, chain);
+				} finally {
+					responseWrapper.addServerTiming();
+					ServerTimingRecorder.clear();
+				}
+			} else {
+				filter(request, response, chain);
+			}
+		} finally {
+			ReplicaDataSourceResolver.resetRequest();
+		}
+	}
+
+	/**
+	 * Filters the request, logging the time taken.
+	 *
+	 * @param request  the request
+	 * @param response the response
+	 * @param chain    the chain
+	 * @throws IOException      Signals that an I/O exception has occurred.
+	 * @throws ServletException the servlet exception
+	 */
+	private void filter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
 		Instant requestTime = Instant.now();
 		mosipLogger.debug(IdRepoSecurityManager.getUser(), ID_REPO, ID_REPO_FILTER, "Request Received at: " + requestTime);
 		mosipLogger.debug(IdRepoSecurityManager.getUser(), ID_REPO, ID_REPO_FILTER, "Request URL: " + ((HttpServletRequest) request).getRequestURL());
@@ -120,6 +166,79 @@ public abstract class BaseIdRepoFilter implements Filter  {
 	 */
 	protected abstract String buildResponse(HttpServletRequest request);
 
+	/**
+	 * The Class ServerTimingResponseWrapper - adds the {@code Server-Timing}
+	 * header just before the response is committed, since headers cannot be
+	 * added after the body has started being written. The time spent writing the
+	 * response body is therefore not included.
+	 */
+	private static final class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+		/** The server timing. */
+		private final ServerTimingRecorder serverTiming;
+
+		/** Whether the header is added. */
+		private boolean added;
+
+		/**
+		 * Instantiates a new server timing response wrapper.
+		 *
+		 * @param response     the response
+		 * @param serverTiming the server timing
+		 */
+		private ServerTimingResponseWrapper(HttpServletResponse response, ServerTimingRecorder serverTiming) {
+			super(response);
+			this.serverTiming = serverTiming;
+		}
+
+		/**
+		 * Adds the server timing header, unless already added or the response is
+		 * committed.
+		 */
+		private void addServerTiming() {
+			if (!added && !isCommitted()) {
+				added = true;
+				addHeader(SERVER_TIMING, serverTiming.toHeaderValue());
+			}
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			addServerTiming();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			addServerTiming();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			addServerTiming();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			addServerTiming();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			addServerTiming();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			addServerTiming();
+			super.sendRedirect(location);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see javax.servlet.Filter#destroy()
 	 */
@@ -0,0 +1,95 @@
+package io.mosip.idrepository.core.httpfilter;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import io.mosip.idrepository.core.util.ServerTimingRecorder;
+import io.mosip.idrepository.core.util.ServerTimingRecorder.Metric;
+
+/**
+ * The Class ServerTimingRequestBodyAdvice - adds the time taken to read and
+ * convert the request body to the server timing of the request.
+ */
+@ControllerAdvice
+public class ServerTimingRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+	/** The start nanos of the body being read by the current thread. */
+	private final ThreadLocal<Long> readStartNanos = new ThreadLocal<>();
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdvice#
+	 * supports(org.springframework.core.MethodParameter, java.lang.reflect.Type,
+	 * java.lang.Class)
+	 */
+	@Override
+	public boolean supports(MethodParameter methodParameter, Type targetType,
+			Class<? extends HttpMessageConverter<?>> converterType) {
+		return Objects.nonNull(ServerTimingRecorder.current());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.springframework.web.servlet.mvc.method.annotation.
+	 * RequestBodyAdviceAdapter#beforeBodyRead(org.springframework.http.
+	 * HttpInputMessage, org.springframework.core.MethodParameter,
+	 * java.lang.reflect.Type, java.lang.Class)
+	 */
+	@Override
+	public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+			Class<? extends HttpMessageConverter<?>> converterType) {
+		readStartNanos.set(System.nanoTime());
+		return inputMessage;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.springframework.web.servlet.mvc.method.annotation.
+	 * RequestBodyAdviceAdapter#afterBodyRead(java.lang.Object,
+	 * org.springframework.http.HttpInputMessage,
+	 * org.springframework.core.MethodParameter, java.lang.reflect.Type,
+	 * java.lang.Class)
+	 */
+	@Override
+	public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+			Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+		recordRead();
+		return body;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.springframework.web.servlet.mvc.method.annotation.
+	 * RequestBodyAdviceAdapter#handleEmptyBody(java.lang.Object,
+	 * org.springframework.http.HttpInputMessage,
+	 * org.springframework.core.MethodParameter, java.lang.reflect.Type,
+	 * java.lang.Class)
+	 */
+	@Override
+	public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+			Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+		recordRead();
+		return body;
+	}
+
+	/**
+	 * Records the time since the body started being read.
+	 */
+	private void recordRead() {
+		Long startNanos = readStartNanos.get();
+		if (Objects.nonNull(startNanos)) {
+			readStartNanos.remove();
+			ServerTimingRecorder.record(Metric.JSON, System.nanoTime() - startNanos);
+		}
+	}
+}
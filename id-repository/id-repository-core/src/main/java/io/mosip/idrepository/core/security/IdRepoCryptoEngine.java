@@ -0,0 +1,663 @@
+package io.mosip.idrepository.core.security;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.APPLICATION_ID;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.APPLICATION_VERSION;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.DATA_KEY_SPLITTER;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.DATETIME_PATTERN;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.LOCAL_CRYPTO_ENABLED;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.LOCAL_CRYPTO_FAILED_UNWRAP_TTL;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.LOCAL_CRYPTO_KEY_CACHE_SIZE;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.LOCAL_CRYPTO_KEY_ROTATION_INTERVAL;
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.ENCRYPTION_DECRYPTION_FAILED;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.security.spec.MGF1ParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.mosip.idrepository.core.builder.RestRequestBuilder;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.dto.RestRequestDTO;
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.kernel.core.http.RequestWrapper;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.kernel.core.util.DateUtils;
+
+/**
+ * The Class IdRepoCryptoEngine - performs envelope encryption in-process. A
+ * data encryption key is generated locally, wrapped with the key manager
+ * certificate and rotated on a schedule. The output is identical in layout to
+ * the thumbprint prefixed ciphertext of kernel-cryptomanager, so data encrypted
+ * either way can be decrypted by the other. Wrapped keys which are not known to
+ * this instance are unwrapped once using key manager and cached. Wrapped keys
+ * which key manager fails to unwrap are remembered for a while, so that their
+ * data goes straight to kernel-cryptomanager.
+ *
+ * Encryption with salt is left to kernel-cryptomanager. The salt is used as IV,
+ * and the same salts are used for many records, so no data key can be reused
+ * for salted data without reusing an IV with it.
+ */
+@Component
+public class IdRepoCryptoEngine {
+
+	/** The mosip logger. */
+	private Logger mosipLogger = IdRepoLogger.getLogger(IdRepoCryptoEngine.class);
+
+	/** The Constant ID_REPO_CRYPTO_ENGINE. */
+	private static final String ID_REPO_CRYPTO_ENGINE = "IdRepoCryptoEngine";
+
+	/** The Constant AES. */
+	private static final String AES = "AES";
+
+	/** The Constant AES_GCM_TRANSFORMATION. */
+	private static final String AES_GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+
+	/** The Constant RSA_OAEP_TRANSFORMATION. */
+	private static final String RSA_OAEP_TRANSFORMATION = "RSA/ECB/OAEPWITHSHA-256ANDMGF1PADDING";
+
+	/** The Constant SHA_256. */
+	private static final String SHA_256 = "SHA-256";
+
+	/** The Constant X509. */
+	private static final String X509 = "X.509";
+
+	/** The Constant AES_KEY_SIZE. */
+	private static final int AES_KEY_SIZE = 256;
+
+	/** The Constant GCM_TAG_LENGTH. */
+	private static final int GCM_TAG_LENGTH = 128;
+
+	/** The Constant IV_LENGTH - same as the AES block size used by kernel-cryptomanager. */
+	private static final int IV_LENGTH = 16;
+
+	/** The Constant DEFAULT_KEY_SPLITTER. */
+	private static final String DEFAULT_KEY_SPLITTER = "#KEY_SPLITTER#";
+
+	/** The Constant DEFAULT_KEY_CACHE_SIZE. */
+	private static final int DEFAULT_KEY_CACHE_SIZE = 100;
+
+	/** The Constant DEFAULT_KEY_ROTATION_INTERVAL. */
+	private static final long DEFAULT_KEY_ROTATION_INTERVAL = 60;
+
+	/** The Constant DEFAULT_FAILED_UNWRAP_TTL. */
+	private static final long DEFAULT_FAILED_UNWRAP_TTL = 60;
+
+	/** The Constant DATA. */
+	private static final String DATA = "data";
+
+	/** The Constant RESPONSE. */
+	private static final String RESPONSE = "response";
+
+	/** The rest builder. */
+	@Autowired
+	private RestRequestBuilder restBuilder;
+
+	/** The rest helper. */
+	@Autowired
+	private RestHelper restHelper;
+
+	/** The env. */
+	@Autowired
+	private Environment env;
+
+	/** The mapper. */
+	@Autowired
+	private ObjectMapper mapper;
+
+	/** The secure random. */
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	/** The enabled. */
+	private boolean enabled;
+
+	/** The key splitter. */
+	private byte[] keySplitter;
+
+	/** The key manager public key along with its thumbprint. */
+	private volatile KeyManagerCertificate certificate;
+
+	/** The data key currently used for encryption. */
+	private volatile DataKey activeKey;
+
+	/** The unwrapped keys mapped by thumbprint and wrapped key. */
+	private Map<ByteBuffer, SecretKey> keyCache;
+
+	/** The time in nanoseconds until which a key failed to unwrap is not retried, by thumbprint and wrapped key. */
+	private Map<ByteBuffer, Long> failedUnwrapCache;
+
+	/** The failed unwrap ttl in nanoseconds. */
+	private long failedUnwrapTtlNanos;
+
+	/** The key rotation executor. */
+	private ScheduledExecutorService keyRotationExecutor;
+
+	/**
+	 * Reads the configuration and schedules key rotation. Keys are fetched lazily
+	 * on first use so that the application can start when key manager is down.
+	 */
+	@PostConstruct
+	public void init() {
+		enabled = env.getProperty(LOCAL_CRYPTO_ENABLED, Boolean.class, Boolean.FALSE);
+		if (enabled) {
+			keySplitter = env.getProperty(DATA_KEY_SPLITTER, DEFAULT_KEY_SPLITTER).getBytes();
+			int keyCacheSize = env.getProperty(LOCAL_CRYPTO_KEY_CACHE_SIZE, Integer.class, DEFAULT_KEY_CACHE_SIZE);
+			keyCache = createCache(keyCacheSize);
+			failedUnwrapCache = createCache(keyCacheSize);
+			failedUnwrapTtlNanos = TimeUnit.SECONDS.toNanos(
+					env.getProperty(LOCAL_CRYPTO_FAILED_UNWRAP_TTL, Long.class, DEFAULT_FAILED_UNWRAP_TTL));
+			long rotationInterval = env.getProperty(LOCAL_CRYPTO_KEY_ROTATION_INTERVAL, Long.class,
+					DEFAULT_KEY_ROTATION_INTERVAL);
+			keyRotationExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "idrepo-key-rotation");
+				thread.setDaemon(true);
+				return thread;
+			});
+			keyRotationExecutor.scheduleWithFixedDelay(this::rotateKey, rotationInterval, rotationInterval,
+					TimeUnit.MINUTES);
+		}
+	}
+
+	/**
+	 * Creates a synchronized cache evicting the least recently used entries
+	 * beyond the size.
+	 *
+	 * @param <V>  the value type
+	 * @param size the size
+	 * @return the cache
+	 */
+	private static <V> Map<ByteBuffer, V> createCache(int size) {
+		return Collections.synchronizedMap(new LinkedHashMap<ByteBuffer, V>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ByteBuffer, V> eldest) {
+				return size() > size;
+			}
+		});
+	}
+
+	/**
+	 * Stops key rotation.
+	 */
+	@PreDestroy
+	public void destroy() {
+		if (Objects.nonNull(keyRotationExecutor)) {
+			keyRotationExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Checks if local encryption/decryption is enabled.
+	 *
+	 * @return true, if enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Encrypts the data with the active data key and a random IV.
+	 *
+	 * @param data the data
+	 * @return the base64 encoded encrypted data
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	public byte[] encrypt(byte[] data) throws IdRepoAppException {
+		try {
+			DataKey dataKey = getActiveKey();
+			byte[] iv = new byte[IV_LENGTH];
+			secureRandom.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance(AES_GCM_TRANSFORMATION);
+			cipher.init(Cipher.ENCRYPT_MODE, dataKey.secretKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+			byte[] cipherText = cipher.doFinal(data);
+			return CryptoUtil.encodeBase64(concat(dataKey.header, keySplitter, cipherText, iv)).getBytes();
+		} catch (GeneralSecurityException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "encrypt", e.getMessage());
+			throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED, e);
+		}
+	}
+
+	/**
+	 * Encrypts the data read from the stream with the active data key, in the same
+	 * layout as {@link #encrypt(byte[])}. The data is
+	 * encrypted and encoded in chunks as the returned stream is read, so neither
+	 * the data nor the encrypted data is held in memory as a whole.
+	 *
+	 * @param data the data
+	 * @return the stream of base64 encoded encrypted data
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	public InputStream encrypt(InputStream data) throws IdRepoAppException {
+		try {
+			DataKey dataKey = getActiveKey();
+			byte[] iv = new byte[IV_LENGTH];
+			secureRandom.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance(AES_GCM_TRANSFORMATION);
+			cipher.init(Cipher.ENCRYPT_MODE, dataKey.secretKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+			return new Base64EncodingInputStream(new SequenceInputStream(Collections.enumeration(Arrays.asList(
+					new ByteArrayInputStream(concat(dataKey.header, keySplitter)), new CipherInputStream(data, cipher),
+					new ByteArrayInputStream(iv)))));
+		} catch (GeneralSecurityException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "encrypt", e.getMessage());
+			throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED, e);
+		}
+	}
+
+	/**
+	 * Decrypts the data if the wrapped key in it is known to this instance or can
+	 * be unwrapped using key manager. Empty is returned otherwise, so that the
+	 * caller can fall back to kernel-cryptomanager.
+	 *
+	 * @param encryptedData the decoded encrypted data
+	 * @return the decrypted data
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	public Optional<byte[]> decrypt(byte[] encryptedData) throws IdRepoAppException {
+		int splitterIndex = indexOf(encryptedData, keySplitter);
+		if (splitterIndex <= 0) {
+			return Optional.empty();
+		}
+		byte[] header = Arrays.copyOfRange(encryptedData, 0, splitterIndex);
+		byte[] cipherText = Arrays.copyOfRange(encryptedData, splitterIndex + keySplitter.length,
+				encryptedData.length);
+		Optional<SecretKey> secretKey = getKey(header);
+		if (!secretKey.isPresent()) {
+			return Optional.empty();
+		}
+		try {
+			Cipher cipher = Cipher.getInstance(AES_GCM_TRANSFORMATION);
+			cipher.init(Cipher.DECRYPT_MODE, secretKey.get(), new GCMParameterSpec(GCM_TAG_LENGTH,
+					cipherText, cipherText.length - IV_LENGTH, IV_LENGTH));
+			return Optional.of(cipher.doFinal(cipherText, 0, cipherText.length - IV_LENGTH));
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "decrypt", e.getMessage());
+			throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED, e);
+		}
+	}
+
+	/**
+	 * Replaces the active data key. Previous keys remain in the key cache and
+	 * continue to decrypt data encrypted with them.
+	 */
+	public void rotateKey() {
+		try {
+			certificate = fetchCertificate();
+			activeKey = cache(generateKey(certificate));
+			mosipLogger.debug(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "rotateKey",
+					"data encryption key rotated");
+		} catch (IdRepoAppException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "rotateKey",
+					"key rotation failed, continuing with existing key : " + e.getErrorText());
+		}
+	}
+
+	/**
+	 * Gets the active key, generating one if not available.
+	 *
+	 * @return the active key
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	private DataKey getActiveKey() throws IdRepoAppException {
+		DataKey dataKey = activeKey;
+		if (Objects.isNull(dataKey)) {
+			synchronized (this) {
+				if (Objects.isNull(activeKey)) {
+					activeKey = cache(generateKey(getCertificate()));
+				}
+				dataKey = activeKey;
+			}
+		}
+		return dataKey;
+	}
+
+	/**
+	 * Gets the key manager certificate, fetching it if not available.
+	 *
+	 * @return the certificate
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	private KeyManagerCertificate getCertificate() throws IdRepoAppException {
+		KeyManagerCertificate keyManagerCertificate = certificate;
+		if (Objects.isNull(keyManagerCertificate)) {
+			synchronized (this) {
+				if (Objects.isNull(certificate)) {
+					certificate = fetchCertificate();
+				}
+				keyManagerCertificate = certificate;
+			}
+		}
+		return keyManagerCertificate;
+	}
+
+	/**
+	 * Generates a data key and wraps it with the key manager public key. The header
+	 * of the data key is thumbprint followed by the wrapped key.
+	 *
+	 * @param keyManagerCertificate the key manager certificate
+	 * @return the data key
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	private DataKey generateKey(KeyManagerCertificate keyManagerCertificate) throws IdRepoAppException {
+		try {
+			KeyGenerator keyGenerator = KeyGenerator.getInstance(AES);
+			keyGenerator.init(AES_KEY_SIZE, secureRandom);
+			SecretKey secretKey = keyGenerator.generateKey();
+			Cipher cipher = Cipher.getInstance(RSA_OAEP_TRANSFORMATION);
+			cipher.init(Cipher.ENCRYPT_MODE, keyManagerCertificate.publicKey, new OAEPParameterSpec(SHA_256,
+					"MGF1", MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT), secureRandom);
+			return new DataKey(concat(keyManagerCertificate.thumbprint, cipher.doFinal(secretKey.getEncoded())),
+					secretKey);
+		} catch (GeneralSecurityException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "generateKey", e.getMessage());
+			throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED, e);
+		}
+	}
+
+	/**
+	 * Caches the data key, so that the data encrypted with it is decrypted
+	 * without key manager.
+	 *
+	 * @param dataKey the data key
+	 * @return the data key
+	 */
+	private DataKey cache(DataKey dataKey) {
+		keyCache.put(ByteBuffer.wrap(dataKey.header), dataKey.secretKey);
+		return dataKey;
+	}
+
+	/**
+	 * Gets the unwrapped key for the header from cache, or from key manager if not
+	 * cached. Empty is returned without calling key manager if it failed to unwrap
+	 * the key within the failed unwrap ttl.
+	 *
+	 * @param header the header
+	 * @return the key
+	 */
+	private Optional<SecretKey> getKey(byte[] header) {
+		ByteBuffer cacheKey = ByteBuffer.wrap(header);
+		SecretKey secretKey = keyCache.get(cacheKey);
+		if (Objects.isNull(secretKey)) {
+			Long retryAfter = failedUnwrapCache.get(cacheKey);
+			if (Objects.nonNull(retryAfter) && System.nanoTime() - retryAfter < 0) {
+				return Optional.empty();
+			}
+			try {
+				RequestWrapper<ObjectNode> request = buildRequest();
+				request.getRequest().put("referenceId", "");
+				request.getRequest().put("encryptedSymmetricKey", CryptoUtil.encodeBase64(header));
+				request.getRequest().put("prependThumbprint", true);
+				JsonNode response = getResponse(restBuilder.buildRequest(RestServicesConstants.KEYMANAGER_DECRYPT_KEY,
+						request, ObjectNode.class), "symmetricKey");
+				secretKey = new SecretKeySpec(CryptoUtil.decodeBase64(response.asText()), AES);
+				keyCache.put(cacheKey, secretKey);
+				failedUnwrapCache.remove(cacheKey);
+			} catch (IdRepoAppException e) {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "getKey",
+						"unable to unwrap key using key manager : " + e.getErrorText());
+				failedUnwrapCache.put(cacheKey, System.nanoTime() + failedUnwrapTtlNanos);
+				return Optional.empty();
+			}
+		}
+		return Optional.of(secretKey);
+	}
+
+	/**
+	 * Fetches the key manager certificate for the application.
+	 *
+	 * @return the key manager certificate
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	private KeyManagerCertificate fetchCertificate() throws IdRepoAppException {
+		try {
+			RestRequestDTO restRequest = restBuilder.buildRequest(RestServicesConstants.KEYMANAGER_GET_CERTIFICATE,
+					null, ObjectNode.class);
+			MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+			params.add("applicationId", env.getProperty(APPLICATION_ID));
+			params.add("referenceId", "");
+			restRequest.setParams(params);
+			String pem = getResponse(restRequest, "certificate").asText();
+			X509Certificate x509Certificate = (X509Certificate) CertificateFactory.getInstance(X509)
+					.generateCertificate(new ByteArrayInputStream(pem.getBytes()));
+			return new KeyManagerCertificate(x509Certificate.getPublicKey(),
+					MessageDigest.getInstance(SHA_256).digest(x509Certificate.getEncoded()));
+		} catch (GeneralSecurityException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "fetchCertificate",
+					e.getMessage());
+			throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED, e);
+		}
+	}
+
+	/**
+	 * Builds the base request for key manager.
+	 *
+	 * @return the request wrapper
+	 */
+	private RequestWrapper<ObjectNode> buildRequest() {
+		RequestWrapper<ObjectNode> baseRequest = new RequestWrapper<>();
+		baseRequest.setId("string");
+		baseRequest.setRequesttime(DateUtils.getUTCCurrentDateTime());
+		baseRequest.setVersion(env.getProperty(APPLICATION_VERSION));
+		ObjectNode request = new ObjectNode(mapper.getNodeFactory());
+		request.put("applicationId", env.getProperty(APPLICATION_ID));
+		request.put("timeStamp", DateUtils.formatDate(new Date(), env.getProperty(DATETIME_PATTERN)));
+		baseRequest.setRequest(request);
+		return baseRequest;
+	}
+
+	/**
+	 * Makes the rest call and extracts the field from the response block.
+	 *
+	 * @param restRequest the rest request
+	 * @param field       the field
+	 * @return the field value
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	private JsonNode getResponse(RestRequestDTO restRequest, String field) throws IdRepoAppException {
+		try {
+			ObjectNode response = restHelper.requestSync(restRequest);
+			if (response.hasNonNull(RESPONSE) && response.get(RESPONSE).hasNonNull(field)) {
+				return response.get(RESPONSE).get(field);
+			} else {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "getResponse",
+						"No " + field + " block found in response");
+				throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED);
+			}
+		} catch (RestServiceException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_CRYPTO_ENGINE, "getResponse",
+					e.getErrorText());
+			throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED, e);
+		}
+	}
+
+	/**
+	 * Concatenates the byte arrays.
+	 *
+	 * @param arrays the arrays
+	 * @return the byte[]
+	 */
+	private static byte[] concat(byte[]... arrays) {
+		int length = 0;
+		for (byte[] array : arrays) {
+			length += array.length;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		for (byte[] array : arrays) {
+			buffer.put(array);
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * Finds the first index of the splitter in the data.
+	 *
+	 * @param data     the data
+	 * @param splitter the splitter
+	 * @return the index, -1 if not found
+	 */
+	private static int indexOf(byte[] data, byte[] splitter) {
+		outer: for (int i = 0; i <= data.length - splitter.length; i++) {
+			for (int j = 0; j < splitter.length; j++) {
+				if (data[i + j] != splitter[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * The key manager public key and its thumbprint.
+	 */
+	private static final class KeyManagerCertificate {
+
+		/** The public key. */
+		private final PublicKey publicKey;
+
+		/** The thumbprint. */
+		private final byte[] thumbprint;
+
+		private KeyManagerCertificate(PublicKey publicKey, byte[] thumbprint) {
+			this.publicKey = publicKey;
+			this.thumbprint = thumbprint;
+		}
+	}
+
+	/**
+	 * Encodes the stream to url safe base64 without padding, same as
+	 * {@link CryptoUtil#encodeBase64(byte[])}, one chunk at a time. The chunks are
+	 * a multiple of 3 bytes, so their encoding is the encoding of the whole stream.
+	 */
+	private static final class Base64EncodingInputStream extends InputStream {
+
+		/** The Constant CHUNK_SIZE. */
+		private static final int CHUNK_SIZE = 3 * 8192;
+
+		/** The encoder. */
+		private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+		/** The stream to encode. */
+		private final InputStream in;
+
+		/** The chunk read from the stream. */
+		private final byte[] chunk = new byte[CHUNK_SIZE];
+
+		/** The encoded chunk. */
+		private final byte[] encodedChunk = new byte[CHUNK_SIZE / 3 * 4];
+
+		/** The length of the encoded chunk. */
+		private int encodedLength;
+
+		/** The position in the encoded chunk. */
+		private int position;
+
+		/** The end of stream. */
+		private boolean endOfStream;
+
+		private Base64EncodingInputStream(InputStream in) {
+			this.in = in;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return fill() ? encodedChunk[position++] & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!fill()) {
+				return -1;
+			}
+			int length = Math.min(len, encodedLength - position);
+			System.arraycopy(encodedChunk, position, b, off, length);
+			position += length;
+			return length;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+
+		/**
+		 * Encodes the next chunk if the current one is fully read.
+		 *
+		 * @return true, if encoded data is available
+		 * @throws IOException Signals that an I/O exception has occurred.
+		 */
+		private boolean fill() throws IOException {
+			if (position == encodedLength && !endOfStream) {
+				int length = in.readNBytes(chunk, 0, CHUNK_SIZE);
+				endOfStream = length < CHUNK_SIZE;
+				encodedLength = ENCODER.encode(length == CHUNK_SIZE ? chunk : Arrays.copyOf(chunk, length),
+						encodedChunk);
+				position = 0;
+			}
+			return position < encodedLength;
+		}
+	}
+
+	/**
+	 * The data key along with its header.
+	 */
+	private static final class DataKey {
+
+		/** The thumbprint followed by the wrapped key. */
+		private final byte[] header;
+
+		/** The secret key. */
+		private final SecretKey secretKey;
+
+		private DataKey(byte[] header, SecretKey secretKey) {
+			this.header = header;
+			this.secretKey = secretKey;
+		}
+	}
+}
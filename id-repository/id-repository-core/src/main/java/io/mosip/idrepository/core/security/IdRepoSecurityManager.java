@@ -5,9 +5,16 @@ import static io.mosip.idrepository.core.constant.IdRepoConstants.APPLICATION_VE
 import static io.mosip.idrepository.core.constant.IdRepoConstants.DATETIME_PATTERN;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.ENCRYPTION_DECRYPTION_FAILED;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.Objects;
+import java.util.Optional;
+
+import javax.xml.bind.DatatypeConverter;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
@@ -18,6 +25,7 @@ import org.springframework.stereotype.Component;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.micrometer.core.annotation.Timed;
 import io.mosip.idrepository.core.builder.RestRequestBuilder;
 import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
 import io.mosip.idrepository.core.constant.RestServicesConstants;
@@ -27,6 +35,7 @@ import io.mosip.idrepository.core.exception.IdRepoAppUncheckedException;
 import io.mosip.idrepository.core.exception.RestServiceException;
 import io.mosip.idrepository.core.helper.RestHelper;
 import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.util.MetricsUtil;
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.CryptoUtil;
@@ -35,8 +44,9 @@ import io.mosip.kernel.core.util.HMACUtils2;
 
 /**
  * The Class IdRepoSecurityManager - provides security related functionalities
- * such as hashing, encryption and decryption using kernel-cryptomanager and
- * providing user details.
+ * such as hashing, encryption and decryption using kernel-cryptomanager (or
+ * locally using {@link IdRepoCryptoEngine} when enabled) and providing user
+ * details.
  *
  * @author Manoj SP
  */
@@ -52,6 +62,9 @@ public class IdRepoSecurityManager {
 	/** The Constant ID_REPO_SECURITY_MANAGER. */
 	private static final String ID_REPO_SECURITY_MANAGER = "IdRepoSecurityManager";
 
+	/** The Constant HASH_ALGORITHM - same as the algorithm of HMACUtils2. */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
 	/** The rest factory. */
 	@Autowired
 	private RestRequestBuilder restBuilder;
@@ -68,6 +81,10 @@ public class IdRepoSecurityManager {
 	@Autowired
 	private ObjectMapper mapper;
 
+	/** The crypto engine. */
+	@Autowired(required = false)
+	private IdRepoCryptoEngine cryptoEngine;
+
 	/**
 	 * Hash - provides basic hash.
 	 *
@@ -83,6 +100,31 @@ public class IdRepoSecurityManager {
 		}
 	}
 
+	/**
+	 * Provides a digest to hash data streamed through it, such as with a
+	 * {@link java.security.DigestInputStream}.
+	 *
+	 * @return the message digest
+	 */
+	public MessageDigest getHashDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IdRepoAppUncheckedException(IdRepoErrorConstants.UNKNOWN_ERROR, e);
+		}
+	}
+
+	/**
+	 * Hash - provides the hash of the data streamed through the digest, same as
+	 * {@link #hash(byte[])} of the data.
+	 *
+	 * @param digest the digest from {@link #getHashDigest()}
+	 * @return the string
+	 */
+	public String hash(final MessageDigest digest) {
+		return DatatypeConverter.printHexBinary(digest.digest());
+	}
+
 	/**
 	 * Hash with salt - provides hash value based on provided salt.
 	 *
@@ -123,7 +165,11 @@ public class IdRepoSecurityManager {
 	 * @return the byte[]
 	 * @throws IdRepoAppException the id repo app exception
 	 */
+	@Timed(MetricsUtil.CRYPTO_CALLS)
 	public byte[] encrypt(final byte[] dataToEncrypt) throws IdRepoAppException {
+		if (isLocalCryptoEnabled()) {
+			return cryptoEngine.encrypt(dataToEncrypt);
+		}
 		try {
 			RequestWrapper<ObjectNode> baseRequest = new RequestWrapper<>();
 			baseRequest.setId("string");
@@ -145,6 +191,28 @@ public class IdRepoSecurityManager {
 		}
 	}
 
+	/**
+	 * Encryption of the data read from the stream. With local encryption, the data
+	 * is encrypted as the returned stream is read. Otherwise, the data is read
+	 * fully and encrypted by making rest call to kernel-cryptomanager.
+	 *
+	 * @param dataToEncrypt the data to encrypt
+	 * @return the stream of encrypted data
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	public InputStream encrypt(final InputStream dataToEncrypt) throws IdRepoAppException {
+		if (isLocalCryptoEnabled()) {
+			return cryptoEngine.encrypt(dataToEncrypt);
+		}
+		try {
+			return new ByteArrayInputStream(encrypt(dataToEncrypt.readAllBytes()));
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SECURITY_MANAGER, ENCRYPT_DECRYPT_DATA,
+					e.getMessage());
+			throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED, e);
+		}
+	}
+
 	/**
 	 * Encryption of data by making rest call to kernel-cryptomanager with salt.
 	 *
@@ -153,6 +221,7 @@ public class IdRepoSecurityManager {
 	 * @return the byte[]
 	 * @throws IdRepoAppException the id repo app exception
 	 */
+	@Timed(MetricsUtil.CRYPTO_CALLS)
 	public byte[] encryptWithSalt(final byte[] dataToEncrypt, final byte[] saltToEncrypt) throws IdRepoAppException {
 		try {
 			RequestWrapper<ObjectNode> baseRequest = new RequestWrapper<>();
@@ -183,7 +252,14 @@ public class IdRepoSecurityManager {
 	 * @return the byte[]
 	 * @throws IdRepoAppException the id repo app exception
 	 */
+	@Timed(MetricsUtil.CRYPTO_CALLS)
 	public byte[] decrypt(final byte[] dataToDecrypt) throws IdRepoAppException {
+		if (isLocalCryptoEnabled()) {
+			Optional<byte[]> decryptedData = cryptoEngine.decrypt(CryptoUtil.decodeBase64(new String(dataToDecrypt)));
+			if (decryptedData.isPresent()) {
+				return decryptedData.get();
+			}
+		}
 		try {
 			RequestWrapper<ObjectNode> baseRequest = new RequestWrapper<>();
 			baseRequest.setId("string");
@@ -212,6 +288,7 @@ public class IdRepoSecurityManager {
 	 * @return the byte[]
 	 * @throws IdRepoAppException the id repo app exception
 	 */
+	@Timed(MetricsUtil.CRYPTO_CALLS)
 	public byte[] decryptWithSalt(final byte[] dataToDecrypt, final byte[] saltToDecrypt) throws IdRepoAppException {
 		try {
 			RequestWrapper<ObjectNode> baseRequest = new RequestWrapper<>();
@@ -234,6 +311,16 @@ public class IdRepoSecurityManager {
 		}
 	}
 
+	/**
+	 * Checks if encryption/decryption can be done locally without calling
+	 * kernel-cryptomanager.
+	 *
+	 * @return true, if local crypto is enabled
+	 */
+	private boolean isLocalCryptoEnabled() {
+		return Objects.nonNull(cryptoEngine) && cryptoEngine.isEnabled();
+	}
+
 	/**
 	 * Rest calls is made to kernel-cryptomanager and required data from response is
 	 * extracted and handled.
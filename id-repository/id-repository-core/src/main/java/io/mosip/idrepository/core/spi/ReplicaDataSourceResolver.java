@@ -0,0 +1,258 @@
+package io.mosip.idrepository.core.spi;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * The Class ReplicaDataSourceResolver - datasource resolver to route read-only
+ * transactions to the read replicas of a database, and all other connections
+ * to its primary. The replication lag of each replica is checked periodically,
+ * and replicas lagging behind the allowed lag are skipped until they catch up.
+ * <p>
+ * Reads go to the primary for the rest of the request once the request has
+ * written to it, and for a window after a write of the same key, such as the
+ * UIN hash, recorded by {@link #recordWrite(String)} and looked up by the key
+ * set by {@link #setReadKey(String)}. The request state is reset by the
+ * request filter. On threads outside a request, such as executor and scheduler
+ * threads, it is reset when each transaction completes.
+ * <p>
+ * The read-only flag of a transaction is known only once it has begun, so the
+ * resolver is to be used behind a {@link LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaDataSourceResolver extends AbstractRoutingDataSource implements DisposableBean {
+
+	/** The query returning the replication lag of a PostgreSQL replica, in milliseconds. */
+	public static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+			+ "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+			+ "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+	/** The Constant REPLICA_DATA_SOURCE_RESOLVER. */
+	private static final String REPLICA_DATA_SOURCE_RESOLVER = "ReplicaDataSourceResolver";
+
+	/** Whether the current request has written to the primary. */
+	private static ThreadLocal<Boolean> primaryWritten = new ThreadLocal<>();
+
+	/** The key of the current read. */
+	private static ThreadLocal<String> readKey = new ThreadLocal<>();
+
+	/** The time of the latest write of each key, in milliseconds. */
+	private static Map<String, Long> writeTimes = new ConcurrentHashMap<>();
+
+	/** Resets the request state of a thread outside a request once its transaction completes. */
+	private static final TransactionSynchronization RESET_AFTER_TRANSACTION = new TransactionSynchronizationAdapter() {
+		@Override
+		public void afterCompletion(int status) {
+			resetRequest();
+		}
+	};
+
+	/** The mosip logger. */
+	private final Logger mosipLogger = IdRepoLogger.getLogger(ReplicaDataSourceResolver.class);
+
+	/** The replicas, by name. */
+	private final Map<String, DataSource> replicas;
+
+	/** The allowed replication lag in milliseconds. */
+	private final long maxLagMillis;
+
+	/** The read your writes window in milliseconds. */
+	private final long readYourWritesWindowMillis;
+
+	/** The interval of the replication lag check in milliseconds. */
+	private final long lagCheckIntervalMillis;
+
+	/** The replicas within the allowed lag, as of the last check. */
+	private volatile List<String> availableReplicas = Collections.emptyList();
+
+	/** The round robin counter. */
+	private final AtomicInteger counter = new AtomicInteger();
+
+	/** The lag checker. */
+	private ScheduledExecutorService lagChecker;
+
+	/**
+	 * Instantiates a new replica data source resolver.
+	 *
+	 * @param primary                    the primary
+	 * @param replicas                   the replicas, by name
+	 * @param maxLagMillis               the allowed replication lag
+	 * @param readYourWritesWindowMillis the read your writes window
+	 * @param lagCheckIntervalMillis     the interval of the replication lag
+	 *                                   check
+	 */
+	public ReplicaDataSourceResolver(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis,
+			long readYourWritesWindowMillis, long lagCheckIntervalMillis) {
+		this.replicas = Collections.unmodifiableMap(new HashMap<>(replicas));
+		this.maxLagMillis = maxLagMillis;
+		this.readYourWritesWindowMillis = readYourWritesWindowMillis;
+		this.lagCheckIntervalMillis = lagCheckIntervalMillis;
+		setDefaultTargetDataSource(primary);
+		setTargetDataSources(new HashMap<>(replicas));
+		setLenientFallback(false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource#
+	 * afterPropertiesSet()
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "replica-lag-checker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, lagCheckIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+		if (Objects.nonNull(lagChecker)) {
+			lagChecker.shutdownNow();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource#
+	 * determineCurrentLookupKey()
+	 */
+	@Override
+	protected Object determineCurrentLookupKey() {
+		resetAfterTransactionOutsideRequest();
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				primaryWritten.set(Boolean.TRUE);
+			}
+			return null;
+		}
+		List<String> replicaNames = availableReplicas;
+		if (replicaNames.isEmpty() || Boolean.TRUE.equals(primaryWritten.get()) || isRecentlyWritten(readKey.get())) {
+			return null;
+		}
+		return replicaNames.get(Math.floorMod(counter.getAndIncrement(), replicaNames.size()));
+	}
+
+	/**
+	 * Registers the reset of the request state after the current transaction, if
+	 * the thread is not serving a request and so is not reset by the request
+	 * filter.
+	 */
+	private void resetAfterTransactionOutsideRequest() {
+		if (Objects.isNull(RequestContextHolder.getRequestAttributes())
+				&& TransactionSynchronizationManager.isSynchronizationActive()
+				&& !TransactionSynchronizationManager.getSynchronizations().contains(RESET_AFTER_TRANSACTION)) {
+			TransactionSynchronizationManager.registerSynchronization(RESET_AFTER_TRANSACTION);
+		}
+	}
+
+	/**
+	 * Checks if the key was written within the read your writes window.
+	 *
+	 * @param key the key
+	 * @return true, if recently written
+	 */
+	private boolean isRecentlyWritten(String key) {
+		Long writeTime = Objects.isNull(key) ? null : writeTimes.get(key);
+		return Objects.nonNull(writeTime) && System.currentTimeMillis() - writeTime < readYourWritesWindowMillis;
+	}
+
+	/**
+	 * Checks the replication lag of each replica and forgets the writes older
+	 * than the read your writes window.
+	 */
+	private void checkReplicas() {
+		List<String> replicaNames = new ArrayList<>();
+		replicas.forEach((name, replica) -> {
+			try (Connection connection = replica.getConnection();
+					Statement statement = connection.createStatement();
+					ResultSet lag = statement.executeQuery(POSTGRES_LAG_QUERY)) {
+				if (lag.next() && lag.getLong(1) <= maxLagMillis) {
+					replicaNames.add(name);
+				} else {
+					mosipLogger.warn(IdRepoSecurityManager.getUser(), REPLICA_DATA_SOURCE_RESOLVER, "checkReplicas",
+							"replica " + name + " is lagging, reads are routed to the primary");
+				}
+			} catch (SQLException | RuntimeException e) {
+				mosipLogger.warn(IdRepoSecurityManager.getUser(), REPLICA_DATA_SOURCE_RESOLVER, "checkReplicas",
+						"replica " + name + " is unavailable - " + e.getMessage());
+			}
+		});
+		availableReplicas = Collections.unmodifiableList(replicaNames);
+		long oldestWrite = System.currentTimeMillis() - readYourWritesWindowMillis;
+		writeTimes.values().removeIf(writeTime -> writeTime < oldestWrite);
+	}
+
+	/**
+	 * Records a write of the key, so that its reads go to the primary for the
+	 * read your writes window.
+	 *
+	 * @param key the key
+	 */
+	public static void recordWrite(String key) {
+		if (Objects.nonNull(key)) {
+			writeTimes.put(key, System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Sets the key of the reads of the current request.
+	 *
+	 * @param key the key
+	 */
+	public static void setReadKey(String key) {
+		readKey.set(key);
+	}
+
+	/**
+	 * Routes the reads of the rest of the current request to the primary, such as
+	 * the checks made ahead of a write.
+	 */
+	public static void usePrimary() {
+		primaryWritten.set(Boolean.TRUE);
+	}
+
+	/**
+	 * Resets the read your writes state of the current request.
+	 */
+	public static void resetRequest() {
+		primaryWritten.remove();
+		readKey.remove();
+	}
+}
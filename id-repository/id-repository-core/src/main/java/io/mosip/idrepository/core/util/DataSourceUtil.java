@@ -0,0 +1,208 @@
+package io.mosip.idrepository.core.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.idrepository.core.spi.ReplicaDataSourceResolver;
+
+/**
+ * The Class DataSourceUtil - builds the connection pools of the ID repository
+ * databases. The connection, pool and driver settings of a database are read
+ * from the properties under its prefix, such as
+ * {@code mosip.idrepo.identity.db.maximumPoolSize}, and the pool settings
+ * which are not configured keep the defaults of HikariCP.
+ * <p>
+ * The PostgreSQL driver caches the statements prepared on a connection, so the
+ * cache is reused across transactions only when connections are pooled. It is
+ * sized by the {@code prepareThreshold}, {@code preparedStatementCacheQueries}
+ * and {@code preparedStatementCacheSizeMiB} driver properties.
+ * <p>
+ * When a meter registry is available, the pool publishes the
+ * {@code hikaricp.connections.active}, {@code hikaricp.connections.idle} and
+ * {@code hikaricp.connections.pending} gauges, tagged by pool name.
+ * <p>
+ * The read replicas of a database are listed by its {@code replicas} property,
+ * and each replica is configured under {@code replica.<name>.}, such as
+ * {@code mosip.idrepo.identity.db.replica.replica1.url}.
+ */
+public final class DataSourceUtil {
+
+	/** The Constant URL. */
+	public static final String URL = "url";
+
+	/** The Constant USERNAME. */
+	public static final String USERNAME = "username";
+
+	/** The Constant PASSWORD. */
+	public static final String PASSWORD = "password";
+
+	/** The Constant DRIVER_CLASS_NAME. */
+	public static final String DRIVER_CLASS_NAME = "driverClassName";
+
+	/** The Constant REPLICAS. */
+	public static final String REPLICAS = "replicas";
+
+	/** The Constant REPLICA. */
+	public static final String REPLICA = "replica.";
+
+	/** The Constant MAX_REPLICA_LAG. */
+	public static final String MAX_REPLICA_LAG = "maxReplicaLagMillis";
+
+	/** The Constant READ_YOUR_WRITES_WINDOW. */
+	public static final String READ_YOUR_WRITES_WINDOW = "readYourWritesWindowMillis";
+
+	/** The Constant REPLICA_LAG_CHECK_INTERVAL. */
+	public static final String REPLICA_LAG_CHECK_INTERVAL = "replicaLagCheckIntervalMillis";
+
+	/** The default allowed replication lag in milliseconds. */
+	private static final long DEFAULT_MAX_REPLICA_LAG = 1000;
+
+	/** The default read your writes window in milliseconds. */
+	private static final long DEFAULT_READ_YOUR_WRITES_WINDOW = 5000;
+
+	/** The default interval of the replication lag check in milliseconds. */
+	private static final long DEFAULT_REPLICA_LAG_CHECK_INTERVAL = 1000;
+
+	/** The driver properties of the prepared statement cache. */
+	public static final List<String> STATEMENT_CACHE_PROPERTIES = Collections.unmodifiableList(
+			Arrays.asList("prepareThreshold", "preparedStatementCacheQueries", "preparedStatementCacheSizeMiB"));
+
+	/**
+	 * Instantiates a new data source util.
+	 */
+	private DataSourceUtil() {
+	}
+
+	/**
+	 * Builds the pooled data source and starts its pool.
+	 *
+	 * @param poolName      the pool name
+	 * @param env           the env
+	 * @param prefix        the prefix of the database properties
+	 * @param meterRegistry the meter registry, can be null
+	 * @return the data source
+	 */
+	public static HikariDataSource buildPooledDataSource(String poolName, Environment env, String prefix,
+			MeterRegistry meterRegistry) {
+		return new HikariDataSource(buildPoolConfig(poolName, env, prefix, meterRegistry));
+	}
+
+	/**
+	 * Builds the pool config.
+	 *
+	 * @param poolName      the pool name
+	 * @param env           the env
+	 * @param prefix        the prefix of the database properties
+	 * @param meterRegistry the meter registry, can be null
+	 * @return the hikari config
+	 */
+	public static HikariConfig buildPoolConfig(String poolName, Environment env, String prefix,
+			MeterRegistry meterRegistry) {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName(poolName);
+		config.setJdbcUrl(env.getProperty(prefix + URL));
+		config.setUsername(env.getProperty(prefix + USERNAME));
+		config.setPassword(env.getProperty(prefix + PASSWORD));
+		config.setDriverClassName(env.getProperty(prefix + DRIVER_CLASS_NAME));
+		setIfPresent(env, prefix, "maximumPoolSize", value -> config.setMaximumPoolSize(Integer.parseInt(value)));
+		setIfPresent(env, prefix, "minimumIdle", value -> config.setMinimumIdle(Integer.parseInt(value)));
+		setIfPresent(env, prefix, "connectionTimeout", value -> config.setConnectionTimeout(Long.parseLong(value)));
+		setIfPresent(env, prefix, "idleTimeout", value -> config.setIdleTimeout(Long.parseLong(value)));
+		setIfPresent(env, prefix, "maxLifetime", value -> config.setMaxLifetime(Long.parseLong(value)));
+		setIfPresent(env, prefix, "validationTimeout", value -> config.setValidationTimeout(Long.parseLong(value)));
+		setIfPresent(env, prefix, "connectionTestQuery", config::setConnectionTestQuery);
+		setIfPresent(env, prefix, "leakDetectionThreshold",
+				value -> config.setLeakDetectionThreshold(Long.parseLong(value)));
+		STATEMENT_CACHE_PROPERTIES.forEach(property -> setIfPresent(env, prefix, property,
+				value -> config.addDataSourceProperty(property, value)));
+		if (Objects.nonNull(meterRegistry)) {
+			config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+		}
+		return config;
+	}
+
+	/**
+	 * Routes the read-only transactions on the primary to the read replicas of
+	 * the database, if any are configured. The replicas are pooled like the
+	 * primary.
+	 *
+	 * @param primary       the pooled primary
+	 * @param poolName      the pool name of the primary
+	 * @param env           the env
+	 * @param prefix        the prefix of the database properties
+	 * @param meterRegistry the meter registry, can be null
+	 * @return the replica data source resolver, or the primary if there are no
+	 *         replicas
+	 */
+	public static DataSource withReplicas(DataSource primary, String poolName, Environment env, String prefix,
+			MeterRegistry meterRegistry) {
+		if (!hasReplicas(env, prefix)) {
+			return primary;
+		}
+		Map<String, DataSource> replicas = new HashMap<>();
+		for (String replica : env.getProperty(prefix + REPLICAS, String[].class)) {
+			replicas.put(replica, buildPooledDataSource(poolName + "-" + replica, env,
+					prefix + REPLICA + replica + ".", meterRegistry));
+		}
+		ReplicaDataSourceResolver resolver = new ReplicaDataSourceResolver(primary, replicas,
+				env.getProperty(prefix + MAX_REPLICA_LAG, Long.class, DEFAULT_MAX_REPLICA_LAG),
+				env.getProperty(prefix + READ_YOUR_WRITES_WINDOW, Long.class, DEFAULT_READ_YOUR_WRITES_WINDOW),
+				env.getProperty(prefix + REPLICA_LAG_CHECK_INTERVAL, Long.class, DEFAULT_REPLICA_LAG_CHECK_INTERVAL));
+		resolver.afterPropertiesSet();
+		return resolver;
+	}
+
+	/**
+	 * Checks if read replicas are configured for the database.
+	 *
+	 * @param env    the env
+	 * @param prefix the prefix of the database properties
+	 * @return true, if replicas are configured
+	 */
+	public static boolean hasReplicas(Environment env, String prefix) {
+		String[] replicas = env.getProperty(prefix + REPLICAS, String[].class);
+		return Objects.nonNull(replicas) && replicas.length > 0;
+	}
+
+	/**
+	 * Defers taking a connection from the data source until the first
+	 * statement, by when the read-only flag of the transaction is known to the
+	 * {@link ReplicaDataSourceResolver}.
+	 *
+	 * @param dataSource the data source
+	 * @return the lazy connection data source proxy
+	 */
+	public static DataSource lazyConnections(DataSource dataSource) {
+		return new LazyConnectionDataSourceProxy(dataSource);
+	}
+
+	/**
+	 * Applies the database property, if configured.
+	 *
+	 * @param env      the env
+	 * @param prefix   the prefix of the database properties
+	 * @param property the property
+	 * @param setter   the setter
+	 */
+	private static void setIfPresent(Environment env, String prefix, String property, Consumer<String> setter) {
+		String value = env.getProperty(prefix + property);
+		if (Objects.nonNull(value)) {
+			setter.accept(value);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package io.mosip.idrepository.core.util;
+
+import java.net.SocketTimeoutException;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.exception.RestServiceException;
+
+/**
+ * The Class MetricsUtil - utility to record the timers of downstream calls
+ * with common tags. All methods are no-ops when no meter registry is
+ * available.
+ */
+public final class MetricsUtil {
+
+	/** The Constant REST_REQUESTS. */
+	public static final String REST_REQUESTS = "idrepo.rest.requests";
+
+	/** The Constant REPOSITORY_CALLS. */
+	public static final String REPOSITORY_CALLS = "idrepo.db.repository";
+
+	/** The Constant CRYPTO_CALLS. */
+	public static final String CRYPTO_CALLS = "idrepo.crypto";
+
+	/** The Constant OBJECT_STORE_CALLS. */
+	public static final String OBJECT_STORE_CALLS = "idrepo.objectstore";
+
+	/** The Constant SUCCESS. */
+	public static final String SUCCESS = "SUCCESS";
+
+	/** The Constant ERROR. */
+	public static final String ERROR = "ERROR";
+
+	/** The Constant NONE. */
+	private static final String NONE = "NONE";
+
+	/**
+	 * Instantiates a new metrics util.
+	 */
+	private MetricsUtil() {
+	}
+
+	/**
+	 * Starts timing a call.
+	 *
+	 * @param meterRegistry the meter registry, can be null
+	 * @return the sample, null if there is no meter registry
+	 */
+	public static Timer.Sample startTimer(MeterRegistry meterRegistry) {
+		return Objects.isNull(meterRegistry) ? null : Timer.start(meterRegistry);
+	}
+
+	/**
+	 * Records the call in the timer with the given name and tags, adding the
+	 * outcome and exception tags.
+	 *
+	 * @param meterRegistry the meter registry, can be null
+	 * @param sample        the sample
+	 * @param name          the timer name
+	 * @param tags          the tags
+	 * @param error         the error thrown by the call, null if it succeeded
+	 */
+	public static void recordCall(MeterRegistry meterRegistry, Timer.Sample sample, String name, Tags tags,
+			Throwable error) {
+		if (Objects.nonNull(meterRegistry) && Objects.nonNull(sample)) {
+			sample.stop(Timer.builder(name)
+					.tags(tags)
+					.tag("outcome", Objects.isNull(error) ? SUCCESS : ERROR)
+					.tag("exception", Objects.isNull(error) ? NONE : error.getClass().getSimpleName())
+					.register(meterRegistry));
+		}
+	}
+
+	/**
+	 * Records the rest call in the {@value #REST_REQUESTS} timer, tagged by
+	 * service, method, response status and outcome. The status is the HTTP
+	 * status of an error response, 2xx for a successful response and NONE if
+	 * no response was received.
+	 *
+	 * @param meterRegistry the meter registry, can be null
+	 * @param sample        the sample
+	 * @param service       the service
+	 * @param method        the method
+	 * @param error         the error of the call, null if it succeeded
+	 */
+	public static void recordRestCall(MeterRegistry meterRegistry, Timer.Sample sample, String service,
+			HttpMethod method, Throwable error) {
+		if (Objects.isNull(meterRegistry) || Objects.isNull(sample)) {
+			return;
+		}
+		String status = NONE;
+		String outcome;
+		Throwable cause = getCause(error);
+		if (Objects.isNull(error)) {
+			status = "2xx";
+			outcome = SUCCESS;
+		} else if (cause instanceof WebClientResponseException || cause instanceof RestClientResponseException) {
+			int statusCode = cause instanceof WebClientResponseException
+					? ((WebClientResponseException) cause).getRawStatusCode()
+					: ((RestClientResponseException) cause).getRawStatusCode();
+			status = String.valueOf(statusCode);
+			outcome = statusCode >= 500 ? "SERVER_ERROR" : "CLIENT_ERROR";
+		} else if (cause instanceof TimeoutException || cause instanceof SocketTimeoutException) {
+			outcome = "TIMEOUT";
+		} else if (cause instanceof RestServiceException && IdRepoErrorConstants.SERVICE_UNAVAILABLE.getErrorCode()
+				.equals(((RestServiceException) cause).getErrorCode())) {
+			outcome = "UNAVAILABLE";
+		} else {
+			outcome = "UNKNOWN";
+		}
+		sample.stop(Timer.builder(REST_REQUESTS)
+				.tag("service", String.valueOf(service))
+				.tag("method", Objects.isNull(method) ? NONE : method.name())
+				.tag("status", status)
+				.tag("outcome", outcome)
+				.register(meterRegistry));
+	}
+
+	/**
+	 * Gets the first cause in the chain of the error which tells how the call
+	 * failed.
+	 *
+	 * @param error the error
+	 * @return the cause
+	 */
+	private static Throwable getCause(Throwable error) {
+		Throwable cause = error;
+		while (Objects.nonNull(cause) && !(cause instanceof WebClientResponseException
+				|| cause instanceof RestClientResponseException || cause instanceof TimeoutException
+				|| cause instanceof SocketTimeoutException || cause instanceof RestServiceException)
+				&& Objects.nonNull(cause.getCause()) && cause.getCause() != cause) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+}
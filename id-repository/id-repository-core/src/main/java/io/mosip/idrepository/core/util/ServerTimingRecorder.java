@@ -0,0 +1,179 @@
+package io.mosip.idrepository.core.util;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The Class ServerTimingRecorder - accumulates the time a request spends in
+ * each kind of work, to be sent back in the {@code Server-Timing} response
+ * header. The recorder of a request is bound to the thread serving it, and can
+ * be passed to other threads working on the same request. Metrics can overlap,
+ * for example object store time includes the time taken to decrypt the
+ * object.
+ */
+public final class ServerTimingRecorder {
+
+	/**
+	 * The kinds of work timed.
+	 */
+	public enum Metric {
+
+		/** Database calls. */
+		DB("db"),
+
+		/** Encryption and decryption. */
+		CRYPTO("crypto"),
+
+		/** Object store calls. */
+		OBJECT_STORE("objectstore"),
+
+		/** Calls to downstream rest services. */
+		REST("rest"),
+
+		/** Reading and parsing the JSON request body. */
+		JSON("json");
+
+		/** The name used in the header. */
+		private final String headerName;
+
+		Metric(String headerName) {
+			this.headerName = headerName;
+		}
+
+		/**
+		 * Gets the metric timed by the meter.
+		 *
+		 * @param meterName the meter name
+		 * @return the metric, null if the meter does not time any of the metrics
+		 */
+		public static Metric forMeter(String meterName) {
+			switch (meterName) {
+			case MetricsUtil.REPOSITORY_CALLS:
+				return DB;
+			case MetricsUtil.CRYPTO_CALLS:
+				return CRYPTO;
+			case MetricsUtil.OBJECT_STORE_CALLS:
+				return OBJECT_STORE;
+			case MetricsUtil.REST_REQUESTS:
+				return REST;
+			default:
+				return null;
+			}
+		}
+	}
+
+	/** The recorder of the request served by the current thread. */
+	private static final ThreadLocal<ServerTimingRecorder> CURRENT = new ThreadLocal<>();
+
+	/** The start nanos. */
+	private final long startNanos = System.nanoTime();
+
+	/** The nanos spent in each metric. */
+	private final AtomicLongArray durations = new AtomicLongArray(Metric.values().length);
+
+	/**
+	 * Instantiates a new server timing recorder.
+	 */
+	private ServerTimingRecorder() {
+	}
+
+	/**
+	 * Starts recording the request served by the current thread.
+	 *
+	 * @return the server timing recorder
+	 */
+	public static ServerTimingRecorder start() {
+		ServerTimingRecorder recorder = new ServerTimingRecorder();
+		CURRENT.set(recorder);
+		return recorder;
+	}
+
+	/**
+	 * Gets the recorder of the request served by the current thread.
+	 *
+	 * @return the server timing recorder, null if not recording
+	 */
+	public static ServerTimingRecorder current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Stops recording on the current thread.
+	 */
+	public static void clear() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Records into the recorder of a request on the current thread, such as a
+	 * thread running part of the request in parallel. Recording stops if the
+	 * recorder is null.
+	 *
+	 * @param recorder the recorder, can be null
+	 */
+	public static void attach(ServerTimingRecorder recorder) {
+		if (Objects.isNull(recorder)) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(recorder);
+		}
+	}
+
+	/**
+	 * Adds the time to the metric of the request served by the current thread,
+	 * if recording.
+	 *
+	 * @param metric the metric
+	 * @param nanos  the nanos
+	 */
+	public static void record(Metric metric, long nanos) {
+		ServerTimingRecorder recorder = CURRENT.get();
+		if (Objects.nonNull(recorder)) {
+			recorder.add(metric, nanos);
+		}
+	}
+
+	/**
+	 * Adds the time to the metric.
+	 *
+	 * @param metric the metric
+	 * @param nanos  the nanos
+	 */
+	public void add(Metric metric, long nanos) {
+		if (Objects.nonNull(metric)) {
+			durations.addAndGet(metric.ordinal(), nanos);
+		}
+	}
+
+	/**
+	 * Builds the {@code Server-Timing} header value with the metrics recorded
+	 * so far and the total time since the recorder was started, in
+	 * milliseconds.
+	 *
+	 * @return the header value
+	 */
+	public String toHeaderValue() {
+		StringJoiner header = new StringJoiner(", ");
+		for (Metric metric : Metric.values()) {
+			long nanos = durations.get(metric.ordinal());
+			if (nanos > 0) {
+				header.add(metric.headerName + ";dur=" + toMillis(nanos));
+			}
+		}
+		header.add("total;dur=" + toMillis(System.nanoTime() - startNanos));
+		return header.toString();
+	}
+
+	/**
+	 * Formats the nanos as milliseconds.
+	 *
+	 * @param nanos the nanos
+	 * @return the milliseconds
+	 */
+	private static String toMillis(long nanos) {
+		return String.format(Locale.ROOT, "%.1f", (double) nanos / TimeUnit.MILLISECONDS.toNanos(1));
+	}
+}
@@ -1,5 +1,10 @@
 package io.mosip.idrepository.core.test.builder;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Collections;
+
 import org.junit.Before;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
@@ -8,6 +13,7 @@ import org.junit.runners.MethodSorters;
 import org.mockito.InjectMocks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -201,4 +207,40 @@ public class RestRequestBuilderTest {
 				AuditResponseDTO.class);
 	}
 
+	@Test
+	public void testBuildRequestFromTemplate() throws IdRepoDataValidationException {
+		MockEnvironment environment = new MockEnvironment();
+		environment.merge(env);
+		environment.setProperty("mosip.idrepo.audit.rest.uri.queryparam.test", "yes");
+		ReflectionTestUtils.setField(restBuilder, "env", environment);
+
+		RestRequestDTO request = restBuilder.buildRequest(RestServicesConstants.AUDIT_MANAGER_SERVICE, null,
+				AuditResponseDTO.class);
+		request.getHeaders().add("test", "test");
+		request.getParams().add("test", "no");
+		environment.setProperty("mosip.idrepo.audit.rest.uri", "http://localhost/changed");
+		RestRequestDTO otherRequest = restBuilder.buildRequest(RestServicesConstants.AUDIT_MANAGER_SERVICE, null,
+				AuditResponseDTO.class);
+
+		assertEquals(request.getUri(), otherRequest.getUri());
+		assertEquals(RestServicesConstants.AUDIT_MANAGER_SERVICE, otherRequest.getRestService());
+		assertFalse(otherRequest.getHeaders().containsKey("test"));
+		assertEquals(Collections.singletonList("yes"), otherRequest.getParams().get("test"));
+	}
+
+	@Test
+	public void testBuildRequestAfterEnvironmentChange() throws IdRepoDataValidationException {
+		MockEnvironment environment = new MockEnvironment();
+		environment.merge(env);
+		ReflectionTestUtils.setField(restBuilder, "env", environment);
+		restBuilder.init();
+
+		environment.setProperty("mosip.idrepo.audit.rest.uri", "http://localhost/changed");
+		restBuilder.onEnvironmentChange(
+				new EnvironmentChangeEvent(Collections.singleton("mosip.idrepo.audit.rest.uri")));
+
+		assertEquals("http://localhost/changed", restBuilder
+				.buildRequest(RestServicesConstants.AUDIT_MANAGER_SERVICE, null, AuditResponseDTO.class).getUri());
+	}
+
 }
\ No newline at end of file
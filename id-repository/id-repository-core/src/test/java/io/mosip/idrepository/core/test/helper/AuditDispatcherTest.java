@@ -0,0 +1,330 @@
+package io.mosip.idrepository.core.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.util.FileSystemUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.idrepository.core.builder.RestRequestBuilder;
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.dto.AuditResponseDTO;
+import io.mosip.idrepository.core.dto.RestRequestDTO;
+import io.mosip.idrepository.core.exception.AuthenticationException;
+import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.helper.AuditDispatcher;
+import io.mosip.idrepository.core.helper.AuditDispatcher.OverflowPolicy;
+import io.mosip.idrepository.core.helper.AuditJournal;
+import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.helper.ServiceTokenProvider;
+import reactor.core.publisher.Mono;
+
+public class AuditDispatcherTest {
+
+	private RestHelper restHelper = mock(RestHelper.class);
+
+	private RestRequestBuilder restBuilder = mock(RestRequestBuilder.class);
+
+	private ServiceTokenProvider tokenProvider = mock(ServiceTokenProvider.class);
+
+	private ObjectMapper mapper = new ObjectMapper();
+
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private List<Object> sent = new CopyOnWriteArrayList<>();
+
+	private List<Object> sentBy = new CopyOnWriteArrayList<>();
+
+	private Path spillFile;
+
+	private Path deadLetterFile;
+
+	@Before
+	public void setup() throws IdRepoDataValidationException, IOException {
+		spillFile = Files.createTempFile("audit-spill", ".log");
+		deadLetterFile = Files.createTempFile("audit-dead-letter", ".log");
+		when(restBuilder.buildRequest(eq(RestServicesConstants.AUDIT_MANAGER_SERVICE), any(),
+				eq(AuditResponseDTO.class))).thenAnswer(invocation -> {
+					RestRequestDTO request = new RestRequestDTO();
+					request.setRequestBody(invocation.getArgument(1));
+					request.setHeaders(new HttpHeaders());
+					return request;
+				});
+		when(tokenProvider.authenticate(any())).thenAnswer(invocation -> {
+			RestRequestDTO request = invocation.getArgument(0);
+			request.getHeaders().set(HttpHeaders.COOKIE, "Authorization=service-token");
+			return request;
+		});
+		when(restHelper.requestReactive(any())).thenAnswer(invocation -> {
+			RestRequestDTO request = invocation.getArgument(0);
+			sent.add(request.getRequestBody());
+			sentBy.add(Objects.isNull(SecurityContextHolder.getContext().getAuthentication())
+					? request.getHeaders().getFirst(HttpHeaders.COOKIE)
+					: SecurityContextHolder.getContext().getAuthentication().getName());
+			return Mono.just(new AuditResponseDTO());
+		});
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		Files.deleteIfExists(spillFile);
+		Files.deleteIfExists(deadLetterFile);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void testSubmittedEventsAreSent() {
+		AuditDispatcher dispatcher = createDispatcher(16, OverflowPolicy.DROP_OLDEST);
+		dispatcher.start();
+		for (int i = 0; i < 10; i++) {
+			dispatcher.submit("event" + i);
+		}
+		dispatcher.stop(5000);
+		assertEquals(10, sent.size());
+		assertEquals(0, dispatcher.getQueueDepth());
+		assertTrue(meterRegistry.find("idrepo.audit.batch.latency").timer().count() > 0);
+	}
+
+	@Test
+	public void testFailedRequestDoesNotAffectBatch() {
+		when(restHelper.requestReactive(any())).thenAnswer(invocation -> {
+			Object body = invocation.<RestRequestDTO>getArgument(0).getRequestBody();
+			if ("event1".equals(body)) {
+				return Mono.error(new IOException());
+			}
+			sent.add(body);
+			return Mono.just(new AuditResponseDTO());
+		});
+		AuditDispatcher dispatcher = createDispatcher(16, OverflowPolicy.DROP_OLDEST);
+		dispatcher.start();
+		dispatcher.submit("event0");
+		dispatcher.submit("event1");
+		dispatcher.submit("event2");
+		dispatcher.stop(5000);
+		assertEquals(2, sent.size());
+	}
+
+	@Test
+	public void testDropOldestWhenFull() {
+		AuditDispatcher dispatcher = createDispatcher(4, OverflowPolicy.DROP_OLDEST);
+		for (int i = 0; i < 6; i++) {
+			dispatcher.submit("event" + i);
+		}
+		assertEquals(4, dispatcher.getQueueDepth());
+		assertEquals(2.0, meterRegistry.find("idrepo.audit.dropped").counter().count(), 0);
+		assertEquals(4.0, meterRegistry.find("idrepo.audit.queue.depth").gauge().value(), 0);
+		dispatcher.start();
+		dispatcher.stop(5000);
+		assertEquals("event2", sent.get(0));
+		assertEquals(4, sent.size());
+	}
+
+	@Test
+	public void testBlockDropsAfterTimeout() {
+		AuditDispatcher dispatcher = createDispatcher(2, OverflowPolicy.BLOCK);
+		dispatcher.submit("event0");
+		dispatcher.submit("event1");
+		dispatcher.submit("event2");
+		assertEquals(2, dispatcher.getQueueDepth());
+		assertEquals(1.0, meterRegistry.find("idrepo.audit.dropped").counter().count(), 0);
+	}
+
+	@Test
+	public void testBlockWaitsWithoutTimeout() throws InterruptedException {
+		AuditDispatcher dispatcher = new AuditDispatcher(restHelper, restBuilder, tokenProvider, mapper, 2, 8, 4,
+				OverflowPolicy.BLOCK, 0, spillFile, deadLetterFile, null, meterRegistry);
+		Thread submitter = new Thread(() -> {
+			for (int i = 0; i < 5; i++) {
+				dispatcher.submit("event" + i);
+			}
+		});
+		submitter.start();
+		submitter.join(100);
+		assertTrue(submitter.isAlive());
+		dispatcher.start();
+		submitter.join(5000);
+		dispatcher.stop(5000);
+		assertEquals(5, sent.size());
+		assertEquals(0.0, meterRegistry.find("idrepo.audit.dropped").counter().count(), 0);
+	}
+
+	@Test
+	public void testSpilledEventsSentUnderServiceToken() throws IOException {
+		AuditDispatcher dispatcher = createDispatcher(2, OverflowPolicy.SPILL);
+		for (int i = 0; i < 3; i++) {
+			SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+					new User("user" + i, "token" + i, Collections.emptyList()), "token" + i)));
+			dispatcher.submit(Collections.singletonMap("id", "event" + i));
+		}
+		SecurityContextHolder.clearContext();
+		String spilled = new String(Files.readAllBytes(spillFile), StandardCharsets.UTF_8);
+		assertTrue(spilled.contains("\"user\":\"user2\""));
+		assertFalse(spilled.contains("token2"));
+		Files.write(spillFile, Collections.singletonList("{\"auditRequest\":{\"id\":\"event3\"}}"),
+				StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+		dispatcher.start();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (sent.size() < 4 && System.currentTimeMillis() < deadline) {
+			Thread.yield();
+		}
+		dispatcher.stop(5000);
+		assertEquals(4, sent.size());
+		assertTrue(sentBy.stream().allMatch("Authorization=service-token"::equals));
+	}
+
+	@Test
+	public void testSpillAndReplay() throws IOException {
+		AuditDispatcher dispatcher = createDispatcher(2, OverflowPolicy.SPILL);
+		for (int i = 0; i < 5; i++) {
+			dispatcher.submit(Collections.singletonMap("id", "event" + i));
+		}
+		assertEquals(3, Files.readAllLines(spillFile, StandardCharsets.UTF_8).size());
+		assertEquals(3.0, meterRegistry.find("idrepo.audit.spilled").counter().count(), 0);
+		dispatcher.start();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (sent.size() < 5 && System.currentTimeMillis() < deadline) {
+			Thread.yield();
+		}
+		dispatcher.stop(5000);
+		assertEquals(5, sent.size());
+		assertTrue(sent.get(4).toString().contains("event4"));
+		assertEquals(0, Files.size(spillFile));
+	}
+
+	@Test
+	public void testJournaledEventsReplayedAfterFailure() throws IOException {
+		AtomicBoolean auditServiceUp = new AtomicBoolean();
+		when(restHelper.requestReactive(any())).thenAnswer(invocation -> {
+			if (!auditServiceUp.get()) {
+				return Mono.error(new RestServiceException(IdRepoErrorConstants.CONNECTION_TIMED_OUT));
+			}
+			sent.add(invocation.<RestRequestDTO>getArgument(0).getRequestBody());
+			return Mono.just(new AuditResponseDTO());
+		});
+		Path journalDirectory = Files.createTempDirectory("audit-journal");
+		AuditJournal journal = new AuditJournal(journalDirectory, 1024, 4);
+		AuditDispatcher dispatcher = new AuditDispatcher(restHelper, restBuilder, tokenProvider, mapper, 2, 8, 4,
+				OverflowPolicy.DROP_OLDEST, 10, spillFile, deadLetterFile, journal, meterRegistry);
+		for (int i = 0; i < 5; i++) {
+			dispatcher.submit(Collections.singletonMap("id", "event" + i));
+		}
+		assertEquals(0, dispatcher.getQueueDepth());
+		dispatcher.start();
+		verify(restHelper, timeout(1000).atLeastOnce()).requestReactive(any());
+		auditServiceUp.set(true);
+		long deadline = System.currentTimeMillis() + 5000;
+		while (sent.size() < 5 && System.currentTimeMillis() < deadline) {
+			Thread.yield();
+		}
+		dispatcher.stop(5000);
+		assertEquals(5, sent.size());
+		assertTrue(sent.get(0).toString().contains("event0"));
+		assertTrue(sent.get(4).toString().contains("event4"));
+		assertFalse(journal.hasUnread());
+		FileSystemUtils.deleteRecursively(journalDirectory);
+	}
+
+	@Test
+	public void testRejectedJournaledEventDeadLettered() throws IOException {
+		when(restHelper.requestReactive(any())).thenAnswer(invocation -> {
+			Object body = invocation.<RestRequestDTO>getArgument(0).getRequestBody();
+			if (body.toString().contains("event1")) {
+				return Mono.error(new AuthenticationException(IdRepoErrorConstants.AUTHORIZATION_FAILED, 403));
+			}
+			sent.add(body);
+			return Mono.just(new AuditResponseDTO());
+		});
+		Path journalDirectory = Files.createTempDirectory("audit-journal");
+		AuditJournal journal = new AuditJournal(journalDirectory, 1024, 4);
+		AuditDispatcher dispatcher = createDispatcher(journal);
+		for (int i = 0; i < 4; i++) {
+			dispatcher.submit(Collections.singletonMap("id", "event" + i));
+		}
+		dispatcher.start();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (sent.size() < 3 && System.currentTimeMillis() < deadline) {
+			Thread.yield();
+		}
+		dispatcher.stop(5000);
+		assertEquals(3, sent.size());
+		assertFalse(journal.hasUnread());
+		List<String> deadLettered = Files.readAllLines(deadLetterFile, StandardCharsets.UTF_8);
+		assertEquals(1, deadLettered.size());
+		assertTrue(deadLettered.get(0).contains("event1"));
+		assertEquals(1.0, meterRegistry.find("idrepo.audit.dead-lettered").counter().count(), 0);
+		verify(tokenProvider, atLeastOnce()).invalidate();
+		FileSystemUtils.deleteRecursively(journalDirectory);
+	}
+
+	@Test
+	public void testOnlyFailedJournaledEventsRetried() throws IOException {
+		AtomicInteger failures = new AtomicInteger();
+		when(restHelper.requestReactive(any())).thenAnswer(invocation -> {
+			Object body = invocation.<RestRequestDTO>getArgument(0).getRequestBody();
+			if (body.toString().contains("event1") && failures.getAndIncrement() < 2) {
+				return Mono.error(new RestServiceException(IdRepoErrorConstants.SERVER_ERROR));
+			}
+			sent.add(body);
+			return Mono.just(new AuditResponseDTO());
+		});
+		Path journalDirectory = Files.createTempDirectory("audit-journal");
+		AuditJournal journal = new AuditJournal(journalDirectory, 1024, 4);
+		AuditDispatcher dispatcher = createDispatcher(journal);
+		for (int i = 0; i < 3; i++) {
+			dispatcher.submit(Collections.singletonMap("id", "event" + i));
+		}
+		dispatcher.start();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (sent.size() < 3 && System.currentTimeMillis() < deadline) {
+			Thread.yield();
+		}
+		dispatcher.stop(5000);
+		assertEquals(3, sent.size());
+		assertTrue(sent.get(2).toString().contains("event1"));
+		assertEquals(0, Files.size(deadLetterFile));
+		assertFalse(journal.hasUnread());
+		FileSystemUtils.deleteRecursively(journalDirectory);
+	}
+
+	private AuditDispatcher createDispatcher(int capacity, OverflowPolicy overflowPolicy) {
+		return new AuditDispatcher(restHelper, restBuilder, tokenProvider, mapper, capacity, 8, 4, overflowPolicy,
+				10, spillFile, deadLetterFile, null, meterRegistry);
+	}
+
+	private AuditDispatcher createDispatcher(AuditJournal journal) {
+		return new AuditDispatcher(restHelper, restBuilder, tokenProvider, mapper, 2, 8, 4,
+				OverflowPolicy.DROP_OLDEST, 10, spillFile, deadLetterFile, journal, meterRegistry);
+	}
+}
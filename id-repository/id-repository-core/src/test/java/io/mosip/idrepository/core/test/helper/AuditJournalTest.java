@@ -0,0 +1,162 @@
+package io.mosip.idrepository.core.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.util.FileSystemUtils;
+
+import io.mosip.idrepository.core.helper.AuditJournal;
+
+public class AuditJournalTest {
+
+	private Path directory;
+
+	@Before
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("audit-journal");
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	@Test
+	public void testAppendAndReadInOrder() throws IOException {
+		AuditJournal journal = new AuditJournal(directory, 1024, 4);
+		for (int i = 0; i < 5; i++) {
+			assertTrue(journal.append(record(i)));
+		}
+		assertEquals("event0,event1,event2", toString(journal.read(3)));
+		assertEquals("event3,event4", toString(journal.read(3)));
+		assertTrue(journal.read(3).isEmpty());
+		assertFalse(journal.hasUnread());
+	}
+
+	@Test
+	public void testRewindToCheckpoint() throws IOException {
+		AuditJournal journal = new AuditJournal(directory, 1024, 4);
+		for (int i = 0; i < 4; i++) {
+			journal.append(record(i));
+		}
+		journal.read(2);
+		journal.commit();
+		assertEquals("event2,event3", toString(journal.read(5)));
+		journal.rewind();
+		assertTrue(journal.hasUnread());
+		assertEquals("event2,event3", toString(journal.read(5)));
+	}
+
+	@Test
+	public void testSegmentRotationAndCleanup() throws IOException {
+		AuditJournal journal = new AuditJournal(directory, 64, 3);
+		int appended = 0;
+		while (journal.append(record(appended))) {
+			appended++;
+		}
+		assertEquals(3, journal.getSegmentCount());
+		assertFalse(journal.append(new byte[64]));
+		List<AuditJournal.Entry> records = journal.read(appended);
+		assertEquals(appended, records.size());
+		assertEquals("event" + (appended - 1),
+				new String(records.get(appended - 1).getRecord(), StandardCharsets.UTF_8));
+		journal.commit();
+		assertEquals(1, journal.getSegmentCount());
+		assertEquals(1, segmentFiles().size());
+		assertTrue(journal.append(record(appended)));
+	}
+
+	@Test
+	public void testRecoverFromCheckpoint() throws IOException {
+		AuditJournal journal = new AuditJournal(directory, 64, 4);
+		for (int i = 0; i < 6; i++) {
+			journal.append(record(i));
+		}
+		journal.read(4);
+		journal.commit();
+		journal.read(1);
+		journal.close();
+		AuditJournal reopened = new AuditJournal(directory, 64, 4);
+		assertEquals("event4,event5", toString(reopened.read(10)));
+		reopened.append(record(6));
+		assertEquals("event6", toString(reopened.read(10)));
+	}
+
+	@Test
+	public void testTornRecordIgnoredOnRecovery() throws IOException {
+		AuditJournal journal = new AuditJournal(directory, 1024, 4);
+		journal.append(record(0));
+		journal.append(record(1));
+		journal.close();
+		try (RandomAccessFile segment = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+			segment.seek(record(0).length + 16);
+			segment.write('X');
+		}
+		AuditJournal reopened = new AuditJournal(directory, 1024, 4);
+		assertEquals("event0", toString(reopened.read(10)));
+		reopened.append(record(2));
+		assertEquals("event2", toString(reopened.read(10)));
+	}
+
+	@Test
+	public void testAcknowledgedRecordsSkippedAfterRewind() throws IOException {
+		AuditJournal journal = new AuditJournal(directory, 1024, 4);
+		for (int i = 0; i < 4; i++) {
+			journal.append(record(i));
+		}
+		List<AuditJournal.Entry> records = journal.read(4);
+		journal.ack(records.get(0));
+		journal.ack(records.get(1));
+		journal.ack(records.get(3));
+		journal.rewind();
+		assertEquals("event2", toString(journal.read(5)));
+		journal.rewind();
+		assertEquals("event2", toString(journal.read(5)));
+		journal.close();
+		AuditJournal reopened = new AuditJournal(directory, 1024, 4);
+		assertEquals("event2,event3", toString(reopened.read(5)));
+	}
+
+	@Test
+	public void testAcknowledgedRecordsReleaseSegments() throws IOException {
+		AuditJournal journal = new AuditJournal(directory, 64, 3);
+		int appended = 0;
+		while (journal.append(record(appended))) {
+			appended++;
+		}
+		List<AuditJournal.Entry> records = journal.read(appended);
+		records.subList(0, appended - 1).forEach(journal::ack);
+		journal.rewind();
+		assertEquals(1, journal.getSegmentCount());
+		assertEquals("event" + (appended - 1), toString(journal.read(appended)));
+		assertTrue(journal.append(record(appended)));
+	}
+
+	private byte[] record(int index) {
+		return ("event" + index).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private String toString(List<AuditJournal.Entry> records) {
+		return records.stream().map(record -> new String(record.getRecord(), StandardCharsets.UTF_8))
+				.collect(Collectors.joining(","));
+	}
+
+	private List<Path> segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.toString().endsWith(".journal")).sorted().collect(Collectors.toList());
+		}
+	}
+}
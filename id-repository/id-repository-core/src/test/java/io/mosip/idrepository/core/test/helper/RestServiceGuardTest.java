@@ -0,0 +1,112 @@
+package io.mosip.idrepository.core.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.helper.RestServiceGuard;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+public class RestServiceGuardTest {
+
+	private AtomicInteger calls = new AtomicInteger();
+
+	@Test
+	public void testRetryIdempotentCall() {
+		RestServiceGuard guard = new RestServiceGuard("test", null, null, 0, 0, 1000, 2, 1, 2, false);
+		Mono<String> call = Mono.defer(() -> calls.incrementAndGet() < 3 ? Mono.error(new IOException())
+				: Mono.just("success"));
+		assertEquals("success", guard.protect(call, HttpMethod.GET).block());
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void testNoRetryForPost() {
+		RestServiceGuard guard = new RestServiceGuard("test", null, null, 0, 0, 1000, 2, 1, 2, false);
+		assertTrue(unwrap(guard.protect(failingCall(), HttpMethod.POST)) instanceof IOException);
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void testRetryAllMethods() {
+		RestServiceGuard guard = new RestServiceGuard("test", null, null, 0, 0, 1000, 2, 1, 2, true);
+		assertTrue(unwrap(guard.protect(failingCall(), HttpMethod.POST)) instanceof IOException);
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void testNoRetryForClientError() {
+		RestServiceGuard guard = new RestServiceGuard("test", null, null, 0, 0, 1000, 2, 1, 2, false);
+		Mono<String> call = Mono.defer(() -> {
+			calls.incrementAndGet();
+			return Mono.error(new WebClientResponseException("error", 400, "Bad Request", null, new byte[0],
+					StandardCharsets.UTF_8));
+		});
+		assertTrue(unwrap(guard.protect(call, HttpMethod.GET)) instanceof WebClientResponseException);
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void testCircuitOpensAndFailsFast() throws InterruptedException {
+		RestServiceGuard guard = new RestServiceGuard("test", null, null, 0, 2, 50, 0, 1, 2, false);
+		unwrap(guard.protect(failingCall(), HttpMethod.GET));
+		unwrap(guard.protect(failingCall(), HttpMethod.GET));
+		Throwable error = unwrap(guard.protect(failingCall(), HttpMethod.GET));
+		assertEquals(IdRepoErrorConstants.SERVICE_UNAVAILABLE.getErrorCode(),
+				((RestServiceException) error).getErrorCode());
+		assertEquals(2, calls.get());
+		Thread.sleep(60);
+		assertEquals("success", guard.protect(Mono.just("success"), HttpMethod.GET).block());
+		unwrap(guard.protect(failingCall(), HttpMethod.GET));
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void testBulkheadRejectsExcessCalls() {
+		RestServiceGuard guard = new RestServiceGuard("test", null, null, 1, 0, 1000, 0, 1, 2, false);
+		MonoProcessor<String> pending = MonoProcessor.create();
+		guard.protect(pending, HttpMethod.GET).subscribe();
+		Throwable error = unwrap(guard.protect(Mono.just("success"), HttpMethod.GET));
+		assertEquals(IdRepoErrorConstants.SERVICE_UNAVAILABLE.getErrorCode(),
+				((RestServiceException) error).getErrorCode());
+		pending.onNext("done");
+		assertEquals("success", guard.protect(Mono.just("success"), HttpMethod.GET).block());
+	}
+
+	@Test
+	public void testCreateWithoutProperties() {
+		RestServiceGuard guard = RestServiceGuard.create(RestServicesConstants.AUDIT_MANAGER_SERVICE,
+				new MockEnvironment(), null);
+		assertTrue(unwrap(guard.protect(failingCall(), HttpMethod.GET)) instanceof IOException);
+		assertEquals(1, calls.get());
+	}
+
+	private Mono<String> failingCall() {
+		return Mono.defer(() -> {
+			calls.incrementAndGet();
+			return Mono.error(new IOException());
+		});
+	}
+
+	private Throwable unwrap(Mono<?> mono) {
+		try {
+			mono.block();
+		} catch (RuntimeException e) {
+			return Exceptions.unwrap(e);
+		}
+		return null;
+	}
+}
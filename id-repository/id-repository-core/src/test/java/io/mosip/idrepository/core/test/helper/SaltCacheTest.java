@@ -0,0 +1,92 @@
+package io.mosip.idrepository.core.test.helper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.idrepository.core.helper.SaltCache;
+import io.mosip.idrepository.core.helper.SaltCacheEndpoint;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+public class SaltCacheTest {
+
+	private static final String SALT = "AG7JQI1HwFp_cI_DcdAQ9A";
+
+	private Map<Integer, String> salts = new HashMap<>();
+
+	private AtomicInteger fallbackCount = new AtomicInteger();
+
+	private SaltCache saltCache;
+
+	@Before
+	public void setup() {
+		salts.put(0, SALT);
+		salts.put(2, "7C9JlRD32RnFTzAmeTfIzg");
+		saltCache = new SaltCache("uinHashSalt", () -> salts, id -> {
+			fallbackCount.incrementAndGet();
+			return SALT;
+		});
+	}
+
+	@Test
+	public void testGetSaltFromCache() {
+		assertEquals(2, saltCache.refresh());
+		assertEquals(SALT, saltCache.getSalt(0));
+		assertArrayEquals(SALT.getBytes(), saltCache.getSaltBytes(0));
+		assertArrayEquals(CryptoUtil.decodeBase64(SALT), saltCache.getDecodedSalt(0));
+		assertSame(saltCache.getSaltBytes(0), saltCache.getSaltBytes(0));
+		assertSame(saltCache.getDecodedSalt(2), saltCache.getDecodedSalt(2));
+		assertEquals(0, fallbackCount.get());
+	}
+
+	@Test
+	public void testGetSaltMissingFromCache() {
+		saltCache.refresh();
+		assertEquals(SALT, saltCache.getSalt(1));
+		assertArrayEquals(SALT.getBytes(), saltCache.getSaltBytes(5));
+		assertArrayEquals(CryptoUtil.decodeBase64(SALT), saltCache.getDecodedSalt(-1));
+		assertEquals(3, fallbackCount.get());
+	}
+
+	@Test
+	public void testGetSaltBeforeRefresh() {
+		assertEquals(SALT, saltCache.getSalt(2));
+		assertEquals(1, fallbackCount.get());
+	}
+
+	@Test
+	public void testRefreshFailureRetainsSalts() {
+		AtomicInteger loadCount = new AtomicInteger();
+		SaltCache failingCache = new SaltCache("uinHashSalt", () -> {
+			if (loadCount.incrementAndGet() > 1) {
+				throw new IllegalStateException();
+			}
+			return salts;
+		}, id -> {
+			fallbackCount.incrementAndGet();
+			return SALT;
+		});
+		assertEquals(2, failingCache.refresh());
+		assertEquals(2, failingCache.refresh());
+		assertEquals("7C9JlRD32RnFTzAmeTfIzg", failingCache.getSalt(2));
+		assertEquals(0, fallbackCount.get());
+	}
+
+	@Test
+	public void testEndpointRefresh() {
+		SaltCacheEndpoint endpoint = new SaltCacheEndpoint();
+		ReflectionTestUtils.setField(endpoint, "saltCaches", Collections.singletonList(saltCache));
+		assertEquals(Integer.valueOf(0), endpoint.saltCount().get("uinHashSalt"));
+		assertEquals(Integer.valueOf(2), endpoint.refresh().get("uinHashSalt"));
+		assertEquals(Integer.valueOf(2), endpoint.saltCount().get("uinHashSalt"));
+	}
+}
@@ -0,0 +1,92 @@
+package io.mosip.idrepository.core.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.idrepository.core.helper.VidUinCache;
+
+public class VidUinCacheTest {
+
+	private static final String VID = "5213485213456732";
+
+	private static final String UIN = "2953190571";
+
+	private static final String UIN_HASH = "571_4A8C8E8B1A2D";
+
+	private VidUinCache cache;
+
+	@Before
+	public void setup() {
+		cache = new VidUinCache("vidResolution", true, 2, 60000);
+	}
+
+	@Test
+	public void testGetUin() {
+		assertFalse(cache.getUin(VID).isPresent());
+		cache.put(VID, UIN, UIN_HASH, null, cache.version());
+		assertEquals(Optional.of(UIN), cache.getUin(VID));
+	}
+
+	@Test
+	public void testDisabled() {
+		cache = new VidUinCache("vidResolution", false, 2, 60000);
+		cache.put(VID, UIN, UIN_HASH, null, cache.version());
+		assertFalse(cache.getUin(VID).isPresent());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() {
+		cache.put(VID, UIN, UIN_HASH, null, cache.version());
+		cache.put("5213485213456733", UIN, UIN_HASH, null, cache.version());
+		cache.getUin(VID);
+		cache.put("5213485213456734", UIN, UIN_HASH, null, cache.version());
+		assertEquals(Optional.of(UIN), cache.getUin(VID));
+		assertFalse(cache.getUin("5213485213456733").isPresent());
+	}
+
+	@Test
+	public void testExpired() {
+		cache = new VidUinCache("vidResolution", true, 2, 0);
+		cache.put(VID, UIN, UIN_HASH, null, cache.version());
+		assertFalse(cache.getUin(VID).isPresent());
+	}
+
+	@Test
+	public void testExpiredWithVid() {
+		cache.put(VID, UIN, UIN_HASH, LocalDateTime.now(ZoneOffset.UTC).minusSeconds(1), cache.version());
+		assertFalse(cache.getUin(VID).isPresent());
+	}
+
+	@Test
+	public void testInvalidate() {
+		cache.put(VID, UIN, UIN_HASH, null, cache.version());
+		cache.invalidate(VID);
+		assertFalse(cache.getUin(VID).isPresent());
+	}
+
+	@Test
+	public void testInvalidateUinHashes() {
+		cache.put(VID, UIN, UIN_HASH, null, cache.version());
+		cache.put("5213485213456733", "2953190572", "572_4A8C8E8B1A2D", null, cache.version());
+		cache.invalidateUinHashes(Arrays.asList(UIN_HASH, "573_4A8C8E8B1A2D"));
+		assertFalse(cache.getUin(VID).isPresent());
+		assertEquals(Optional.of("2953190572"), cache.getUin("5213485213456733"));
+	}
+
+	@Test
+	public void testResolutionBeforeInvalidationNotCached() {
+		long version = cache.version();
+		cache.invalidateUinHashes(Collections.singleton(UIN_HASH));
+		cache.put(VID, UIN, UIN_HASH, null, version);
+		assertFalse(cache.getUin(VID).isPresent());
+	}
+}
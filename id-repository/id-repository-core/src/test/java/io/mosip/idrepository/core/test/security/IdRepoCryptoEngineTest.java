@@ -0,0 +1,250 @@
+package io.mosip.idrepository.core.test.security;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Random;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.mosip.idrepository.core.builder.RestRequestBuilder;
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.dto.RestRequestDTO;
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.security.IdRepoCryptoEngine;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class IdRepoCryptoEngineTest {
+
+	private static final byte[] KEY_SPLITTER = "#KEY_SPLITTER#".getBytes();
+
+	@Mock
+	private RestRequestBuilder restBuilder;
+
+	@Mock
+	private RestHelper restHelper;
+
+	@InjectMocks
+	private IdRepoCryptoEngine cryptoEngine;
+
+	private ObjectMapper mapper = new ObjectMapper();
+
+	private X509Certificate certificate;
+
+	private PrivateKey privateKey;
+
+	private RestRequestDTO certificateRequest;
+
+	private RestRequestDTO decryptKeyRequest;
+
+	@Before
+	public void setup() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("mosip.idrepo.crypto.local.enabled", "true");
+		environment.setProperty("mosip.idrepo.app-id", "idrepo");
+		environment.setProperty("mosip.utc-datetime-pattern", "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+		ReflectionTestUtils.setField(cryptoEngine, "env", environment);
+		ReflectionTestUtils.setField(cryptoEngine, "mapper", mapper);
+		cryptoEngine.init();
+
+		String pem = readResource("keymanager-test-certificate.pem");
+		certificate = (X509Certificate) CertificateFactory.getInstance("X.509")
+				.generateCertificate(new ByteArrayInputStream(pem.getBytes()));
+		String key = readResource("keymanager-test-private-key.pem").replaceAll("-----[A-Z ]+-----", "")
+				.replaceAll("\\s", "");
+		privateKey = KeyFactory.getInstance("RSA")
+				.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key)));
+
+		certificateRequest = new RestRequestDTO();
+		certificateRequest.setUri("getCertificate");
+		decryptKeyRequest = new RestRequestDTO();
+		decryptKeyRequest.setUri("decrypt");
+		when(restBuilder.buildRequest(Mockito.eq(RestServicesConstants.KEYMANAGER_GET_CERTIFICATE), Mockito.any(),
+				Mockito.any(Class.class))).thenReturn(certificateRequest);
+		ObjectNode certificateResponse = mapper.createObjectNode();
+		certificateResponse.putObject("response").put("certificate", pem);
+		when(restHelper.requestSync(certificateRequest)).thenReturn(certificateResponse);
+	}
+
+	@After
+	public void tearDown() {
+		cryptoEngine.destroy();
+	}
+
+	@Test
+	public void testEncryptIsCompatibleWithCryptoManagerFormat() throws Exception {
+		byte[] encryptedData = CryptoUtil.decodeBase64(new String(cryptoEngine.encrypt("identity".getBytes())));
+
+		int splitterIndex = indexOf(encryptedData, KEY_SPLITTER);
+		byte[] thumbprint = Arrays.copyOfRange(encryptedData, 0, 32);
+		assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded()), thumbprint);
+		SecretKey secretKey = unwrap(Arrays.copyOfRange(encryptedData, 32, splitterIndex));
+		byte[] cipherText = Arrays.copyOfRange(encryptedData, splitterIndex + KEY_SPLITTER.length,
+				encryptedData.length);
+		Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+		cipher.init(Cipher.DECRYPT_MODE, secretKey,
+				new GCMParameterSpec(128, cipherText, cipherText.length - 16, 16));
+		assertEquals("identity", new String(cipher.doFinal(cipherText, 0, cipherText.length - 16)));
+	}
+
+	@Test
+	public void testEncryptDecryptUsesCachedKey() throws Exception {
+		byte[] encryptedData = cryptoEngine.encrypt("identity".getBytes());
+		byte[] otherEncryptedData = cryptoEngine.encrypt("identity".getBytes());
+		assertFalse(Arrays.equals(encryptedData, otherEncryptedData));
+		Optional<byte[]> decryptedData = cryptoEngine.decrypt(CryptoUtil.decodeBase64(new String(otherEncryptedData)));
+		assertEquals("identity", new String(decryptedData.get()));
+		verify(restHelper, times(1)).requestSync(Mockito.any());
+	}
+
+	@Test
+	public void testEncryptStream() throws Exception {
+		byte[] data = new byte[100000];
+		new Random(7).nextBytes(data);
+		byte[] encryptedData;
+		try (InputStream encryptedStream = cryptoEngine.encrypt(new ByteArrayInputStream(data))) {
+			encryptedData = encryptedStream.readAllBytes();
+		}
+		assertArrayEquals(data,
+				cryptoEngine.decrypt(CryptoUtil.decodeBase64(new String(encryptedData))).get());
+		assertEquals(CryptoUtil.encodeBase64(CryptoUtil.decodeBase64(new String(encryptedData))),
+				new String(encryptedData));
+	}
+
+	@Test
+	public void testDecryptUnknownKeyUnwrappedOnce() throws Exception {
+		KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+		keyGenerator.init(256);
+		SecretKey secretKey = keyGenerator.generateKey();
+		byte[] iv = new byte[16];
+		Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+		cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(128, iv));
+		byte[] cipherText = cipher.doFinal("identity".getBytes());
+		byte[] header = new byte[64];
+		byte[] encryptedData = ByteBuffer.allocate(header.length + KEY_SPLITTER.length + cipherText.length + 16)
+				.put(header).put(KEY_SPLITTER).put(cipherText).put(iv).array();
+
+		when(restBuilder.buildRequest(Mockito.eq(RestServicesConstants.KEYMANAGER_DECRYPT_KEY), Mockito.any(),
+				Mockito.any(Class.class))).thenReturn(decryptKeyRequest);
+		ObjectNode keyResponse = mapper.createObjectNode();
+		keyResponse.putObject("response").put("symmetricKey", CryptoUtil.encodeBase64(secretKey.getEncoded()));
+		when(restHelper.requestSync(decryptKeyRequest)).thenReturn(keyResponse);
+
+		assertEquals("identity", new String(cryptoEngine.decrypt(encryptedData).get()));
+		assertEquals("identity", new String(cryptoEngine.decrypt(encryptedData).get()));
+		verify(restHelper, times(1)).requestSync(decryptKeyRequest);
+	}
+
+	@Test
+	public void testDecryptUnknownKeyUnwrapFailed() throws Exception {
+		byte[] encryptedData = ByteBuffer.allocate(64 + KEY_SPLITTER.length + 32).put(new byte[64])
+				.put(KEY_SPLITTER).put(new byte[32]).array();
+		when(restBuilder.buildRequest(Mockito.eq(RestServicesConstants.KEYMANAGER_DECRYPT_KEY), Mockito.any(),
+				Mockito.any(Class.class))).thenReturn(decryptKeyRequest);
+		when(restHelper.requestSync(decryptKeyRequest))
+				.thenThrow(new RestServiceException(IdRepoErrorConstants.SERVER_ERROR));
+		assertFalse(cryptoEngine.decrypt(encryptedData).isPresent());
+		assertFalse(cryptoEngine.decrypt(encryptedData).isPresent());
+		verify(restHelper, times(1)).requestSync(decryptKeyRequest);
+	}
+
+	@Test
+	public void testDecryptUnknownKeyUnwrapRetriedAfterTtl() throws Exception {
+		ReflectionTestUtils.setField(cryptoEngine, "failedUnwrapTtlNanos", 0L);
+		byte[] encryptedData = ByteBuffer.allocate(64 + KEY_SPLITTER.length + 32).put(new byte[64])
+				.put(KEY_SPLITTER).put(new byte[32]).array();
+		when(restBuilder.buildRequest(Mockito.eq(RestServicesConstants.KEYMANAGER_DECRYPT_KEY), Mockito.any(),
+				Mockito.any(Class.class))).thenReturn(decryptKeyRequest);
+		when(restHelper.requestSync(decryptKeyRequest))
+				.thenThrow(new RestServiceException(IdRepoErrorConstants.SERVER_ERROR));
+		assertFalse(cryptoEngine.decrypt(encryptedData).isPresent());
+		assertFalse(cryptoEngine.decrypt(encryptedData).isPresent());
+		verify(restHelper, times(2)).requestSync(decryptKeyRequest);
+	}
+
+	@Test
+	public void testDecryptWithoutSplitter() throws IdRepoAppException {
+		assertFalse(cryptoEngine.decrypt("identity".getBytes()).isPresent());
+	}
+
+	@Test
+	public void testDecryptTamperedData() throws IdRepoAppException {
+		byte[] encryptedData = CryptoUtil.decodeBase64(new String(cryptoEngine.encrypt("identity".getBytes())));
+		encryptedData[encryptedData.length - 20] ^= 1;
+		try {
+			cryptoEngine.decrypt(encryptedData);
+		} catch (IdRepoAppException e) {
+			assertEquals(IdRepoErrorConstants.ENCRYPTION_DECRYPTION_FAILED.getErrorCode(), e.getErrorCode());
+			return;
+		}
+		assertTrue("tampered data must not decrypt", false);
+	}
+
+	private SecretKey unwrap(byte[] wrappedKey) throws Exception {
+		Cipher cipher = Cipher.getInstance("RSA/ECB/OAEPWITHSHA-256ANDMGF1PADDING");
+		cipher.init(Cipher.DECRYPT_MODE, privateKey,
+				new OAEPParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT));
+		return new SecretKeySpec(cipher.doFinal(wrappedKey), "AES");
+	}
+
+	private String readResource(String name) throws IOException {
+		try (InputStream in = getClass().getClassLoader().getResourceAsStream(name)) {
+			return new String(in.readAllBytes());
+		}
+	}
+
+	private static int indexOf(byte[] data, byte[] splitter) {
+		outer: for (int i = 0; i <= data.length - splitter.length; i++) {
+			for (int j = 0; j < splitter.length; j++) {
+				if (data[i + j] != splitter[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+}
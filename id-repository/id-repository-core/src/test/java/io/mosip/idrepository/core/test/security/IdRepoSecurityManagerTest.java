@@ -3,7 +3,10 @@ package io.mosip.idrepository.core.test.security;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -77,6 +80,13 @@ public class IdRepoSecurityManagerTest {
 				securityManager.hash("abcd".getBytes()));
 	}
 
+	@Test
+	public void testHashDigest() throws IOException {
+		MessageDigest digest = securityManager.getHashDigest();
+		new DigestInputStream(new ByteArrayInputStream("abcd".getBytes()), digest).readAllBytes();
+		assertEquals(securityManager.hash("abcd".getBytes()), securityManager.hash(digest));
+	}
+
 	@Test
 	public void testEncrypt()
 			throws IdRepoAppException, JsonParseException, JsonMappingException, JsonProcessingException, IOException {
@@ -0,0 +1,106 @@
+package io.mosip.idrepository.core.test.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.mosip.idrepository.core.spi.ReplicaDataSourceResolver;
+
+public class ReplicaDataSourceResolverTest {
+
+	ReplicaDataSourceResolver replicaResolver;
+
+	@Before
+	public void before() {
+		Map<String, DataSource> replicas = new HashMap<>();
+		replicas.put("replica1", Mockito.mock(DataSource.class));
+		replicas.put("replica2", Mockito.mock(DataSource.class));
+		replicaResolver = new ReplicaDataSourceResolver(Mockito.mock(DataSource.class), replicas, 1000, 5000, 1000);
+		ReflectionTestUtils.setField(replicaResolver, "availableReplicas", Arrays.asList("replica1", "replica2"));
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+	}
+
+	@After
+	public void after() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		ReplicaDataSourceResolver.resetRequest();
+	}
+
+	@Test
+	public void testReadOnlyTransactionRoutedToReplicas() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals("replica1", ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+		assertEquals("replica2", ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+	}
+
+	@Test
+	public void testReadWriteTransactionRoutedToPrimary() {
+		assertNull(ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+	}
+
+	@Test
+	public void testReadAfterWriteInRequestRoutedToPrimary() {
+		ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey");
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertNull(ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+		ReplicaDataSourceResolver.resetRequest();
+		assertEquals("replica1", ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+	}
+
+	@Test
+	public void testReadAfterUsePrimaryRoutedToPrimary() {
+		ReplicaDataSourceResolver.usePrimary();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertNull(ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+	}
+
+	@Test
+	public void testStateResetAfterTransactionOutsideRequest() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey");
+			ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey");
+			assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+			}
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals("replica1", ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+	}
+
+	@Test
+	public void testReadOfRecentlyWrittenKeyRoutedToPrimary() {
+		ReplicaDataSourceResolver.recordWrite("751_8D4A3F0C5E");
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		ReplicaDataSourceResolver.setReadKey("751_8D4A3F0C5E");
+		assertNull(ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+		ReplicaDataSourceResolver.setReadKey("752_1B2C3D4E5F");
+		assertEquals("replica1", ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+	}
+
+	@Test
+	public void testLaggingReplicasSkipped() {
+		ReflectionTestUtils.setField(replicaResolver, "availableReplicas", Arrays.asList("replica2"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals("replica2", ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+		ReflectionTestUtils.setField(replicaResolver, "availableReplicas", Arrays.asList());
+		assertNull(ReflectionTestUtils.invokeMethod(replicaResolver, "determineCurrentLookupKey"));
+	}
+}
@@ -0,0 +1,55 @@
+package io.mosip.idrepository.core.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.idrepository.core.util.DataSourceUtil;
+
+public class DataSourceUtilTest {
+
+	private static final String PREFIX = "mosip.idrepo.identity.db.";
+
+	private MockEnvironment env = new MockEnvironment()
+			.withProperty(PREFIX + "url", "jdbc:postgresql://localhost/mosip_idrepo")
+			.withProperty(PREFIX + "username", "idrepouser").withProperty(PREFIX + "password", "mosip")
+			.withProperty(PREFIX + "driverClassName", "org.postgresql.Driver");
+
+	@Test
+	public void testBuildPoolConfig() {
+		env.withProperty(PREFIX + "maximumPoolSize", "50").withProperty(PREFIX + "minimumIdle", "5")
+				.withProperty(PREFIX + "leakDetectionThreshold", "60000")
+				.withProperty(PREFIX + "validationTimeout", "3000")
+				.withProperty(PREFIX + "preparedStatementCacheQueries", "512");
+		HikariConfig config = DataSourceUtil.buildPoolConfig("idrepo", env, PREFIX, new SimpleMeterRegistry());
+		assertEquals("idrepo", config.getPoolName());
+		assertEquals("jdbc:postgresql://localhost/mosip_idrepo", config.getJdbcUrl());
+		assertEquals("idrepouser", config.getUsername());
+		assertEquals("mosip", config.getPassword());
+		assertEquals("org.postgresql.Driver", config.getDriverClassName());
+		assertEquals(50, config.getMaximumPoolSize());
+		assertEquals(5, config.getMinimumIdle());
+		assertEquals(60000, config.getLeakDetectionThreshold());
+		assertEquals(3000, config.getValidationTimeout());
+		assertEquals("512", config.getDataSourceProperties().getProperty("preparedStatementCacheQueries"));
+		assertTrue(config.getMetricsTrackerFactory() instanceof MicrometerMetricsTrackerFactory);
+	}
+
+	@Test
+	public void testBuildPoolConfigWithDefaults() {
+		HikariConfig defaults = new HikariConfig();
+		HikariConfig config = DataSourceUtil.buildPoolConfig("vid", env, PREFIX, null);
+		assertEquals(defaults.getMaximumPoolSize(), config.getMaximumPoolSize());
+		assertEquals(defaults.getLeakDetectionThreshold(), config.getLeakDetectionThreshold());
+		assertFalse(config.getDataSourceProperties().containsKey("prepareThreshold"));
+		assertNull(config.getMetricsTrackerFactory());
+	}
+}
@@ -0,0 +1,105 @@
+package io.mosip.idrepository.core.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.helper.MetricsAspect;
+import io.mosip.idrepository.core.util.MetricsUtil;
+
+public class MetricsUtilTest {
+
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	public void testRecordRestCallSuccess() {
+		MetricsUtil.recordRestCall(meterRegistry, MetricsUtil.startTimer(meterRegistry), "AUDIT_MANAGER_SERVICE",
+				HttpMethod.POST, null);
+		assertEquals(1, restTimer("AUDIT_MANAGER_SERVICE", "2xx", "SUCCESS").count());
+	}
+
+	@Test
+	public void testRecordRestCallStatusError() {
+		MetricsUtil.recordRestCall(meterRegistry, MetricsUtil.startTimer(meterRegistry), "CRYPTO_MANAGER_ENCRYPT",
+				HttpMethod.POST, new WebClientResponseException("error", 503, "Service Unavailable", null,
+						new byte[0], StandardCharsets.UTF_8));
+		MetricsUtil.recordRestCall(meterRegistry, MetricsUtil.startTimer(meterRegistry), "CRYPTO_MANAGER_ENCRYPT",
+				HttpMethod.POST, new Exception(new WebClientResponseException("error", 404, "Not Found", null,
+						new byte[0], StandardCharsets.UTF_8)));
+		assertEquals(1, restTimer("CRYPTO_MANAGER_ENCRYPT", "503", "SERVER_ERROR").count());
+		assertEquals(1, restTimer("CRYPTO_MANAGER_ENCRYPT", "404", "CLIENT_ERROR").count());
+	}
+
+	@Test
+	public void testRecordRestCallWithoutResponse() {
+		MetricsUtil.recordRestCall(meterRegistry, MetricsUtil.startTimer(meterRegistry), "AUDIT_MANAGER_SERVICE",
+				HttpMethod.POST, new TimeoutException());
+		MetricsUtil.recordRestCall(meterRegistry, MetricsUtil.startTimer(meterRegistry), "AUDIT_MANAGER_SERVICE",
+				HttpMethod.POST, new RestServiceException(IdRepoErrorConstants.SERVICE_UNAVAILABLE));
+		MetricsUtil.recordRestCall(meterRegistry, MetricsUtil.startTimer(meterRegistry), "AUDIT_MANAGER_SERVICE",
+				HttpMethod.POST, new IllegalStateException());
+		assertEquals(1, restTimer("AUDIT_MANAGER_SERVICE", "NONE", "TIMEOUT").count());
+		assertEquals(1, restTimer("AUDIT_MANAGER_SERVICE", "NONE", "UNAVAILABLE").count());
+		assertEquals(1, restTimer("AUDIT_MANAGER_SERVICE", "NONE", "UNKNOWN").count());
+	}
+
+	@Test
+	public void testNoRegistry() {
+		assertNull(MetricsUtil.startTimer(null));
+		MetricsUtil.recordRestCall(null, null, "AUDIT_MANAGER_SERVICE", HttpMethod.POST, null);
+		MetricsUtil.recordCall(null, null, "idrepo.crypto", Tags.empty(), null);
+	}
+
+	@Test
+	public void testTimedMethod() {
+		MetricsAspect aspect = new MetricsAspect();
+		ReflectionTestUtils.setField(aspect, "meterRegistry", meterRegistry);
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TimedService());
+		proxyFactory.addAspect(aspect);
+		TimedService service = proxyFactory.getProxy();
+		service.succeed();
+		try {
+			service.fail();
+		} catch (IllegalStateException e) {
+		}
+		assertEquals(1, meterRegistry.find("idrepo.test").tags("method", "succeed", "outcome", "SUCCESS",
+				"exception", "NONE").timer().count());
+		Timer failed = meterRegistry.find("idrepo.test").tags("class", "TimedService", "method", "fail",
+				"outcome", "ERROR", "exception", "IllegalStateException").timer();
+		assertNotNull(failed);
+		assertEquals(1, failed.count());
+	}
+
+	private Timer restTimer(String service, String status, String outcome) {
+		return meterRegistry.find(MetricsUtil.REST_REQUESTS)
+				.tags("service", service, "method", "POST", "status", status, "outcome", outcome).timer();
+	}
+
+	public static class TimedService {
+
+		@Timed("idrepo.test")
+		public String succeed() {
+			return "success";
+		}
+
+		@Timed("idrepo.test")
+		public String fail() {
+			throw new IllegalStateException();
+		}
+	}
+}
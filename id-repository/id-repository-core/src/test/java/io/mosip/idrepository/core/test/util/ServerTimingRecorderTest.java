@@ -0,0 +1,106 @@
+package io.mosip.idrepository.core.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.idrepository.core.httpfilter.BaseIdRepoFilter;
+import io.mosip.idrepository.core.util.MetricsUtil;
+import io.mosip.idrepository.core.util.ServerTimingRecorder;
+import io.mosip.idrepository.core.util.ServerTimingRecorder.Metric;
+
+public class ServerTimingRecorderTest {
+
+	@After
+	public void cleanup() {
+		ServerTimingRecorder.clear();
+	}
+
+	@Test
+	public void testHeaderValue() {
+		ServerTimingRecorder recorder = ServerTimingRecorder.start();
+		ServerTimingRecorder.record(Metric.DB, TimeUnit.MILLISECONDS.toNanos(3));
+		ServerTimingRecorder.record(Metric.DB, TimeUnit.MICROSECONDS.toNanos(1500));
+		recorder.add(Metric.REST, TimeUnit.MILLISECONDS.toNanos(10));
+		String header = recorder.toHeaderValue();
+		assertTrue(header, header.startsWith("db;dur=4.5, rest;dur=10.0, total;dur="));
+	}
+
+	@Test
+	public void testRecordWithoutRecorder() {
+		ServerTimingRecorder.record(Metric.CRYPTO, 1000);
+		assertNull(ServerTimingRecorder.current());
+	}
+
+	@Test
+	public void testAttachOnAnotherThread() throws Exception {
+		ServerTimingRecorder recorder = ServerTimingRecorder.start();
+		Thread thread = new Thread(() -> {
+			ServerTimingRecorder.attach(recorder);
+			ServerTimingRecorder.record(Metric.OBJECT_STORE, TimeUnit.MILLISECONDS.toNanos(2));
+			ServerTimingRecorder.attach(null);
+		});
+		thread.start();
+		thread.join();
+		assertTrue(recorder.toHeaderValue(), recorder.toHeaderValue().startsWith("objectstore;dur=2.0, "));
+	}
+
+	@Test
+	public void testMetricForMeter() {
+		assertEquals(Metric.DB, Metric.forMeter(MetricsUtil.REPOSITORY_CALLS));
+		assertEquals(Metric.CRYPTO, Metric.forMeter(MetricsUtil.CRYPTO_CALLS));
+		assertEquals(Metric.OBJECT_STORE, Metric.forMeter(MetricsUtil.OBJECT_STORE_CALLS));
+		assertEquals(Metric.REST, Metric.forMeter(MetricsUtil.REST_REQUESTS));
+		assertNull(Metric.forMeter("idrepo.audit.dropped"));
+	}
+
+	@Test
+	public void testFilterAddsHeaderBeforeBody() throws IOException, ServletException {
+		MockHttpServletResponse response = filter(true);
+		assertTrue(response.getHeader("Server-Timing").startsWith("crypto;dur=2.0, total;dur="));
+		assertEquals("response", response.getContentAsString());
+		assertNull(ServerTimingRecorder.current());
+	}
+
+	@Test
+	public void testFilterServerTimingDisabled() throws IOException, ServletException {
+		assertNull(filter(false).getHeader("Server-Timing"));
+	}
+
+	private MockHttpServletResponse filter(boolean serverTimingEnabled) throws IOException, ServletException {
+		BaseIdRepoFilter filter = new BaseIdRepoFilter() {
+			@Override
+			protected String buildResponse(HttpServletRequest request) {
+				return null;
+			}
+		};
+		ReflectionTestUtils.setField(filter, "serverTimingEnabled", serverTimingEnabled);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain(new HttpServlet() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				ServerTimingRecorder.record(Metric.CRYPTO, TimeUnit.MILLISECONDS.toNanos(2));
+				resp.getWriter().write("response");
+				resp.flushBuffer();
+			}
+		}));
+		return response;
+	}
+}
@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import javax.annotation.PostConstruct;
 import javax.sql.DataSource;
@@ -24,23 +25,37 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.idrepository.core.constant.IdRepoConstants;
 import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.dto.DocumentsDTO;
 import io.mosip.idrepository.core.exception.AuthenticationException;
 import io.mosip.idrepository.core.exception.IdRepoAppUncheckedException;
+import io.mosip.idrepository.core.helper.SaltCache;
 import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.core.spi.ShardDataSourceResolver;
+import io.mosip.idrepository.core.util.DataSourceUtil;
+import io.mosip.idrepository.core.util.ServerTimingRecorder;
+import io.mosip.idrepository.identity.helper.DocumentSpooler;
+import io.mosip.idrepository.identity.repository.UinEncryptSaltRepo;
+import io.mosip.idrepository.identity.repository.UinHashSaltRepo;
+import io.mosip.idrepository.identity.service.impl.ConsistentHashShardResolver;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.logger.spi.Logger;
@@ -55,6 +70,18 @@ import io.mosip.kernel.core.logger.spi.Logger;
 @EnableTransactionManagement
 @EnableAsync
 public class IdRepoConfig implements WebMvcConfigurer {
+
+	/** The default number of virtual nodes of a shard. */
+	private static final int DEFAULT_SHARD_VIRTUAL_NODES = 128;
+
+	/** The default number of threads fetching documents from the object store. */
+	private static final int DEFAULT_OBJECT_STORE_FETCH_THREADS = 10;
+
+	/** The prefix of the default database properties. */
+	private static final String IDENTITY_DB = "mosip.idrepo.identity.db.";
+
+	/** The prefix of the shard database properties. */
+	private static final String IDENTITY_SHARDS = "mosip.idrepo.identity.shards.";
 	
 	@Value("${" + IdRepoConstants.WEB_SUB_PUBLISH_URL + "}")
 	public String publisherHubURL;
@@ -70,9 +97,15 @@ public class IdRepoConfig implements WebMvcConfigurer {
 	@Autowired
 	private Interceptor interceptor;
 
-	/** The db. */
-//	If sharding is enabled, need to uncomment
-//	private Map<String, Map<String, String>> db;
+	/** The meter registry. */
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	/** The datasource values of each shard, by shard name. */
+	private Map<String, Map<String, String>> shards = new HashMap<>();
+
+	/** The shards to which buckets are pinned, by bucket. */
+	private Map<Integer, String> shardBucketOverrides = new HashMap<>();
 
 	/** The uin Status. */
 	private List<String> uinStatus;
@@ -133,25 +166,40 @@ public class IdRepoConfig implements WebMvcConfigurer {
 	}
 
 	/**
-	 * Gets the db.
+	 * Gets the shards.
 	 *
-	 * @return the db
+	 * @return the shards
 	 */
-//	If sharding is enabled, need to uncomment
-//	public Map<String, Map<String, String>> getDb() {
-//		return db;
-//	}
+	public Map<String, Map<String, String>> getShards() {
+		return shards;
+	}
 
 	/**
-	 * Sets the db.
+	 * Sets the shards.
 	 *
-	 * @param db
-	 *            the db
+	 * @param shards the shards
 	 */
-//	If sharding is enabled, need to uncomment
-//	public void setDb(Map<String, Map<String, String>> db) {
-//		this.db = db;
-//	}
+	public void setShards(Map<String, Map<String, String>> shards) {
+		this.shards = shards;
+	}
+
+	/**
+	 * Gets the shard bucket overrides.
+	 *
+	 * @return the shard bucket overrides
+	 */
+	public Map<Integer, String> getShardBucketOverrides() {
+		return shardBucketOverrides;
+	}
+
+	/**
+	 * Sets the shard bucket overrides.
+	 *
+	 * @param shardBucketOverrides the shard bucket overrides
+	 */
+	public void setShardBucketOverrides(Map<Integer, String> shardBucketOverrides) {
+		this.shardBucketOverrides = shardBucketOverrides;
+	}
 
 	/**
 	 * Sets the status.
@@ -200,21 +248,18 @@ public class IdRepoConfig implements WebMvcConfigurer {
 		this.allowedTypes = allowedTypes;
 	}
 
-	// FIXME Need to check for UIN-Reg ID scenario
-	// /**
-	// * Gets the shard data source resolver.
-	// *
-	// * @return the shard data source resolver
-	// */
-	// @Bean
-	// public ShardDataSourceResolver getShardDataSourceResolver() {
-	// ShardDataSourceResolver resolver = new ShardDataSourceResolver();
-	// resolver.setLenientFallback(false);
-	// resolver.setTargetDataSources(db.entrySet().parallelStream()
-	// .collect(Collectors.toMap(Map.Entry::getKey, value ->
-	// buildDataSource(value.getValue()))));
-	// return resolver;
-	// }
+	/**
+	 * Shard resolver, placing the modulo buckets of the UINs on the configured
+	 * shards. It resolves no shard if none are configured.
+	 *
+	 * @return the consistent hash shard resolver
+	 */
+	@Bean
+	public ConsistentHashShardResolver shardResolver() {
+		return new ConsistentHashShardResolver(shards.keySet(),
+				env.getProperty(IdRepoConstants.SHARD_VIRTUAL_NODES, Integer.class, DEFAULT_SHARD_VIRTUAL_NODES),
+				env.getProperty(IdRepoConstants.MODULO_VALUE, Integer.class), shardBucketOverrides);
+	}
 
 	/**
 	 * Id.
@@ -266,6 +311,40 @@ public class IdRepoConfig implements WebMvcConfigurer {
 		return Collections.unmodifiableList(uinStatus);
 	}
 
+	/**
+	 * Uin hash salt cache, loaded on startup.
+	 *
+	 * @param uinHashSaltRepo the uin hash salt repo
+	 * @return the salt cache
+	 */
+	@Bean
+	public SaltCache uinHashSaltCache(UinHashSaltRepo uinHashSaltRepo) {
+		SaltCache saltCache = new SaltCache("uinHashSalt", () -> {
+			Map<Integer, String> salts = new HashMap<>();
+			uinHashSaltRepo.findAll().forEach(salt -> salts.put(salt.getId(), salt.getSalt()));
+			return salts;
+		}, uinHashSaltRepo::retrieveSaltById);
+		saltCache.refresh();
+		return saltCache;
+	}
+
+	/**
+	 * Uin encrypt salt cache, loaded on startup.
+	 *
+	 * @param uinEncryptSaltRepo the uin encrypt salt repo
+	 * @return the salt cache
+	 */
+	@Bean
+	public SaltCache uinEncryptSaltCache(UinEncryptSaltRepo uinEncryptSaltRepo) {
+		SaltCache saltCache = new SaltCache("uinEncryptSalt", () -> {
+			Map<Integer, String> salts = new HashMap<>();
+			uinEncryptSaltRepo.findAll().forEach(salt -> salts.put(salt.getId(), salt.getSalt()));
+			return salts;
+		}, uinEncryptSaltRepo::retrieveSaltById);
+		saltCache.refresh();
+		return saltCache;
+	}
+
 	/**
 	 * Entity manager factory.
 	 *
@@ -302,37 +381,45 @@ public class IdRepoConfig implements WebMvcConfigurer {
 	}
 
 	/**
-	 * Builds the data source.
+	 * Builds the pooled data source, with its read replicas if configured.
 	 *
-	 * @param dataSourceValues
-	 *            the data source values
+	 * @param poolName the pool name
+	 * @param prefix   the prefix of the database properties
 	 * @return the data source
 	 */
-	private DataSource buildDataSource(Map<String, String> dataSourceValues) {
-		DriverManagerDataSource dataSource = new DriverManagerDataSource(dataSourceValues.get("url"));
-		dataSource.setUsername(dataSourceValues.get("username"));
-		dataSource.setPassword(dataSourceValues.get("password"));
-		dataSource.setDriverClassName(dataSourceValues.get("driverClassName"));
-		return dataSource;
+	private DataSource buildDataSource(String poolName, String prefix) {
+		return DataSourceUtil.withReplicas(DataSourceUtil.buildPooledDataSource(poolName, env, prefix, meterRegistry),
+				poolName, env, prefix, meterRegistry);
 	}
 
 	/**
-	 * Data source.
+	 * Data source. If shards are configured, identities are routed to the shard
+	 * of their bucket, and the salts and auth type locks are kept in the
+	 * default database. If read replicas are configured, read-only transactions
+	 * are routed to the replicas of the database.
 	 *
 	 * @return the data source
 	 */
 	@Bean
 	public DataSource dataSource() {
-//		If sharding is enabled, need to uncomment
-//		return buildDataSource(db.get("shard"));
-		
-//		If sharding is enabled, need to comment below code
-		Map<String, String> dbValues = new HashMap<>();
-		dbValues.put("url", env.getProperty("mosip.idrepo.identity.db.url"));
-		dbValues.put("username", env.getProperty("mosip.idrepo.identity.db.username"));
-		dbValues.put("password", env.getProperty("mosip.idrepo.identity.db.password"));
-		dbValues.put("driverClassName", env.getProperty("mosip.idrepo.identity.db.driverClassName"));
-		return buildDataSource(dbValues);
+		DataSource defaultDataSource = buildDataSource("idrepo", IDENTITY_DB);
+		if (shards.isEmpty()) {
+			return DataSourceUtil.hasReplicas(env, IDENTITY_DB) ? DataSourceUtil.lazyConnections(defaultDataSource)
+					: defaultDataSource;
+		}
+		ShardDataSourceResolver resolver = new ShardDataSourceResolver();
+		resolver.setLenientFallback(false);
+		resolver.setDefaultTargetDataSource(defaultDataSource);
+		Map<Object, Object> shardDataSources = new HashMap<>();
+		shards.keySet().forEach(shard -> shardDataSources.put(shard,
+				buildDataSource("idrepo-" + shard, IDENTITY_SHARDS + shard + ".")));
+		resolver.setTargetDataSources(shardDataSources);
+		if (DataSourceUtil.hasReplicas(env, IDENTITY_DB) || shards.keySet().stream()
+				.anyMatch(shard -> DataSourceUtil.hasReplicas(env, IDENTITY_SHARDS + shard + "."))) {
+			resolver.afterPropertiesSet();
+			return DataSourceUtil.lazyConnections(resolver);
+		}
+		return resolver;
 	}
 	
 	  @Bean
@@ -346,4 +433,58 @@ public class IdRepoConfig implements WebMvcConfigurer {
 	    return executor;
 	  }
 
+	/**
+	 * Jackson module deserializing the documents of identity requests with the
+	 * document spooler, when spooling is enabled.
+	 *
+	 * @param documentSpooler the document spooler
+	 * @return the module
+	 */
+	@Bean
+	public Module documentSpoolingModule(DocumentSpooler documentSpooler) {
+		SimpleModule module = new SimpleModule("DocumentSpoolingModule");
+		if (documentSpooler.isEnabled()) {
+			module.addDeserializer(DocumentsDTO.class, documentSpooler);
+		}
+		return module;
+	}
+
+	/**
+	 * Executor fetching or storing the documents of an identity in the object
+	 * store in parallel. When all threads are busy and the queue is full, the
+	 * requesting thread fetches or stores the document itself. Tasks run with the security context
+	 * and server timing of the requesting thread.
+	 *
+	 * @return the executor
+	 */
+	@Bean
+	public Executor objectStoreExecutor() {
+		int threads = env.getProperty(IdRepoConstants.OBJECT_STORE_FETCH_THREADS, Integer.class,
+				DEFAULT_OBJECT_STORE_FETCH_THREADS);
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(threads);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setThreadNamePrefix("idrepo-objectstore-");
+		executor.setTaskDecorator(task -> {
+			SecurityContext securityContext = SecurityContextHolder.getContext();
+			ServerTimingRecorder serverTiming = ServerTimingRecorder.current();
+			return () -> {
+				SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+				ServerTimingRecorder previousServerTiming = ServerTimingRecorder.current();
+				SecurityContextHolder.setContext(securityContext);
+				ServerTimingRecorder.attach(serverTiming);
+				try {
+					task.run();
+				} finally {
+					SecurityContextHolder.setContext(previousSecurityContext);
+					ServerTimingRecorder.attach(previousServerTiming);
+				}
+			};
+		});
+		executor.initialize();
+		return executor;
+	}
+
 }
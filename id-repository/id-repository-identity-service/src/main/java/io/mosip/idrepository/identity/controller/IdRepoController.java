@@ -46,6 +46,7 @@ import io.mosip.idrepository.core.dto.AuthtypeResponseDto;
 import io.mosip.idrepository.core.dto.AuthtypeStatus;
 import io.mosip.idrepository.core.dto.IdRequestDTO;
 import io.mosip.idrepository.core.dto.IdResponseDTO;
+import io.mosip.idrepository.core.dto.RequestDTO;
 import io.mosip.idrepository.core.exception.IdRepoAppException;
 import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
 import io.mosip.idrepository.core.helper.AuditHelper;
@@ -54,6 +55,7 @@ import io.mosip.idrepository.core.security.IdRepoSecurityManager;
 import io.mosip.idrepository.core.spi.AuthtypeStatusService;
 import io.mosip.idrepository.core.spi.IdRepoService;
 import io.mosip.idrepository.core.util.DataValidationUtil;
+import io.mosip.idrepository.identity.helper.DocumentSpooler;
 import io.mosip.idrepository.identity.validator.IdRequestValidator;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
@@ -394,7 +396,8 @@ public class IdRepoController {
 		Object uin = null;
 		String pathOfUin = env.getProperty(MOSIP_KERNEL_IDREPO_JSON_PATH);
 		try {
-			String identity = mapper.writeValueAsString(request);
+			String identity = mapper.writeValueAsString(
+					request instanceof RequestDTO ? DocumentSpooler.withoutDocumentValues((RequestDTO) request) : request);
 			JsonPath jsonPath = JsonPath.compile(pathOfUin);
 			uin = jsonPath.read(identity);
 			return String.valueOf(uin);
@@ -2,6 +2,8 @@ package io.mosip.idrepository.identity.entity;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 import javax.persistence.Basic;
 import javax.persistence.CascadeType;
@@ -12,6 +14,7 @@ import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 
 import org.hibernate.annotations.NotFound;
 import org.hibernate.annotations.NotFoundAction;
@@ -31,7 +34,7 @@ import lombok.ToString;
  */
 @Getter
 @Setter
-@ToString(exclude = { "biometrics", "documents" })
+@ToString(exclude = { "biometrics", "documents", "uinDataDecryption", "decryptedUinData" })
 @Entity
 @NoArgsConstructor
 @Table(schema = "idrepo")
@@ -78,6 +81,18 @@ public class Uin implements Persistable<String> {
 	@Setter(AccessLevel.NONE)
 	private byte[] uinData;
 
+	/** The decryption of the uin data as loaded, until the uin data is read. */
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private transient Supplier<byte[]> uinDataDecryption;
+
+	/** The decrypted uin data as loaded. */
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private transient byte[] decryptedUinData;
+
 	/** The uin data hash. */
 	private String uinDataHash;
 
@@ -124,12 +139,16 @@ public class Uin implements Persistable<String> {
 	private List<UinDocument> documents;
 
 	/**
-	 * Gets the uin data.
+	 * Gets the uin data, decrypting the uin data as loaded when first read.
 	 *
 	 * @return the uin data
 	 */
 	public byte[] getUinData() {
-		return uinData.clone();
+		if (Objects.nonNull(uinDataDecryption)) {
+			decryptedUinData = uinDataDecryption.get();
+			uinDataDecryption = null;
+		}
+		return Objects.nonNull(decryptedUinData) ? decryptedUinData.clone() : uinData.clone();
 	}
 
 	/**
@@ -139,6 +158,28 @@ public class Uin implements Persistable<String> {
 	 */
 	public void setUinData(byte[] uinData) {
 		this.uinData = uinData.clone();
+		this.uinDataDecryption = null;
+		this.decryptedUinData = null;
+	}
+
+	/**
+	 * Sets the decryption of the uin data as loaded, which is run when the uin
+	 * data is first read.
+	 *
+	 * @param uinDataDecryption the uin data decryption
+	 */
+	public void setUinDataDecryption(Supplier<byte[]> uinDataDecryption) {
+		this.uinDataDecryption = uinDataDecryption;
+		this.decryptedUinData = null;
+	}
+
+	/**
+	 * Checks if the uin data is as loaded, encrypted, and not set since.
+	 *
+	 * @return true, if the uin data is as loaded
+	 */
+	public boolean isUinDataLoaded() {
+		return Objects.nonNull(uinDataDecryption) || Objects.nonNull(decryptedUinData);
 	}
 
 	@Override
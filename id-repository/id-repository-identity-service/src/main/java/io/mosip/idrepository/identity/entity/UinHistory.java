@@ -1,6 +1,8 @@
 package io.mosip.idrepository.identity.entity;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 import javax.persistence.Basic;
 import javax.persistence.Column;
@@ -10,6 +12,7 @@ import javax.persistence.Id;
 import javax.persistence.IdClass;
 import javax.persistence.Lob;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 
 import org.hibernate.annotations.Type;
 import org.springframework.data.domain.Persistable;
@@ -18,6 +21,7 @@ import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
 
 /**
  * The Class UinHistory - Entity class for uin_h table.
@@ -25,6 +29,7 @@ import lombok.Setter;
  * @author Manoj SP
  */
 @Data
+@ToString(exclude = { "uinDataDecryption", "decryptedUinData" })
 @Entity
 @Table(name = "uin_h", schema = "idrepo")
 @IdClass(HistoryPK.class)
@@ -103,6 +108,18 @@ public class UinHistory implements Persistable<String> {
 	@Setter(AccessLevel.NONE)
 	private byte[] uinData;
 
+	/** The decryption of the uin data as loaded, until the uin data is read. */
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private transient Supplier<byte[]> uinDataDecryption;
+
+	/** The decrypted uin data as loaded. */
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private transient byte[] decryptedUinData;
+
 	/** The uin data hash. */
 	private String uinDataHash;
 
@@ -142,12 +159,16 @@ public class UinHistory implements Persistable<String> {
 	private LocalDateTime deletedDateTime;
 
 	/**
-	 * Gets the uin data.
+	 * Gets the uin data, decrypting the uin data as loaded when first read.
 	 *
 	 * @return the uin data
 	 */
 	public byte[] getUinData() {
-		return uinData.clone();
+		if (Objects.nonNull(uinDataDecryption)) {
+			decryptedUinData = uinDataDecryption.get();
+			uinDataDecryption = null;
+		}
+		return Objects.nonNull(decryptedUinData) ? decryptedUinData.clone() : uinData.clone();
 	}
 
 	/**
@@ -157,6 +178,28 @@ public class UinHistory implements Persistable<String> {
 	 */
 	public void setUinData(byte[] uinData) {
 		this.uinData = uinData.clone();
+		this.uinDataDecryption = null;
+		this.decryptedUinData = null;
+	}
+
+	/**
+	 * Sets the decryption of the uin data as loaded, which is run when the uin
+	 * data is first read.
+	 *
+	 * @param uinDataDecryption the uin data decryption
+	 */
+	public void setUinDataDecryption(Supplier<byte[]> uinDataDecryption) {
+		this.uinDataDecryption = uinDataDecryption;
+		this.decryptedUinData = null;
+	}
+
+	/**
+	 * Checks if the uin data is as loaded, encrypted, and not set since.
+	 *
+	 * @return true, if the uin data is as loaded
+	 */
+	public boolean isUinDataLoaded() {
+		return Objects.nonNull(uinDataDecryption) || Objects.nonNull(decryptedUinData);
 	}
 
 	@Override
@@ -0,0 +1,282 @@
+package io.mosip.idrepository.identity.helper;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.DOCUMENT_SPOOL_ENABLED;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.DOCUMENT_SPOOL_THRESHOLD;
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.FILE_STORAGE_ACCESS_ERROR;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.io.input.ReaderInputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import io.mosip.idrepository.core.dto.DocumentsDTO;
+import io.mosip.idrepository.core.dto.RequestDTO;
+import io.mosip.idrepository.core.exception.IdRepoAppUncheckedException;
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * The Class DocumentSpooler - deserializes the documents of identity requests.
+ * A document value longer than the configured threshold is written from the
+ * parser buffer to a temp file, without being held as a string for the rest of
+ * the request, and is read back as a stream when the document is stored. The
+ * temp files are deleted when the request completes.
+ */
+@Component
+public class DocumentSpooler extends StdDeserializer<DocumentsDTO> {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The mosip logger. */
+	private static final Logger mosipLogger = IdRepoLogger.getLogger(DocumentSpooler.class);
+
+	/** The Constant DOCUMENT_SPOOLER. */
+	private static final String DOCUMENT_SPOOLER = "DocumentSpooler";
+
+	/** The Constant CATEGORY. */
+	private static final String CATEGORY = "category";
+
+	/** The Constant VALUE. */
+	private static final String VALUE = "value";
+
+	/** The value standing for a non empty document value in a request copy. */
+	private static final String NON_EMPTY_VALUE = "-";
+
+	/** The Constant DEFAULT_THRESHOLD. */
+	private static final int DEFAULT_THRESHOLD = 64 * 1024;
+
+	/** The env. */
+	@Autowired
+	private transient Environment env;
+
+	/** The enabled. */
+	private boolean enabled;
+
+	/** The threshold. */
+	private int threshold;
+
+	public DocumentSpooler() {
+		super(DocumentsDTO.class);
+	}
+
+	/**
+	 * Reads the configuration.
+	 */
+	@PostConstruct
+	public void init() {
+		enabled = env.getProperty(DOCUMENT_SPOOL_ENABLED, Boolean.class, Boolean.FALSE);
+		threshold = env.getProperty(DOCUMENT_SPOOL_THRESHOLD, Integer.class, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Checks if spooling is enabled.
+	 *
+	 * @return true, if enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * com.fasterxml.jackson.databind.JsonDeserializer#deserialize(com.fasterxml.
+	 * jackson.core.JsonParser,
+	 * com.fasterxml.jackson.databind.DeserializationContext)
+	 */
+	@Override
+	public DocumentsDTO deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+		if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+			return (DocumentsDTO) context.handleUnexpectedToken(DocumentsDTO.class, parser);
+		}
+		DocumentsDTO document = new DocumentsDTO();
+		for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+			String field = parser.getCurrentName();
+			JsonToken valueToken = parser.nextToken();
+			if (valueToken.isStructStart()) {
+				parser.skipChildren();
+			} else if (CATEGORY.equals(field)) {
+				document.setCategory(parser.getValueAsString());
+			} else if (VALUE.equals(field)) {
+				if (valueToken == JsonToken.VALUE_STRING && enabled && parser.getTextLength() > threshold) {
+					document = spool(parser, document.getCategory());
+				} else {
+					document.setValue(parser.getValueAsString());
+				}
+			}
+		}
+		return document;
+	}
+
+	/**
+	 * Writes the current string value of the parser to a temp file.
+	 *
+	 * @param parser   the parser
+	 * @param category the category
+	 * @return the spooled document
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private SpooledDocumentsDTO spool(JsonParser parser, String category) throws IOException {
+		Path file = Files.createTempFile("idrepo-document-", ".tmp");
+		deleteOnRequestCompletion(file);
+		int length;
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			length = parser.getText(writer);
+		}
+		SpooledDocumentsDTO document = new SpooledDocumentsDTO(file, length);
+		document.setCategory(category);
+		return document;
+	}
+
+	/**
+	 * Deletes the file when the current request completes, or when the JVM exits
+	 * if there is no request.
+	 *
+	 * @param file the file
+	 */
+	private void deleteOnRequestCompletion(Path file) {
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (Objects.isNull(requestAttributes)) {
+			file.toFile().deleteOnExit();
+			return;
+		}
+		requestAttributes.registerDestructionCallback(DOCUMENT_SPOOLER + file, () -> {
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), DOCUMENT_SPOOLER, "deleteOnRequestCompletion",
+						e.getMessage());
+			}
+		}, RequestAttributes.SCOPE_REQUEST);
+	}
+
+	/**
+	 * Checks if the document has a non empty value, without reading a spooled
+	 * value.
+	 *
+	 * @param document the document
+	 * @return true, if the value is not empty
+	 */
+	public static boolean hasValue(DocumentsDTO document) {
+		if (document instanceof SpooledDocumentsDTO && ((SpooledDocumentsDTO) document).isSpooled()) {
+			return ((SpooledDocumentsDTO) document).length > 0;
+		}
+		return StringUtils.isNotEmpty(document.getValue());
+	}
+
+	/**
+	 * Opens the base64 value of the document as a stream of UTF-8 bytes, from
+	 * the temp file if it is spooled.
+	 *
+	 * @param document the document
+	 * @return the input stream
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public static InputStream openValue(DocumentsDTO document) throws IOException {
+		if (document instanceof SpooledDocumentsDTO && ((SpooledDocumentsDTO) document).isSpooled()) {
+			return Files.newInputStream(((SpooledDocumentsDTO) document).file);
+		}
+		return new ReaderInputStream(new StringReader(document.getValue()), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Copies the request with each non empty document value replaced by a single
+	 * character, so that the request can be serialized, such as for validation,
+	 * without its document values.
+	 *
+	 * @param request the request
+	 * @return the request copy
+	 */
+	public static RequestDTO withoutDocumentValues(RequestDTO request) {
+		if (Objects.isNull(request.getDocuments())) {
+			return request;
+		}
+		RequestDTO requestCopy = new RequestDTO();
+		requestCopy.setRegistrationId(request.getRegistrationId());
+		requestCopy.setBiometricReferenceId(request.getBiometricReferenceId());
+		requestCopy.setStatus(request.getStatus());
+		requestCopy.setIdentity(request.getIdentity());
+		requestCopy.setDocuments(request.getDocuments().stream()
+				.map(document -> Objects.isNull(document) ? null
+						: new DocumentsDTO(document.getCategory(),
+								hasValue(document) ? NON_EMPTY_VALUE : document.getValue()))
+				.collect(Collectors.toList()));
+		return requestCopy;
+	}
+
+	/**
+	 * A document whose value is spooled to a temp file. The value is read into
+	 * memory only if it is asked for as a string, and is no longer spooled once
+	 * it is set.
+	 */
+	private static final class SpooledDocumentsDTO extends DocumentsDTO {
+
+		/** The file holding the value, or null once the value is in memory. */
+		private Path file;
+
+		/** The length of the value in characters. */
+		private final int length;
+
+		private SpooledDocumentsDTO(Path file, int length) {
+			this.file = file;
+			this.length = length;
+		}
+
+		/**
+		 * Checks if the value is spooled.
+		 *
+		 * @return true, if spooled
+		 */
+		private boolean isSpooled() {
+			return Objects.nonNull(file);
+		}
+
+		@Override
+		public String getValue() {
+			if (isSpooled()) {
+				try {
+					super.setValue(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+					file = null;
+				} catch (IOException e) {
+					mosipLogger.error(IdRepoSecurityManager.getUser(), DOCUMENT_SPOOLER, "getValue", e.getMessage());
+					throw new IdRepoAppUncheckedException(FILE_STORAGE_ACCESS_ERROR, e);
+				}
+			}
+			return super.getValue();
+		}
+
+		@Override
+		public void setValue(String value) {
+			file = null;
+			super.setValue(value);
+		}
+
+		@Override
+		public String toString() {
+			return isSpooled() ? "DocumentsDTO(category=" + getCategory() + ", value=<" + length + " chars spooled>)"
+					: super.toString();
+		}
+	}
+}
@@ -0,0 +1,340 @@
+package io.mosip.idrepository.identity.helper;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.IDENTITY_CACHE_ENABLED;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.IDENTITY_CACHE_MAX_SIZE;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.IDENTITY_CACHE_TTL_SECS;
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.ENCRYPTION_DECRYPTION_FAILED;
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.UNKNOWN_ERROR;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.identity.entity.Uin;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * The Class IdentityCache - holds the decrypted and hash verified identity
+ * data and status of recently read UINs, keyed by UIN hash. Entries expire
+ * after the configured time to live and the least recently used entries are
+ * evicted beyond the configured size.
+ * <p>
+ * The identity data is kept encrypted in memory with a key generated when the
+ * cache starts, which is never persisted or shared with other instances.
+ * Concurrent misses of the same UIN hash wait for a single load.
+ */
+@Component
+public class IdentityCache {
+
+	/** The mosip logger. */
+	private Logger mosipLogger = IdRepoLogger.getLogger(IdentityCache.class);
+
+	/** The Constant IDENTITY_CACHE. */
+	private static final String IDENTITY_CACHE = "IdentityCache";
+
+	/** The Constant AES. */
+	private static final String AES = "AES";
+
+	/** The Constant AES_GCM_TRANSFORMATION. */
+	private static final String AES_GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+
+	/** The Constant AES_KEY_SIZE. */
+	private static final int AES_KEY_SIZE = 256;
+
+	/** The Constant GCM_TAG_LENGTH. */
+	private static final int GCM_TAG_LENGTH = 128;
+
+	/** The Constant IV_LENGTH. */
+	private static final int IV_LENGTH = 12;
+
+	/** The Constant DEFAULT_MAX_SIZE. */
+	private static final int DEFAULT_MAX_SIZE = 10000;
+
+	/** The Constant DEFAULT_TTL_SECS. */
+	private static final long DEFAULT_TTL_SECS = 60;
+
+	/** The env. */
+	@Autowired
+	private Environment env;
+
+	/** The secure random. */
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	/** The enabled. */
+	private boolean enabled;
+
+	/** The time to live of an entry in milliseconds. */
+	private long ttlMillis;
+
+	/** The key encrypting the cached identity data. */
+	private SecretKey cacheKey;
+
+	/** The cached identities, by uin hash. */
+	private Map<String, CachedIdentity> cache;
+
+	/** The loads in flight, by uin hash. */
+	private final Map<String, CompletableFuture<Uin>> loads = new ConcurrentHashMap<>();
+
+	/**
+	 * Reads the configuration and generates the cache key.
+	 *
+	 * @throws GeneralSecurityException the general security exception
+	 */
+	@PostConstruct
+	public void init() throws GeneralSecurityException {
+		enabled = env.getProperty(IDENTITY_CACHE_ENABLED, Boolean.class, Boolean.FALSE);
+		if (enabled) {
+			int maxSize = env.getProperty(IDENTITY_CACHE_MAX_SIZE, Integer.class, DEFAULT_MAX_SIZE);
+			ttlMillis = TimeUnit.SECONDS.toMillis(env.getProperty(IDENTITY_CACHE_TTL_SECS, Long.class, DEFAULT_TTL_SECS));
+			cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedIdentity>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, CachedIdentity> eldest) {
+					return size() > maxSize;
+				}
+			});
+			KeyGenerator keyGenerator = KeyGenerator.getInstance(AES);
+			keyGenerator.init(AES_KEY_SIZE, secureRandom);
+			cacheKey = keyGenerator.generateKey();
+		}
+	}
+
+	/**
+	 * Checks if the cache is enabled.
+	 *
+	 * @return true, if enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Checks if an unexpired entry of the uin hash is cached.
+	 *
+	 * @param uinHash the uin hash
+	 * @return true, if cached
+	 */
+	public boolean isCached(String uinHash) {
+		if (!enabled) {
+			return false;
+		}
+		CachedIdentity cachedIdentity = cache.get(uinHash);
+		return Objects.nonNull(cachedIdentity) && !cachedIdentity.isExpired();
+	}
+
+	/**
+	 * Gets the identity of the uin hash from the cache, or loads it using the
+	 * loader. The returned uin holds only the uin hash, status and identity data.
+	 * A uin that is not found is not cached.
+	 *
+	 * @param uinHash the uin hash
+	 * @param loader  the loader
+	 * @return the uin, or null if the loader finds none
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	public Uin get(String uinHash, IdentityLoader loader) throws IdRepoAppException {
+		if (!enabled) {
+			return loader.load();
+		}
+		CachedIdentity cachedIdentity = cache.get(uinHash);
+		if (Objects.nonNull(cachedIdentity) && !cachedIdentity.isExpired()) {
+			return toUin(uinHash, cachedIdentity);
+		}
+		CompletableFuture<Uin> load = new CompletableFuture<>();
+		CompletableFuture<Uin> existingLoad = loads.putIfAbsent(uinHash, load);
+		if (Objects.nonNull(existingLoad)) {
+			return await(existingLoad);
+		}
+		try {
+			Uin uin = loader.load();
+			if (Objects.nonNull(uin)) {
+				CachedIdentity loadedIdentity = toCachedIdentity(uin);
+				synchronized (cache) {
+					if (loads.remove(uinHash, load)) {
+						cache.put(uinHash, loadedIdentity);
+					}
+				}
+			}
+			load.complete(uin);
+			return uin;
+		} catch (IdRepoAppException | RuntimeException e) {
+			load.completeExceptionally(e);
+			throw e;
+		} finally {
+			loads.remove(uinHash, load);
+		}
+	}
+
+	/**
+	 * Removes the identity of the uin hash from the cache. If a transaction is
+	 * active, the identity is removed again once it completes, so that a
+	 * concurrent read of the data before the commit is not left in the cache.
+	 *
+	 * @param uinHash the uin hash
+	 */
+	public void invalidate(String uinHash) {
+		if (!enabled) {
+			return;
+		}
+		remove(uinHash);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					remove(uinHash);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Removes the cache entry of the uin hash, and keeps the load in flight, if
+	 * any, from caching its result.
+	 *
+	 * @param uinHash the uin hash
+	 */
+	private void remove(String uinHash) {
+		synchronized (cache) {
+			loads.remove(uinHash);
+			cache.remove(uinHash);
+		}
+	}
+
+	/**
+	 * Waits for the load of another thread.
+	 *
+	 * @param load the load
+	 * @return the uin
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	private Uin await(CompletableFuture<Uin> load) throws IdRepoAppException {
+		try {
+			return load.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IdRepoAppException(UNKNOWN_ERROR, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IdRepoAppException) {
+				IdRepoAppException cause = (IdRepoAppException) e.getCause();
+				throw new IdRepoAppException(cause.getErrorCode(), cause.getErrorText(), cause);
+			}
+			throw (RuntimeException) e.getCause();
+		}
+	}
+
+	/**
+	 * Encrypts the identity data of the uin into a cache entry.
+	 *
+	 * @param uin the uin
+	 * @return the cached identity
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	private CachedIdentity toCachedIdentity(Uin uin) throws IdRepoAppException {
+		try {
+			byte[] iv = new byte[IV_LENGTH];
+			secureRandom.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance(AES_GCM_TRANSFORMATION);
+			cipher.init(Cipher.ENCRYPT_MODE, cacheKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+			return new CachedIdentity(uin.getStatusCode(), iv, cipher.doFinal(uin.getUinData()),
+					System.currentTimeMillis() + ttlMillis);
+		} catch (GeneralSecurityException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), IDENTITY_CACHE, "toCachedIdentity", e.getMessage());
+			throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED, e);
+		}
+	}
+
+	/**
+	 * Decrypts the cache entry into a uin.
+	 *
+	 * @param uinHash        the uin hash
+	 * @param cachedIdentity the cached identity
+	 * @return the uin
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	private Uin toUin(String uinHash, CachedIdentity cachedIdentity) throws IdRepoAppException {
+		try {
+			Cipher cipher = Cipher.getInstance(AES_GCM_TRANSFORMATION);
+			cipher.init(Cipher.DECRYPT_MODE, cacheKey, new GCMParameterSpec(GCM_TAG_LENGTH, cachedIdentity.iv));
+			Uin uin = new Uin();
+			uin.setUinHash(uinHash);
+			uin.setStatusCode(cachedIdentity.statusCode);
+			uin.setUinData(cipher.doFinal(cachedIdentity.encryptedData));
+			return uin;
+		} catch (GeneralSecurityException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), IDENTITY_CACHE, "toUin", e.getMessage());
+			throw new IdRepoAppException(ENCRYPTION_DECRYPTION_FAILED, e);
+		}
+	}
+
+	/**
+	 * Loads the identity of a uin hash on a cache miss.
+	 */
+	@FunctionalInterface
+	public interface IdentityLoader {
+
+		/**
+		 * Loads the identity.
+		 *
+		 * @return the uin, or null if not found
+		 * @throws IdRepoAppException the id repo app exception
+		 */
+		Uin load() throws IdRepoAppException;
+	}
+
+	/**
+	 * A cached identity.
+	 */
+	private static final class CachedIdentity {
+
+		/** The status code. */
+		private final String statusCode;
+
+		/** The iv. */
+		private final byte[] iv;
+
+		/** The encrypted identity data. */
+		private final byte[] encryptedData;
+
+		/** The expiry time in milliseconds. */
+		private final long expiryTime;
+
+		private CachedIdentity(String statusCode, byte[] iv, byte[] encryptedData, long expiryTime) {
+			this.statusCode = statusCode;
+			this.iv = iv;
+			this.encryptedData = encryptedData;
+			this.expiryTime = expiryTime;
+		}
+
+		/**
+		 * Checks if expired.
+		 *
+		 * @return true, if expired
+		 */
+		private boolean isExpired() {
+			return System.currentTimeMillis() >= expiryTime;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package io.mosip.idrepository.identity.helper;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The Class IdentityMerger - merges the identity of an update request into the
+ * stored identity, walking both trees once.
+ * <ul>
+ * <li>A field which is not stored is added with the requested value.</li>
+ * <li>Objects, such as document references, are merged field by field.</li>
+ * <li>Arrays of values in different languages are merged by language, ignoring
+ * case. A requested language is merged into the stored value of that language
+ * or, if not stored, appended. Stored languages which are not requested are
+ * kept.</li>
+ * <li>Other values, including other arrays, are replaced when they differ.
+ * Numbers are compared by value.</li>
+ * </ul>
+ * Stored fields which are not requested are kept.
+ */
+public final class IdentityMerger {
+
+	/** The Constant LANGUAGE. */
+	private static final String LANGUAGE = "language";
+
+	private IdentityMerger() {
+	}
+
+	/**
+	 * Merges the requested identity into the stored identity. Nodes of the
+	 * requested identity may be added to the stored identity as they are.
+	 *
+	 * @param identity the stored identity, which is updated
+	 * @param update   the requested identity
+	 * @return true, if the stored identity is changed
+	 */
+	public static boolean merge(ObjectNode identity, ObjectNode update) {
+		boolean changed = false;
+		Iterator<Entry<String, JsonNode>> fields = update.fields();
+		while (fields.hasNext()) {
+			Entry<String, JsonNode> field = fields.next();
+			JsonNode value = identity.get(field.getKey());
+			JsonNode updateValue = field.getValue();
+			if (Objects.nonNull(value) && value.isObject() && updateValue.isObject()) {
+				changed |= merge((ObjectNode) value, (ObjectNode) updateValue);
+			} else if (Objects.nonNull(value) && value.isArray() && isLanguageArray(updateValue)) {
+				changed |= mergeLanguages((ArrayNode) value, (ArrayNode) updateValue);
+			} else if (Objects.isNull(value) || !isEqual(value, updateValue)) {
+				identity.set(field.getKey(), updateValue);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Merges the requested values of an array of values in different languages
+	 * into the stored values.
+	 *
+	 * @param values       the stored values
+	 * @param updateValues the requested values
+	 * @return true, if the stored values are changed
+	 */
+	private static boolean mergeLanguages(ArrayNode values, ArrayNode updateValues) {
+		Map<String, ObjectNode> valuesByLanguage = new HashMap<>();
+		for (JsonNode value : values) {
+			if (value.isObject() && value.has(LANGUAGE)) {
+				valuesByLanguage.putIfAbsent(language(value), (ObjectNode) value);
+			}
+		}
+		boolean changed = false;
+		for (JsonNode updateValue : updateValues) {
+			ObjectNode value = valuesByLanguage.get(language(updateValue));
+			if (Objects.isNull(value)) {
+				values.add(updateValue);
+				valuesByLanguage.put(language(updateValue), (ObjectNode) updateValue);
+				changed = true;
+			} else {
+				changed |= merge(value, (ObjectNode) updateValue);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Checks if the node is an array of values in different languages, that is an
+	 * array of objects which all have a language.
+	 *
+	 * @param node the node
+	 * @return true, if an array of values in different languages
+	 */
+	private static boolean isLanguageArray(JsonNode node) {
+		if (!node.isArray()) {
+			return false;
+		}
+		for (JsonNode value : node) {
+			if (!value.isObject() || !value.has(LANGUAGE)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the language of the value, in lower case.
+	 *
+	 * @param value the value
+	 * @return the language
+	 */
+	private static String language(JsonNode value) {
+		return value.get(LANGUAGE).asText().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Checks if the stored and requested values are equal.
+	 *
+	 * @param value       the value
+	 * @param updateValue the update value
+	 * @return true, if equal
+	 */
+	private static boolean isEqual(JsonNode value, JsonNode updateValue) {
+		if (value.isNumber() && updateValue.isNumber()) {
+			return value.doubleValue() == updateValue.doubleValue();
+		}
+		return value.equals(updateValue);
+	}
+}
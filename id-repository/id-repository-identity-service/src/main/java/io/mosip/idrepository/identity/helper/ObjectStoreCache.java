@@ -0,0 +1,238 @@
+package io.mosip.idrepository.identity.helper;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.OBJECT_STORE_CACHE_BLOCK_SIZE;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.OBJECT_STORE_CACHE_CAPACITY;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.OBJECT_STORE_CACHE_ENABLED;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.OBJECT_STORE_CACHE_MAX_OBJECT_SIZE;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * The Class ObjectStoreCache - holds the encrypted objects read from or
+ * written to the object store, keyed by object name, in direct memory outside
+ * the heap. The memory is allocated once, at startup, and divided into blocks
+ * of equal size. An object occupies as many blocks as its size needs, and the
+ * least recently used objects are evicted to free blocks for new ones.
+ * <p>
+ * Objects are cached as stored, so that no decrypted data is held by the
+ * cache.
+ */
+@Component
+public class ObjectStoreCache {
+
+	/** The mosip logger. */
+	private Logger mosipLogger = IdRepoLogger.getLogger(ObjectStoreCache.class);
+
+	/** The Constant OBJECT_STORE_CACHE. */
+	private static final String OBJECT_STORE_CACHE = "ObjectStoreCache";
+
+	/** The maximum size of a direct buffer holding blocks. */
+	private static final int MAX_ARENA_SIZE = 1 << 30;
+
+	/** The Constant DEFAULT_CAPACITY. */
+	private static final long DEFAULT_CAPACITY = 256L * 1024 * 1024;
+
+	/** The Constant DEFAULT_BLOCK_SIZE. */
+	private static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+	/** The Constant DEFAULT_MAX_OBJECT_SIZE. */
+	private static final int DEFAULT_MAX_OBJECT_SIZE = 8 * 1024 * 1024;
+
+	/** The env. */
+	@Autowired
+	private Environment env;
+
+	/** The enabled. */
+	private boolean enabled;
+
+	/** The block size. */
+	private int blockSize;
+
+	/** The max object size. */
+	private int maxObjectSize;
+
+	/** The number of blocks in an arena. */
+	private int blocksPerArena;
+
+	/** The direct buffers holding the blocks. */
+	private ByteBuffer[] arenas;
+
+	/** The free blocks. */
+	private int[] freeBlocks;
+
+	/** The number of free blocks. */
+	private int freeBlockCount;
+
+	/** The cached objects in access order, by object name. */
+	private final Map<String, CachedObject> objects = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Reads the configuration and allocates the blocks.
+	 *
+	 * @throws IllegalArgumentException if the block size is not positive or is
+	 *                                  larger than an arena, or the capacity is
+	 *                                  negative
+	 */
+	@PostConstruct
+	public void init() {
+		enabled = env.getProperty(OBJECT_STORE_CACHE_ENABLED, Boolean.class, Boolean.FALSE);
+		if (enabled) {
+			long capacity = env.getProperty(OBJECT_STORE_CACHE_CAPACITY, Long.class, DEFAULT_CAPACITY);
+			blockSize = env.getProperty(OBJECT_STORE_CACHE_BLOCK_SIZE, Integer.class, DEFAULT_BLOCK_SIZE);
+			maxObjectSize = env.getProperty(OBJECT_STORE_CACHE_MAX_OBJECT_SIZE, Integer.class,
+					DEFAULT_MAX_OBJECT_SIZE);
+			if (blockSize <= 0 || blockSize > MAX_ARENA_SIZE || capacity < 0) {
+				throw new IllegalArgumentException(String.format(
+						"%s should be between 1 and %s and %s should not be negative", OBJECT_STORE_CACHE_BLOCK_SIZE,
+						MAX_ARENA_SIZE, OBJECT_STORE_CACHE_CAPACITY));
+			}
+			int blockCount = (int) Math.min(capacity / blockSize, Integer.MAX_VALUE);
+			blocksPerArena = MAX_ARENA_SIZE / blockSize;
+			arenas = new ByteBuffer[(blockCount + blocksPerArena - 1) / blocksPerArena];
+			for (int arena = 0; arena < arenas.length; arena++) {
+				int arenaBlocks = Math.min(blocksPerArena, blockCount - arena * blocksPerArena);
+				arenas[arena] = ByteBuffer.allocateDirect(arenaBlocks * blockSize);
+			}
+			freeBlocks = new int[blockCount];
+			for (int block = 0; block < blockCount; block++) {
+				freeBlocks[block] = blockCount - 1 - block;
+			}
+			freeBlockCount = blockCount;
+			mosipLogger.info(IdRepoSecurityManager.getUser(), OBJECT_STORE_CACHE, "init",
+					"allocated blocks : " + blockCount + " of size : " + blockSize);
+		}
+	}
+
+	/**
+	 * Checks if the cache is enabled.
+	 *
+	 * @return true, if enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Checks if the object is cached.
+	 *
+	 * @param objectName the object name
+	 * @return true, if cached
+	 */
+	public synchronized boolean contains(String objectName) {
+		return enabled && objects.containsKey(objectName);
+	}
+
+	/**
+	 * Gets a copy of the cached object.
+	 *
+	 * @param objectName the object name
+	 * @return the object, or empty if not cached
+	 */
+	public synchronized Optional<byte[]> get(String objectName) {
+		CachedObject cachedObject = enabled ? objects.get(objectName) : null;
+		if (Objects.isNull(cachedObject)) {
+			return Optional.empty();
+		}
+		byte[] data = new byte[cachedObject.length];
+		for (int index = 0, offset = 0; offset < data.length; index++, offset += blockSize) {
+			block(cachedObject.blocks[index]).get(data, offset, Math.min(blockSize, data.length - offset));
+		}
+		return Optional.of(data);
+	}
+
+	/**
+	 * Caches the object, replacing the object cached earlier with the same name.
+	 * Objects larger than the max object size are not cached.
+	 *
+	 * @param objectName the object name
+	 * @param data       the data
+	 */
+	public synchronized void put(String objectName, byte[] data) {
+		if (!enabled) {
+			return;
+		}
+		evict(objectName);
+		int blocksNeeded = (data.length + blockSize - 1) / blockSize;
+		if (data.length > maxObjectSize || blocksNeeded > freeBlocks.length) {
+			return;
+		}
+		Iterator<CachedObject> leastRecentlyUsed = objects.values().iterator();
+		while (freeBlockCount < blocksNeeded) {
+			release(leastRecentlyUsed.next());
+			leastRecentlyUsed.remove();
+		}
+		int[] blocks = new int[blocksNeeded];
+		for (int index = 0, offset = 0; index < blocksNeeded; index++, offset += blockSize) {
+			blocks[index] = freeBlocks[--freeBlockCount];
+			block(blocks[index]).put(data, offset, Math.min(blockSize, data.length - offset));
+		}
+		objects.put(objectName, new CachedObject(blocks, data.length));
+	}
+
+	/**
+	 * Evicts the object, if cached.
+	 *
+	 * @param objectName the object name
+	 */
+	public synchronized void evict(String objectName) {
+		CachedObject cachedObject = enabled ? objects.remove(objectName) : null;
+		if (Objects.nonNull(cachedObject)) {
+			release(cachedObject);
+		}
+	}
+
+	/**
+	 * Returns the blocks of the object to the free blocks.
+	 *
+	 * @param cachedObject the cached object
+	 */
+	private void release(CachedObject cachedObject) {
+		for (int block : cachedObject.blocks) {
+			freeBlocks[freeBlockCount++] = block;
+		}
+	}
+
+	/**
+	 * Gets a buffer positioned at the start of the block.
+	 *
+	 * @param block the block
+	 * @return the byte buffer
+	 */
+	private ByteBuffer block(int block) {
+		ByteBuffer buffer = arenas[block / blocksPerArena].duplicate();
+		buffer.position((block % blocksPerArena) * blockSize);
+		return buffer;
+	}
+
+	/**
+	 * A cached object.
+	 */
+	private static final class CachedObject {
+
+		/** The blocks holding the object, in order. */
+		private final int[] blocks;
+
+		/** The length. */
+		private final int length;
+
+		private CachedObject(int[] blocks, int length) {
+			this.blocks = blocks;
+			this.length = length;
+		}
+	}
+}
@@ -3,19 +3,28 @@ package io.mosip.idrepository.identity.helper;
 import static io.mosip.idrepository.core.constant.IdRepoConstants.OBJECT_STORE_ACCOUNT_NAME;
 import static io.mosip.idrepository.core.constant.IdRepoConstants.OBJECT_STORE_ADAPTER_NAME;
 import static io.mosip.idrepository.core.constant.IdRepoConstants.OBJECT_STORE_BUCKET_NAME;
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.FILE_STORAGE_ACCESS_ERROR;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.Optional;
 
 import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+
+import io.micrometer.core.annotation.Timed;
 import io.mosip.commons.khazana.spi.ObjectStoreAdapter;
 import io.mosip.idrepository.core.exception.IdRepoAppException;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.core.util.MetricsUtil;
 
 /**
  * @author Manoj SP
@@ -53,44 +62,188 @@ public class ObjectStoreHelper {
 	@Autowired
 	private IdRepoSecurityManager securityManager;
 
+	/** The object store cache. */
+	@Autowired
+	private ObjectStoreCache objectStoreCache;
+
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
 	public boolean demographicObjectExists(String uinHash, String fileRefId) {
 		return exists(uinHash, false, fileRefId);
 	}
 
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
 	public boolean biometricObjectExists(String uinHash, String fileRefId) {
 		return exists(uinHash, true, fileRefId);
 	}
 
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
 	public void putDemographicObject(String uinHash, String fileRefId, byte[] data) throws IdRepoAppException {
 		putObject(uinHash, false, fileRefId, data);
 	}
 
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
 	public void putBiometricObject(String uinHash, String fileRefId, byte[] data) throws IdRepoAppException {
 		putObject(uinHash, true, fileRefId, data);
 	}
 
+	/**
+	 * Deletes the demographic object.
+	 *
+	 * @param uinHash   the uin hash
+	 * @param fileRefId the file ref id
+	 */
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
+	public void deleteDemographicObject(String uinHash, String fileRefId) {
+		deleteObject(uinHash, false, fileRefId);
+	}
+
+	/**
+	 * Deletes the biometric object.
+	 *
+	 * @param uinHash   the uin hash
+	 * @param fileRefId the file ref id
+	 */
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
+	public void deleteBiometricObject(String uinHash, String fileRefId) {
+		deleteObject(uinHash, true, fileRefId);
+	}
+
+	/**
+	 * Encrypts and uploads the demographic object as it is read from the stream,
+	 * without holding it in memory as a whole when local encryption is enabled.
+	 *
+	 * @param uinHash   the uin hash
+	 * @param fileRefId the file ref id
+	 * @param data      the data
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
+	public void putDemographicObject(String uinHash, String fileRefId, InputStream data) throws IdRepoAppException {
+		putObject(uinHash, false, fileRefId, data);
+	}
+
+	/**
+	 * Encrypts and uploads the biometric object as it is read from the stream,
+	 * without holding it in memory as a whole when local encryption is enabled.
+	 *
+	 * @param uinHash   the uin hash
+	 * @param fileRefId the file ref id
+	 * @param data      the data
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
+	public void putBiometricObject(String uinHash, String fileRefId, InputStream data) throws IdRepoAppException {
+		putObject(uinHash, true, fileRefId, data);
+	}
+
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
 	public byte[] getDemographicObject(String uinHash, String fileRefId) throws IdRepoAppException, IOException {
 		return getObject(uinHash, false, fileRefId);
 	}
 
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
 	public byte[] getBiometricObject(String uinHash, String fileRefId) throws IdRepoAppException, IOException {
 		return getObject(uinHash, true, fileRefId);
 	}
 
+	/**
+	 * Gets the demographic object in a single call to the object store, without
+	 * checking if it exists first.
+	 *
+	 * @param uinHash   the uin hash
+	 * @param fileRefId the file ref id
+	 * @return the decrypted object, or empty if it does not exist
+	 * @throws IdRepoAppException the id repo app exception
+	 * @throws IOException        Signals that an I/O exception has occurred.
+	 */
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
+	public Optional<byte[]> getDemographicObjectIfExists(String uinHash, String fileRefId)
+			throws IdRepoAppException, IOException {
+		return getObjectIfExists(uinHash, false, fileRefId);
+	}
+
+	/**
+	 * Gets the biometric object in a single call to the object store, without
+	 * checking if it exists first.
+	 *
+	 * @param uinHash   the uin hash
+	 * @param fileRefId the file ref id
+	 * @return the decrypted object, or empty if it does not exist
+	 * @throws IdRepoAppException the id repo app exception
+	 * @throws IOException        Signals that an I/O exception has occurred.
+	 */
+	@Timed(MetricsUtil.OBJECT_STORE_CALLS)
+	public Optional<byte[]> getBiometricObjectIfExists(String uinHash, String fileRefId)
+			throws IdRepoAppException, IOException {
+		return getObjectIfExists(uinHash, true, fileRefId);
+	}
+
 	private boolean exists(String uinHash, boolean isBio, String fileRefId) {
 		String objectName = uinHash + SLASH + (isBio ? BIOMETRICS : DEMOGRAPHICS) + SLASH + fileRefId;
-		return objectStore.exists(objectStoreAccountName, objectStoreBucketName, null, null, objectName);
+		return objectStoreCache.contains(objectName)
+				|| objectStore.exists(objectStoreAccountName, objectStoreBucketName, null, null, objectName);
 	}
 
 	private void putObject(String uinHash, boolean isBio, String fileRefId, byte[] data) throws IdRepoAppException {
 		String objectName = uinHash + SLASH + (isBio ? BIOMETRICS : DEMOGRAPHICS) + SLASH + fileRefId;
+		byte[] encryptedData = securityManager.encrypt(data);
+		objectStoreCache.evict(objectName);
 		objectStore.putObject(objectStoreAccountName, objectStoreBucketName, null, null, objectName,
-				new ByteArrayInputStream(securityManager.encrypt(data)));
+				new ByteArrayInputStream(encryptedData));
+		objectStoreCache.put(objectName, encryptedData);
+	}
+
+	private void putObject(String uinHash, boolean isBio, String fileRefId, InputStream data)
+			throws IdRepoAppException {
+		String objectName = uinHash + SLASH + (isBio ? BIOMETRICS : DEMOGRAPHICS) + SLASH + fileRefId;
+		objectStoreCache.evict(objectName);
+		try (InputStream encryptedData = securityManager.encrypt(data)) {
+			objectStore.putObject(objectStoreAccountName, objectStoreBucketName, null, null, objectName,
+					encryptedData);
+		} catch (IOException e) {
+			throw new IdRepoAppException(FILE_STORAGE_ACCESS_ERROR, e);
+		}
+	}
+
+	private void deleteObject(String uinHash, boolean isBio, String fileRefId) {
+		String objectName = uinHash + SLASH + (isBio ? BIOMETRICS : DEMOGRAPHICS) + SLASH + fileRefId;
+		objectStoreCache.evict(objectName);
+		objectStore.deleteObject(objectStoreAccountName, objectStoreBucketName, null, null, objectName);
 	}
 
 	private byte[] getObject(String uinHash, boolean isBio, String fileRefId) throws IdRepoAppException, IOException {
 		String objectName = uinHash + SLASH + (isBio ? BIOMETRICS : DEMOGRAPHICS) + SLASH + fileRefId;
-		return securityManager.decrypt(IOUtils.toByteArray(
-				objectStore.getObject(objectStoreAccountName, objectStoreBucketName, null, null, objectName)));
+		Optional<byte[]> cachedData = objectStoreCache.get(objectName);
+		if (cachedData.isPresent()) {
+			return securityManager.decrypt(cachedData.get());
+		}
+		byte[] encryptedData = IOUtils.toByteArray(
+				objectStore.getObject(objectStoreAccountName, objectStoreBucketName, null, null, objectName));
+		objectStoreCache.put(objectName, encryptedData);
+		return securityManager.decrypt(encryptedData);
+	}
+
+	private Optional<byte[]> getObjectIfExists(String uinHash, boolean isBio, String fileRefId)
+			throws IdRepoAppException, IOException {
+		String objectName = uinHash + SLASH + (isBio ? BIOMETRICS : DEMOGRAPHICS) + SLASH + fileRefId;
+		Optional<byte[]> cachedData = objectStoreCache.get(objectName);
+		if (cachedData.isPresent()) {
+			return Optional.of(securityManager.decrypt(cachedData.get()));
+		}
+		InputStream object;
+		try {
+			object = objectStore.getObject(objectStoreAccountName, objectStoreBucketName, null, null, objectName);
+		} catch (AmazonS3Exception e) {
+			if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+				return Optional.empty();
+			}
+			throw e;
+		}
+		if (Objects.isNull(object)) {
+			return Optional.empty();
+		}
+		byte[] encryptedData = IOUtils.toByteArray(object);
+		objectStoreCache.put(objectName, encryptedData);
+		return Optional.of(securityManager.decrypt(encryptedData));
 	}
 }
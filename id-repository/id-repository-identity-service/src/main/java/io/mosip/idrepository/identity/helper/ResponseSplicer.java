@@ -0,0 +1,220 @@
+package io.mosip.idrepository.identity.helper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import io.mosip.idrepository.core.dto.DocumentsDTO;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+/**
+ * The Class ResponseSplicer - builds the identity and documents of identity
+ * responses so that they are written to the response as they are held, without
+ * being converted first. The identity JSON is written as its bytes, without
+ * being parsed and serialized again, and a document is base64 encoded from its
+ * bytes into the response buffer, without being held as a base64 string.
+ * <p>
+ * The written response is the same as that of the converted values, since the
+ * identity is stored as compact JSON and documents are encoded with the URL
+ * safe alphabet without padding, as by {@link CryptoUtil#encodeBase64(byte[])}.
+ */
+public final class ResponseSplicer {
+
+	private ResponseSplicer() {
+	}
+
+	/**
+	 * Gets the identity, which is written to the response as the JSON bytes.
+	 *
+	 * @param identity the identity JSON
+	 * @return the identity
+	 */
+	public static Object identity(byte[] identity) {
+		return new RawValue(new RawJson(identity));
+	}
+
+	/**
+	 * Gets the document, whose value is base64 encoded as it is written to the
+	 * response.
+	 *
+	 * @param category the category
+	 * @param data     the data
+	 * @return the document
+	 */
+	public static DocumentsDTO document(String category, byte[] data) {
+		return new BinaryDocumentsDTO(category, data);
+	}
+
+	/**
+	 * JSON held as UTF-8 bytes, which the UTF-8 generator of the response copies
+	 * to its buffer. The string value is built only for other generators.
+	 */
+	private static final class RawJson implements SerializableString {
+
+		/** The json. */
+		private final byte[] json;
+
+		/** The string value. */
+		private SerializedString value;
+
+		private RawJson(byte[] json) {
+			this.json = json;
+		}
+
+		/**
+		 * Gets the string value.
+		 *
+		 * @return the serialized string
+		 */
+		private SerializedString value() {
+			if (value == null) {
+				value = new SerializedString(new String(json, StandardCharsets.UTF_8));
+			}
+			return value;
+		}
+
+		@Override
+		public String getValue() {
+			return value().getValue();
+		}
+
+		@Override
+		public int charLength() {
+			return value().charLength();
+		}
+
+		@Override
+		public char[] asQuotedChars() {
+			return value().asQuotedChars();
+		}
+
+		@Override
+		public byte[] asUnquotedUTF8() {
+			return json;
+		}
+
+		@Override
+		public byte[] asQuotedUTF8() {
+			return value().asQuotedUTF8();
+		}
+
+		@Override
+		public int appendQuotedUTF8(byte[] buffer, int offset) {
+			return value().appendQuotedUTF8(buffer, offset);
+		}
+
+		@Override
+		public int appendQuoted(char[] buffer, int offset) {
+			return value().appendQuoted(buffer, offset);
+		}
+
+		@Override
+		public int appendUnquotedUTF8(byte[] buffer, int offset) {
+			if (offset + json.length > buffer.length) {
+				return -1;
+			}
+			System.arraycopy(json, 0, buffer, offset, json.length);
+			return json.length;
+		}
+
+		@Override
+		public int appendUnquoted(char[] buffer, int offset) {
+			return value().appendUnquoted(buffer, offset);
+		}
+
+		@Override
+		public int writeQuotedUTF8(OutputStream out) throws IOException {
+			return value().writeQuotedUTF8(out);
+		}
+
+		@Override
+		public int writeUnquotedUTF8(OutputStream out) throws IOException {
+			out.write(json);
+			return json.length;
+		}
+
+		@Override
+		public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+			return value().putQuotedUTF8(buffer);
+		}
+
+		@Override
+		public int putUnquotedUTF8(ByteBuffer buffer) throws IOException {
+			if (json.length > buffer.remaining()) {
+				return -1;
+			}
+			buffer.put(json);
+			return json.length;
+		}
+
+		@Override
+		public String toString() {
+			return getValue();
+		}
+	}
+
+	/**
+	 * A document holding its data, which is base64 encoded only if the value is
+	 * asked for as a string.
+	 */
+	private static final class BinaryDocumentsDTO extends DocumentsDTO implements JsonSerializable {
+
+		/** The data, or null once the value is encoded. */
+		private byte[] data;
+
+		private BinaryDocumentsDTO(String category, byte[] data) {
+			setCategory(category);
+			this.data = data;
+		}
+
+		@Override
+		public String getValue() {
+			if (data != null) {
+				super.setValue(CryptoUtil.encodeBase64(data));
+				data = null;
+			}
+			return super.getValue();
+		}
+
+		@Override
+		public void setValue(String value) {
+			data = null;
+			super.setValue(value);
+		}
+
+		@Override
+		public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+			generator.writeStartObject();
+			generator.writeStringField("category", getCategory());
+			generator.writeFieldName("value");
+			if (data != null) {
+				generator.writeBinary(Base64Variants.MODIFIED_FOR_URL, data, 0, data.length);
+			} else {
+				generator.writeString(super.getValue());
+			}
+			generator.writeEndObject();
+		}
+
+		@Override
+		public void serializeWithType(JsonGenerator generator, SerializerProvider serializers,
+				TypeSerializer typeSerializer) throws IOException {
+			serialize(generator, serializers);
+		}
+
+		@Override
+		public String toString() {
+			return data != null ? "DocumentsDTO(category=" + getCategory() + ", value=<" + data.length + " bytes>)"
+					: super.toString();
+		}
+	}
+}
@@ -0,0 +1,389 @@
+package io.mosip.idrepository.identity.helper;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.MODULO_VALUE;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SHARD_VIRTUAL_NODES;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SPLITTER;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.identity.service.impl.ConsistentHashShardResolver;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * The Class ShardRebalancer - offline tool moving the identities of the modulo
+ * buckets whose shard differs between the current and the target shard
+ * configuration. Both configurations are properties files holding the
+ * {@code mosip.idrepo.modulo-value}, {@code mosip.idrepo.identity.shards.*},
+ * {@code mosip.idrepo.identity.shard-bucket-overrides.*} and
+ * {@code mosip.idrepo.identity.shard-virtual-nodes} properties of the identity
+ * service. Buckets of an unsharded configuration are in the default database
+ * {@code mosip.idrepo.identity.db.*}.
+ * <p>
+ * Each bucket is copied to its target shard in one transaction, replacing any
+ * rows left by an earlier run, and is then deleted from its current shard, so
+ * the tool can be run again after a failure. It is run while the identity
+ * service is stopped, which is then started with the target configuration:
+ *
+ * <pre>
+ * java -Dloader.main=io.mosip.idrepository.identity.helper.ShardRebalancer -jar id-repository-identity-service.jar current.properties target.properties [--dry-run]
+ * </pre>
+ */
+public class ShardRebalancer {
+
+	/** The mosip logger. */
+	private static final Logger mosipLogger = IdRepoLogger.getLogger(ShardRebalancer.class);
+
+	/** The Constant SHARD_REBALANCER. */
+	private static final String SHARD_REBALANCER = "ShardRebalancer";
+
+	/** The Constant SHARDS. */
+	private static final String SHARDS = "mosip.idrepo.identity.shards.";
+
+	/** The Constant SHARD_BUCKET_OVERRIDES. */
+	private static final String SHARD_BUCKET_OVERRIDES = "mosip.idrepo.identity.shard-bucket-overrides.";
+
+	/** The Constant DEFAULT_DB. */
+	private static final String DEFAULT_DB = "db";
+
+	/** The Constant DEFAULT_DB_PREFIX. */
+	private static final String DEFAULT_DB_PREFIX = "mosip.idrepo.identity.db.";
+
+	/** The Constant DEFAULT_VIRTUAL_NODES. */
+	private static final String DEFAULT_VIRTUAL_NODES = "128";
+
+	/** The Constant DRY_RUN. */
+	private static final String DRY_RUN = "--dry-run";
+
+	/** The Constant BATCH_SIZE. */
+	private static final int BATCH_SIZE = 500;
+
+	/** The condition selecting the identities of a bucket from uin. */
+	private static final String BUCKET_UIN_REF_IDS = "uin_ref_id IN (SELECT uin_ref_id FROM idrepo.uin WHERE uin_hash LIKE ?)";
+
+	/**
+	 * The tables holding the identities, with the condition selecting the rows of
+	 * a bucket. Tables are copied in this order and deleted in reverse, as
+	 * documents and biometrics are selected through uin.
+	 */
+	private static final Map<String, String> TABLES;
+
+	static {
+		Map<String, String> tables = new LinkedHashMap<>();
+		tables.put("idrepo.uin", "uin_hash LIKE ?");
+		tables.put("idrepo.uin_h", "uin_hash LIKE ?");
+		tables.put("idrepo.uin_document", BUCKET_UIN_REF_IDS);
+		tables.put("idrepo.uin_document_h", BUCKET_UIN_REF_IDS);
+		tables.put("idrepo.uin_biometric", BUCKET_UIN_REF_IDS);
+		tables.put("idrepo.uin_biometric_h", BUCKET_UIN_REF_IDS);
+		TABLES = Collections.unmodifiableMap(tables);
+	}
+
+	/** The current shard resolver. */
+	private final ConsistentHashShardResolver currentResolver;
+
+	/** The target shard resolver. */
+	private final ConsistentHashShardResolver targetResolver;
+
+	/** The datasources, by shard name. */
+	private final Map<String, DataSource> dataSources = new HashMap<>();
+
+	/**
+	 * Instantiates a new shard rebalancer.
+	 *
+	 * @param current the current shard configuration
+	 * @param target  the target shard configuration
+	 */
+	public ShardRebalancer(Properties current, Properties target) {
+		if (!Objects.equals(current.getProperty(MODULO_VALUE), target.getProperty(MODULO_VALUE))) {
+			throw new IllegalArgumentException(MODULO_VALUE + " should be the same in both configurations");
+		}
+		this.currentResolver = buildResolver(current);
+		this.targetResolver = buildResolver(target);
+		addDataSources(current);
+		addDataSources(target);
+	}
+
+	/**
+	 * The main method.
+	 *
+	 * @param args the current and target configuration files, and optionally
+	 *             --dry-run to only list the buckets to move
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("usage: ShardRebalancer <current.properties> <target.properties> [" + DRY_RUN + "]");
+			System.exit(1);
+		}
+		new ShardRebalancer(load(args[0]), load(args[1])).rebalance(args.length > 2 && DRY_RUN.equals(args[2]));
+	}
+
+	/**
+	 * Moves the buckets whose shard differs in the target configuration.
+	 *
+	 * @param dryRun if true, the buckets to move are only logged
+	 * @return the buckets moved, with their current and target shard
+	 */
+	public Map<Integer, Entry<String, String>> rebalance(boolean dryRun) {
+		Map<Integer, Entry<String, String>> moves = plan();
+		mosipLogger.info(IdRepoSecurityManager.getUser(), SHARD_REBALANCER, "rebalance",
+				moves.size() + " buckets to move" + (dryRun ? " (dry run)" : ""));
+		moves.forEach((bucket, move) -> {
+			mosipLogger.info(IdRepoSecurityManager.getUser(), SHARD_REBALANCER, "rebalance",
+					"bucket " + bucket + ": " + move.getKey() + " -> " + move.getValue());
+			if (!dryRun) {
+				moveBucket(bucket, move.getKey(), move.getValue());
+			}
+		});
+		return moves;
+	}
+
+	/**
+	 * Plans the buckets to move.
+	 *
+	 * @return the buckets to move, with their current and target shard
+	 */
+	public Map<Integer, Entry<String, String>> plan() {
+		Map<Integer, Entry<String, String>> moves = new TreeMap<>();
+		for (int bucket = 0; bucket < currentResolver.getModuloValue(); bucket++) {
+			String from = StringUtils.defaultString(currentResolver.getShardOfBucket(bucket), DEFAULT_DB);
+			String to = StringUtils.defaultString(targetResolver.getShardOfBucket(bucket), DEFAULT_DB);
+			if (!from.equals(to)) {
+				moves.put(bucket, new SimpleEntry<>(from, to));
+			}
+		}
+		return moves;
+	}
+
+	/**
+	 * Copies the identities of the bucket to the target shard and deletes them
+	 * from the current shard.
+	 *
+	 * @param bucket the bucket
+	 * @param from   the current shard
+	 * @param to     the target shard
+	 */
+	private void moveBucket(int bucket, String from, String to) {
+		String uinHashPattern = bucket + "\\" + SPLITTER + "%";
+		JdbcTemplate source = new JdbcTemplate(getDataSource(from));
+		JdbcTemplate target = new JdbcTemplate(getDataSource(to));
+		new TransactionTemplate(new DataSourceTransactionManager(target.getDataSource())).execute(status -> {
+			deleteBucket(target, uinHashPattern);
+			TABLES.forEach((table, condition) -> {
+				BatchCopier copier = new BatchCopier(target, table);
+				source.query("SELECT * FROM " + table + " WHERE " + condition, copier, uinHashPattern);
+				copier.flush();
+			});
+			return null;
+		});
+		new TransactionTemplate(new DataSourceTransactionManager(source.getDataSource())).execute(status -> {
+			deleteBucket(source, uinHashPattern);
+			return null;
+		});
+	}
+
+	/**
+	 * Deletes the identities of the bucket.
+	 *
+	 * @param jdbcTemplate   the jdbc template of the shard
+	 * @param uinHashPattern the pattern of the uin hashes of the bucket
+	 */
+	private void deleteBucket(JdbcTemplate jdbcTemplate, String uinHashPattern) {
+		List<String> tables = new ArrayList<>(TABLES.keySet());
+		Collections.reverse(tables);
+		tables.forEach(table -> jdbcTemplate.update("DELETE FROM " + table + " WHERE " + TABLES.get(table),
+				uinHashPattern));
+	}
+
+	/**
+	 * Gets the data source of the shard.
+	 *
+	 * @param shard the shard
+	 * @return the data source
+	 */
+	private DataSource getDataSource(String shard) {
+		DataSource dataSource = dataSources.get(shard);
+		if (Objects.isNull(dataSource)) {
+			throw new IllegalArgumentException("no datasource configured for " + shard);
+		}
+		return dataSource;
+	}
+
+	/**
+	 * Builds the shard resolver of the configuration.
+	 *
+	 * @param config the config
+	 * @return the consistent hash shard resolver
+	 */
+	private static ConsistentHashShardResolver buildResolver(Properties config) {
+		Map<Integer, String> bucketOverrides = new HashMap<>();
+		config.stringPropertyNames().stream().filter(key -> key.startsWith(SHARD_BUCKET_OVERRIDES))
+				.forEach(key -> bucketOverrides.put(
+						Integer.parseInt(StringUtils.removeStart(key, SHARD_BUCKET_OVERRIDES)), config.getProperty(key)));
+		return new ConsistentHashShardResolver(getShardDbValues(config).keySet(),
+				Integer.parseInt(config.getProperty(SHARD_VIRTUAL_NODES, DEFAULT_VIRTUAL_NODES)),
+				Integer.parseInt(config.getProperty(MODULO_VALUE)), bucketOverrides);
+	}
+
+	/**
+	 * Adds the datasources of the shards and of the default database of the
+	 * configuration, replacing those of the same name.
+	 *
+	 * @param config the config
+	 */
+	private void addDataSources(Properties config) {
+		Map<String, Map<String, String>> dbValues = getShardDbValues(config);
+		Map<String, String> defaultDbValues = getDbValues(config, DEFAULT_DB_PREFIX);
+		if (!defaultDbValues.isEmpty()) {
+			dbValues.put(DEFAULT_DB, defaultDbValues);
+		}
+		dbValues.forEach((shard, values) -> {
+			DriverManagerDataSource dataSource = new DriverManagerDataSource(values.get("url"), values.get("username"),
+					values.get("password"));
+			dataSource.setDriverClassName(values.get("driverClassName"));
+			dataSources.put(shard, dataSource);
+		});
+	}
+
+	/**
+	 * Gets the datasource values of each shard of the configuration.
+	 *
+	 * @param config the config
+	 * @return the datasource values, by shard name
+	 */
+	private static Map<String, Map<String, String>> getShardDbValues(Properties config) {
+		Map<String, Map<String, String>> shards = new HashMap<>();
+		config.stringPropertyNames().stream().filter(key -> key.startsWith(SHARDS))
+				.map(key -> StringUtils.substringBefore(StringUtils.removeStart(key, SHARDS), "."))
+				.distinct().forEach(shard -> shards.put(shard, getDbValues(config, SHARDS + shard + ".")));
+		return shards;
+	}
+
+	/**
+	 * Gets the datasource values under the prefix.
+	 *
+	 * @param config the config
+	 * @param prefix the prefix
+	 * @return the datasource values
+	 */
+	private static Map<String, String> getDbValues(Properties config, String prefix) {
+		Map<String, String> values = new HashMap<>();
+		config.stringPropertyNames().stream().filter(key -> key.startsWith(prefix))
+				.forEach(key -> values.put(StringUtils.removeStart(key, prefix), config.getProperty(key)));
+		return values;
+	}
+
+	/**
+	 * Loads the configuration file.
+	 *
+	 * @param path the path
+	 * @return the properties
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private static Properties load(String path) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(Paths.get(path))) {
+			properties.load(in);
+		}
+		return properties;
+	}
+
+	/**
+	 * Inserts the rows read from the current shard into the target shard, in
+	 * batches.
+	 */
+	private static class BatchCopier implements RowCallbackHandler {
+
+		/** The target. */
+		private final JdbcTemplate target;
+
+		/** The table. */
+		private final String table;
+
+		/** The rows of the current batch. */
+		private final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+		/** The insert query. */
+		private String insertQuery;
+
+		/** The column count. */
+		private int columnCount;
+
+		/**
+		 * Instantiates a new batch copier.
+		 *
+		 * @param target the target
+		 * @param table  the table
+		 */
+		private BatchCopier(JdbcTemplate target, String table) {
+			this.target = target;
+			this.table = table;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see
+		 * org.springframework.jdbc.core.RowCallbackHandler#processRow(java.sql.ResultSet)
+		 */
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			if (Objects.isNull(insertQuery)) {
+				ResultSetMetaData metaData = rs.getMetaData();
+				columnCount = metaData.getColumnCount();
+				List<String> columns = new ArrayList<>(columnCount);
+				for (int column = 1; column <= columnCount; column++) {
+					columns.add(metaData.getColumnName(column));
+				}
+				insertQuery = "INSERT INTO " + table + " (" + String.join(",", columns) + ") VALUES ("
+						+ StringUtils.repeat("?", ",", columnCount) + ")";
+			}
+			Object[] row = new Object[columnCount];
+			for (int column = 1; column <= columnCount; column++) {
+				row[column - 1] = rs.getObject(column);
+			}
+			batch.add(row);
+			if (batch.size() == BATCH_SIZE) {
+				flush();
+			}
+		}
+
+		/**
+		 * Inserts the rows of the current batch.
+		 */
+		private void flush() {
+			if (!batch.isEmpty()) {
+				target.batchUpdate(insertQuery, batch);
+				batch.clear();
+			}
+		}
+	}
+}
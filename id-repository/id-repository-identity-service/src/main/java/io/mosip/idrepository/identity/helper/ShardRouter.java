@@ -0,0 +1,126 @@
+package io.mosip.idrepository.identity.helper;
+
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.core.spi.ShardDataSourceResolver;
+import io.mosip.idrepository.identity.service.impl.ConsistentHashShardResolver;
+
+/**
+ * The Class ShardRouter - runs database calls on the shard of an identity, or
+ * on every shard when the identity is looked up by an id which is not
+ * bucketed, such as the RID. The shard is held by
+ * {@link ShardDataSourceResolver} for the calling thread, and is read when a
+ * connection is taken, so routing is to be done before a transaction opens.
+ * When sharding is disabled, the calls are run as is on the default database.
+ */
+@Component
+public class ShardRouter {
+
+	/** The shard resolver. */
+	@Autowired(required = false)
+	private ConsistentHashShardResolver shardResolver;
+
+	/**
+	 * Runs the task on the shard of the identity.
+	 *
+	 * @param <T>  the result type
+	 * @param <E>  the error type
+	 * @param id   the UIN, or the UIN hash prefixed with its bucket
+	 * @param task the task
+	 * @return the result of the task
+	 * @throws E                  the error thrown by the task
+	 * @throws IdRepoAppException if the id is not a UIN or a UIN hash
+	 */
+	public <T, E extends Throwable> T route(String id, ShardTask<T, E> task) throws E, IdRepoAppException {
+		return isShardingEnabled() ? runOnShard(shardResolver.getShard(id), task) : task.call();
+	}
+
+	/**
+	 * Runs the task on each shard until it finds a result.
+	 *
+	 * @param <T>  the result type
+	 * @param <E>  the error type
+	 * @param task the task, returning null if nothing is found on the shard
+	 * @return the first result found, or null
+	 * @throws E the error thrown by the task
+	 */
+	public <T, E extends Throwable> T findOnAnyShard(ShardTask<T, E> task) throws E {
+		if (!isShardingEnabled()) {
+			return task.call();
+		}
+		for (String shard : shardResolver.getShards()) {
+			T result = runOnShard(shard, task);
+			if (Objects.nonNull(result)) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the condition holds on any shard.
+	 *
+	 * @param <E>       the error type
+	 * @param condition the condition
+	 * @return true, if the condition holds on a shard
+	 * @throws E the error thrown by the condition
+	 */
+	public <E extends Throwable> boolean existsOnAnyShard(ShardTask<Boolean, E> condition) throws E {
+		return Objects.nonNull(findOnAnyShard(() -> condition.call() ? Boolean.TRUE : null));
+	}
+
+	/**
+	 * Checks if sharding is enabled.
+	 *
+	 * @return true, if shards are configured
+	 */
+	public boolean isShardingEnabled() {
+		return Objects.nonNull(shardResolver) && !shardResolver.getShards().isEmpty();
+	}
+
+	/**
+	 * Runs the task on the shard, restoring the shard of the caller afterwards.
+	 *
+	 * @param <T>   the result type
+	 * @param <E>   the error type
+	 * @param shard the shard
+	 * @param task  the task
+	 * @return the result of the task
+	 * @throws E the error thrown by the task
+	 */
+	private <T, E extends Throwable> T runOnShard(String shard, ShardTask<T, E> task) throws E {
+		Object callerShard = ShardDataSourceResolver.getCurrentShard();
+		ShardDataSourceResolver.setCurrentShard(shard);
+		try {
+			return task.call();
+		} finally {
+			if (Objects.isNull(callerShard)) {
+				ShardDataSourceResolver.resetShardConfig();
+			} else {
+				ShardDataSourceResolver.setCurrentShard((String) callerShard);
+			}
+		}
+	}
+
+	/**
+	 * A task run on a shard.
+	 *
+	 * @param <T> the result type
+	 * @param <E> the error type
+	 */
+	@FunctionalInterface
+	public interface ShardTask<T, E extends Throwable> {
+
+		/**
+		 * Runs the task.
+		 *
+		 * @return the result
+		 * @throws E the error
+		 */
+		T call() throws E;
+	}
+}
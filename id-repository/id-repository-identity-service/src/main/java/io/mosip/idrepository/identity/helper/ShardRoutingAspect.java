@@ -0,0 +1,63 @@
+package io.mosip.idrepository.identity.helper;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.mosip.idrepository.core.constant.IdType;
+
+/**
+ * The Class ShardRoutingAspect - routes the identity service calls to the
+ * shard of the identity. It runs ahead of the transaction advice, so the
+ * transaction takes its connection from the shard.
+ * <p>
+ * Identities retrieved by VID or RID are routed by
+ * {@link io.mosip.idrepository.identity.service.impl.IdRepoProxyServiceImpl}
+ * once their UIN hash is known.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardRoutingAspect {
+
+	/** The shard router. */
+	@Autowired
+	private ShardRouter shardRouter;
+
+	/**
+	 * Routes adding or updating an identity by its UIN.
+	 *
+	 * @param joinPoint the join point
+	 * @param uin       the uin
+	 * @return the result of the call
+	 * @throws Throwable the error thrown by the call
+	 */
+	@Around("(execution(* io.mosip.idrepository.identity.service.impl.IdRepo*ServiceImpl.addIdentity(..))"
+			+ " || execution(* io.mosip.idrepository.identity.service.impl.IdRepo*ServiceImpl.updateIdentity(..)))"
+			+ " && args(*, uin)")
+	public Object routeByUin(ProceedingJoinPoint joinPoint, String uin) throws Throwable {
+		return shardRouter.route(uin, joinPoint::proceed);
+	}
+
+	/**
+	 * Routes retrieving an identity by its UIN or UIN hash.
+	 *
+	 * @param joinPoint the join point
+	 * @param id        the id
+	 * @param idType    the id type
+	 * @return the result of the call
+	 * @throws Throwable the error thrown by the call
+	 */
+	@Around("execution(* io.mosip.idrepository.identity.service.impl.IdRepo*ServiceImpl.retrieveIdentity(..))"
+			+ " && args(id, idType, ..)")
+	public Object routeRetrieval(ProceedingJoinPoint joinPoint, String id, IdType idType) throws Throwable {
+		if (idType == IdType.UIN) {
+			return shardRouter.route(id, joinPoint::proceed);
+		}
+		return joinPoint.proceed();
+	}
+}
@@ -0,0 +1,115 @@
+package io.mosip.idrepository.identity.helper;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.UIN_STATUS_PUBLISH_ENABLED;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.mosip.idrepository.core.builder.RestRequestBuilder;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.dto.UinStatusDTO;
+import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.http.RequestWrapper;
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+
+/**
+ * The Class UinStatusPublisher - publishes the status of a UIN to the UIN
+ * status projection of the VID service when the UIN is added and when its
+ * status changes.
+ * <p>
+ * The status is published after the transaction which sets it commits, so that
+ * a status which is rolled back is not published. A failure to publish is
+ * logged and does not fail the request, since the VID service retrieves the
+ * status from the identity service for UINs it does not hold.
+ */
+@Component
+public class UinStatusPublisher {
+
+	/** The Constant UIN_STATUS_PUBLISHER. */
+	private static final String UIN_STATUS_PUBLISHER = "UinStatusPublisher";
+
+	/** The mosip logger. */
+	private Logger mosipLogger = IdRepoLogger.getLogger(UinStatusPublisher.class);
+
+	/** The env. */
+	@Autowired
+	private Environment env;
+
+	/** The rest helper. */
+	@Autowired
+	private RestHelper restHelper;
+
+	/** The rest builder. */
+	@Autowired
+	private RestRequestBuilder restBuilder;
+
+	/** The enabled. */
+	private boolean enabled;
+
+	/**
+	 * Reads whether statuses are published.
+	 */
+	@PostConstruct
+	public void init() {
+		enabled = env.getProperty(UIN_STATUS_PUBLISH_ENABLED, Boolean.class, Boolean.FALSE);
+	}
+
+	/**
+	 * Publishes the status of the UIN, after the current transaction commits if
+	 * there is one.
+	 *
+	 * @param uin        the uin
+	 * @param status     the status
+	 * @param statusTime the time the status is set
+	 */
+	public void publish(String uin, String status, LocalDateTime statusTime) {
+		if (!enabled) {
+			return;
+		}
+		UinStatusDTO uinStatus = new UinStatusDTO(uin, status, statusTime);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					send(Collections.singletonList(uinStatus));
+				}
+			});
+		} else {
+			send(Collections.singletonList(uinStatus));
+		}
+	}
+
+	/**
+	 * Sends the statuses to the VID service.
+	 *
+	 * @param statuses the statuses
+	 */
+	private void send(List<UinStatusDTO> statuses) {
+		try {
+			RequestWrapper<List<UinStatusDTO>> request = new RequestWrapper<>();
+			request.setRequesttime(DateUtils.getUTCCurrentDateTime());
+			request.setRequest(statuses);
+			restHelper.requestSync(
+					restBuilder.buildRequest(RestServicesConstants.VID_UIN_STATUS_SERVICE, request, ResponseWrapper.class));
+		} catch (RestServiceException | IdRepoDataValidationException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), UIN_STATUS_PUBLISHER, "send",
+					"\n" + ExceptionUtils.getStackTrace(e));
+		}
+	}
+}
@@ -7,6 +7,8 @@ import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.IDENTITY_
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 import org.apache.commons.codec.binary.StringUtils;
 import org.hibernate.EmptyInterceptor;
@@ -95,22 +97,42 @@ public class IdRepoEntityInterceptor extends EmptyInterceptor {
 	 */
 	@Override
 	public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
-		try {
-			if (entity instanceof Uin || entity instanceof UinHistory) {
-				List<String> propertyNamesList = Arrays.asList(propertyNames);
-				int indexOfData = propertyNamesList.indexOf(UIN_DATA);
-				state[indexOfData] = securityManager.decrypt((byte[]) state[indexOfData]);
-
-				if (!StringUtils.equals(securityManager.hash((byte[]) state[indexOfData]),
-						(String) state[propertyNamesList.indexOf(UIN_DATA_HASH)])) {
-					throw new IdRepoAppUncheckedException(IDENTITY_HASH_MISMATCH);
+		if (entity instanceof Uin || entity instanceof UinHistory) {
+			List<String> propertyNamesList = Arrays.asList(propertyNames);
+			byte[] encryptedData = (byte[]) state[propertyNamesList.indexOf(UIN_DATA)];
+			String uinDataHash = (String) state[propertyNamesList.indexOf(UIN_DATA_HASH)];
+			if (Objects.nonNull(encryptedData)) {
+				Supplier<byte[]> uinDataDecryption = () -> decrypt(encryptedData, uinDataHash);
+				if (entity instanceof Uin) {
+					((Uin) entity).setUinDataDecryption(uinDataDecryption);
+				} else {
+					((UinHistory) entity).setUinDataDecryption(uinDataDecryption);
 				}
 			}
+		}
+		return super.onLoad(entity, id, state, propertyNames, types);
+	}
+
+	/**
+	 * Decrypts the uin data as loaded and checks it against the uin data hash. The
+	 * uin data is decrypted when it is first read from the entity, not when the
+	 * entity is loaded.
+	 *
+	 * @param encryptedData the encrypted uin data
+	 * @param uinDataHash   the uin data hash
+	 * @return the uin data
+	 */
+	private byte[] decrypt(byte[] encryptedData, String uinDataHash) {
+		try {
+			byte[] uinData = securityManager.decrypt(encryptedData);
+			if (!StringUtils.equals(securityManager.hash(uinData), uinDataHash)) {
+				throw new IdRepoAppUncheckedException(IDENTITY_HASH_MISMATCH);
+			}
+			return uinData;
 		} catch (IdRepoAppException e) {
-			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_ENTITY_INTERCEPTOR, "onLoad", "\n" + e.getMessage());
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_ENTITY_INTERCEPTOR, "decrypt", "\n" + e.getMessage());
 			throw new IdRepoAppUncheckedException(ENCRYPTION_DECRYPTION_FAILED, e);
 		}
-		return super.onLoad(entity, id, state, propertyNames, types);
 	}
 
 	/* (non-Javadoc)
@@ -122,10 +144,12 @@ public class IdRepoEntityInterceptor extends EmptyInterceptor {
 		try {
 			if (entity instanceof Uin) {
 				Uin uinEntity = (Uin) entity;
-				byte[] encryptedData = securityManager.encrypt(uinEntity.getUinData());
-				List<String> propertyNamesList = Arrays.asList(propertyNames);
-				int indexOfData = propertyNamesList.indexOf(UIN_DATA);
-				currentState[indexOfData] = encryptedData;
+				if (!uinEntity.isUinDataLoaded()) {
+					byte[] encryptedData = securityManager.encrypt(uinEntity.getUinData());
+					List<String> propertyNamesList = Arrays.asList(propertyNames);
+					int indexOfData = propertyNamesList.indexOf(UIN_DATA);
+					currentState[indexOfData] = encryptedData;
+				}
 				return super.onFlushDirty(uinEntity, id, currentState, previousState, propertyNames, types);
 			}
 		} catch (IdRepoAppException e) {
@@ -11,6 +11,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.mosip.idrepository.core.builder.RestRequestBuilder;
 import io.mosip.idrepository.core.constant.IDAEventType;
@@ -30,6 +31,7 @@ import io.mosip.idrepository.core.helper.RestHelper;
 import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
 import io.mosip.idrepository.core.spi.AuthtypeStatusService;
+import io.mosip.idrepository.core.spi.ReplicaDataSourceResolver;
 import io.mosip.idrepository.core.util.TokenIDGenerator;
 import io.mosip.idrepository.identity.entity.AuthtypeLock;
 import io.mosip.idrepository.identity.repository.AuthLockRepository;
@@ -97,12 +99,14 @@ public class AuthTypeStatusImpl implements AuthtypeStatusService {
 	 * authtype.dto.AuthtypeRequestDto)
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<AuthtypeStatus> fetchAuthTypeStatus(String individualId, IdType idType) throws IdRepoAppException {
 		List<AuthtypeLock> authTypeLockList;
 		if (idType == IdType.VID) {
 			individualId = getUin(individualId);
 		}
 		String idHash = securityManager.hash(individualId.getBytes());
+		ReplicaDataSourceResolver.setReadKey(idHash);
 		List<Object[]> authTypeLockObjectsList = authLockRepository.findByUinHash(idHash);
 		authTypeLockList = authTypeLockObjectsList.stream()
 				.map(obj -> new AuthtypeLock((String) obj[0], (String) obj[1])).collect(Collectors.toList());
@@ -196,6 +200,7 @@ public class AuthTypeStatusImpl implements AuthtypeStatusService {
 				.map(authtypeStatus -> this.putAuthTypeStatus(authtypeStatus, individualId))
 				.collect(Collectors.toList());
 		authLockRepository.saveAll(entities);
+		ReplicaDataSourceResolver.recordWrite(securityManager.hash(individualId.getBytes()));
 
 		return buildResponse();
 	}
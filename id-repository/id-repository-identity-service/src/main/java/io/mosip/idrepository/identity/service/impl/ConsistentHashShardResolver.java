@@ -0,0 +1,167 @@
+package io.mosip.idrepository.identity.service.impl;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SPLITTER;
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.INVALID_INPUT_PARAMETER;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.DigestUtils;
+
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.core.spi.ShardResolver;
+
+/**
+ * The Class ConsistentHashShardResolver - resolves the shard of an identity
+ * from the modulo bucket of its UIN, the same bucket which prefixes the UIN
+ * hash. Buckets are placed on a hash ring holding a number of virtual nodes
+ * per shard, so adding a shard moves only the buckets taken over by its
+ * nodes. Buckets can also be pinned to a shard, overriding the ring.
+ * <p>
+ * The shard of every bucket is computed once, so resolving a shard is a
+ * lookup by bucket.
+ */
+public class ConsistentHashShardResolver implements ShardResolver {
+
+	/** The prefix of the ring position of a bucket. */
+	private static final String BUCKET = "bucket#";
+
+	/** The separator of a shard name and its virtual node. */
+	private static final String NODE_SEPARATOR = "#";
+
+	/** The shards. */
+	private final Set<String> shards;
+
+	/** The modulo value. */
+	private final int moduloValue;
+
+	/** The shard of each bucket, indexed by bucket. */
+	private final String[] shardByBucket;
+
+	/**
+	 * Instantiates a new consistent hash shard resolver.
+	 *
+	 * @param shards          the shard names, none if sharding is disabled
+	 * @param virtualNodes    the virtual nodes of each shard on the ring
+	 * @param moduloValue     the modulo value bucketing the UINs
+	 * @param bucketOverrides the shards to which buckets are pinned
+	 */
+	public ConsistentHashShardResolver(Collection<String> shards, int virtualNodes, int moduloValue,
+			Map<Integer, String> bucketOverrides) {
+		if (virtualNodes <= 0 || moduloValue <= 0) {
+			throw new IllegalArgumentException("virtual nodes and modulo value should be positive");
+		}
+		this.shards = Collections.unmodifiableSet(new TreeSet<>(shards));
+		this.moduloValue = moduloValue;
+		this.shardByBucket = new String[moduloValue];
+		if (!this.shards.isEmpty()) {
+			NavigableMap<Long, String> ring = new TreeMap<>();
+			for (String shard : this.shards) {
+				for (int node = 0; node < virtualNodes; node++) {
+					ring.putIfAbsent(position(shard + NODE_SEPARATOR + node), shard);
+				}
+			}
+			for (int bucket = 0; bucket < moduloValue; bucket++) {
+				Entry<Long, String> node = ring.ceilingEntry(position(BUCKET + bucket));
+				shardByBucket[bucket] = (node == null ? ring.firstEntry() : node).getValue();
+			}
+			bucketOverrides.forEach(this::pinBucket);
+		}
+	}
+
+	/**
+	 * Pins the bucket to the shard.
+	 *
+	 * @param bucket the bucket
+	 * @param shard  the shard
+	 */
+	private void pinBucket(Integer bucket, String shard) {
+		if (bucket < 0 || bucket >= moduloValue || !shards.contains(shard)) {
+			throw new IllegalArgumentException(
+					String.format("invalid shard override of bucket %s - %s", bucket, shard));
+		}
+		shardByBucket[bucket] = shard;
+	}
+
+	/**
+	 * Gets the shard of the identity.
+	 *
+	 * @param id the UIN, or the UIN hash prefixed with its bucket
+	 * @return the shard, or null if sharding is disabled
+	 * @throws IdRepoAppException if the id is not a UIN or a UIN hash
+	 */
+	@Override
+	public String getShard(String id) throws IdRepoAppException {
+		if (shards.isEmpty()) {
+			return null;
+		}
+		try {
+			return getShardOfBucket(getBucket(id));
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			throw new IdRepoAppException(INVALID_INPUT_PARAMETER.getErrorCode(),
+					String.format(INVALID_INPUT_PARAMETER.getErrorMessage(), "id"), e);
+		}
+	}
+
+	/**
+	 * Gets the shard of the bucket.
+	 *
+	 * @param bucket the bucket
+	 * @return the shard, or null if sharding is disabled
+	 */
+	public String getShardOfBucket(int bucket) {
+		return shardByBucket[bucket];
+	}
+
+	/**
+	 * Gets the bucket of the identity.
+	 *
+	 * @param id the UIN, or the UIN hash prefixed with its bucket
+	 * @return the bucket
+	 */
+	public int getBucket(String id) {
+		return id.contains(SPLITTER) ? Integer.parseInt(StringUtils.substringBefore(id, SPLITTER))
+				: (int) (Long.parseLong(id) % moduloValue);
+	}
+
+	/**
+	 * Gets the shards.
+	 *
+	 * @return the shards
+	 */
+	public Set<String> getShards() {
+		return shards;
+	}
+
+	/**
+	 * Gets the modulo value.
+	 *
+	 * @return the modulo value
+	 */
+	public int getModuloValue() {
+		return moduloValue;
+	}
+
+	/**
+	 * Position of the key on the ring, from the first 8 bytes of its MD5.
+	 *
+	 * @param key the key
+	 * @return the position
+	 */
+	private static long position(String key) {
+		byte[] digest = DigestUtils.md5Digest(key.getBytes(StandardCharsets.UTF_8));
+		long position = 0;
+		for (int i = 0; i < Long.BYTES; i++) {
+			position = (position << Byte.SIZE) | (digest[i] & 0xFF);
+		}
+		return position;
+	}
+}
@@ -10,7 +10,6 @@ import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.DATABASE_
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.DOCUMENT_HASH_MISMATCH;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.FILE_NOT_FOUND;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.FILE_STORAGE_ACCESS_ERROR;
-import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.ID_OBJECT_PROCESSING_FAILED;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.INVALID_INPUT_PARAMETER;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.NO_RECORD_FOUND;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.RECORD_EXISTS;
@@ -29,6 +28,9 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -74,13 +76,19 @@ import io.mosip.idrepository.core.exception.IdRepoAppUncheckedException;
 import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
 import io.mosip.idrepository.core.exception.RestServiceException;
 import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.helper.SaltCache;
 import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
 import io.mosip.idrepository.core.spi.IdRepoService;
+import io.mosip.idrepository.core.spi.ReplicaDataSourceResolver;
 import io.mosip.idrepository.core.util.TokenIDGenerator;
 import io.mosip.idrepository.identity.entity.Uin;
+import io.mosip.idrepository.identity.entity.UinBiometric;
+import io.mosip.idrepository.identity.entity.UinDocument;
+import io.mosip.idrepository.identity.helper.IdentityCache;
 import io.mosip.idrepository.identity.helper.ObjectStoreHelper;
-import io.mosip.idrepository.identity.repository.UinHashSaltRepo;
+import io.mosip.idrepository.identity.helper.ResponseSplicer;
+import io.mosip.idrepository.identity.helper.ShardRouter;
 import io.mosip.idrepository.identity.repository.UinHistoryRepo;
 import io.mosip.idrepository.identity.repository.UinRepo;
 import io.mosip.kernel.core.cbeffutil.jaxbclasses.BIRType;
@@ -179,6 +187,10 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 	@Autowired
 	private ObjectStoreHelper objectStoreHelper;
 
+	/** The executor fetching documents from the object store. */
+	@Resource
+	private Executor objectStoreExecutor;
+
 	/** The env. */
 	@Autowired
 	private Environment env;
@@ -207,13 +219,21 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 	@Autowired
 	private IdRepoService<IdRequestDTO, Uin> service;
 
+	/** The shard router. */
+	@Autowired
+	private ShardRouter shardRouter;
+
+	/** The identity cache. */
+	@Autowired
+	private IdentityCache identityCache;
+
 	/** The security manager. */
 	@Autowired
 	private IdRepoSecurityManager securityManager;
 
-	/** The uin hash salt repo. */
-	@Autowired
-	private UinHashSaltRepo uinHashSaltRepo;
+	/** The uin hash salt cache. */
+	@Resource
+	private SaltCache uinHashSaltCache;
 
 	@Autowired
 	private RestHelper restHelper;
@@ -252,8 +272,10 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 	@Override
 	public IdResponseDTO addIdentity(IdRequestDTO request, String uin) throws IdRepoAppException {
 		try {
+			String regId = request.getRequest().getRegistrationId();
+			ReplicaDataSourceResolver.usePrimary();
 			if (uinRepo.existsByUinHash(retrieveUinHash(uin))
-					|| uinHistoryRepo.existsByRegId(request.getRequest().getRegistrationId())) {
+					|| shardRouter.existsOnAnyShard(() -> uinHistoryRepo.existsByRegId(regId))) {
 				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, ADD_IDENTITY,
 						RECORD_EXISTS.getErrorMessage());
 				throw new IdRepoAppException(RECORD_EXISTS);
@@ -312,7 +334,8 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 			throws IdRepoAppException {
 		try {
 			String uinHash = retrieveUinHash(uin);
-			if (uinRepo.existsByUinHash(uinHash)) {
+			ReplicaDataSourceResolver.setReadKey(uinHash);
+			if ((Objects.isNull(type) && identityCache.isCached(uinHash)) || uinRepo.existsByUinHash(uinHash)) {
 				return retrieveIdentityByUinHash(type, uinHash, extractionFormats);
 			} else {
 				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, RETRIEVE_IDENTITY,
@@ -351,7 +374,7 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 			request.setUri(request.getUri().replace("{vid}", vid));
 			ResponseWrapper<Map<String, String>> response = restHelper.requestSync(request);
 			String uin = response.getResponse().get("UIN");
-			return retrieveIdentityByUin(uin, type, extractionFormats);
+			return shardRouter.route(uin, () -> retrieveIdentityByUin(uin, type, extractionFormats));
 		} catch (RestServiceException e) {
 			if (e.getResponseBodyAsString().isPresent()) {
 				List<ServiceError> errorList = ExceptionUtils.getServiceErrorList(e.getResponseBodyAsString().get());
@@ -375,24 +398,22 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 	private String retrieveUinHash(String uin) {
 		Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
 		int modResult = (int) (Long.parseLong(uin) % moduloValue);
-		String hashSalt = uinHashSaltRepo.retrieveSaltById(modResult);
-		String hashwithSalt = securityManager.hashwithSalt(uin.getBytes(), hashSalt.getBytes());
+		String hashwithSalt = securityManager.hashwithSalt(uin.getBytes(), uinHashSaltCache.getSaltBytes(modResult));
 		return modResult + SPLITTER + hashwithSalt;
 	}
 
 	private String getIdHash(String uin) {
 		Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
 		int modResult = (int) (Long.parseLong(uin) % moduloValue);
-		String hashSalt = uinHashSaltRepo.retrieveSaltById(modResult);
-		return securityManager.hashwithSalt(uin.getBytes(), hashSalt.getBytes());
+		return securityManager.hashwithSalt(uin.getBytes(), uinHashSaltCache.getSaltBytes(modResult));
 	}
 
 	private Map<String, String> getIdHashAndAttributes(String id) {
 		Map<String, String> hashWithAttributes = new HashMap<>();
 		Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
 		int modResult = (int) (Long.parseLong(id) % moduloValue);
-		String hashSalt = uinHashSaltRepo.retrieveSaltById(modResult);
-		String hash = securityManager.hashwithSalt(id.getBytes(), hashSalt.getBytes());
+		String hashSalt = uinHashSaltCache.getSalt(modResult);
+		String hash = securityManager.hashwithSalt(id.getBytes(), uinHashSaltCache.getSaltBytes(modResult));
 		hashWithAttributes.put(ID_HASH, hash);
 		hashWithAttributes.put(MODULO, String.valueOf(modResult));
 		hashWithAttributes.put(SALT, hashSalt);
@@ -410,7 +431,9 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 	private IdResponseDTO retrieveIdentityByUinHash(String type, String uinHash, Map<String, String> extractionFormats)
 			throws IdRepoAppException {
 		List<DocumentsDTO> documents = new ArrayList<>();
-		Uin uinObject = service.retrieveIdentity(uinHash, IdType.UIN, type, null);
+		Uin uinObject = Objects.isNull(type)
+				? identityCache.get(uinHash, () -> service.retrieveIdentity(uinHash, IdType.UIN, null, null))
+				: service.retrieveIdentity(uinHash, IdType.UIN, type, null);
 		if (Objects.isNull(type)) {
 			mosipLogger.info(IdRepoSecurityManager.getUser(), RETRIEVE_IDENTITY, "method - " + RETRIEVE_IDENTITY,
 					"filter - null");
@@ -445,10 +468,8 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 	private IdResponseDTO retrieveIdentityByRid(String rid, String type, Map<String, String> extractionFormats)
 			throws IdRepoAppException {
 		try {
-			String uinHash = uinRepo.getUinHashByRid(rid);
-			if (Objects.isNull(uinHash)) {
-				uinHash = uinHistoryRepo.getUinHashByRid(rid);
-			}
+			String uinHash = shardRouter.findOnAnyShard(() -> Optional.ofNullable(uinRepo.getUinHashByRid(rid))
+					.orElseGet(() -> uinHistoryRepo.getUinHashByRid(rid)));
 			if (Objects.nonNull(uinHash)) {
 				return retrieveIdentityByUinHash(type, uinHash, extractionFormats);
 			} else {
@@ -496,32 +517,43 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 	 * @return the demographic files
 	 */
 	private void getDemographicFiles(Uin uinObject, List<DocumentsDTO> documents) {
-		uinObject.getDocuments().stream().forEach(demo -> {
-			try {
-				String uinHash = uinObject.getUinHash().split("_")[1];
-				if (!objectStoreHelper.demographicObjectExists(uinHash, demo.getDocId())) {
-					mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, "getDemographicFiles",
-							"FILE NOT FOUND IN OBJECT STORE");
-					throw new IdRepoAppUncheckedException(FILE_NOT_FOUND);
-				}
-				byte[] data = objectStoreHelper.getDemographicObject(uinHash, demo.getDocId());
-				if (demo.getDocHash().equals(securityManager.hash(data))) {
-					documents.add(new DocumentsDTO(demo.getDoccatCode(), CryptoUtil.encodeBase64(data)));
-				} else {
-					mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES,
-							DOCUMENT_HASH_MISMATCH.getErrorMessage());
-					throw new IdRepoAppException(DOCUMENT_HASH_MISMATCH);
-				}
-			} catch (IdRepoAppException e) {
-				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES,
-						"\n" + e.getMessage());
-				throw new IdRepoAppUncheckedException(e.getErrorCode(), e.getErrorText(), e);
-			} catch (IOException e) {
+		String uinHash = uinObject.getUinHash().split("_")[1];
+		fetchDocuments(uinObject.getDocuments().stream()
+				.<Supplier<DocumentsDTO>>map(demo -> () -> getDemographicFile(uinHash, demo))
+				.collect(Collectors.toList()), documents);
+	}
+
+	/**
+	 * Gets the demographic file.
+	 *
+	 * @param uinHash the uin hash
+	 * @param demo    the demo
+	 * @return the demographic file
+	 */
+	private DocumentsDTO getDemographicFile(String uinHash, UinDocument demo) {
+		try {
+			Optional<byte[]> data = objectStoreHelper.getDemographicObjectIfExists(uinHash, demo.getDocId());
+			if (!data.isPresent()) {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, "getDemographicFiles",
+						"FILE NOT FOUND IN OBJECT STORE");
+				throw new IdRepoAppUncheckedException(FILE_NOT_FOUND);
+			}
+			if (demo.getDocHash().equals(securityManager.hash(data.get()))) {
+				return ResponseSplicer.document(demo.getDoccatCode(), data.get());
+			} else {
 				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES,
-						"\n" + e.getMessage());
-				throw new IdRepoAppUncheckedException(FILE_STORAGE_ACCESS_ERROR, e);
+						DOCUMENT_HASH_MISMATCH.getErrorMessage());
+				throw new IdRepoAppException(DOCUMENT_HASH_MISMATCH);
 			}
-		});
+		} catch (IdRepoAppException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES,
+					"\n" + e.getMessage());
+			throw new IdRepoAppUncheckedException(e.getErrorCode(), e.getErrorText(), e);
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES,
+					"\n" + e.getMessage());
+			throw new IdRepoAppUncheckedException(FILE_STORAGE_ACCESS_ERROR, e);
+		}
 	}
 
 	/**
@@ -533,43 +565,80 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 	 * @return the biometric files
 	 */
 	private void getBiometricFiles(Uin uinObject, List<DocumentsDTO> documents, Map<String, String> extractionFormats) {
-		uinObject.getBiometrics().stream().forEach(bio -> {
-			if (allowedBioAttributes.contains(bio.getBiometricFileType())) {
-				try {
-					String uinHash = uinObject.getUinHash().split("_")[1];
-					if (!objectStoreHelper.biometricObjectExists(uinHash, bio.getBioFileId())) {
-						mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, "getBiometricFiles",
-								"FILE NOT FOUND IN OBJECT STORE");
-						throw new IdRepoAppUncheckedException(FILE_NOT_FOUND);
-					}
-					byte[] data = null;
-					if (Objects.nonNull(extractionFormats) && !extractionFormats.isEmpty()) {
-						data = extractTemplates(uinHash, bio.getBioFileId(), extractionFormats);
-						if (Objects.nonNull(data)) {
-							documents.add(new DocumentsDTO(bio.getBiometricFileType(), CryptoUtil.encodeBase64(data)));
-						}
-					} else {
-						data = objectStoreHelper.getBiometricObject(uinHash, bio.getBioFileId());
-						if (Objects.nonNull(data)) {
-							if (StringUtils.equals(bio.getBiometricFileHash(), securityManager.hash(data))) {
-								documents.add(
-										new DocumentsDTO(bio.getBiometricFileType(), CryptoUtil.encodeBase64(data)));
-							} else {
-								mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES,
-										DOCUMENT_HASH_MISMATCH.getErrorMessage());
-								throw new IdRepoAppException(DOCUMENT_HASH_MISMATCH);
-							}
-						}
-					}
-				} catch (IdRepoAppException e) {
-					mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES, e.getMessage());
-					throw new IdRepoAppUncheckedException(e.getErrorCode(), e.getErrorText(), e);
-				} catch (IOException e) {
-					mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES, e.getMessage());
-					throw new IdRepoAppUncheckedException(FILE_STORAGE_ACCESS_ERROR, e);
+		String uinHash = uinObject.getUinHash().split("_")[1];
+		fetchDocuments(uinObject.getBiometrics().stream()
+				.filter(bio -> allowedBioAttributes.contains(bio.getBiometricFileType()))
+				.<Supplier<DocumentsDTO>>map(bio -> () -> getBiometricFile(uinHash, bio, extractionFormats))
+				.collect(Collectors.toList()), documents);
+	}
+
+	/**
+	 * Gets the biometric file.
+	 *
+	 * @param uinHash           the uin hash
+	 * @param bio               the bio
+	 * @param extractionFormats the extraction formats
+	 * @return the biometric file, null if no templates are extracted
+	 */
+	private DocumentsDTO getBiometricFile(String uinHash, UinBiometric bio, Map<String, String> extractionFormats) {
+		try {
+			if (Objects.nonNull(extractionFormats) && !extractionFormats.isEmpty()) {
+				if (!objectStoreHelper.biometricObjectExists(uinHash, bio.getBioFileId())) {
+					mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, "getBiometricFiles",
+							"FILE NOT FOUND IN OBJECT STORE");
+					throw new IdRepoAppUncheckedException(FILE_NOT_FOUND);
 				}
+				byte[] data = extractTemplates(uinHash, bio.getBioFileId(), extractionFormats);
+				return Objects.nonNull(data)
+						? ResponseSplicer.document(bio.getBiometricFileType(), data)
+						: null;
 			}
-		});
+			Optional<byte[]> data = objectStoreHelper.getBiometricObjectIfExists(uinHash, bio.getBioFileId());
+			if (!data.isPresent()) {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, "getBiometricFiles",
+						"FILE NOT FOUND IN OBJECT STORE");
+				throw new IdRepoAppUncheckedException(FILE_NOT_FOUND);
+			}
+			if (StringUtils.equals(bio.getBiometricFileHash(), securityManager.hash(data.get()))) {
+				return ResponseSplicer.document(bio.getBiometricFileType(), data.get());
+			} else {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES,
+						DOCUMENT_HASH_MISMATCH.getErrorMessage());
+				throw new IdRepoAppException(DOCUMENT_HASH_MISMATCH);
+			}
+		} catch (IdRepoAppException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES, e.getMessage());
+			throw new IdRepoAppUncheckedException(e.getErrorCode(), e.getErrorText(), e);
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES, e.getMessage());
+			throw new IdRepoAppUncheckedException(FILE_STORAGE_ACCESS_ERROR, e);
+		}
+	}
+
+	/**
+	 * Fetches the documents in parallel on the object store executor, and adds
+	 * them to the documents in the order of the fetches. A single document is
+	 * fetched on the calling thread.
+	 *
+	 * @param fetches   the fetches
+	 * @param documents the documents
+	 */
+	private void fetchDocuments(List<Supplier<DocumentsDTO>> fetches, List<DocumentsDTO> documents) {
+		if (fetches.size() == 1) {
+			Optional.ofNullable(fetches.get(0).get()).ifPresent(documents::add);
+			return;
+		}
+		List<CompletableFuture<DocumentsDTO>> futures = fetches.stream()
+				.map(fetch -> CompletableFuture.supplyAsync(fetch, objectStoreExecutor)).collect(Collectors.toList());
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		futures.stream().map(CompletableFuture::join).filter(Objects::nonNull).forEach(documents::add);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -681,9 +750,10 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 		String regId = request.getRequest().getRegistrationId();
 		try {
 			String uinHash = retrieveUinHash(uin);
+			ReplicaDataSourceResolver.usePrimary();
 			if (uinRepo.existsByUinHash(uinHash)) {
-				if (uinRepo.existsByRegId(regId)
-						|| uinHistoryRepo.existsByRegId(request.getRequest().getRegistrationId())) {
+				if (shardRouter.existsOnAnyShard(
+						() -> uinRepo.existsByRegId(regId) || uinHistoryRepo.existsByRegId(regId))) {
 					mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, GET_FILES,
 							RECORD_EXISTS.getErrorMessage());
 					throw new IdRepoAppException(RECORD_EXISTS);
@@ -730,29 +800,12 @@ public class IdRepoProxyServiceImpl implements IdRepoService<IdRequestDTO, IdRes
 			if (!Objects.isNull(documents)) {
 				response.setDocuments(documents);
 			}
-			response.setIdentity(convertToObject(uin.getUinData(), Object.class));
+			response.setIdentity(ResponseSplicer.identity(uin.getUinData()));
 		}
 		idResponse.setResponse(response);
 		return idResponse;
 	}
 
-	/**
-	 * Convert Identity to object.
-	 *
-	 * @param identity the identity
-	 * @param clazz    the clazz
-	 * @return the object
-	 * @throws IdRepoAppException the id repo app exception
-	 */
-	private Object convertToObject(byte[] identity, Class<?> clazz) throws IdRepoAppException {
-		try {
-			return mapper.readValue(identity, clazz);
-		} catch (IOException e) {
-			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, "convertToObject", e.getMessage());
-			throw new IdRepoAppException(ID_OBJECT_PROCESSING_FAILED, e);
-		}
-	}
-
 	private void notify(String uin, LocalDateTime expiryTimestamp, String status, boolean isUpdate, String txnId) {
 		try {
 			List<VidInfoDTO> vidInfoDtos = null;
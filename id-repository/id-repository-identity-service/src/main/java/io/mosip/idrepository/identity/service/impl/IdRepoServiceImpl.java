@@ -13,39 +13,39 @@ import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.ID_OBJECT
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.INVALID_INPUT_PARAMETER;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javax.annotation.Resource;
 
+import org.apache.commons.codec.binary.Base64InputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-import org.skyscreamer.jsonassert.FieldComparisonFailure;
-import org.skyscreamer.jsonassert.JSONCompare;
-import org.skyscreamer.jsonassert.JSONCompareMode;
-import org.skyscreamer.jsonassert.JSONCompareResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.InvalidJsonException;
-import com.jayway.jsonpath.JsonPath;
-import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
-import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 
 import io.mosip.idrepository.core.constant.IdType;
 import io.mosip.idrepository.core.dto.DocumentsDTO;
@@ -53,20 +53,24 @@ import io.mosip.idrepository.core.dto.IdRequestDTO;
 import io.mosip.idrepository.core.dto.RequestDTO;
 import io.mosip.idrepository.core.exception.IdRepoAppException;
 import io.mosip.idrepository.core.exception.IdRepoAppUncheckedException;
+import io.mosip.idrepository.core.helper.SaltCache;
 import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
 import io.mosip.idrepository.core.spi.IdRepoService;
+import io.mosip.idrepository.core.spi.ReplicaDataSourceResolver;
 import io.mosip.idrepository.identity.entity.Uin;
 import io.mosip.idrepository.identity.entity.UinBiometric;
 import io.mosip.idrepository.identity.entity.UinBiometricHistory;
 import io.mosip.idrepository.identity.entity.UinDocument;
 import io.mosip.idrepository.identity.entity.UinDocumentHistory;
 import io.mosip.idrepository.identity.entity.UinHistory;
+import io.mosip.idrepository.identity.helper.DocumentSpooler;
+import io.mosip.idrepository.identity.helper.IdentityCache;
+import io.mosip.idrepository.identity.helper.IdentityMerger;
 import io.mosip.idrepository.identity.helper.ObjectStoreHelper;
+import io.mosip.idrepository.identity.helper.UinStatusPublisher;
 import io.mosip.idrepository.identity.repository.UinBiometricHistoryRepo;
 import io.mosip.idrepository.identity.repository.UinDocumentHistoryRepo;
-import io.mosip.idrepository.identity.repository.UinEncryptSaltRepo;
-import io.mosip.idrepository.identity.repository.UinHashSaltRepo;
 import io.mosip.idrepository.identity.repository.UinHistoryRepo;
 import io.mosip.idrepository.identity.repository.UinRepo;
 import io.mosip.kernel.core.cbeffutil.spi.CbeffUtil;
@@ -86,15 +90,6 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 	/** The Constant UPDATE_IDENTITY. */
 	private static final String UPDATE_IDENTITY = "updateIdentity";
 
-	/** The Constant ROOT. */
-	private static final String ROOT = "$";
-
-	/** The Constant OPEN_SQUARE_BRACE. */
-	private static final String OPEN_SQUARE_BRACE = "[";
-
-	/** The Constant LANGUAGE. */
-	private static final String LANGUAGE = "language";
-
 	/** The Constant ADD_IDENTITY. */
 	private static final String ADD_IDENTITY = "addIdentity";
 
@@ -149,16 +144,28 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 	@Resource
 	private List<String> bioAttributes;
 
-	/** The uin hash salt repo. */
+	/** The uin hash salt cache. */
+	@Resource
+	private SaltCache uinHashSaltCache;
+
+	/** The uin encrypt salt cache. */
+	@Resource
+	private SaltCache uinEncryptSaltCache;
+
 	@Autowired
-	private UinHashSaltRepo uinHashSaltRepo;
+	private ObjectStoreHelper objectStoreHelper;
 
-	/** The uin encrypt salt repo. */
+	/** The identity cache. */
 	@Autowired
-	private UinEncryptSaltRepo uinEncryptSaltRepo;
+	private IdentityCache identityCache;
 
+	/** The uin status publisher. */
 	@Autowired
-	private ObjectStoreHelper objectStoreHelper;
+	private UinStatusPublisher uinStatusPublisher;
+
+	/** The object store executor. */
+	@Resource
+	private Executor objectStoreExecutor;
 
 	/**
 	 * Adds the identity to DB.
@@ -175,10 +182,9 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 		byte[] identityInfo = convertToBytes(request.getRequest().getIdentity());
 		Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
 		int modResult = (int) (Long.parseLong(uin) % moduloValue);
-		String hashSalt = uinHashSaltRepo.retrieveSaltById(modResult);
-		String uinHashwithSalt = securityManager.hashwithSalt(uin.getBytes(), hashSalt.getBytes());
+		String uinHashwithSalt = securityManager.hashwithSalt(uin.getBytes(), uinHashSaltCache.getSaltBytes(modResult));
 		String uinHash = modResult + SPLITTER + uinHashwithSalt;
-		String encryptSalt = uinEncryptSaltRepo.retrieveSaltById(modResult);
+		String encryptSalt = uinEncryptSaltCache.getSalt(modResult);
 		String uinToEncrypt = modResult + SPLITTER + uin + SPLITTER + encryptSalt;
 
 		List<UinDocument> docList = new ArrayList<>();
@@ -211,11 +217,17 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 				request.getRequest().getBiometricReferenceId(), env.getProperty(ACTIVE_STATUS),
 				env.getProperty(MOSIP_PRIMARY_LANGUAGE), IdRepoSecurityManager.getUser(),
 				DateUtils.getUTCCurrentDateTime(), null, null, false, null));
+		ReplicaDataSourceResolver.recordWrite(uinHash);
+		uinStatusPublisher.publish(uin, uinEntity.getStatusCode(), uinEntity.getCreatedDateTime());
 		return uinEntity;
 	}
 
 	/**
-	 * Stores the documents to FileSystem.
+	 * Stores the documents to FileSystem. The documents are decoded, hashed,
+	 * encrypted and uploaded in parallel on the object store executor, and their
+	 * records are then added in the order of the documents on the calling thread,
+	 * which holds the transaction. The uploaded objects are deleted if the
+	 * transaction rolls back.
 	 *
 	 * @param uinHash      the uin hash
 	 * @param identityInfo the identity info
@@ -228,86 +240,191 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 	private void addDocuments(String uinHash, byte[] identityInfo, List<DocumentsDTO> documents, String uinRefId,
 			List<UinDocument> docList, List<UinBiometric> bioList) throws IdRepoAppException {
 		ObjectNode identityObject = (ObjectNode) convertToObject(identityInfo, ObjectNode.class);
-		documents.stream().filter(doc -> identityObject.has(doc.getCategory())).forEach(doc -> {
-			JsonNode docType = identityObject.get(doc.getCategory());
-			try {
-				if (bioAttributes.contains(doc.getCategory())) {
-					addBiometricDocuments(uinHash, uinRefId, bioList, doc, docType);
-				} else {
-					addDemographicDocuments(uinHash, uinRefId, docList, doc, docType);
-				}
-			} catch (IdRepoAppException e) {
-				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, ADD_IDENTITY, e.getMessage());
-				throw new IdRepoAppUncheckedException(e.getErrorCode(), e.getErrorText(), e);
-			} catch (FSAdapterException e) {
-				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, ADD_IDENTITY, e.getMessage());
-				throw new IdRepoAppUncheckedException(FILE_STORAGE_ACCESS_ERROR, e);
+		Queue<Runnable> uploadedObjectDeletions = deleteOnRollback();
+		List<Supplier<Runnable>> uploads = documents.stream().filter(doc -> identityObject.has(doc.getCategory()))
+				.map(doc -> (Supplier<Runnable>) () -> {
+					JsonNode docType = identityObject.get(doc.getCategory());
+					try {
+						if (bioAttributes.contains(doc.getCategory())) {
+							return addBiometricDocuments(uinHash, uinRefId, bioList, doc, docType,
+									uploadedObjectDeletions);
+						} else {
+							return addDemographicDocuments(uinHash, uinRefId, docList, doc, docType,
+									uploadedObjectDeletions);
+						}
+					} catch (IdRepoAppException e) {
+						mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, ADD_IDENTITY,
+								e.getMessage());
+						throw new IdRepoAppUncheckedException(e.getErrorCode(), e.getErrorText(), e);
+					} catch (FSAdapterException e) {
+						mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, ADD_IDENTITY,
+								e.getMessage());
+						throw new IdRepoAppUncheckedException(FILE_STORAGE_ACCESS_ERROR, e);
+					}
+				}).collect(Collectors.toList());
+		uploadDocuments(uploads).forEach(Runnable::run);
+	}
+
+	/**
+	 * Runs the uploads in parallel on the object store executor and waits for all
+	 * of them to complete, so that no upload is still running once this method
+	 * returns or throws. A single upload is run on the calling thread.
+	 *
+	 * @param uploads the uploads
+	 * @return the results of the uploads, in order
+	 */
+	private List<Runnable> uploadDocuments(List<Supplier<Runnable>> uploads) {
+		if (uploads.size() == 1) {
+			return Collections.singletonList(uploads.get(0).get());
+		}
+		List<CompletableFuture<Runnable>> futures = uploads.stream()
+				.map(upload -> CompletableFuture.supplyAsync(upload, objectStoreExecutor)).collect(Collectors.toList());
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
 			}
-		});
+			throw e;
+		}
+		return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+	}
+
+	/**
+	 * Registers the deletion of the objects uploaded in the current transaction,
+	 * if it rolls back.
+	 *
+	 * @return the queue to which the deletion of each uploaded object is added
+	 */
+	private Queue<Runnable> deleteOnRollback() {
+		Queue<Runnable> uploadedObjectDeletions = new ConcurrentLinkedQueue<>();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+						uploadedObjectDeletions.forEach(IdRepoServiceImpl.this::deleteUploadedObject);
+					}
+				}
+			});
+		}
+		return uploadedObjectDeletions;
+	}
+
+	/**
+	 * Deletes an object uploaded in a transaction that rolled back. A failure is
+	 * logged, so that the other objects are still deleted.
+	 *
+	 * @param deletion the deletion
+	 */
+	private void deleteUploadedObject(Runnable deletion) {
+		try {
+			deletion.run();
+		} catch (RuntimeException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, "deleteUploadedObject",
+					"\n" + ExceptionUtils.getStackTrace(e));
+		}
 	}
 
 	/**
 	 * Stores the biometric documents to FileSystem.
 	 *
-	 * @param uinHash  the uin hash
-	 * @param uinRefId the uin ref id
-	 * @param bioList  the bio list
-	 * @param doc      the doc
-	 * @param docType  the doc type
+	 * @param uinHash                 the uin hash
+	 * @param uinRefId                the uin ref id
+	 * @param bioList                 the bio list
+	 * @param doc                     the doc
+	 * @param docType                 the doc type
+	 * @param uploadedObjectDeletions the uploaded object deletions
+	 * @return the addition of the biometric records, to run on the transaction
+	 *         thread
 	 * @throws IdRepoAppException the id repo app exception
 	 */
-	private void addBiometricDocuments(String uinHash, String uinRefId, List<UinBiometric> bioList, DocumentsDTO doc,
-			JsonNode docType) throws IdRepoAppException {
-		byte[] data = null;
+	private Runnable addBiometricDocuments(String uinHash, String uinRefId, List<UinBiometric> bioList,
+			DocumentsDTO doc, JsonNode docType, Queue<Runnable> uploadedObjectDeletions) throws IdRepoAppException {
 		String fileRefId = UUIDUtils
 				.getUUID(UUIDUtils.NAMESPACE_OID,
 						docType.get(FILE_NAME_ATTRIBUTE).asText() + SPLITTER + DateUtils.getUTCCurrentDateTime())
 				.toString() + DOT + docType.get(FILE_FORMAT_ATTRIBUTE).asText();
 
-		data = CryptoUtil.decodeBase64(doc.getValue());
-
-		objectStoreHelper.putBiometricObject(uinHash, fileRefId, data);
+		MessageDigest docValueDigest = securityManager.getHashDigest();
+		MessageDigest dataDigest = securityManager.getHashDigest();
+		try (InputStream data = decode(new DigestInputStream(DocumentSpooler.openValue(doc), docValueDigest),
+				dataDigest)) {
+			objectStoreHelper.putBiometricObject(uinHash, fileRefId, data);
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, ADD_IDENTITY, e.getMessage());
+			throw new IdRepoAppException(FILE_STORAGE_ACCESS_ERROR, e);
+		}
+		String dataHash = securityManager.hash(dataDigest);
+		String docValueHash = securityManager.hash(docValueDigest);
+		uploadedObjectDeletions.add(() -> objectStoreHelper.deleteBiometricObject(uinHash, fileRefId));
 
-		bioList.add(new UinBiometric(uinRefId, fileRefId, doc.getCategory(), docType.get(FILE_NAME_ATTRIBUTE).asText(),
-				securityManager.hash(data), env.getProperty(MOSIP_PRIMARY_LANGUAGE), IdRepoSecurityManager.getUser(),
-				DateUtils.getUTCCurrentDateTime(), null, null, false, null));
+		return () -> {
+			bioList.add(new UinBiometric(uinRefId, fileRefId, doc.getCategory(),
+					docType.get(FILE_NAME_ATTRIBUTE).asText(), dataHash, env.getProperty(MOSIP_PRIMARY_LANGUAGE),
+					IdRepoSecurityManager.getUser(), DateUtils.getUTCCurrentDateTime(), null, null, false, null));
 
-		uinBioHRepo.save(new UinBiometricHistory(uinRefId, DateUtils.getUTCCurrentDateTime(), fileRefId,
-				doc.getCategory(), docType.get(FILE_NAME_ATTRIBUTE).asText(),
-				securityManager.hash(doc.getValue().getBytes()), env.getProperty(MOSIP_PRIMARY_LANGUAGE),
-				IdRepoSecurityManager.getUser(), DateUtils.getUTCCurrentDateTime(), null, null, false, null));
+			uinBioHRepo.save(new UinBiometricHistory(uinRefId, DateUtils.getUTCCurrentDateTime(), fileRefId,
+					doc.getCategory(), docType.get(FILE_NAME_ATTRIBUTE).asText(), docValueHash,
+					env.getProperty(MOSIP_PRIMARY_LANGUAGE), IdRepoSecurityManager.getUser(),
+					DateUtils.getUTCCurrentDateTime(), null, null, false, null));
+		};
 	}
 
 	/**
 	 * Stores the demographic documents to FileSystem.
 	 *
-	 * @param uinHash  the uin hash
-	 * @param uinRefId the uin ref id
-	 * @param docList  the doc list
-	 * @param doc      the doc
-	 * @param docType  the doc type
+	 * @param uinHash                 the uin hash
+	 * @param uinRefId                the uin ref id
+	 * @param docList                 the doc list
+	 * @param doc                     the doc
+	 * @param docType                 the doc type
+	 * @param uploadedObjectDeletions the uploaded object deletions
+	 * @return the addition of the document records, to run on the transaction
+	 *         thread
 	 * @throws IdRepoAppException the id repo app exception
 	 */
-	private void addDemographicDocuments(String uinHash, String uinRefId, List<UinDocument> docList, DocumentsDTO doc,
-			JsonNode docType) throws IdRepoAppException {
+	private Runnable addDemographicDocuments(String uinHash, String uinRefId, List<UinDocument> docList,
+			DocumentsDTO doc, JsonNode docType, Queue<Runnable> uploadedObjectDeletions) throws IdRepoAppException {
 		String fileRefId = UUIDUtils
 				.getUUID(UUIDUtils.NAMESPACE_OID,
 						docType.get(FILE_NAME_ATTRIBUTE).asText() + SPLITTER + DateUtils.getUTCCurrentDateTime())
 				.toString() + DOT + docType.get(FILE_FORMAT_ATTRIBUTE).asText();
 
-		byte[] data = CryptoUtil.decodeBase64(doc.getValue());
-		objectStoreHelper.putDemographicObject(uinHash, fileRefId, data);
+		MessageDigest dataDigest = securityManager.getHashDigest();
+		try (InputStream data = decode(DocumentSpooler.openValue(doc), dataDigest)) {
+			objectStoreHelper.putDemographicObject(uinHash, fileRefId, data);
+		} catch (IOException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, ADD_IDENTITY, e.getMessage());
+			throw new IdRepoAppException(FILE_STORAGE_ACCESS_ERROR, e);
+		}
+		String dataHash = securityManager.hash(dataDigest);
+		uploadedObjectDeletions.add(() -> objectStoreHelper.deleteDemographicObject(uinHash, fileRefId));
 
-		docList.add(new UinDocument(uinRefId, doc.getCategory(), docType.get(TYPE).asText(), fileRefId,
-				docType.get(FILE_NAME_ATTRIBUTE).asText(), docType.get(FILE_FORMAT_ATTRIBUTE).asText(),
-				securityManager.hash(data), env.getProperty(MOSIP_PRIMARY_LANGUAGE), IdRepoSecurityManager.getUser(),
-				DateUtils.getUTCCurrentDateTime(), null, null, false, null));
+		return () -> {
+			docList.add(new UinDocument(uinRefId, doc.getCategory(), docType.get(TYPE).asText(), fileRefId,
+					docType.get(FILE_NAME_ATTRIBUTE).asText(), docType.get(FILE_FORMAT_ATTRIBUTE).asText(), dataHash,
+					env.getProperty(MOSIP_PRIMARY_LANGUAGE), IdRepoSecurityManager.getUser(),
+					DateUtils.getUTCCurrentDateTime(), null, null, false, null));
 
-		uinDocHRepo.save(new UinDocumentHistory(uinRefId, DateUtils.getUTCCurrentDateTime(), doc.getCategory(),
-				docType.get(TYPE).asText(), fileRefId, docType.get(FILE_NAME_ATTRIBUTE).asText(),
-				docType.get(FILE_FORMAT_ATTRIBUTE).asText(), securityManager.hash(data),
-				env.getProperty(MOSIP_PRIMARY_LANGUAGE), IdRepoSecurityManager.getUser(),
-				DateUtils.getUTCCurrentDateTime(), null, null, false, null));
+			uinDocHRepo.save(new UinDocumentHistory(uinRefId, DateUtils.getUTCCurrentDateTime(), doc.getCategory(),
+					docType.get(TYPE).asText(), fileRefId, docType.get(FILE_NAME_ATTRIBUTE).asText(),
+					docType.get(FILE_FORMAT_ATTRIBUTE).asText(), dataHash, env.getProperty(MOSIP_PRIMARY_LANGUAGE),
+					IdRepoSecurityManager.getUser(), DateUtils.getUTCCurrentDateTime(), null, null, false, null));
+		};
+	}
+
+	/**
+	 * Decodes the base64 stream, in both the url safe and the standard alphabet
+	 * like {@link CryptoUtil#decodeBase64(String)}, and hashes the decoded data as
+	 * it is read.
+	 *
+	 * @param value      the base64 stream
+	 * @param dataDigest the digest of the decoded data
+	 * @return the input stream
+	 */
+	private InputStream decode(InputStream value, MessageDigest dataDigest) {
+		return new DigestInputStream(new Base64InputStream(value), dataDigest);
 	}
 
 	/*
@@ -317,8 +434,10 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 	 * String, io.mosip.idrepository.core.constant.IdType, java.lang.String)
 	 */
 	@Override
+	@Transactional(readOnly = true, rollbackFor = { IdRepoAppException.class, IdRepoAppUncheckedException.class })
 	public Uin retrieveIdentity(String id, IdType idType, String type, Map<String, String> extractionFormats)
 			throws IdRepoAppException {
+		ReplicaDataSourceResolver.setReadKey(id);
 		return uinRepo.findByUinHash(id);
 	}
 
@@ -332,30 +451,23 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 	public Uin updateIdentity(IdRequestDTO request, String uin) throws IdRepoAppException {
 		Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
 		int modResult = (int) (Long.parseLong(uin) % moduloValue);
-		String hashSalt = uinHashSaltRepo.retrieveSaltById(modResult);
-		String uinHashwithSalt = securityManager.hashwithSalt(uin.getBytes(), hashSalt.getBytes());
+		String uinHashwithSalt = securityManager.hashwithSalt(uin.getBytes(), uinHashSaltCache.getSaltBytes(modResult));
 		String uinHash = modResult + SPLITTER + uinHashwithSalt;
 		try {
 			Uin uinObject = retrieveIdentity(uinHash, IdType.UIN, null, null);
 			uinObject.setRegId(request.getRequest().getRegistrationId());
-			if (Objects.nonNull(request.getRequest().getStatus())
-					&& !StringUtils.equals(uinObject.getStatusCode(), request.getRequest().getStatus())) {
+			boolean statusChanged = Objects.nonNull(request.getRequest().getStatus())
+					&& !StringUtils.equals(uinObject.getStatusCode(), request.getRequest().getStatus());
+			if (statusChanged) {
 				uinObject.setStatusCode(request.getRequest().getStatus());
 				uinObject.setUpdatedBy(IdRepoSecurityManager.getUser());
 				uinObject.setUpdatedDateTime(DateUtils.getUTCCurrentDateTime());
 			}
 			if (Objects.nonNull(request.getRequest()) && Objects.nonNull(request.getRequest().getIdentity())) {
 				RequestDTO requestDTO = request.getRequest();
-				Configuration configuration = Configuration.builder().jsonProvider(new JacksonJsonProvider())
-						.mappingProvider(new JacksonMappingProvider()).build();
-				DocumentContext inputData = JsonPath.using(configuration).parse(requestDTO.getIdentity());
-				DocumentContext dbData = JsonPath.using(configuration).parse(new String(uinObject.getUinData()));
-				JSONCompareResult comparisonResult = JSONCompare.compareJSON(inputData.jsonString(),
-						dbData.jsonString(), JSONCompareMode.LENIENT);
-
-				if (comparisonResult.failed()) {
-					updateIdentityObject(inputData, dbData, comparisonResult);
-					uinObject.setUinData(convertToBytes(convertToObject(dbData.jsonString().getBytes(), Map.class)));
+				ObjectNode dbData = (ObjectNode) convertToObject(uinObject.getUinData(), ObjectNode.class);
+				if (IdentityMerger.merge(dbData, convertToObjectNode(requestDTO.getIdentity()))) {
+					uinObject.setUinData(convertToBytes(dbData));
 					uinObject.setUinDataHash(securityManager.hash(uinObject.getUinData()));
 					uinObject.setUpdatedBy(IdRepoSecurityManager.getUser());
 					uinObject.setUpdatedDateTime(DateUtils.getUTCCurrentDateTime());
@@ -376,11 +488,13 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 					env.getProperty(MOSIP_PRIMARY_LANGUAGE), IdRepoSecurityManager.getUser(),
 					DateUtils.getUTCCurrentDateTime(), IdRepoSecurityManager.getUser(),
 					DateUtils.getUTCCurrentDateTime(), false, null));
+			ReplicaDataSourceResolver.recordWrite(uinHash);
+			identityCache.invalidate(uinHash);
+			if (statusChanged) {
+				uinStatusPublisher.publish(uin, uinObject.getStatusCode(), uinObject.getUpdatedDateTime());
+			}
 
 			return uinObject;
-		} catch (JSONException | InvalidJsonException e) {
-			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, UPDATE_IDENTITY, e.getMessage());
-			throw new IdRepoAppException(ID_OBJECT_PROCESSING_FAILED, e);
 		} catch (IdRepoAppUncheckedException e) {
 			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, UPDATE_IDENTITY,
 					"\n" + e.getErrorText());
@@ -388,151 +502,6 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 		}
 	}
 
-	/**
-	 * Update identity.
-	 *
-	 * @param inputData        the input data
-	 * @param dbData           the db data
-	 * @param comparisonResult the comparison result
-	 * @throws JSONException      the JSON exception
-	 * @throws IdRepoAppException the id repo app exception
-	 */
-	private void updateIdentityObject(DocumentContext inputData, DocumentContext dbData,
-			JSONCompareResult comparisonResult) throws JSONException, IdRepoAppException {
-		if (comparisonResult.isMissingOnField()) {
-			updateMissingFields(dbData, comparisonResult);
-		}
-
-		comparisonResult = JSONCompare.compareJSON(inputData.jsonString(), dbData.jsonString(),
-				JSONCompareMode.LENIENT);
-		if (comparisonResult.isFailureOnField()) {
-			updateFailingFields(inputData, dbData, comparisonResult);
-		}
-
-		comparisonResult = JSONCompare.compareJSON(inputData.jsonString(), dbData.jsonString(),
-				JSONCompareMode.LENIENT);
-		if (!comparisonResult.getMessage().isEmpty()) {
-			updateMissingValues(inputData, dbData, comparisonResult);
-		}
-
-		comparisonResult = JSONCompare.compareJSON(inputData.jsonString(), dbData.jsonString(),
-				JSONCompareMode.LENIENT);
-		if (comparisonResult.failed()) {
-			updateIdentityObject(inputData, dbData, comparisonResult);
-		}
-	}
-
-	/**
-	 * Update missing fields.
-	 *
-	 * @param dbData           the db data
-	 * @param comparisonResult the comparison result
-	 * @throws IdRepoAppException the id repo app exception
-	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private void updateMissingFields(DocumentContext dbData, JSONCompareResult comparisonResult)
-			throws IdRepoAppException {
-		for (FieldComparisonFailure failure : comparisonResult.getFieldMissing()) {
-			if (StringUtils.contains(failure.getField(), OPEN_SQUARE_BRACE)) {
-				String path = StringUtils.substringBefore(failure.getField(), OPEN_SQUARE_BRACE);
-				String key = StringUtils.substringAfterLast(path, DOT);
-				path = StringUtils.substringBeforeLast(path, DOT);
-
-				if (StringUtils.isEmpty(key)) {
-					key = path;
-					path = ROOT;
-				}
-
-				List value = dbData.read(path + DOT + key, List.class);
-				value.addAll((Collection) Collections
-						.singletonList(convertToObject(failure.getExpected().toString().getBytes(), Map.class)));
-
-				dbData.put(path, key, value);
-			} else {
-				String path = StringUtils.substringBeforeLast(failure.getField(), DOT);
-				if (StringUtils.isEmpty(path)) {
-					path = ROOT;
-				}
-				String key = StringUtils.substringAfterLast(failure.getField(), DOT);
-				dbData.put(path, (String) failure.getExpected(), key);
-			}
-
-		}
-	}
-
-	/**
-	 * Update failing fields.
-	 *
-	 * @param inputData        the input data
-	 * @param dbData           the db data
-	 * @param comparisonResult the comparison result
-	 * @throws IdRepoAppException the id repo app exception
-	 */
-	private void updateFailingFields(DocumentContext inputData, DocumentContext dbData,
-			JSONCompareResult comparisonResult) throws IdRepoAppException {
-		for (FieldComparisonFailure failure : comparisonResult.getFieldFailures()) {
-
-			String path = StringUtils.substringBeforeLast(failure.getField(), DOT);
-			if (StringUtils.contains(path, OPEN_SQUARE_BRACE)) {
-				path = StringUtils.replaceAll(path, "\\[", "\\[\\?\\(\\@\\.");
-				path = StringUtils.replaceAll(path, "=", "=='");
-				path = StringUtils.replaceAll(path, "\\]", "'\\)\\]");
-			}
-
-			String key = StringUtils.substringAfterLast(failure.getField(), DOT);
-			if (StringUtils.isEmpty(key)) {
-				key = failure.getField();
-				path = ROOT;
-			}
-
-			if (failure.getExpected() instanceof JSONArray) {
-				dbData.put(path, key, convertToObject(failure.getExpected().toString().getBytes(), List.class));
-				inputData.put(path, key, convertToObject(failure.getExpected().toString().getBytes(), List.class));
-			} else if (failure.getExpected() instanceof JSONObject) {
-				Object object = convertToObject(failure.getExpected().toString().getBytes(), ObjectNode.class);
-				dbData.put(path, key, object);
-				inputData.put(path, key, object);
-			} else {
-				dbData.put(path, key, failure.getExpected());
-				inputData.put(path, key, failure.getExpected());
-			}
-		}
-	}
-
-	/**
-	 * Update missing values.
-	 *
-	 * @param inputData        the input data
-	 * @param dbData           the db data
-	 * @param comparisonResult the comparison result
-	 */
-	@SuppressWarnings("unchecked")
-	private void updateMissingValues(DocumentContext inputData, DocumentContext dbData,
-			JSONCompareResult comparisonResult) {
-		String path = StringUtils.substringBefore(comparisonResult.getMessage(), OPEN_SQUARE_BRACE);
-		String key = StringUtils.substringAfterLast(path, DOT);
-		path = StringUtils.substringBeforeLast(path, DOT);
-
-		if (StringUtils.isEmpty(key)) {
-			key = path;
-			path = ROOT;
-		}
-
-		List<Map<String, String>> dbDataList = dbData.read(path + DOT + key, List.class);
-		List<Map<String, String>> inputDataList = inputData.read(path + DOT + key, List.class);
-		inputDataList.stream().filter(
-				map -> map.containsKey(LANGUAGE) && dbDataList.stream().filter(dbMap -> dbMap.containsKey(LANGUAGE))
-						.allMatch(dbMap -> !StringUtils.equalsIgnoreCase(dbMap.get(LANGUAGE), map.get(LANGUAGE))))
-				.forEach(dbDataList::add);
-		dbDataList
-				.stream().filter(
-						map -> map.containsKey(LANGUAGE)
-								&& inputDataList.stream().filter(inputDataMap -> inputDataMap.containsKey(LANGUAGE))
-										.allMatch(inputDataMap -> !StringUtils
-												.equalsIgnoreCase(inputDataMap.get(LANGUAGE), map.get(LANGUAGE))))
-				.forEach(inputDataList::add);
-	}
-
 	/**
 	 * Update documents.
 	 *
@@ -636,6 +605,27 @@ public class IdRepoServiceImpl implements IdRepoService<IdRequestDTO, Uin> {
 		}
 	}
 
+	/**
+	 * Convert the identity of a request to a tree.
+	 *
+	 * @param identity the identity
+	 * @return the object node
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	private ObjectNode convertToObjectNode(Object identity) throws IdRepoAppException {
+		try {
+			JsonNode identityNode = mapper.valueToTree(identity);
+			if (identityNode instanceof ObjectNode) {
+				return (ObjectNode) identityNode;
+			}
+			throw new IllegalArgumentException("identity is not an object");
+		} catch (IllegalArgumentException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_SERVICE_IMPL, "convertToObjectNode",
+					e.getMessage());
+			throw new IdRepoAppException(ID_OBJECT_PROCESSING_FAILED, e);
+		}
+	}
+
 	/**
 	 * Convert to bytes.
 	 *
@@ -0,0 +1,119 @@
+package io.mosip.idrepository.identity.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import io.mosip.idrepository.core.dto.DocumentsDTO;
+import io.mosip.idrepository.core.dto.RequestDTO;
+import io.mosip.idrepository.identity.helper.DocumentSpooler;
+
+public class DocumentSpoolerTest {
+
+	private static final String LARGE_VALUE = StringUtils.repeat("dGVzdA", 10);
+
+	private ObjectMapper mapper;
+
+	@Before
+	public void before() {
+		DocumentSpooler documentSpooler = new DocumentSpooler();
+		ReflectionTestUtils.setField(documentSpooler, "env", new MockEnvironment()
+				.withProperty("mosip.idrepo.identity.document.spool.enabled", "true")
+				.withProperty("mosip.idrepo.identity.document.spool.threshold-chars", "16"));
+		documentSpooler.init();
+		mapper = new ObjectMapper()
+				.registerModule(new SimpleModule().addDeserializer(DocumentsDTO.class, documentSpooler));
+	}
+
+	@After
+	public void after() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	private RequestDTO readRequest(String value) throws IOException {
+		return mapper.readValue("{\"identity\":{\"UIN\":\"1234\"},\"documents\":[{\"category\":\"individualBiometrics\","
+				+ "\"value\":\"" + value + "\",\"ignored\":{\"value\":\"x\"}}]}", RequestDTO.class);
+	}
+
+	private String readValue(DocumentsDTO document) throws IOException {
+		try (InputStream value = DocumentSpooler.openValue(document)) {
+			return new String(value.readAllBytes());
+		}
+	}
+
+	@Test
+	public void testSmallValueNotSpooled() throws IOException {
+		DocumentsDTO document = readRequest("dGVzdA").getDocuments().get(0);
+		assertEquals(DocumentsDTO.class, document.getClass());
+		assertEquals("individualBiometrics", document.getCategory());
+		assertEquals("dGVzdA", document.getValue());
+		assertEquals("dGVzdA", readValue(document));
+	}
+
+	@Test
+	public void testLargeValueSpooled() throws IOException {
+		DocumentsDTO document = readRequest(LARGE_VALUE).getDocuments().get(0);
+		assertNotEquals(DocumentsDTO.class, document.getClass());
+		assertEquals("individualBiometrics", document.getCategory());
+		assertTrue(DocumentSpooler.hasValue(document));
+		assertEquals(LARGE_VALUE, readValue(document));
+		assertEquals(LARGE_VALUE, document.getValue());
+	}
+
+	@Test
+	public void testSpoolDeletedOnRequestCompletion() throws IOException {
+		ServletRequestAttributes requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestContextHolder.setRequestAttributes(requestAttributes);
+		DocumentsDTO document = readRequest(LARGE_VALUE).getDocuments().get(0);
+		assertEquals(LARGE_VALUE, readValue(document));
+		requestAttributes.requestCompleted();
+		try {
+			readValue(document);
+		} catch (NoSuchFileException e) {
+			return;
+		}
+		throw new AssertionError("NoSuchFileException expected");
+	}
+
+	@Test
+	public void testWithoutDocumentValues() throws IOException {
+		RequestDTO request = readRequest(LARGE_VALUE);
+		request.getDocuments().add(new DocumentsDTO("proofOfAddress", ""));
+		RequestDTO requestCopy = DocumentSpooler.withoutDocumentValues(request);
+		assertEquals(request.getIdentity(), requestCopy.getIdentity());
+		assertEquals("individualBiometrics", requestCopy.getDocuments().get(0).getCategory());
+		assertEquals(1, requestCopy.getDocuments().get(0).getValue().length());
+		assertFalse(DocumentSpooler.hasValue(requestCopy.getDocuments().get(1)));
+		assertEquals(LARGE_VALUE, readValue(request.getDocuments().get(0)));
+	}
+
+	@Test
+	public void testDisabled() throws IOException {
+		DocumentSpooler documentSpooler = new DocumentSpooler();
+		ReflectionTestUtils.setField(documentSpooler, "env", new MockEnvironment());
+		documentSpooler.init();
+		mapper = new ObjectMapper()
+				.registerModule(new SimpleModule().addDeserializer(DocumentsDTO.class, documentSpooler));
+		DocumentsDTO document = readRequest(LARGE_VALUE).getDocuments().get(0);
+		assertEquals(DocumentsDTO.class, document.getClass());
+		assertEquals(LARGE_VALUE, document.getValue());
+	}
+}
@@ -0,0 +1,145 @@
+package io.mosip.idrepository.identity.test.helper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.identity.entity.Uin;
+import io.mosip.idrepository.identity.helper.IdentityCache;
+
+public class IdentityCacheTest {
+
+	private static final String UIN_HASH = "751_8D4A3F0C5E";
+
+	private static final byte[] IDENTITY = "{\"identity\":{\"fullName\":\"Manoj\"}}".getBytes();
+
+	private IdentityCache identityCache;
+
+	private AtomicInteger loadCount = new AtomicInteger();
+
+	@Before
+	public void before() throws GeneralSecurityException {
+		identityCache = createCache("60");
+	}
+
+	private IdentityCache createCache(String ttlSecs) throws GeneralSecurityException {
+		IdentityCache cache = new IdentityCache();
+		ReflectionTestUtils.setField(cache, "env", new MockEnvironment()
+				.withProperty("mosip.idrepo.identity.cache.enabled", "true")
+				.withProperty("mosip.idrepo.identity.cache.ttl-secs", ttlSecs));
+		cache.init();
+		return cache;
+	}
+
+	private Uin load() {
+		loadCount.incrementAndGet();
+		Uin uin = new Uin();
+		uin.setUinHash(UIN_HASH);
+		uin.setStatusCode("ACTIVATED");
+		uin.setUinData(IDENTITY.clone());
+		return uin;
+	}
+
+	@Test
+	public void testCacheHit() throws IdRepoAppException {
+		identityCache.get(UIN_HASH, this::load);
+		Uin uin = identityCache.get(UIN_HASH, this::load);
+		assertEquals(1, loadCount.get());
+		assertTrue(identityCache.isCached(UIN_HASH));
+		assertEquals("ACTIVATED", uin.getStatusCode());
+		assertArrayEquals(IDENTITY, uin.getUinData());
+	}
+
+	@Test
+	public void testNotFoundNotCached() throws IdRepoAppException {
+		assertNull(identityCache.get(UIN_HASH, () -> null));
+		assertFalse(identityCache.isCached(UIN_HASH));
+	}
+
+	@Test
+	public void testInvalidate() throws IdRepoAppException {
+		identityCache.get(UIN_HASH, this::load);
+		identityCache.invalidate(UIN_HASH);
+		assertFalse(identityCache.isCached(UIN_HASH));
+		identityCache.get(UIN_HASH, this::load);
+		assertEquals(2, loadCount.get());
+	}
+
+	@Test
+	public void testExpiry() throws IdRepoAppException, GeneralSecurityException {
+		IdentityCache expiringCache = createCache("0");
+		expiringCache.get(UIN_HASH, this::load);
+		expiringCache.get(UIN_HASH, this::load);
+		assertEquals(2, loadCount.get());
+	}
+
+	@Test
+	public void testDisabled() throws IdRepoAppException {
+		IdentityCache disabledCache = new IdentityCache();
+		disabledCache.get(UIN_HASH, this::load);
+		disabledCache.get(UIN_HASH, this::load);
+		assertEquals(2, loadCount.get());
+		assertFalse(disabledCache.isCached(UIN_HASH));
+	}
+
+	@Test
+	public void testConcurrentMissesLoadOnce() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Uin> first = CompletableFuture.supplyAsync(() -> {
+			try {
+				return identityCache.get(UIN_HASH, () -> {
+					loading.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return load();
+				});
+			} catch (IdRepoAppException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Uin> second = CompletableFuture.supplyAsync(() -> {
+			try {
+				return identityCache.get(UIN_HASH, this::load);
+			} catch (IdRepoAppException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		release.countDown();
+		assertArrayEquals(IDENTITY, first.get(5, TimeUnit.SECONDS).getUinData());
+		assertArrayEquals(IDENTITY, second.get(5, TimeUnit.SECONDS).getUinData());
+		assertEquals(1, loadCount.get());
+	}
+
+	@Test
+	public void testLoadFailureNotCached() {
+		try {
+			identityCache.get(UIN_HASH, () -> {
+				throw new IdRepoAppException("IDR-IDC-007", "No Record(s) found");
+			});
+		} catch (IdRepoAppException e) {
+			assertEquals("IDR-IDC-007", e.getErrorCode());
+			assertFalse(identityCache.isCached(UIN_HASH));
+			return;
+		}
+		throw new AssertionError("IdRepoAppException expected");
+	}
+}
@@ -0,0 +1,149 @@
+package io.mosip.idrepository.identity.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+import org.json.JSONException;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.mosip.idrepository.identity.helper.IdentityMerger;
+
+public class IdentityMergerTest {
+
+	private static final String IDENTITY = json("{'IDSchemaVersion':1.0,'UIN':'2396584751',"
+			+ "'fullName':[{'language':'eng','value':'Ali Khalil'},{'language':'ara','value':'Ali Khalil ara'},"
+			+ "{'language':'fra','value':'Ali Khalil'}],'phone':'9123456780',"
+			+ "'proofOfAddress':{'format':'pdf','type':'DOC004','value':'proofOfAddress'}}");
+
+	private ObjectMapper mapper = new ObjectMapper();
+
+	private static String json(String json) {
+		return json.replace('\'', '"');
+	}
+
+	private ObjectNode merge(String update) throws IOException {
+		ObjectNode identity = (ObjectNode) mapper.readTree(IDENTITY);
+		boolean changed = IdentityMerger.merge(identity, mapper.valueToTree(mapper.readValue(update, Map.class)));
+		assertEquals(!mapper.readTree(IDENTITY).equals(identity), changed);
+		return identity;
+	}
+
+	/**
+	 * Asserts that the merge gives the expected identity, and the same identity
+	 * as the merge it replaces.
+	 */
+	private void assertMerge(String update, String expected) throws IOException, JSONException {
+		update = json(update);
+		byte[] legacyIdentity = new LegacyIdentityMerge(mapper).merge(IDENTITY, mapper.readValue(update, Map.class));
+		JsonNode legacyMerged = mapper.readTree(Objects.isNull(legacyIdentity) ? IDENTITY.getBytes() : legacyIdentity);
+		JsonNode merged = merge(update);
+		assertEquals(legacyMerged, merged);
+		assertEquals(mapper.readTree(json(expected)), merged);
+	}
+
+	@Test
+	public void testNoChange() throws IOException, JSONException {
+		assertMerge(IDENTITY, IDENTITY);
+	}
+
+	@Test
+	public void testFieldUpdated() throws IOException, JSONException {
+		assertMerge("{'phone':'9000000000'}", IDENTITY.replace("9123456780", "9000000000"));
+	}
+
+	@Test
+	public void testFieldsAdded() throws IOException, JSONException {
+		assertMerge("{'email':'ali@mosip.io','dateOfBirth':'1990/01/01'}", IDENTITY.substring(0, IDENTITY.length() - 1)
+				+ json(",'email':'ali@mosip.io','dateOfBirth':'1990/01/01'}"));
+	}
+
+	@Test
+	public void testLanguageValueUpdated() throws IOException, JSONException {
+		assertMerge(
+				"{'fullName':[{'language':'eng','value':'Ali K'},{'language':'ara','value':'Ali Khalil ara'},"
+						+ "{'language':'fra','value':'Ali Khalil'}]}",
+				IDENTITY.replaceFirst("Ali Khalil", "Ali K"));
+	}
+
+	@Test
+	public void testLanguageValueUpdatedWithoutOtherLanguages() throws IOException, JSONException {
+		assertMerge("{'fullName':[{'language':'eng','value':'Ali K'}]}", IDENTITY.replaceFirst("Ali Khalil", "Ali K"));
+	}
+
+	@Test
+	public void testLanguageAdded() throws IOException, JSONException {
+		assertMerge(
+				"{'fullName':[{'language':'eng','value':'Ali Khalil'},{'language':'ara','value':'Ali Khalil ara'},"
+						+ "{'language':'fra','value':'Ali Khalil'},{'language':'spa','value':'Ali Jalil'}]}",
+				IDENTITY.replace(json("'fra','value':'Ali Khalil'}]"),
+						json("'fra','value':'Ali Khalil'},{'language':'spa','value':'Ali Jalil'}]")));
+	}
+
+	@Test
+	public void testLanguageAddedWithoutOtherLanguages() throws IOException, JSONException {
+		assertMerge("{'fullName':[{'language':'spa','value':'Ali Jalil'}]}",
+				IDENTITY.replace(json("'fra','value':'Ali Khalil'}]"),
+						json("'fra','value':'Ali Khalil'},{'language':'spa','value':'Ali Jalil'}]")));
+	}
+
+	@Test
+	public void testDocumentReferenceUpdated() throws IOException, JSONException {
+		assertMerge("{'proofOfAddress':{'format':'jpg','type':'DOC004','value':'proofOfAddress'}}",
+				IDENTITY.replace("pdf", "jpg"));
+	}
+
+	@Test
+	public void testDocumentReferenceAdded() throws IOException, JSONException {
+		assertMerge("{'proofOfIdentity':{'format':'pdf','type':'DOC003','value':'proofOfIdentity'}}",
+				IDENTITY.substring(0, IDENTITY.length() - 1)
+						+ json(",'proofOfIdentity':{'format':'pdf','type':'DOC003','value':'proofOfIdentity'}}"));
+	}
+
+	@Test
+	public void testCombinedUpdate() throws IOException, JSONException {
+		assertMerge(
+				"{'phone':'9000000000','fullName':[{'language':'eng','value':'Ali K'},{'language':'spa','value':'Ali Jalil'}],"
+						+ "'email':'ali@mosip.io','proofOfAddress':{'format':'jpg','type':'DOC004','value':'proofOfAddress'}}",
+				IDENTITY.replace("9123456780", "9000000000").replaceFirst("Ali Khalil", "Ali K").replace("pdf", "jpg")
+						.replace(json("'fra','value':'Ali Khalil'}]"),
+								json("'fra','value':'Ali Khalil'},{'language':'spa','value':'Ali Jalil'}]"))
+						.replaceFirst("\\}$", json(",'email':'ali@mosip.io'}")));
+	}
+
+	@Test
+	public void testLanguageMatchedIgnoringCase() throws IOException {
+		JsonNode merged = merge(json("{'fullName':[{'language':'ENG','value':'Ali K'}]}"));
+		assertEquals(3, merged.get("fullName").size());
+		assertEquals("Ali K", merged.get("fullName").get(0).get("value").asText());
+	}
+
+	@Test
+	public void testFieldAddedToLanguageValue() throws IOException {
+		JsonNode merged = merge(json("{'fullName':[{'language':'eng','value':'Ali Khalil','script':'latn'}]}"));
+		assertEquals("latn", merged.get("fullName").get(0).get("script").asText());
+		assertFalse(merged.get("fullName").get(1).has("script"));
+	}
+
+	@Test
+	public void testNumbersComparedByValue() throws IOException {
+		ObjectNode identity = (ObjectNode) mapper.readTree(IDENTITY);
+		assertFalse(IdentityMerger.merge(identity, (ObjectNode) mapper.readTree(json("{'IDSchemaVersion':1}"))));
+		assertTrue(IdentityMerger.merge(identity, (ObjectNode) mapper.readTree(json("{'IDSchemaVersion':1.1}"))));
+		assertEquals(1.1, identity.get("IDSchemaVersion").doubleValue(), 0);
+	}
+
+	@Test
+	public void testOtherArrayReplaced() throws IOException {
+		JsonNode merged = merge(json("{'phone':['9000000000','9111111111']}"));
+		assertEquals(2, merged.get("phone").size());
+	}
+}
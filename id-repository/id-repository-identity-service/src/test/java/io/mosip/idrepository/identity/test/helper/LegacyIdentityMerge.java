@@ -0,0 +1,182 @@
+package io.mosip.idrepository.identity.test.helper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.skyscreamer.jsonassert.FieldComparisonFailure;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+
+/**
+ * The merge of the identity of an update request into the stored identity as
+ * done by {@code IdRepoServiceImpl.updateIdentity} before
+ * {@code IdentityMerger}, comparing the identities with JSONAssert and updating
+ * them with JsonPath until they match. Kept as the reference of the merge
+ * semantics.
+ */
+final class LegacyIdentityMerge {
+
+	private static final String ROOT = "$";
+
+	private static final String OPEN_SQUARE_BRACE = "[";
+
+	private static final String LANGUAGE = "language";
+
+	private static final String DOT = ".";
+
+	private final ObjectMapper mapper;
+
+	LegacyIdentityMerge(ObjectMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Merges the requested identity into the stored identity.
+	 *
+	 * @param dbIdentity    the stored identity
+	 * @param inputIdentity the requested identity
+	 * @return the merged identity, or null if the stored identity is not changed
+	 * @throws JSONException the JSON exception
+	 * @throws IOException   Signals that an I/O exception has occurred.
+	 */
+	byte[] merge(String dbIdentity, Object inputIdentity) throws JSONException, IOException {
+		Configuration configuration = Configuration.builder().jsonProvider(new JacksonJsonProvider())
+				.mappingProvider(new JacksonMappingProvider()).build();
+		DocumentContext inputData = JsonPath.using(configuration).parse(inputIdentity);
+		DocumentContext dbData = JsonPath.using(configuration).parse(dbIdentity);
+		JSONCompareResult comparisonResult = JSONCompare.compareJSON(inputData.jsonString(), dbData.jsonString(),
+				JSONCompareMode.LENIENT);
+		if (comparisonResult.failed()) {
+			updateIdentityObject(inputData, dbData, comparisonResult);
+			return mapper.writeValueAsBytes(mapper.readValue(dbData.jsonString().getBytes(), Map.class));
+		}
+		return null;
+	}
+
+	private void updateIdentityObject(DocumentContext inputData, DocumentContext dbData,
+			JSONCompareResult comparisonResult) throws JSONException, IOException {
+		if (comparisonResult.isMissingOnField()) {
+			updateMissingFields(dbData, comparisonResult);
+		}
+
+		comparisonResult = JSONCompare.compareJSON(inputData.jsonString(), dbData.jsonString(),
+				JSONCompareMode.LENIENT);
+		if (comparisonResult.isFailureOnField()) {
+			updateFailingFields(inputData, dbData, comparisonResult);
+		}
+
+		comparisonResult = JSONCompare.compareJSON(inputData.jsonString(), dbData.jsonString(),
+				JSONCompareMode.LENIENT);
+		if (!comparisonResult.getMessage().isEmpty()) {
+			updateMissingValues(inputData, dbData, comparisonResult);
+		}
+
+		comparisonResult = JSONCompare.compareJSON(inputData.jsonString(), dbData.jsonString(),
+				JSONCompareMode.LENIENT);
+		if (comparisonResult.failed()) {
+			updateIdentityObject(inputData, dbData, comparisonResult);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void updateMissingFields(DocumentContext dbData, JSONCompareResult comparisonResult)
+			throws IOException {
+		for (FieldComparisonFailure failure : comparisonResult.getFieldMissing()) {
+			if (StringUtils.contains(failure.getField(), OPEN_SQUARE_BRACE)) {
+				String path = StringUtils.substringBefore(failure.getField(), OPEN_SQUARE_BRACE);
+				String key = StringUtils.substringAfterLast(path, DOT);
+				path = StringUtils.substringBeforeLast(path, DOT);
+
+				if (StringUtils.isEmpty(key)) {
+					key = path;
+					path = ROOT;
+				}
+
+				List value = dbData.read(path + DOT + key, List.class);
+				value.addAll((Collection) Collections
+						.singletonList(mapper.readValue(failure.getExpected().toString().getBytes(), Map.class)));
+
+				dbData.put(path, key, value);
+			} else {
+				String path = StringUtils.substringBeforeLast(failure.getField(), DOT);
+				if (StringUtils.isEmpty(path)) {
+					path = ROOT;
+				}
+				String key = StringUtils.substringAfterLast(failure.getField(), DOT);
+				dbData.put(path, (String) failure.getExpected(), key);
+			}
+		}
+	}
+
+	private void updateFailingFields(DocumentContext inputData, DocumentContext dbData,
+			JSONCompareResult comparisonResult) throws IOException {
+		for (FieldComparisonFailure failure : comparisonResult.getFieldFailures()) {
+			String path = StringUtils.substringBeforeLast(failure.getField(), DOT);
+			if (StringUtils.contains(path, OPEN_SQUARE_BRACE)) {
+				path = StringUtils.replaceAll(path, "\\[", "\\[\\?\\(\\@\\.");
+				path = StringUtils.replaceAll(path, "=", "=='");
+				path = StringUtils.replaceAll(path, "\\]", "'\\)\\]");
+			}
+
+			String key = StringUtils.substringAfterLast(failure.getField(), DOT);
+			if (StringUtils.isEmpty(key)) {
+				key = failure.getField();
+				path = ROOT;
+			}
+
+			if (failure.getExpected() instanceof JSONArray) {
+				dbData.put(path, key, mapper.readValue(failure.getExpected().toString().getBytes(), List.class));
+				inputData.put(path, key, mapper.readValue(failure.getExpected().toString().getBytes(), List.class));
+			} else if (failure.getExpected() instanceof JSONObject) {
+				Object object = mapper.readValue(failure.getExpected().toString().getBytes(), ObjectNode.class);
+				dbData.put(path, key, object);
+				inputData.put(path, key, object);
+			} else {
+				dbData.put(path, key, failure.getExpected());
+				inputData.put(path, key, failure.getExpected());
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void updateMissingValues(DocumentContext inputData, DocumentContext dbData,
+			JSONCompareResult comparisonResult) {
+		String path = StringUtils.substringBefore(comparisonResult.getMessage(), OPEN_SQUARE_BRACE);
+		String key = StringUtils.substringAfterLast(path, DOT);
+		path = StringUtils.substringBeforeLast(path, DOT);
+
+		if (StringUtils.isEmpty(key)) {
+			key = path;
+			path = ROOT;
+		}
+
+		List<Map<String, String>> dbDataList = dbData.read(path + DOT + key, List.class);
+		List<Map<String, String>> inputDataList = inputData.read(path + DOT + key, List.class);
+		inputDataList.stream().filter(
+				map -> map.containsKey(LANGUAGE) && dbDataList.stream().filter(dbMap -> dbMap.containsKey(LANGUAGE))
+						.allMatch(dbMap -> !StringUtils.equalsIgnoreCase(dbMap.get(LANGUAGE), map.get(LANGUAGE))))
+				.forEach(dbDataList::add);
+		dbDataList.stream()
+				.filter(map -> map.containsKey(LANGUAGE)
+						&& inputDataList.stream().filter(inputDataMap -> inputDataMap.containsKey(LANGUAGE))
+								.allMatch(inputDataMap -> !StringUtils.equalsIgnoreCase(inputDataMap.get(LANGUAGE),
+										map.get(LANGUAGE))))
+				.forEach(inputDataList::add);
+	}
+}
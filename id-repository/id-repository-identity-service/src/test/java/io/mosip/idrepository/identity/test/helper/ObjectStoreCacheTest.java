@@ -0,0 +1,107 @@
+package io.mosip.idrepository.identity.test.helper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.idrepository.identity.helper.ObjectStoreCache;
+
+public class ObjectStoreCacheTest {
+
+	private static final String BIO_OBJECT = "8D4A3F0C5E/Biometrics/3e8b1f9a";
+
+	private static final String DEMO_OBJECT = "8D4A3F0C5E/Demographics/7c2d5e1b";
+
+	private ObjectStoreCache objectStoreCache;
+
+	@Before
+	public void before() {
+		objectStoreCache = new ObjectStoreCache();
+		ReflectionTestUtils.setField(objectStoreCache, "env", new MockEnvironment()
+				.withProperty("mosip.idrepo.objectstore.cache.enabled", "true")
+				.withProperty("mosip.idrepo.objectstore.cache.capacity-bytes", "64")
+				.withProperty("mosip.idrepo.objectstore.cache.block-size-bytes", "16")
+				.withProperty("mosip.idrepo.objectstore.cache.max-object-size-bytes", "48"));
+		objectStoreCache.init();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBlockSizeLargerThanArena() {
+		ReflectionTestUtils.setField(objectStoreCache, "env", new MockEnvironment()
+				.withProperty("mosip.idrepo.objectstore.cache.enabled", "true")
+				.withProperty("mosip.idrepo.objectstore.cache.block-size-bytes", String.valueOf((1 << 30) + 1)));
+		objectStoreCache.init();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBlockSizeNotPositive() {
+		ReflectionTestUtils.setField(objectStoreCache, "env", new MockEnvironment()
+				.withProperty("mosip.idrepo.objectstore.cache.enabled", "true")
+				.withProperty("mosip.idrepo.objectstore.cache.block-size-bytes", "0"));
+		objectStoreCache.init();
+	}
+
+	private byte[] data(int length, int seed) {
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = (byte) (seed + i);
+		}
+		return data;
+	}
+
+	@Test
+	public void testPutAndGetAcrossBlocks() {
+		byte[] data = data(40, 1);
+		objectStoreCache.put(BIO_OBJECT, data);
+		assertTrue(objectStoreCache.contains(BIO_OBJECT));
+		assertArrayEquals(data, objectStoreCache.get(BIO_OBJECT).get());
+	}
+
+	@Test
+	public void testOverwriteReplacesObject() {
+		objectStoreCache.put(BIO_OBJECT, data(40, 1));
+		byte[] data = data(20, 7);
+		objectStoreCache.put(BIO_OBJECT, data);
+		assertArrayEquals(data, objectStoreCache.get(BIO_OBJECT).get());
+	}
+
+	@Test
+	public void testEvict() {
+		objectStoreCache.put(BIO_OBJECT, data(40, 1));
+		objectStoreCache.evict(BIO_OBJECT);
+		assertFalse(objectStoreCache.contains(BIO_OBJECT));
+		assertFalse(objectStoreCache.get(BIO_OBJECT).isPresent());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvictedWhenFull() {
+		byte[] bioData = data(32, 1);
+		objectStoreCache.put(BIO_OBJECT, bioData);
+		objectStoreCache.put(DEMO_OBJECT, data(32, 3));
+		objectStoreCache.get(BIO_OBJECT);
+		byte[] data = data(30, 5);
+		objectStoreCache.put("8D4A3F0C5E/Biometrics/9f6a2c4d", data);
+		assertFalse(objectStoreCache.contains(DEMO_OBJECT));
+		assertArrayEquals(bioData, objectStoreCache.get(BIO_OBJECT).get());
+		assertArrayEquals(data, objectStoreCache.get("8D4A3F0C5E/Biometrics/9f6a2c4d").get());
+	}
+
+	@Test
+	public void testLargeObjectNotCached() {
+		objectStoreCache.put(BIO_OBJECT, data(49, 1));
+		assertFalse(objectStoreCache.contains(BIO_OBJECT));
+	}
+
+	@Test
+	public void testDisabled() {
+		ObjectStoreCache disabledCache = new ObjectStoreCache();
+		disabledCache.put(BIO_OBJECT, data(16, 1));
+		assertFalse(disabledCache.contains(BIO_OBJECT));
+		assertFalse(disabledCache.get(BIO_OBJECT).isPresent());
+	}
+}
@@ -0,0 +1,56 @@
+package io.mosip.idrepository.identity.test.helper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.idrepository.core.dto.DocumentsDTO;
+import io.mosip.idrepository.core.dto.ResponseDTO;
+import io.mosip.idrepository.identity.helper.ResponseSplicer;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+public class ResponseSplicerTest {
+
+	private static final String IDENTITY = "{\"identity\":{\"fullName\":[{\"language\":\"ara\",\"value\":\"\u0645\u0627\u0646\u0648\u062c\"}],\"UIN\":\"1234\"}}";
+
+	private ObjectMapper mapper = new ObjectMapper();
+
+	private byte[] data(int length) {
+		byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		return data;
+	}
+
+	@Test
+	public void testResponseSameAsConverted() throws IOException {
+		byte[] data = data(100000);
+		ResponseDTO splicedResponse = new ResponseDTO();
+		splicedResponse.setIdentity(ResponseSplicer.identity(IDENTITY.getBytes(StandardCharsets.UTF_8)));
+		splicedResponse.setDocuments(Collections.singletonList(ResponseSplicer.document("individualBiometrics", data)));
+		ResponseDTO response = new ResponseDTO();
+		response.setIdentity(mapper.readValue(IDENTITY.getBytes(StandardCharsets.UTF_8), Object.class));
+		response.setDocuments(Collections
+				.singletonList(new DocumentsDTO("individualBiometrics", CryptoUtil.encodeBase64(data))));
+		assertArrayEquals(mapper.writeValueAsBytes(response), mapper.writeValueAsBytes(splicedResponse));
+		assertEquals(mapper.writeValueAsString(response), mapper.writeValueAsString(splicedResponse));
+	}
+
+	@Test
+	public void testDocumentValue() throws IOException {
+		byte[] data = data(1000);
+		DocumentsDTO document = ResponseSplicer.document("individualBiometrics", data);
+		assertEquals(new DocumentsDTO("individualBiometrics", CryptoUtil.encodeBase64(data)), document);
+		assertEquals("{\"category\":\"individualBiometrics\",\"value\":\"" + CryptoUtil.encodeBase64(data) + "\"}",
+				mapper.writeValueAsString(document));
+		document.setValue("dGVzdA");
+		assertEquals("{\"category\":\"individualBiometrics\",\"value\":\"dGVzdA\"}", mapper.writeValueAsString(document));
+	}
+}
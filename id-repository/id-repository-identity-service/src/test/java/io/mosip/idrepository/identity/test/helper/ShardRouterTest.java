@@ -0,0 +1,143 @@
+package io.mosip.idrepository.identity.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.core.spi.ShardDataSourceResolver;
+import io.mosip.idrepository.identity.helper.ShardRouter;
+import io.mosip.idrepository.identity.service.impl.ConsistentHashShardResolver;
+
+public class ShardRouterTest {
+
+	private static final String UIN = "2953190571";
+
+	private static final String UIN_HASH = "0_5B72C3B57A72C6497461289FCA7B1F865ED6FB0596B446FEA1F92AF931A5D4B7";
+
+	private ShardRouter router;
+
+	@Before
+	public void before() {
+		Map<Integer, String> bucketOverrides = new HashMap<>();
+		bucketOverrides.put(0, "shard1");
+		bucketOverrides.put(1, "shard2");
+		router = new ShardRouter();
+		ReflectionTestUtils.setField(router, "shardResolver",
+				new ConsistentHashShardResolver(Arrays.asList("shard1", "shard2"), 16, 2, bucketOverrides));
+	}
+
+	@After
+	public void after() {
+		ShardDataSourceResolver.resetShardConfig();
+	}
+
+	@Test
+	public void testRouteByUin() throws IdRepoAppException {
+		assertEquals("shard2", router.route(UIN, ShardDataSourceResolver::getCurrentShard));
+		assertNull(ShardDataSourceResolver.getCurrentShard());
+	}
+
+	@Test
+	public void testRouteByUinHash() throws IdRepoAppException {
+		assertEquals("shard1", router.route(UIN_HASH, ShardDataSourceResolver::getCurrentShard));
+		assertNull(ShardDataSourceResolver.getCurrentShard());
+	}
+
+	@Test
+	public void testRouteRestoresCallerShard() throws IdRepoAppException {
+		ShardDataSourceResolver.setCurrentShard("shard1");
+		assertEquals("shard2", router.route(UIN, ShardDataSourceResolver::getCurrentShard));
+		assertEquals("shard1", ShardDataSourceResolver.getCurrentShard());
+	}
+
+	@Test
+	public void testRouteResetsShardOnError() throws IdRepoAppException {
+		try {
+			router.route(UIN, () -> {
+				throw new IOException();
+			});
+			fail();
+		} catch (IOException e) {
+			assertNull(ShardDataSourceResolver.getCurrentShard());
+		}
+	}
+
+	@Test
+	public void testRouteInvalidId() {
+		try {
+			router.route("invalid", () -> {
+				fail();
+				return null;
+			});
+			fail();
+		} catch (IdRepoAppException e) {
+			assertEquals(IdRepoErrorConstants.INVALID_INPUT_PARAMETER.getErrorCode(), e.getErrorCode());
+			assertNull(ShardDataSourceResolver.getCurrentShard());
+		}
+	}
+
+	@Test
+	public void testRouteShardingDisabled() throws IdRepoAppException {
+		ReflectionTestUtils.setField(router, "shardResolver", null);
+		assertFalse(router.isShardingEnabled());
+		assertNull(router.route("invalid", ShardDataSourceResolver::getCurrentShard));
+	}
+
+	@Test
+	public void testRouteNoShards() throws IdRepoAppException {
+		ReflectionTestUtils.setField(router, "shardResolver",
+				new ConsistentHashShardResolver(Collections.emptyList(), 16, 2, Collections.emptyMap()));
+		assertFalse(router.isShardingEnabled());
+		assertNull(router.route(UIN, ShardDataSourceResolver::getCurrentShard));
+	}
+
+	@Test
+	public void testFindOnAnyShard() {
+		List<Object> visited = new ArrayList<>();
+		assertEquals("found", router.findOnAnyShard(() -> {
+			visited.add(ShardDataSourceResolver.getCurrentShard());
+			return "shard2".equals(ShardDataSourceResolver.getCurrentShard()) ? "found" : null;
+		}));
+		assertEquals(Arrays.asList("shard1", "shard2"), visited);
+		assertNull(ShardDataSourceResolver.getCurrentShard());
+	}
+
+	@Test
+	public void testFindOnAnyShardStopsAtFirstResult() {
+		List<Object> visited = new ArrayList<>();
+		assertEquals("found", router.findOnAnyShard(() -> {
+			visited.add(ShardDataSourceResolver.getCurrentShard());
+			return "found";
+		}));
+		assertEquals(Collections.singletonList("shard1"), visited);
+	}
+
+	@Test
+	public void testFindOnAnyShardNotFound() {
+		assertNull(router.findOnAnyShard(() -> null));
+		assertNull(ShardDataSourceResolver.getCurrentShard());
+	}
+
+	@Test
+	public void testExistsOnAnyShard() {
+		assertTrue(router.existsOnAnyShard(() -> "shard2".equals(ShardDataSourceResolver.getCurrentShard())));
+		assertFalse(router.existsOnAnyShard(() -> false));
+	}
+}
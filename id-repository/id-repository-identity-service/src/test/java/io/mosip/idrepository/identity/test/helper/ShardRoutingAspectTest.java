@@ -0,0 +1,87 @@
+package io.mosip.idrepository.identity.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.idrepository.core.constant.IdType;
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.core.spi.ShardDataSourceResolver;
+import io.mosip.idrepository.identity.helper.ShardRouter;
+import io.mosip.idrepository.identity.helper.ShardRoutingAspect;
+import io.mosip.idrepository.identity.service.impl.ConsistentHashShardResolver;
+
+public class ShardRoutingAspectTest {
+
+	private static final String UIN = "2953190571";
+
+	private ShardRoutingAspect aspect;
+
+	private ProceedingJoinPoint joinPoint;
+
+	@Before
+	public void before() throws Throwable {
+		Map<Integer, String> bucketOverrides = new HashMap<>();
+		bucketOverrides.put(0, "shard1");
+		bucketOverrides.put(1, "shard2");
+		ShardRouter router = new ShardRouter();
+		ReflectionTestUtils.setField(router, "shardResolver",
+				new ConsistentHashShardResolver(Arrays.asList("shard1", "shard2"), 16, 2, bucketOverrides));
+		aspect = new ShardRoutingAspect();
+		ReflectionTestUtils.setField(aspect, "shardRouter", router);
+		joinPoint = Mockito.mock(ProceedingJoinPoint.class);
+		when(joinPoint.proceed()).thenAnswer(invocation -> ShardDataSourceResolver.getCurrentShard());
+	}
+
+	@After
+	public void after() {
+		ShardDataSourceResolver.resetShardConfig();
+	}
+
+	@Test
+	public void testRouteByUin() throws Throwable {
+		assertEquals("shard2", aspect.routeByUin(joinPoint, UIN));
+		assertNull(ShardDataSourceResolver.getCurrentShard());
+	}
+
+	@Test
+	public void testRouteByUinResetsShardOnError() throws Throwable {
+		IdRepoAppException error = new IdRepoAppException();
+		when(joinPoint.proceed()).thenThrow(error);
+		try {
+			aspect.routeByUin(joinPoint, UIN);
+			fail();
+		} catch (IdRepoAppException e) {
+			assertEquals(error, e);
+			assertNull(ShardDataSourceResolver.getCurrentShard());
+		}
+	}
+
+	@Test
+	public void testRouteRetrievalByUin() throws Throwable {
+		assertEquals("shard2", aspect.routeRetrieval(joinPoint, UIN, IdType.UIN));
+		assertNull(ShardDataSourceResolver.getCurrentShard());
+	}
+
+	@Test
+	public void testRouteRetrievalByVidNotRouted() throws Throwable {
+		assertNull(aspect.routeRetrieval(joinPoint, "5981406802", IdType.VID));
+	}
+
+	@Test
+	public void testRouteRetrievalByRidNotRouted() throws Throwable {
+		assertNull(aspect.routeRetrieval(joinPoint, "27841457360002620190730095024", IdType.RID));
+	}
+}
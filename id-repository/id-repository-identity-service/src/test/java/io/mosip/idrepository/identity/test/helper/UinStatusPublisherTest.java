@@ -0,0 +1,80 @@
+package io.mosip.idrepository.identity.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.idrepository.core.builder.RestRequestBuilder;
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.dto.RestRequestDTO;
+import io.mosip.idrepository.core.dto.UinStatusDTO;
+import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.identity.helper.UinStatusPublisher;
+import io.mosip.kernel.core.http.RequestWrapper;
+
+public class UinStatusPublisherTest {
+
+	private static final LocalDateTime STATUS_TIME = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+	private UinStatusPublisher publisher;
+
+	private RestHelper restHelper;
+
+	private RestRequestBuilder restBuilder;
+
+	private MockEnvironment env;
+
+	@Before
+	public void before() throws IdRepoDataValidationException {
+		publisher = new UinStatusPublisher();
+		restHelper = Mockito.mock(RestHelper.class);
+		restBuilder = Mockito.mock(RestRequestBuilder.class);
+		when(restBuilder.buildRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(new RestRequestDTO());
+		env = new MockEnvironment().withProperty("mosip.idrepo.identity.uin-status.publish.enabled", "true");
+		ReflectionTestUtils.setField(publisher, "env", env);
+		ReflectionTestUtils.setField(publisher, "restHelper", restHelper);
+		ReflectionTestUtils.setField(publisher, "restBuilder", restBuilder);
+		publisher.init();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testPublish() throws IdRepoDataValidationException, RestServiceException {
+		publisher.publish("2953190571", "BLOCKED", STATUS_TIME);
+		ArgumentCaptor<RequestWrapper<List<UinStatusDTO>>> request = ArgumentCaptor.forClass(RequestWrapper.class);
+		verify(restBuilder).buildRequest(Mockito.eq(RestServicesConstants.VID_UIN_STATUS_SERVICE), request.capture(),
+				Mockito.any());
+		assertEquals(new UinStatusDTO("2953190571", "BLOCKED", STATUS_TIME), request.getValue().getRequest().get(0));
+		verify(restHelper).requestSync(Mockito.any());
+	}
+
+	@Test
+	public void testPublishDisabled() throws IdRepoDataValidationException {
+		env.setProperty("mosip.idrepo.identity.uin-status.publish.enabled", "false");
+		publisher.init();
+		publisher.publish("2953190571", "BLOCKED", STATUS_TIME);
+		verify(restBuilder, never()).buildRequest(Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void testPublishFailed() throws RestServiceException {
+		when(restHelper.requestSync(Mockito.any()))
+				.thenThrow(new RestServiceException(IdRepoErrorConstants.CLIENT_ERROR));
+		publisher.publish("2953190571", "BLOCKED", STATUS_TIME);
+		verify(restHelper).requestSync(Mockito.any());
+	}
+}
@@ -1,7 +1,13 @@
 package io.mosip.idrepository.identity.test.interceptor;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -140,6 +146,39 @@ public class IdRepoEntityInterceptorTest {
 				"5B72C3B57A72C6497461289FCA7B1F865ED6FB0596B446FEA1F92AF931A5D4B7" };
 		String[] propertyNames = new String[] { "uinData", "uinDataHash" };
 		assertFalse(interceptor.onLoad(uin, null, state, propertyNames, null));
+		assertTrue(uin.isUinDataLoaded());
+		uin.getUinData();
+		uin.getUinData();
+		verify(restHelper, times(1)).requestSync(Mockito.any());
+	}
+
+	@Test
+	public void testOnLoadUinNotDecrypted() {
+		Uin uin = new Uin();
+		uin.setUinData(new byte[] { 0 });
+		Object[] state = new Object[] { new byte[] { 0 },
+				"5B72C3B57A72C6497461289FCA7B1F865ED6FB0596B446FEA1F92AF931A5D4B7" };
+		String[] propertyNames = new String[] { "uinData", "uinDataHash" };
+		assertFalse(interceptor.onLoad(uin, null, state, propertyNames, null));
+		assertArrayEquals(new byte[] { 0 }, (byte[]) state[0]);
+		verifyZeroInteractions(restHelper);
+	}
+
+	@Test
+	public void testOnLoadUinHistory() throws RestClientException, JsonParseException, JsonMappingException,
+			IOException, IdRepoDataValidationException, RestServiceException {
+		when(restBuilder.buildRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(new RestRequestDTO());
+		when(restHelper.requestSync(Mockito.any()))
+				.thenReturn(mapper.readValue("{\"response\":{\"data\":\"1234\"}}".getBytes(), ObjectNode.class));
+		UinHistory uinH = new UinHistory();
+		uinH.setUinData(new byte[] { 0 });
+		Object[] state = new Object[] { new byte[] { 0 },
+				"5B72C3B57A72C6497461289FCA7B1F865ED6FB0596B446FEA1F92AF931A5D4B7" };
+		String[] propertyNames = new String[] { "uinData", "uinDataHash" };
+		assertFalse(interceptor.onLoad(uinH, null, state, propertyNames, null));
+		verifyZeroInteractions(restHelper);
+		uinH.getUinData();
+		verify(restHelper, times(1)).requestSync(Mockito.any());
 	}
 
 	@Test
@@ -155,6 +194,8 @@ public class IdRepoEntityInterceptorTest {
 					"5B72C3B57A72C6497461289FCA7B1F865ED6FB0596B446FEA1F92AF931A5D4B7" };
 			String[] propertyNames = new String[] { "uinData", "uinDataHash" };
 			interceptor.onLoad(uin, null, state, propertyNames, null);
+			uin.getUinData();
+			fail();
 		} catch (IdRepoAppUncheckedException e) {
 			assertEquals(IdRepoErrorConstants.ENCRYPTION_DECRYPTION_FAILED.getErrorCode(), e.getErrorCode());
 			assertEquals(IdRepoErrorConstants.ENCRYPTION_DECRYPTION_FAILED.getErrorMessage(), e.getErrorText());
@@ -173,6 +214,8 @@ public class IdRepoEntityInterceptorTest {
 			Object[] state = new Object[] { new byte[] { 0 }, "W3LDtXpyxkl0YSifynsfhl7W-wWWtEb-ofkq-TGl1Lc" };
 			String[] propertyNames = new String[] { "uinData", "uinDataHash" };
 			interceptor.onLoad(uin, null, state, propertyNames, null);
+			uin.getUinData();
+			fail();
 		} catch (IdRepoAppUncheckedException e) {
 			assertEquals(IdRepoErrorConstants.ENCRYPTION_DECRYPTION_FAILED.getErrorCode(), e.getErrorCode());
 			assertEquals(IdRepoErrorConstants.ENCRYPTION_DECRYPTION_FAILED.getErrorMessage(), e.getErrorText());
@@ -191,6 +234,8 @@ public class IdRepoEntityInterceptorTest {
 			Object[] state = new Object[] { new byte[] { 0 }, "W3LDtXpyxkl0YSifynsfhl7W-wWWtEb-ofkq-TGl1L" };
 			String[] propertyNames = new String[] { "uinData", "uinDataHash" };
 			interceptor.onLoad(uin, null, state, propertyNames, null);
+			uin.getUinData();
+			fail();
 		} catch (IdRepoAppUncheckedException e) {
 			assertEquals(IdRepoErrorConstants.IDENTITY_HASH_MISMATCH.getErrorCode(), e.getErrorCode());
 			assertEquals(IdRepoErrorConstants.IDENTITY_HASH_MISMATCH.getErrorMessage(), e.getErrorText());
@@ -210,6 +255,39 @@ public class IdRepoEntityInterceptorTest {
 		assertFalse(interceptor.onFlushDirty(uin, null, state, state, propertyNames, null));
 	}
 
+	@Test
+	public void testOnFlushDirtyLoadedUin() {
+		Uin uin = new Uin();
+		uin.setUinData(new byte[] { 0 });
+		Object[] loadedState = new Object[] { new byte[] { 0 },
+				"5B72C3B57A72C6497461289FCA7B1F865ED6FB0596B446FEA1F92AF931A5D4B7" };
+		String[] propertyNames = new String[] { "uinData", "uinDataHash" };
+		interceptor.onLoad(uin, null, loadedState, propertyNames, null);
+		Object[] state = new Object[] { new byte[] { 0 }, loadedState[1] };
+		assertFalse(interceptor.onFlushDirty(uin, null, state, loadedState, propertyNames, null));
+		assertArrayEquals(new byte[] { 0 }, (byte[]) state[0]);
+		verifyZeroInteractions(restHelper);
+	}
+
+	@Test
+	public void testOnFlushDirtyLoadedUinUpdated() throws RestClientException, JsonParseException,
+			JsonMappingException, IOException, IdRepoDataValidationException, RestServiceException {
+		when(restBuilder.buildRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(new RestRequestDTO());
+		when(restHelper.requestSync(Mockito.any()))
+				.thenReturn(mapper.readValue("{\"response\":{\"data\":\"1234\"}}".getBytes(), ObjectNode.class));
+		Uin uin = new Uin();
+		uin.setUinData(new byte[] { 0 });
+		Object[] loadedState = new Object[] { new byte[] { 0 },
+				"5B72C3B57A72C6497461289FCA7B1F865ED6FB0596B446FEA1F92AF931A5D4B7" };
+		String[] propertyNames = new String[] { "uinData", "uinDataHash" };
+		interceptor.onLoad(uin, null, loadedState, propertyNames, null);
+		uin.setUinData(new byte[] { 1 });
+		assertFalse(uin.isUinDataLoaded());
+		Object[] state = new Object[] { new byte[] { 1 }, loadedState[1] };
+		assertFalse(interceptor.onFlushDirty(uin, null, state, loadedState, propertyNames, null));
+		verify(restHelper, times(1)).requestSync(Mockito.any());
+	}
+
 	@Test
 	public void testOnFlushDirtyUinHistory() throws RestClientException, JsonParseException, JsonMappingException,
 			IOException, IdRepoDataValidationException, RestServiceException {
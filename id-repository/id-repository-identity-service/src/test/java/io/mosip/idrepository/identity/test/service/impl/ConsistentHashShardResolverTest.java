@@ -0,0 +1,113 @@
+package io.mosip.idrepository.identity.test.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.identity.service.impl.ConsistentHashShardResolver;
+
+/**
+ * The Class ConsistentHashShardResolverTest.
+ */
+public class ConsistentHashShardResolverTest {
+
+	/** The resolver of two shards. */
+	ConsistentHashShardResolver resolver = new ConsistentHashShardResolver(Arrays.asList("shard1", "shard2"), 128,
+			1000, Collections.emptyMap());
+
+	/**
+	 * Test the uin and its hash resolve to the shard of their bucket.
+	 *
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	@Test
+	public void testGetShardOfUinAndUinHash() throws IdRepoAppException {
+		assertEquals(resolver.getShardOfBucket(751), resolver.getShard("2396584751"));
+		assertEquals(resolver.getShardOfBucket(751), resolver.getShard("751_8D4A3F0C5E"));
+	}
+
+	/**
+	 * Test buckets are spread over all shards.
+	 */
+	@Test
+	public void testBucketsSpreadOverShards() {
+		Set<String> shards = new HashSet<>();
+		for (int bucket = 0; bucket < resolver.getModuloValue(); bucket++) {
+			shards.add(resolver.getShardOfBucket(bucket));
+		}
+		assertEquals(resolver.getShards(), shards);
+	}
+
+	/**
+	 * Test adding a shard moves buckets only to the new shard.
+	 */
+	@Test
+	public void testAddingShardMovesBucketsOnlyToNewShard() {
+		ConsistentHashShardResolver resolverWithNewShard = new ConsistentHashShardResolver(
+				Arrays.asList("shard1", "shard2", "shard3"), 128, 1000, Collections.emptyMap());
+		int movedBuckets = 0;
+		for (int bucket = 0; bucket < resolver.getModuloValue(); bucket++) {
+			if (!resolver.getShardOfBucket(bucket).equals(resolverWithNewShard.getShardOfBucket(bucket))) {
+				assertEquals("shard3", resolverWithNewShard.getShardOfBucket(bucket));
+				movedBuckets++;
+			}
+		}
+		assertTrue(movedBuckets > 0 && movedBuckets < 500);
+	}
+
+	/**
+	 * Test a pinned bucket resolves to its shard.
+	 */
+	@Test
+	public void testBucketOverride() {
+		String otherShard = resolver.getShardOfBucket(10).equals("shard1") ? "shard2" : "shard1";
+		ConsistentHashShardResolver resolverWithOverride = new ConsistentHashShardResolver(
+				Arrays.asList("shard1", "shard2"), 128, 1000, Collections.singletonMap(10, otherShard));
+		assertEquals(otherShard, resolverWithOverride.getShardOfBucket(10));
+		assertEquals(resolver.getShardOfBucket(11), resolverWithOverride.getShardOfBucket(11));
+	}
+
+	/**
+	 * Test override to an unknown shard.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testBucketOverrideToUnknownShard() {
+		new ConsistentHashShardResolver(Arrays.asList("shard1", "shard2"), 128, 1000,
+				Collections.singletonMap(10, "shard3"));
+	}
+
+	/**
+	 * Test no shard is resolved when sharding is disabled.
+	 *
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	@Test
+	public void testShardingDisabled() throws IdRepoAppException {
+		ConsistentHashShardResolver disabledResolver = new ConsistentHashShardResolver(Collections.emptyList(), 128,
+				1000, Collections.emptyMap());
+		assertNull(disabledResolver.getShard("2396584751"));
+	}
+
+	/**
+	 * Test invalid id.
+	 */
+	@Test
+	public void testInvalidId() {
+		try {
+			resolver.getShard("abc");
+		} catch (IdRepoAppException e) {
+			assertEquals(IdRepoErrorConstants.INVALID_INPUT_PARAMETER.getErrorCode(), e.getErrorCode());
+			return;
+		}
+		throw new AssertionError("IdRepoAppException expected");
+	}
+}
@@ -1,6 +1,7 @@
 package io.mosip.idrepository.identity.test.service.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.FileInputStream;
@@ -10,6 +11,7 @@ import java.lang.reflect.UndeclaredThrowableException;
 import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.io.IOUtils;
 import org.hibernate.exception.JDBCConnectionException;
@@ -58,10 +60,14 @@ import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
 import io.mosip.idrepository.core.exception.RestServiceException;
 import io.mosip.idrepository.core.helper.AuditHelper;
 import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.helper.SaltCache;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
 import io.mosip.idrepository.identity.entity.Uin;
 import io.mosip.idrepository.identity.entity.UinBiometric;
 import io.mosip.idrepository.identity.entity.UinDocument;
+import io.mosip.idrepository.identity.helper.IdentityCache;
+import io.mosip.idrepository.identity.helper.ShardRouter;
+import io.mosip.idrepository.identity.helper.UinStatusPublisher;
 import io.mosip.idrepository.identity.repository.UinBiometricHistoryRepo;
 import io.mosip.idrepository.identity.repository.UinDocumentHistoryRepo;
 import io.mosip.idrepository.identity.repository.UinEncryptSaltRepo;
@@ -151,6 +157,9 @@ public class IdRepoServiceTest {
 	@Mock
 	private UinEncryptSaltRepo uinEncryptSaltRepo;
 
+	@Mock
+	private UinStatusPublisher uinStatusPublisher;
+
 	/** The id. */
 	private Map<String, String> id;
 
@@ -187,6 +196,12 @@ public class IdRepoServiceTest {
 		ReflectionTestUtils.setField(securityManager, "mapper", mapper);
 		ReflectionTestUtils.setField(service, "securityManager", securityManager);
 		ReflectionTestUtils.setField(proxyService, "securityManager", securityManager);
+		SaltCache uinHashSaltCache = new SaltCache("uinHashSalt", Collections::emptyMap,
+				uinHashSaltRepo::retrieveSaltById);
+		ReflectionTestUtils.setField(service, "uinHashSaltCache", uinHashSaltCache);
+		ReflectionTestUtils.setField(service, "uinEncryptSaltCache",
+				new SaltCache("uinEncryptSalt", Collections::emptyMap, uinEncryptSaltRepo::retrieveSaltById));
+		ReflectionTestUtils.setField(proxyService, "uinHashSaltCache", uinHashSaltCache);
 		when(connection.exists(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),Mockito.any())).thenReturn(true);
 		when(restBuilder.buildRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(new RestRequestDTO());
 		when(restHelper.requestSync(Mockito.any()))
@@ -197,6 +212,11 @@ public class IdRepoServiceTest {
 		ReflectionTestUtils.setField(service, "mapper", mapper);
 		ReflectionTestUtils.setField(service, "env", env);
 		ReflectionTestUtils.setField(proxyService, "service", service);
+		ReflectionTestUtils.setField(proxyService, "shardRouter", new ShardRouter());
+		ReflectionTestUtils.setField(proxyService, "identityCache", new IdentityCache());
+		ReflectionTestUtils.setField(proxyService, "objectStoreExecutor", (Executor) Runnable::run);
+		ReflectionTestUtils.setField(service, "identityCache", new IdentityCache());
+		ReflectionTestUtils.setField(service, "objectStoreExecutor", (Executor) Runnable::run);
 		ReflectionTestUtils.setField(proxyService, "allowedBioAttributes",
 				Collections.singletonList("individualBiometrics"));
 		ReflectionTestUtils.setField(service, "bioAttributes",
@@ -242,6 +262,7 @@ public class IdRepoServiceTest {
 		when(uinHashSaltRepo.retrieveSaltById(Mockito.anyInt())).thenReturn("AG7JQI1HwFp_cI_DcdAQ9A");
 		IdResponseDTO addIdentity = proxyService.addIdentity(request, "1234");
 		assertEquals(ACTIVATED, addIdentity.getResponse().getStatus());
+		verify(uinStatusPublisher).publish(Mockito.eq("1234"), Mockito.eq(ACTIVATED), Mockito.any());
 	}
 
 	@Test
@@ -987,19 +1008,6 @@ public class IdRepoServiceTest {
 		}
 	}
 
-	@SuppressWarnings("deprecation")
-	@Test(expected = IdRepoAppException.class)
-	public void testConvertToObjectProxy() throws Throwable {
-		ObjectMapper mockMapper = Mockito.mock(ObjectMapper.class);
-		ReflectionTestUtils.setField(proxyService, "mapper", mockMapper);
-		try {
-			when(mockMapper.readValue("1234".getBytes(), String.class)).thenThrow(new JsonMappingException(""));
-			ReflectionTestUtils.invokeMethod(proxyService, "convertToObject", "1234".getBytes(), String.class);
-		} catch (UndeclaredThrowableException e) {
-			throw e.getCause();
-		}
-	}
-
 	@SuppressWarnings("deprecation")
 	@Test(expected = IdRepoAppException.class)
 	public void testConvertToObject() throws Throwable {
@@ -1098,6 +1106,7 @@ public class IdRepoServiceTest {
 		when(restHelper.requestSync(Mockito.any())).thenReturn(eventsResponse);
 		IdResponseDTO updateIdentity = proxyService.updateIdentity(request, "12343");
 		assertEquals(status, updateIdentity.getResponse().getStatus());
+		verify(uinStatusPublisher).publish(Mockito.eq("12343"), Mockito.eq(status), Mockito.any());
 	}
 
 	@Test(expected = IdRepoAppException.class)
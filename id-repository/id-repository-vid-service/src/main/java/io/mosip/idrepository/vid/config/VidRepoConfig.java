@@ -1,13 +1,10 @@
 package io.mosip.idrepository.vid.config;
 
-import static io.mosip.idrepository.core.constant.IdRepoConstants.VID_DB_DRIVER_CLASS_NAME;
-import static io.mosip.idrepository.core.constant.IdRepoConstants.VID_DB_PASSWORD;
-import static io.mosip.idrepository.core.constant.IdRepoConstants.VID_DB_URL;
-import static io.mosip.idrepository.core.constant.IdRepoConstants.VID_DB_USERNAME;
-
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
@@ -19,8 +16,14 @@ import org.springframework.boot.orm.jpa.hibernate.SpringPhysicalNamingStrategy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.idrepository.core.constant.IdRepoConstants;
+import io.mosip.idrepository.core.helper.SaltCache;
+import io.mosip.idrepository.core.helper.VidUinCache;
+import io.mosip.idrepository.core.util.DataSourceUtil;
+import io.mosip.idrepository.vid.repository.UinEncryptSaltRepo;
+import io.mosip.idrepository.vid.repository.UinHashSaltRepo;
 import io.mosip.kernel.dataaccess.hibernate.config.HibernateDaoConfig;
 
 /**
@@ -35,6 +38,15 @@ import io.mosip.kernel.dataaccess.hibernate.config.HibernateDaoConfig;
 @ConfigurationProperties("mosip.idrepo.vid")
 public class VidRepoConfig extends HibernateDaoConfig {
 
+	/** The prefix of the VID database properties. */
+	private static final String VID_DB = "mosip.idrepo.vid.db.";
+
+	/** The default number of VIDs held in the VID resolution cache. */
+	private static final int DEFAULT_RESOLUTION_CACHE_MAX_SIZE = 10000;
+
+	/** The default time in seconds for which a VID is held in the VID resolution cache. */
+	private static final long DEFAULT_RESOLUTION_CACHE_TTL_SECS = 60;
+
 	/** The env. */
 	@Autowired
 	private Environment env;
@@ -43,6 +55,10 @@ public class VidRepoConfig extends HibernateDaoConfig {
 	@Autowired
 	private Interceptor interceptor;
 
+	/** The meter registry. */
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
 	/** The id. */
 	private Map<String, String> id;
 
@@ -87,6 +103,55 @@ public class VidRepoConfig extends HibernateDaoConfig {
 		return Collections.unmodifiableList(allowedStatus);
 	}
 
+	/**
+	 * Uin hash salt cache, loaded on startup.
+	 *
+	 * @param uinHashSaltRepo the uin hash salt repo
+	 * @return the salt cache
+	 */
+	@Bean
+	public SaltCache uinHashSaltCache(UinHashSaltRepo uinHashSaltRepo) {
+		SaltCache saltCache = new SaltCache("uinHashSalt", () -> {
+			Map<Integer, String> salts = new HashMap<>();
+			uinHashSaltRepo.findAll().forEach(salt -> salts.put(salt.getId(), salt.getSalt()));
+			return salts;
+		}, uinHashSaltRepo::retrieveSaltById);
+		saltCache.refresh();
+		return saltCache;
+	}
+
+	/**
+	 * Uin encrypt salt cache, loaded on startup.
+	 *
+	 * @param uinEncryptSaltRepo the uin encrypt salt repo
+	 * @return the salt cache
+	 */
+	@Bean
+	public SaltCache uinEncryptSaltCache(UinEncryptSaltRepo uinEncryptSaltRepo) {
+		SaltCache saltCache = new SaltCache("uinEncryptSalt", () -> {
+			Map<Integer, String> salts = new HashMap<>();
+			uinEncryptSaltRepo.findAll().forEach(salt -> salts.put(salt.getId(), salt.getSalt()));
+			return salts;
+		}, uinEncryptSaltRepo::retrieveSaltById);
+		saltCache.refresh();
+		return saltCache;
+	}
+
+	/**
+	 * Cache of the UINs resolved by VID.
+	 *
+	 * @return the vid uin cache
+	 */
+	@Bean
+	public VidUinCache vidResolutionCache() {
+		return new VidUinCache("vidResolution",
+				env.getProperty(IdRepoConstants.VID_RESOLUTION_CACHE_ENABLED, Boolean.class, Boolean.FALSE),
+				env.getProperty(IdRepoConstants.VID_RESOLUTION_CACHE_MAX_SIZE, Integer.class,
+						DEFAULT_RESOLUTION_CACHE_MAX_SIZE),
+				TimeUnit.SECONDS.toMillis(env.getProperty(IdRepoConstants.VID_RESOLUTION_CACHE_TTL_SECS, Long.class,
+						DEFAULT_RESOLUTION_CACHE_TTL_SECS)));
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -103,17 +168,17 @@ public class VidRepoConfig extends HibernateDaoConfig {
 	}
 
 	/**
-	 * Builds the data source.
+	 * Builds the data source. If read replicas are configured, read-only
+	 * transactions are routed to the replicas.
 	 *
 	 * @return the data source
 	 */
 	@Override
 	@Bean
 	public DataSource dataSource() {
-		DriverManagerDataSource dataSource = new DriverManagerDataSource(env.getProperty(VID_DB_URL));
-		dataSource.setUsername(env.getProperty(VID_DB_USERNAME));
-		dataSource.setPassword(env.getProperty(VID_DB_PASSWORD));
-		dataSource.setDriverClassName(env.getProperty(VID_DB_DRIVER_CLASS_NAME));
-		return dataSource;
+		DataSource dataSource = DataSourceUtil.buildPooledDataSource("vid", env, VID_DB, meterRegistry);
+		return DataSourceUtil.hasReplicas(env, VID_DB)
+				? DataSourceUtil.lazyConnections(DataSourceUtil.withReplicas(dataSource, "vid", env, VID_DB, meterRegistry))
+				: dataSource;
 	}
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package io.mosip.idrepository.vid.controller;
 
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.DATABASE_ACCESS_ERROR;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.DATA_VALIDATION_FAILED;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.INVALID_INPUT_PARAMETER;
 
@@ -7,10 +8,12 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.TransactionException;
 import org.springframework.validation.Errors;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
@@ -19,12 +22,14 @@ import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.mosip.idrepository.core.constant.AuditEvents;
 import io.mosip.idrepository.core.constant.AuditModules;
 import io.mosip.idrepository.core.constant.IdType;
+import io.mosip.idrepository.core.dto.UinStatusDTO;
 import io.mosip.idrepository.core.dto.VidInfoDTO;
 import io.mosip.idrepository.core.dto.VidRequestDTO;
 import io.mosip.idrepository.core.dto.VidResponseDTO;
@@ -35,6 +40,7 @@ import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
 import io.mosip.idrepository.core.spi.VidService;
 import io.mosip.idrepository.core.util.DataValidationUtil;
+import io.mosip.idrepository.vid.helper.UinStatusProjection;
 import io.mosip.idrepository.vid.validator.VidRequestValidator;
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseWrapper;
@@ -83,6 +89,9 @@ public class VidController {
 	/** The Constant UPDATE_VID_STATUS. */
 	private static final String UPDATE_VID_STATUS = "updateVidStatus";
 
+	/** The Constant UPDATE_UIN_STATUS. */
+	private static final String UPDATE_UIN_STATUS = "updateUinStatus";
+
 	/** The Constant VID_CONTROLLER. */
 	private static final String VID_CONTROLLER = "VidController";
 
@@ -104,6 +113,10 @@ public class VidController {
 	@Autowired
 	private AuditHelper auditHelper;
 
+	/** The uin status projection. */
+	@Autowired
+	private UinStatusProjection uinStatusProjection;
+
 	/** The mosip logger. */
 	Logger mosipLogger = IdRepoLogger.getLogger(VidController.class);
 
@@ -350,4 +363,37 @@ public class VidController {
 					"Reactivate VID Requested");
 		}
 	}
+
+	/**
+	 * This method will accept the statuses of UINs published by the identity
+	 * service, and update the UIN status projection with them. The identity
+	 * service publishes the status of a UIN when it is added and when its status
+	 * changes, and the statuses of existing UINs are published in bulk to
+	 * bootstrap the projection.
+	 *
+	 * @param request the request
+	 * @return the response entity
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	@PreAuthorize("hasAnyRole('REGISTRATION_PROCESSOR','ID_REPOSITORY')")
+	@PutMapping(path = "/vid/uin/status", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ResponseWrapper<Integer>> updateUinStatus(
+			@RequestBody RequestWrapper<List<UinStatusDTO>> request) throws IdRepoAppException {
+		try {
+			validator.validateUinStatuses(request.getRequest());
+			ResponseWrapper<Integer> response = new ResponseWrapper<>();
+			response.setResponse(uinStatusProjection.update(request.getRequest()));
+			return new ResponseEntity<>(response, HttpStatus.OK);
+		} catch (InvalidIDException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_CONTROLLER, UPDATE_UIN_STATUS, e.getMessage());
+			throw new IdRepoAppException(INVALID_INPUT_PARAMETER.getErrorCode(),
+					String.format(INVALID_INPUT_PARAMETER.getErrorMessage(), UIN));
+		} catch (DataAccessException | TransactionException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_CONTROLLER, UPDATE_UIN_STATUS, e.getMessage());
+			throw new IdRepoAppException(DATABASE_ACCESS_ERROR, e);
+		} catch (IdRepoAppException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_CONTROLLER, UPDATE_UIN_STATUS, e.getMessage());
+			throw new IdRepoAppException(e.getErrorCode(), e.getErrorText(), e);
+		}
+	}
 }
\ No newline at end of file
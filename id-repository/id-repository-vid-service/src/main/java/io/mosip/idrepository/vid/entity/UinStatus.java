@@ -0,0 +1,42 @@
+package io.mosip.idrepository.vid.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Entity for the status of a UIN, as published by the identity service.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "uin_status", schema = "idmap")
+@Entity
+public class UinStatus {
+
+	/** The uin Hash value */
+	@Id
+	private String uinHash;
+
+	/** The value to hold status Code */
+	private String statusCode;
+
+	/** The value to hold the time the status was set by the identity service */
+	@Column(name = "status_dtimes")
+	private LocalDateTime statusDTimes;
+
+	/** The value to hold updated By */
+	@Column(name = "upd_by")
+	private String updatedBy;
+
+	/** The value to hold updated Time */
+	@Column(name = "upd_dtimes")
+	private LocalDateTime updatedDTimes;
+}
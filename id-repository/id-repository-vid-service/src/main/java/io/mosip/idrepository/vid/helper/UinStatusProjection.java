@@ -0,0 +1,203 @@
+package io.mosip.idrepository.vid.helper;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.MODULO_VALUE;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.SPLITTER;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.UIN_STATUS_PROJECTION_ENABLED;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.UIN_STATUS_PROJECTION_MAX_AGE_SECS;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.mosip.idrepository.core.dto.UinStatusDTO;
+import io.mosip.idrepository.core.helper.SaltCache;
+import io.mosip.idrepository.core.helper.VidUinCache;
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.core.spi.ReplicaDataSourceResolver;
+import io.mosip.idrepository.vid.entity.UinStatus;
+import io.mosip.idrepository.vid.repository.UinStatusRepo;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+
+/**
+ * The Class UinStatusProjection - the status of UINs held in the idmap DB by
+ * uin hash, so that the VID service checks the status of a UIN with one local
+ * read instead of retrieving the identity from the identity service.
+ * <p>
+ * The identity service publishes the status of a UIN when it is added and when
+ * its status changes. A status older than the stored status of the UIN is
+ * ignored, so statuses published out of order are not applied. The projection
+ * is updated even if it is not enabled for checks.
+ * <p>
+ * A publish can fail, so a stored status is used only for the configured max
+ * age. A UIN that is missing or older than that is checked with the identity
+ * service, and the status read is stored again by {@link #refresh}. The
+ * projection therefore fills itself from the checks, and the bulk update is
+ * needed only to preload it, such as by a migration job.
+ */
+@Component
+public class UinStatusProjection {
+
+	/** The Constant UIN_STATUS_PROJECTION. */
+	private static final String UIN_STATUS_PROJECTION = "UinStatusProjection";
+
+	/** The Constant DEFAULT_MAX_AGE_SECS. */
+	private static final long DEFAULT_MAX_AGE_SECS = 300;
+
+	/** The mosip logger. */
+	private Logger mosipLogger = IdRepoLogger.getLogger(UinStatusProjection.class);
+
+	/** The env. */
+	@Autowired
+	private Environment env;
+
+	/** The uin status repo. */
+	@Autowired
+	private UinStatusRepo uinStatusRepo;
+
+	/** The security manager. */
+	@Autowired
+	private IdRepoSecurityManager securityManager;
+
+	/** The Uin Hash Salt Cache. */
+	@Resource
+	private SaltCache uinHashSaltCache;
+
+	/** The vid resolution cache. */
+	@Resource
+	private VidUinCache vidResolutionCache;
+
+	/** Whether statuses are checked against the projection. */
+	private boolean enabled;
+
+	/** The time in seconds for which a stored status is used. */
+	private long maxAgeSecs;
+
+	/**
+	 * Reads whether statuses are checked against the projection.
+	 */
+	@PostConstruct
+	public void init() {
+		enabled = env.getProperty(UIN_STATUS_PROJECTION_ENABLED, Boolean.class, Boolean.FALSE);
+		maxAgeSecs = env.getProperty(UIN_STATUS_PROJECTION_MAX_AGE_SECS, Long.class, DEFAULT_MAX_AGE_SECS);
+	}
+
+	/**
+	 * Gets the status of the UIN from the projection.
+	 *
+	 * @param uinHash the uin hash
+	 * @return the status, or empty if the projection is not enabled or does not
+	 *         hold a status of the UIN within the max age
+	 */
+	public Optional<String> getStatus(String uinHash) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+		return uinStatusRepo.findById(uinHash).filter(this::isFresh).map(UinStatus::getStatusCode);
+	}
+
+	/**
+	 * Stores the status of the UIN read from the identity service after
+	 * {@link #getStatus} found none within the max age, so that the following
+	 * checks are local again. The status is stored with a single conditional
+	 * upsert, so that a status published meanwhile is not overwritten. The time
+	 * the status was set is kept, so that any status published later is applied.
+	 *
+	 * @param uinHash the uin hash
+	 * @param status  the status read from the identity service
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void refresh(String uinHash, String status) {
+		if (!enabled) {
+			return;
+		}
+		LocalDateTime currentTime = DateUtils.getUTCCurrentDateTime();
+		if (uinStatusRepo.refreshStatus(uinHash, status, IdRepoSecurityManager.getUser(), currentTime,
+				currentTime.minusSeconds(maxAgeSecs)) > 0) {
+			ReplicaDataSourceResolver.recordWrite(uinHash);
+		}
+	}
+
+	/**
+	 * Updates the projection with the published statuses.
+	 *
+	 * @param statuses the statuses
+	 * @return the number of UINs whose status is updated
+	 */
+	@Transactional
+	public int update(List<UinStatusDTO> statuses) {
+		Map<String, UinStatusDTO> statusesByUinHash = new LinkedHashMap<>();
+		statuses.forEach(status -> statusesByUinHash.merge(getUinHash(status.getUin()), status,
+				(current, next) -> isBefore(next.getUpdatedDTimes(), current.getUpdatedDTimes()) ? current : next));
+		Map<String, UinStatus> storedStatuses = uinStatusRepo.findAllById(statusesByUinHash.keySet()).stream()
+				.collect(Collectors.toMap(UinStatus::getUinHash, Function.identity()));
+		LocalDateTime currentTime = DateUtils.getUTCCurrentDateTime();
+		List<UinStatus> updatedStatuses = new ArrayList<>();
+		statusesByUinHash.forEach((uinHash, status) -> {
+			UinStatus storedStatus = storedStatuses.get(uinHash);
+			if (Objects.isNull(storedStatus) || !isBefore(status.getUpdatedDTimes(), storedStatus.getStatusDTimes())) {
+				updatedStatuses.add(new UinStatus(uinHash, status.getStatus(), status.getUpdatedDTimes(),
+						IdRepoSecurityManager.getUser(), currentTime));
+			}
+		});
+		uinStatusRepo.saveAll(updatedStatuses);
+		updatedStatuses.forEach(status -> ReplicaDataSourceResolver.recordWrite(status.getUinHash()));
+		vidResolutionCache.invalidateUinHashes(
+				updatedStatuses.stream().map(UinStatus::getUinHash).collect(Collectors.toSet()));
+		mosipLogger.debug(IdRepoSecurityManager.getUser(), UIN_STATUS_PROJECTION, "update",
+				updatedStatuses.size() + " of " + statuses.size() + " statuses updated");
+		return updatedStatuses.size();
+	}
+
+	/**
+	 * Checks if the status was stored or confirmed within the max age.
+	 *
+	 * @param uinStatus the uin status
+	 * @return true, if fresh
+	 */
+	private boolean isFresh(UinStatus uinStatus) {
+		return Objects.nonNull(uinStatus.getUpdatedDTimes()) && !uinStatus.getUpdatedDTimes()
+				.isBefore(DateUtils.getUTCCurrentDateTime().minusSeconds(maxAgeSecs));
+	}
+
+	/**
+	 * Checks if a status set at the given time is older than one set at the other
+	 * time. A status without its time is not older than any other.
+	 *
+	 * @param time      the time
+	 * @param otherTime the other time
+	 * @return true, if older
+	 */
+	private boolean isBefore(LocalDateTime time, LocalDateTime otherTime) {
+		return Objects.nonNull(time) && Objects.nonNull(otherTime) && time.isBefore(otherTime);
+	}
+
+	/**
+	 * Gets the uin hash of the UIN, as stored with its VIDs.
+	 *
+	 * @param uin the uin
+	 * @return the uin hash
+	 */
+	private String getUinHash(String uin) {
+		Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
+		int modResult = (int) (Long.parseLong(uin) % moduloValue);
+		return String.valueOf(modResult) + SPLITTER
+				+ securityManager.hashwithSalt(uin.getBytes(), uinHashSaltCache.getDecodedSalt(modResult));
+	}
+}
@@ -0,0 +1,228 @@
+package io.mosip.idrepository.vid.helper;
+
+import static io.mosip.idrepository.core.constant.IdRepoConstants.VID_POOL_ENABLED;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.VID_POOL_LOW_WATERMARK;
+import static io.mosip.idrepository.core.constant.IdRepoConstants.VID_POOL_SIZE;
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.INVALID_INPUT_PARAMETER;
+import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.VID_GENERATION_FAILED;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.mosip.idrepository.core.builder.RestRequestBuilder;
+import io.mosip.idrepository.core.constant.RestServicesConstants;
+import io.mosip.idrepository.core.dto.RestRequestDTO;
+import io.mosip.idrepository.core.exception.AuthenticationException;
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.core.exception.IdRepoAppUncheckedException;
+import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.helper.ServiceTokenProvider;
+import io.mosip.idrepository.core.logger.IdRepoLogger;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * The Class VidPool - VIDs fetched from the VID generator ahead of VID
+ * creation, so that creating a VID does not wait for the generator. When the
+ * pool falls below the low watermark, it is refilled up to its size on a
+ * background thread. If the pool is empty, the VID is fetched from the
+ * generator on the requesting thread.
+ * <p>
+ * The refill has no caller whose token could be passed on, so it fetches VIDs
+ * under the token of the service itself.
+ * <p>
+ * The VID generator marks each VID it returns as assigned, so a VID held in the
+ * pool of one instance is never returned to another instance or after a
+ * restart. VIDs held in the pool when the instance stops are not issued. A VID
+ * taken from the pool is never put back, even if the VID is not created.
+ */
+@Component
+public class VidPool {
+
+	/** The Constant VID_POOL. */
+	private static final String VID_POOL = "VidPool";
+
+	/** The Constant VID. */
+	private static final String VID = "vid";
+
+	/** The Constant DEFAULT_SIZE. */
+	private static final int DEFAULT_SIZE = 500;
+
+	/** The Constant DEFAULT_LOW_WATERMARK. */
+	private static final int DEFAULT_LOW_WATERMARK = 100;
+
+	/** The mosip logger. */
+	private Logger mosipLogger = IdRepoLogger.getLogger(VidPool.class);
+
+	/** The env. */
+	@Autowired
+	private Environment env;
+
+	/** The rest builder. */
+	@Autowired
+	private RestRequestBuilder restBuilder;
+
+	/** The rest helper. */
+	@Autowired
+	private RestHelper restHelper;
+
+	/** The service token provider. */
+	@Autowired
+	private ServiceTokenProvider tokenProvider;
+
+	/** The enabled. */
+	private boolean enabled;
+
+	/** The number of VIDs below which the pool is refilled. */
+	private int lowWatermark;
+
+	/** The pooled VIDs. */
+	private BlockingQueue<String> vids;
+
+	/** Whether a refill is submitted or running. */
+	private final AtomicBoolean refilling = new AtomicBoolean();
+
+	/** The executor refilling the pool. */
+	private ExecutorService refillExecutor;
+
+	/**
+	 * Reads the configuration and starts filling the pool.
+	 */
+	@PostConstruct
+	public void init() {
+		enabled = env.getProperty(VID_POOL_ENABLED, Boolean.class, Boolean.FALSE);
+		if (enabled) {
+			int size = env.getProperty(VID_POOL_SIZE, Integer.class, DEFAULT_SIZE);
+			lowWatermark = Math.min(env.getProperty(VID_POOL_LOW_WATERMARK, Integer.class, DEFAULT_LOW_WATERMARK),
+					size);
+			vids = new LinkedBlockingQueue<>(size);
+			refillExecutor = Executors.newSingleThreadExecutor(task -> {
+				Thread thread = new Thread(task, "idrepo-vid-pool");
+				thread.setDaemon(true);
+				return thread;
+			});
+			refill();
+		}
+	}
+
+	/**
+	 * Stops refilling the pool.
+	 */
+	@PreDestroy
+	public void destroy() {
+		if (Objects.nonNull(refillExecutor)) {
+			refillExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Gets a VID which is not issued yet, from the pool if it holds one, or else
+	 * from the VID generator.
+	 *
+	 * @return the vid
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	public String getVid() throws IdRepoAppException {
+		if (!enabled) {
+			return fetchVid(false);
+		}
+		String vid = vids.poll();
+		if (vids.size() < lowWatermark) {
+			refill();
+		}
+		return Objects.nonNull(vid) ? vid : fetchVid(false);
+	}
+
+	/**
+	 * Gets the number of VIDs in the pool.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return enabled ? vids.size() : 0;
+	}
+
+	/**
+	 * Submits a refill of the pool, unless one is already submitted or running.
+	 */
+	private void refill() {
+		if (refilling.compareAndSet(false, true)) {
+			try {
+				refillExecutor.execute(this::fill);
+			} catch (RejectedExecutionException e) {
+				refilling.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Fetches VIDs from the VID generator under the token of the service until
+	 * the pool is full. Only this thread adds to the pool, so a fetched VID is
+	 * always added.
+	 */
+	private void fill() {
+		try {
+			while (vids.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+				vids.add(fetchVid(true));
+			}
+			mosipLogger.debug(IdRepoSecurityManager.getUser(), VID_POOL, "fill", "pool filled with " + vids.size());
+		} catch (IdRepoAppException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_POOL, "fill",
+					"refill stopped with " + vids.size() + " VIDs pooled - " + e.getErrorText());
+		} catch (AuthenticationException e) {
+			tokenProvider.invalidate();
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_POOL, "fill",
+					"refill stopped with " + vids.size() + " VIDs pooled - service token rejected");
+		} catch (IdRepoAppUncheckedException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_POOL, "fill",
+					"refill stopped with " + vids.size() + " VIDs pooled - " + e.getErrorText());
+		} finally {
+			refilling.set(false);
+		}
+	}
+
+	/**
+	 * Fetches a VID from the VID generator.
+	 *
+	 * @param asService whether to fetch under the token of the service, rather
+	 *                  than the token of the caller
+	 * @return the vid
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private String fetchVid(boolean asService) throws IdRepoAppException {
+		try {
+			RestRequestDTO request = restBuilder.buildRequest(RestServicesConstants.VID_GENERATOR_SERVICE, null,
+					ResponseWrapper.class);
+			ResponseWrapper response = restHelper.requestSync(asService ? tokenProvider.authenticate(request) : request);
+			String vid = ((Map<String, String>) response.getResponse()).get(VID);
+			if (StringUtils.isBlank(vid)) {
+				throw new IdRepoAppException(VID_GENERATION_FAILED);
+			}
+			return vid;
+		} catch (IdRepoDataValidationException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_POOL, "fetchVid", "\n" + e.getMessage());
+			throw new IdRepoAppException(INVALID_INPUT_PARAMETER.getErrorCode(), e.getErrorText());
+		} catch (RestServiceException e) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_POOL, "fetchVid", e.getErrorText());
+			throw new IdRepoAppException(VID_GENERATION_FAILED);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package io.mosip.idrepository.vid.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import io.mosip.idrepository.vid.entity.UinStatus;
+
+/**
+ * The Repository for UinStatus Entity.
+ */
+public interface UinStatusRepo extends JpaRepository<UinStatus, String> {
+
+	/**
+	 * Stores the status of the UIN if the UIN has no status yet, or if its status
+	 * was last stored before the cutoff. The time the status was set is kept, so
+	 * that any status published later is applied. A status stored after the
+	 * cutoff, such as one published meanwhile, is left as it is.
+	 *
+	 * @param uinHash       the uin hash
+	 * @param statusCode    the status code
+	 * @param updatedBy     the updated by
+	 * @param updatedDTimes the updated time
+	 * @param cutoff        the time before which a stored status is replaced
+	 * @return the number of rows stored, 0 if the stored status is kept
+	 */
+	@Modifying
+	@Query(value = "insert into idmap.uin_status as s (uin_hash, status_code, upd_by, upd_dtimes) "
+			+ "values (:uinHash, :statusCode, :updatedBy, :updatedDTimes) "
+			+ "on conflict (uin_hash) do update set status_code = excluded.status_code, "
+			+ "upd_by = excluded.upd_by, upd_dtimes = excluded.upd_dtimes "
+			+ "where s.upd_dtimes is null or s.upd_dtimes < :cutoff", nativeQuery = true)
+	int refreshStatus(@Param("uinHash") String uinHash, @Param("statusCode") String statusCode,
+			@Param("updatedBy") String updatedBy, @Param("updatedDTimes") LocalDateTime updatedDTimes,
+			@Param("cutoff") LocalDateTime cutoff);
+}
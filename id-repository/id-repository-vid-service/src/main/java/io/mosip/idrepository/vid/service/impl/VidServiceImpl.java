@@ -19,7 +19,6 @@ import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.INVALID_V
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.NO_RECORD_FOUND;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.UIN_HASH_MISMATCH;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.UIN_RETRIEVAL_FAILED;
-import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.VID_GENERATION_FAILED;
 import static io.mosip.idrepository.core.constant.IdRepoErrorConstants.VID_POLICY_FAILED;
 
 import java.security.MessageDigest;
@@ -72,14 +71,17 @@ import io.mosip.idrepository.core.exception.IdRepoAppUncheckedException;
 import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
 import io.mosip.idrepository.core.exception.RestServiceException;
 import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.helper.SaltCache;
+import io.mosip.idrepository.core.helper.VidUinCache;
 import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.core.spi.ReplicaDataSourceResolver;
 import io.mosip.idrepository.core.spi.VidService;
 import io.mosip.idrepository.core.util.TokenIDGenerator;
 import io.mosip.idrepository.vid.entity.Vid;
+import io.mosip.idrepository.vid.helper.UinStatusProjection;
+import io.mosip.idrepository.vid.helper.VidPool;
 import io.mosip.idrepository.vid.provider.VidPolicyProvider;
-import io.mosip.idrepository.vid.repository.UinEncryptSaltRepo;
-import io.mosip.idrepository.vid.repository.UinHashSaltRepo;
 import io.mosip.idrepository.vid.repository.VidRepo;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.exception.ServiceError;
@@ -120,9 +122,6 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 
 	private static final String REVOKED = "REVOKED";
 
-	/** The Constant VID. */
-	private static final String VID = "vid";
-
 	/** The Constant REACTIVATE. */
 	private static final String REACTIVATE = "reactivate";
 
@@ -176,13 +175,13 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 	@Autowired
 	private IdRepoSecurityManager securityManager;
 
-	/** The Uin Hash Salt Repo. */
-	@Autowired
-	private UinHashSaltRepo uinHashSaltRepo;
+	/** The Uin Hash Salt Cache. */
+	@Resource
+	private SaltCache uinHashSaltCache;
 
-	/** The Uin Encrypt Salt Repo. */
-	@Autowired
-	private UinEncryptSaltRepo uinEncryptSaltRepo;
+	/** The Uin Encrypt Salt Cache. */
+	@Resource
+	private SaltCache uinEncryptSaltCache;
 
 	/** The id. */
 	@Resource
@@ -209,6 +208,18 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 	@Autowired
 	private TokenIDGenerator tokenIDGenerator;
 
+	/** The uin status projection. */
+	@Autowired
+	private UinStatusProjection uinStatusProjection;
+
+	/** The vid pool. */
+	@Autowired
+	private VidPool vidPool;
+
+	/** The vid resolution cache. */
+	@Resource
+	private VidUinCache vidResolutionCache;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -245,14 +256,13 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 	 *             the id repo app exception
 	 */
 	private Vid generateVid(String uin, String vidType) throws IdRepoAppException {
-		checkUinStatus(uin);
 		Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
 		int modResult = (int) (Long.parseLong(uin) % moduloValue);
-		String encryptSalt = uinEncryptSaltRepo.retrieveSaltById(modResult);
-		String hashSalt = uinHashSaltRepo.retrieveSaltById(modResult);
-		String uinToEncrypt = modResult + SPLITTER + uin + SPLITTER + encryptSalt;
 		String uinHash = String.valueOf(modResult) + SPLITTER
-				+ securityManager.hashwithSalt(uin.getBytes(), CryptoUtil.decodeBase64(hashSalt));
+				+ securityManager.hashwithSalt(uin.getBytes(), uinHashSaltCache.getDecodedSalt(modResult));
+		checkUinStatus(uin, uinHash);
+		String encryptSalt = uinEncryptSaltCache.getSalt(modResult);
+		String uinToEncrypt = modResult + SPLITTER + uin + SPLITTER + encryptSalt;
 		LocalDateTime currentTime = DateUtils.getUTCCurrentDateTime();
 		List<Vid> vidDetails = vidRepo.findByUinHashAndStatusCodeAndVidTypeCodeAndExpiryDTimesAfter(uinHash,
 				env.getProperty(VID_ACTIVE_STATUS), vidType, currentTime);
@@ -261,7 +271,7 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 		if (Objects.isNull(vidDetails) || vidDetails.isEmpty() || vidDetails.size() < policy.getAllowedInstances()) {
 			String vidRefId = UUIDUtils
 					.getUUID(UUIDUtils.NAMESPACE_OID, uin + SPLITTER + DateUtils.getUTCCurrentDateTime()).toString();
-			Vid vidEntity = new Vid(vidRefId, generateVid(), uinHash, uinToEncrypt, vidType, currentTime,
+			Vid vidEntity = new Vid(vidRefId, vidPool.getVid(), uinHash, uinToEncrypt, vidType, currentTime,
 					Objects.nonNull(policy.getValidForInMinutes())
 							? DateUtils.getUTCCurrentDateTime().plusMinutes(policy.getValidForInMinutes())
 							: LocalDateTime.MAX.withYear(9999),
@@ -271,6 +281,8 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 			// onFlushDirty call in the interceptor resulting in inconsistently encrypted
 			// UIN value in VID entity
 			notify(uin, env.getProperty(VID_ACTIVE_STATUS), Collections.singletonList(createVidInfo(vidEntity, getIdHashAndAttributes(vidEntity.getVid()))), false);
+			ReplicaDataSourceResolver.recordWrite(vidEntity.getVid());
+			ReplicaDataSourceResolver.recordWrite(uinHash);
 			return vidRepo.save(vidEntity);
 		} else if (vidDetails.size() == policy.getAllowedInstances() && policy.getAutoRestoreAllowed()) {
 			Vid vidObject = vidDetails.get(0);
@@ -280,6 +292,8 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 			vidObject.setUpdatedDTimes(DateUtils.getUTCCurrentDateTime());
 			vidObject.setUin(uinToEncrypt);
 			vidRepo.saveAndFlush(vidObject);
+			ReplicaDataSourceResolver.recordWrite(vidObject.getVid());
+			vidResolutionCache.invalidate(vidObject.getVid());
 			// Get the salted ID Hash before modifiying the vid entity, otherwise result in
 			// onFlushDirty call in the interceptor resulting in inconsistently encrypted
 			// UIN value in VID entity
@@ -293,48 +307,55 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 	}
 
 	/**
-	 * Generate vid.
+	 * Check if the uin is active or not. If not, Exception will be thrown. The
+	 * status is read from the UIN status projection, or fetched from Id Repository
+	 * identity service and stored in the projection if the projection does not
+	 * hold a recent status of the uin.
 	 *
-	 * @return the vid
+	 * @param uin
+	 *            the uin
+	 * @param uinHash
+	 *            the uin hash
 	 * @throws IdRepoAppException
 	 *             the id repo app exception
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private String generateVid() throws IdRepoAppException {
-		try {
-			ResponseWrapper response = restHelper.requestSync(
-					restBuilder.buildRequest(RestServicesConstants.VID_GENERATOR_SERVICE, null, ResponseWrapper.class));
-			return ((Map<String, String>) response.getResponse()).get(VID);
-		} catch (IdRepoDataValidationException e) {
-			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_VID_SERVICE, "generateVID",
-					"\n" + e.getMessage());
-			throw new IdRepoAppException(INVALID_INPUT_PARAMETER.getErrorCode(), e.getErrorText());
-		} catch (RestServiceException e) {
-			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_VID_SERVICE, CREATE_VID, e.getErrorText());
-			throw new IdRepoAppException(VID_GENERATION_FAILED);
+	private void checkUinStatus(String uin, String uinHash) throws IdRepoAppException {
+		Optional<String> uinStatus = uinStatusProjection.getStatus(uinHash);
+		String status;
+		if (uinStatus.isPresent()) {
+			status = uinStatus.get();
+		} else {
+			status = retrieveUinStatus(uin);
+			try {
+				uinStatusProjection.refresh(uinHash, status);
+			} catch (DataAccessException | TransactionException e) {
+				mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_VID_SERVICE, "checkUinStatus",
+						"\n" + e.getMessage());
+			}
+		}
+		if (!status.equals(env.getProperty(ACTIVE_STATUS))) {
+			throw new IdRepoAppException(INVALID_UIN.getErrorCode(),
+					String.format(INVALID_UIN.getErrorMessage(), status));
 		}
 	}
 
 	/**
 	 * Fetch details of the provided uin from Id Repository identity service and
-	 * check if the uin is active or not. If not, Exception will be thrown.
+	 * return the status of the uin.
 	 *
 	 * @param uin
 	 *            the uin
+	 * @return the uin status
 	 * @throws IdRepoAppException
 	 *             the id repo app exception
 	 */
-	private void checkUinStatus(String uin) throws IdRepoAppException {
+	private String retrieveUinStatus(String uin) throws IdRepoAppException {
 		try {
 			RestRequestDTO request = restBuilder.buildRequest(RestServicesConstants.IDREPO_IDENTITY_SERVICE, null,
 					IdResponseDTO.class);
 			request.setPathVariables(Collections.singletonMap("uin", uin));
 			IdResponseDTO identityResponse = restHelper.requestSync(request);
-			String uinStatus = identityResponse.getResponse().getStatus();
-			if (!uinStatus.equals(env.getProperty(ACTIVE_STATUS))) {
-				throw new IdRepoAppException(INVALID_UIN.getErrorCode(),
-						String.format(INVALID_UIN.getErrorMessage(), uinStatus));
-			}
+			return identityResponse.getResponse().getStatus();
 		} catch (RestServiceException e) {
 			mosipLogger.error(IdRepoSecurityManager.getUser(), ID_REPO_VID_SERVICE, "checkUinStatus",
 					"\n" + e.getMessage());
@@ -365,15 +386,26 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 	 * io.mosip.idrepository.core.spi.VidService#retrieveUinByVid(java.lang.String)
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public ResponseWrapper<VidResponseDTO> retrieveUinByVid(String vid) throws IdRepoAppException {
 		try {
+			Optional<String> cachedUin = vidResolutionCache.getUin(vid);
+			if (cachedUin.isPresent()) {
+				VidResponseDTO resDTO = new VidResponseDTO();
+				resDTO.setUin(cachedUin.get());
+				return buildResponse(resDTO, id.get("read"));
+			}
+			long cacheVersion = vidResolutionCache.version();
+			ReplicaDataSourceResolver.setReadKey(vid);
 			Vid vidObject = retrieveVidEntity(vid);
 			if (vidObject != null) {
 				String decryptedUin = decryptUin(vidObject.getUin(), vidObject.getUinHash());
 				List<String> uinList = Arrays.asList(decryptedUin.split(SPLITTER));
 				checkExpiry(vidObject.getExpiryDTimes());
 				checkStatus(vidObject.getStatusCode());
-				checkUinStatus(uinList.get(1));
+				checkUinStatus(uinList.get(1), vidObject.getUinHash());
+				vidResolutionCache.put(vid, uinList.get(1), vidObject.getUinHash(), vidObject.getExpiryDTimes(),
+						cacheVersion);
 				VidResponseDTO resDTO = new VidResponseDTO();
 				resDTO.setUin(uinList.get(1));
 				return buildResponse(resDTO, id.get("read"));
@@ -400,13 +432,14 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 	 * io.mosip.idrepository.core.spi.VidService#retrieveUinByVid(java.lang.String)
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public VidsInfosDTO retrieveVidsByUin(String uin) throws IdRepoAppException {
 		try {
 			Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
 			int modResult = (int) (Long.parseLong(uin) % moduloValue);
-			String hashSalt = uinHashSaltRepo.retrieveSaltById(modResult);
 			String uinHash = String.valueOf(modResult) + SPLITTER
-					+ securityManager.hashwithSalt(uin.getBytes(), CryptoUtil.decodeBase64(hashSalt));
+					+ securityManager.hashwithSalt(uin.getBytes(), uinHashSaltCache.getDecodedSalt(modResult));
+			ReplicaDataSourceResolver.setReadKey(uinHash);
 			List<Vid> vidList = vidRepo.findByUinHashAndStatusCodeAndExpiryDTimesAfter(uinHash,
 					env.getProperty(VID_ACTIVE_STATUS), DateUtils.getUTCCurrentDateTime());
 			// Get the salted ID Hash before modifiying the vid entity, otherwise result in
@@ -490,6 +523,9 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 			vidObject.setUpdatedDTimes(DateUtils.getUTCCurrentDateTime());
 			vidObject.setUin(decryptedUin);
 			vidRepo.saveAndFlush(vidObject);
+			ReplicaDataSourceResolver.recordWrite(vidObject.getVid());
+			ReplicaDataSourceResolver.recordWrite(vidObject.getUinHash());
+			vidResolutionCache.invalidate(vidObject.getVid());
 			VidInfoDTO vidInfo = createVidInfo(vidObject, idHashAndAttributes);
 			notify(decryptedUin, vidStatus, Collections.singletonList(vidInfo), true);
 		}
@@ -587,9 +623,9 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 	private ResponseWrapper<VidResponseDTO> applyVIDStatus(String uin, String status, String idType,
 			String vidStatusToRetrieveVIDList) throws IdRepoAppException {
 		Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
-		String hashSalt = uinHashSaltRepo.retrieveSaltById((int) (Long.parseLong(uin) % moduloValue));
-		String uinHash = String.valueOf((Long.parseLong(uin) % moduloValue)) + SPLITTER
-				+ securityManager.hashwithSalt(uin.getBytes(), CryptoUtil.decodeBase64(hashSalt));
+		int modResult = (int) (Long.parseLong(uin) % moduloValue);
+		String uinHash = String.valueOf(modResult) + SPLITTER
+				+ securityManager.hashwithSalt(uin.getBytes(), uinHashSaltCache.getDecodedSalt(modResult));
 		List<Vid> vidList = vidRepo.findByUinHashAndStatusCodeAndExpiryDTimesAfter(uinHash, vidStatusToRetrieveVIDList,
 				DateUtils.getUTCCurrentDateTime());
 		if (!vidList.isEmpty()) {
@@ -609,6 +645,9 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 			});
 			
 			vidRepo.saveAll(vidList);
+			vidList.forEach(vid -> ReplicaDataSourceResolver.recordWrite(vid.getVid()));
+			ReplicaDataSourceResolver.recordWrite(uinHash);
+			vidResolutionCache.invalidateUinHashes(Collections.singleton(uinHash));
 			if (idType.contentEquals(DEACTIVATE)) {
 				notify(uin, status, vidInfos, true);
 			} else {
@@ -710,17 +749,16 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 	 */
 	private String decryptUin(String uin, String uinHash) throws IdRepoAppException {
 		List<String> uinDetails = Arrays.stream(uin.split(SPLITTER)).collect(Collectors.toList());
-		String decryptSalt = uinEncryptSaltRepo.retrieveSaltById(Integer.parseInt(uinDetails.get(0)));
-		String hashSalt = uinHashSaltRepo.retrieveSaltById(Integer.parseInt(uinDetails.get(0)));
+		int saltId = Integer.parseInt(uinDetails.get(0));
 		String encryptedUin = uin.substring(uinDetails.get(0).length() + 1, uin.length());
 		String decryptedUin = new String(securityManager.decryptWithSalt(CryptoUtil.decodeBase64(encryptedUin),
-				CryptoUtil.decodeBase64(decryptSalt)));
+				uinEncryptSaltCache.getDecodedSalt(saltId)));
 		String uinHashWithSalt = uinDetails.get(0) + SPLITTER
-				+ securityManager.hashwithSalt(decryptedUin.getBytes(), CryptoUtil.decodeBase64(hashSalt));
+				+ securityManager.hashwithSalt(decryptedUin.getBytes(), uinHashSaltCache.getDecodedSalt(saltId));
 		if (!MessageDigest.isEqual(uinHashWithSalt.getBytes(), uinHash.getBytes())) {
 			throw new IdRepoAppUncheckedException(UIN_HASH_MISMATCH);
 		}
-		return uinDetails.get(0) + SPLITTER + decryptedUin + SPLITTER + decryptSalt;
+		return uinDetails.get(0) + SPLITTER + decryptedUin + SPLITTER + uinEncryptSaltCache.getSalt(saltId);
 	}
 
 	/**
@@ -831,8 +869,8 @@ public class VidServiceImpl implements VidService<VidRequestDTO, ResponseWrapper
 		Map<String, String> hashWithAttributes = new HashMap<>();
 		Integer moduloValue = env.getProperty(MODULO_VALUE, Integer.class);
 		int modResult = (int) (Long.parseLong(id) % moduloValue);
-		String hashSalt = uinHashSaltRepo.retrieveSaltById(modResult);
-		String hash = securityManager.hashwithSalt(id.getBytes(), hashSalt.getBytes());
+		String hashSalt = uinHashSaltCache.getSalt(modResult);
+		String hash = securityManager.hashwithSalt(id.getBytes(), uinHashSaltCache.getSaltBytes(modResult));
 		hashWithAttributes.put(ID_HASH, hash);
 		hashWithAttributes.put(MODULO, String.valueOf(modResult));
 		hashWithAttributes.put(SALT, hashSalt);
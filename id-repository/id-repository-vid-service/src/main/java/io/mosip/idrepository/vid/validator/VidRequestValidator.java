@@ -15,7 +15,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
 
+import io.mosip.idrepository.core.dto.UinStatusDTO;
 import io.mosip.idrepository.core.dto.VidRequestDTO;
+import io.mosip.idrepository.core.exception.IdRepoAppException;
 import io.mosip.idrepository.core.logger.IdRepoLogger;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
 import io.mosip.idrepository.core.validator.BaseIdRepoValidator;
@@ -65,6 +67,9 @@ public class VidRequestValidator extends BaseIdRepoValidator implements Validato
 	/** The Constant UIN. */
 	private static final String UIN = "UIN";
 
+	/** The Constant UIN_STATUS_FIELD. */
+	private static final String UIN_STATUS_FIELD = "status";
+
 	/** The policy provider. */
 	@Autowired
 	private VidPolicyProvider policyProvider;
@@ -211,4 +216,31 @@ public class VidRequestValidator extends BaseIdRepoValidator implements Validato
 		vidValidator.validateId(vid);
 	}
 
+	/**
+	 * This method will validate the UIN statuses published by the identity
+	 * service.
+	 *
+	 * @param statuses the statuses
+	 * @throws IdRepoAppException the id repo app exception
+	 */
+	public void validateUinStatuses(List<UinStatusDTO> statuses) throws IdRepoAppException {
+		if (Objects.isNull(statuses) || statuses.isEmpty()) {
+			mosipLogger.error(IdRepoSecurityManager.getUser(), VID_REQUEST_VALIDATOR, "validateUinStatuses",
+					"\n" + "request is null");
+			throw new IdRepoAppException(MISSING_INPUT_PARAMETER.getErrorCode(),
+					String.format(MISSING_INPUT_PARAMETER.getErrorMessage(), REQUEST));
+		}
+		for (UinStatusDTO status : statuses) {
+			if (Objects.isNull(status) || Objects.isNull(status.getUin())) {
+				throw new IdRepoAppException(MISSING_INPUT_PARAMETER.getErrorCode(),
+						String.format(MISSING_INPUT_PARAMETER.getErrorMessage(), UIN));
+			}
+			uinValidator.validateId(status.getUin());
+			if (Objects.isNull(status.getStatus()) || status.getStatus().isEmpty()) {
+				throw new IdRepoAppException(MISSING_INPUT_PARAMETER.getErrorCode(),
+						String.format(MISSING_INPUT_PARAMETER.getErrorMessage(), UIN_STATUS_FIELD));
+			}
+		}
+	}
+
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package io.mosip.idrepository.vid.controller;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -34,11 +37,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
 import io.mosip.idrepository.core.dto.IDAEventsDTO;
+import io.mosip.idrepository.core.dto.UinStatusDTO;
 import io.mosip.idrepository.core.dto.VidRequestDTO;
 import io.mosip.idrepository.core.dto.VidResponseDTO;
 import io.mosip.idrepository.core.exception.IdRepoAppException;
 import io.mosip.idrepository.core.helper.AuditHelper;
 import io.mosip.idrepository.core.spi.VidService;
+import io.mosip.idrepository.vid.helper.UinStatusProjection;
 import io.mosip.idrepository.vid.validator.VidRequestValidator;
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseWrapper;
@@ -85,6 +90,9 @@ public class VidControllerTest {
 	@Mock
 	private AuditHelper auditHelper;
 
+	@Mock
+	private UinStatusProjection uinStatusProjection;
+
 	@Before
 	public void before() {
 		ReflectionTestUtils.setField(controller, "validator", vidValidator);
@@ -422,4 +430,33 @@ public class VidControllerTest {
 		}
 	}
 
+	@Test
+	public void testUpdateUinStatus() throws IdRepoAppException {
+		List<UinStatusDTO> statuses = Collections.singletonList(new UinStatusDTO("2953190571", "ACTIVATED", null));
+		RequestWrapper<List<UinStatusDTO>> request = new RequestWrapper<>();
+		request.setRequest(statuses);
+		when(uinStatusProjection.update(statuses)).thenReturn(1);
+		ResponseEntity<ResponseWrapper<Integer>> responseEntity = controller.updateUinStatus(request);
+		assertEquals(Integer.valueOf(1), responseEntity.getBody().getResponse());
+		assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+	}
+
+	@Test
+	public void testUpdateUinStatusInvalidUin() throws IdRepoAppException {
+		List<UinStatusDTO> statuses = Collections.singletonList(new UinStatusDTO("1234", "ACTIVATED", null));
+		RequestWrapper<List<UinStatusDTO>> request = new RequestWrapper<>();
+		request.setRequest(statuses);
+		Mockito.doThrow(new InvalidIDException(IdRepoErrorConstants.INVALID_INPUT_PARAMETER.getErrorCode(),
+				String.format(IdRepoErrorConstants.INVALID_INPUT_PARAMETER.getErrorMessage(), UIN)))
+				.when(vidValidator).validateUinStatuses(statuses);
+		try {
+			controller.updateUinStatus(request);
+			fail();
+		} catch (IdRepoAppException e) {
+			assertEquals(IdRepoErrorConstants.INVALID_INPUT_PARAMETER.getErrorCode(), e.getErrorCode());
+			assertEquals(String.format(IdRepoErrorConstants.INVALID_INPUT_PARAMETER.getErrorMessage(), UIN),
+					e.getErrorText());
+		}
+		Mockito.verifyZeroInteractions(uinStatusProjection);
+	}
 }
\ No newline at end of file
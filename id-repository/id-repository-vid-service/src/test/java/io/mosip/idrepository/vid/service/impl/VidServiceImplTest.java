@@ -1,6 +1,9 @@
 package io.mosip.idrepository.vid.service.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -8,6 +11,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -50,8 +54,12 @@ import io.mosip.idrepository.core.exception.IdRepoAppUncheckedException;
 import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
 import io.mosip.idrepository.core.exception.RestServiceException;
 import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.helper.SaltCache;
+import io.mosip.idrepository.core.helper.VidUinCache;
 import io.mosip.idrepository.core.security.IdRepoSecurityManager;
 import io.mosip.idrepository.vid.entity.Vid;
+import io.mosip.idrepository.vid.helper.UinStatusProjection;
+import io.mosip.idrepository.vid.helper.VidPool;
 import io.mosip.idrepository.vid.provider.VidPolicyProvider;
 import io.mosip.idrepository.vid.repository.UinEncryptSaltRepo;
 import io.mosip.idrepository.vid.repository.UinHashSaltRepo;
@@ -108,6 +116,9 @@ public class VidServiceImplTest {
 	@Mock
 	private UinEncryptSaltRepo uinEncryptSaltRepo;
 
+	@Mock
+	private UinStatusProjection uinStatusProjection;
+
 	private Map<String, String> id;
 
 	public void setId(Map<String, String> id) {
@@ -119,6 +130,15 @@ public class VidServiceImplTest {
 		ReflectionTestUtils.setField(service, "env", environment);
 		ReflectionTestUtils.setField(restHelper, "mapper", mapper);
 		ReflectionTestUtils.setField(service, "id", id);
+		ReflectionTestUtils.setField(service, "uinHashSaltCache",
+				new SaltCache("uinHashSalt", Collections::emptyMap, uinHashSaltRepo::retrieveSaltById));
+		ReflectionTestUtils.setField(service, "uinEncryptSaltCache",
+				new SaltCache("uinEncryptSalt", Collections::emptyMap, uinEncryptSaltRepo::retrieveSaltById));
+		VidPool vidPool = new VidPool();
+		ReflectionTestUtils.setField(vidPool, "restBuilder", restBuilder);
+		ReflectionTestUtils.setField(vidPool, "restHelper", restHelper);
+		ReflectionTestUtils.setField(service, "vidPool", vidPool);
+		ReflectionTestUtils.setField(service, "vidResolutionCache", new VidUinCache("vidResolution", false, 0, 0));
 	}
 
 	@Test
@@ -294,6 +314,26 @@ public class VidServiceImplTest {
 			assertEquals(String.format(IdRepoErrorConstants.INVALID_UIN.getErrorMessage(), "DEACTIVATED"),
 					e.getErrorText());
 		}
+		verify(uinStatusProjection).refresh(Mockito.any(), Mockito.eq("DEACTIVATED"));
+	}
+
+	@Test
+	public void testCreateVidUinNotActiveInProjection() throws IdRepoAppException, IdRepoDataValidationException,
+			RestServiceException {
+		when(uinStatusProjection.getStatus(Mockito.any())).thenReturn(Optional.of("DEACTIVATED"));
+		when(uinHashSaltRepo.retrieveSaltById(Mockito.anyInt())).thenReturn("AG7JQI1HwFp_cI_DcdAQ9A");
+		VidRequestDTO request = new VidRequestDTO();
+		request.setUin("2953190571");
+		try {
+			service.generateVid(request);
+			fail();
+		} catch (IdRepoAppException e) {
+			assertEquals(IdRepoErrorConstants.INVALID_UIN.getErrorCode(), e.getErrorCode());
+			assertEquals(String.format(IdRepoErrorConstants.INVALID_UIN.getErrorMessage(), "DEACTIVATED"),
+					e.getErrorText());
+		}
+		verify(restBuilder, never()).buildRequest(Mockito.eq(RestServicesConstants.IDREPO_IDENTITY_SERVICE),
+				Mockito.any(), Mockito.any(Class.class));
 	}
 
 	@Test
@@ -0,0 +1,155 @@
+package io.mosip.idrepository.vid.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.idrepository.core.dto.UinStatusDTO;
+import io.mosip.idrepository.core.helper.SaltCache;
+import io.mosip.idrepository.core.helper.VidUinCache;
+import io.mosip.idrepository.core.security.IdRepoSecurityManager;
+import io.mosip.idrepository.vid.entity.UinStatus;
+import io.mosip.idrepository.vid.helper.UinStatusProjection;
+import io.mosip.idrepository.vid.repository.UinStatusRepo;
+import io.mosip.kernel.core.util.DateUtils;
+
+public class UinStatusProjectionTest {
+
+	private static final String UIN = "2953190571";
+
+	private static final String UIN_HASH = "571_2953190571";
+
+	private static final LocalDateTime STATUS_TIME = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+	private UinStatusProjection projection;
+
+	private UinStatusRepo uinStatusRepo;
+
+	private MockEnvironment env;
+
+	private VidUinCache vidResolutionCache = new VidUinCache("vidResolution", true, 10, 60000);
+
+	@Before
+	public void before() {
+		projection = new UinStatusProjection();
+		uinStatusRepo = Mockito.mock(UinStatusRepo.class);
+		IdRepoSecurityManager securityManager = Mockito.mock(IdRepoSecurityManager.class);
+		when(securityManager.hashwithSalt(Mockito.any(), Mockito.any()))
+				.thenAnswer(invocation -> new String((byte[]) invocation.getArguments()[0]));
+		env = new MockEnvironment().withProperty("mosip.idrepo.modulo-value", "1000")
+				.withProperty("mosip.idrepo.vid.uin-status.projection.enabled", "true");
+		ReflectionTestUtils.setField(projection, "env", env);
+		ReflectionTestUtils.setField(projection, "uinStatusRepo", uinStatusRepo);
+		ReflectionTestUtils.setField(projection, "securityManager", securityManager);
+		ReflectionTestUtils.setField(projection, "uinHashSaltCache",
+				new SaltCache("uinHashSalt", Collections::emptyMap, id -> "AG7JQI1HwFp_cI_DcdAQ9A"));
+		ReflectionTestUtils.setField(projection, "vidResolutionCache", vidResolutionCache);
+		projection.init();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<UinStatus> update(UinStatusDTO... statuses) {
+		projection.update(Arrays.asList(statuses));
+		ArgumentCaptor<List<UinStatus>> saved = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(uinStatusRepo).saveAll(saved.capture());
+		return saved.getValue();
+	}
+
+	@Test
+	public void testGetStatus() {
+		when(uinStatusRepo.findById(UIN_HASH)).thenReturn(Optional
+				.of(new UinStatus(UIN_HASH, "ACTIVATED", STATUS_TIME, null, DateUtils.getUTCCurrentDateTime())));
+		assertEquals(Optional.of("ACTIVATED"), projection.getStatus(UIN_HASH));
+		assertFalse(projection.getStatus("1_1").isPresent());
+	}
+
+	@Test
+	public void testGetStatusExpired() {
+		when(uinStatusRepo.findById(UIN_HASH)).thenReturn(Optional.of(new UinStatus(UIN_HASH, "ACTIVATED",
+				STATUS_TIME, null, DateUtils.getUTCCurrentDateTime().minusSeconds(301))));
+		assertFalse(projection.getStatus(UIN_HASH).isPresent());
+	}
+
+	@Test
+	public void testRefreshStoresOnlyStatusOlderThanMaxAge() {
+		when(uinStatusRepo.refreshStatus(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(1);
+		projection.refresh(UIN_HASH, "BLOCKED");
+		ArgumentCaptor<LocalDateTime> updatedDTimes = ArgumentCaptor.forClass(LocalDateTime.class);
+		ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+		Mockito.verify(uinStatusRepo).refreshStatus(Mockito.eq(UIN_HASH), Mockito.eq("BLOCKED"), Mockito.any(),
+				updatedDTimes.capture(), cutoff.capture());
+		assertEquals(updatedDTimes.getValue().minusSeconds(300), cutoff.getValue());
+		Mockito.verify(uinStatusRepo, Mockito.never()).findById(Mockito.any());
+		Mockito.verify(uinStatusRepo, Mockito.never()).save(Mockito.any());
+	}
+
+	@Test
+	public void testRefreshDisabled() {
+		env.setProperty("mosip.idrepo.vid.uin-status.projection.enabled", "false");
+		projection.init();
+		projection.refresh(UIN_HASH, "ACTIVATED");
+		Mockito.verifyZeroInteractions(uinStatusRepo);
+	}
+
+	@Test
+	public void testGetStatusDisabled() {
+		env.setProperty("mosip.idrepo.vid.uin-status.projection.enabled", "false");
+		projection.init();
+		assertFalse(projection.getStatus(UIN_HASH).isPresent());
+		Mockito.verifyZeroInteractions(uinStatusRepo);
+	}
+
+	@Test
+	public void testUpdateNewUin() {
+		List<UinStatus> saved = update(new UinStatusDTO(UIN, "ACTIVATED", STATUS_TIME));
+		assertEquals(1, saved.size());
+		assertEquals(UIN_HASH, saved.get(0).getUinHash());
+		assertEquals("ACTIVATED", saved.get(0).getStatusCode());
+		assertEquals(STATUS_TIME, saved.get(0).getStatusDTimes());
+	}
+
+	@Test
+	public void testUpdateLatestOfBatch() {
+		List<UinStatus> saved = update(new UinStatusDTO(UIN, "BLOCKED", STATUS_TIME.plusMinutes(1)),
+				new UinStatusDTO(UIN, "ACTIVATED", STATUS_TIME));
+		assertEquals(1, saved.size());
+		assertEquals("BLOCKED", saved.get(0).getStatusCode());
+	}
+
+	@Test
+	public void testUpdateOlderStatusIgnored() {
+		when(uinStatusRepo.findAllById(Mockito.any())).thenReturn(
+				Collections.singletonList(new UinStatus(UIN_HASH, "BLOCKED", STATUS_TIME.plusMinutes(1), null, null)));
+		assertEquals(0, update(new UinStatusDTO(UIN, "ACTIVATED", STATUS_TIME)).size());
+	}
+
+	@Test
+	public void testUpdateNewerStatus() {
+		when(uinStatusRepo.findAllById(Mockito.any()))
+				.thenReturn(Collections.singletonList(new UinStatus(UIN_HASH, "ACTIVATED", STATUS_TIME, null, null)));
+		List<UinStatus> saved = update(new UinStatusDTO(UIN, "BLOCKED", STATUS_TIME.plusMinutes(1)));
+		assertEquals(1, saved.size());
+		assertEquals("BLOCKED", saved.get(0).getStatusCode());
+	}
+
+	@Test
+	public void testUpdateInvalidatesResolvedVids() {
+		vidResolutionCache.put("5213485213456732", UIN, UIN_HASH, null, vidResolutionCache.version());
+		update(new UinStatusDTO(UIN, "BLOCKED", STATUS_TIME));
+		assertFalse(vidResolutionCache.getUin("5213485213456732").isPresent());
+	}
+}
@@ -0,0 +1,163 @@
+package io.mosip.idrepository.vid.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.idrepository.core.builder.RestRequestBuilder;
+import io.mosip.idrepository.core.constant.IdRepoErrorConstants;
+import io.mosip.idrepository.core.dto.RestRequestDTO;
+import io.mosip.idrepository.core.exception.IdRepoAppException;
+import io.mosip.idrepository.core.exception.IdRepoDataValidationException;
+import io.mosip.idrepository.core.exception.RestServiceException;
+import io.mosip.idrepository.core.helper.RestHelper;
+import io.mosip.idrepository.core.helper.ServiceTokenProvider;
+import io.mosip.idrepository.vid.helper.VidPool;
+import io.mosip.kernel.core.http.ResponseWrapper;
+
+public class VidPoolTest {
+
+	private VidPool vidPool;
+
+	private RestHelper restHelper;
+
+	private ServiceTokenProvider tokenProvider;
+
+	private MockEnvironment env;
+
+	private AtomicInteger generatedVids = new AtomicInteger();
+
+	private List<String> requestTokens = new CopyOnWriteArrayList<>();
+
+	@Before
+	public void before() throws IdRepoDataValidationException, RestServiceException {
+		vidPool = new VidPool();
+		restHelper = Mockito.mock(RestHelper.class);
+		tokenProvider = Mockito.mock(ServiceTokenProvider.class);
+		RestRequestBuilder restBuilder = Mockito.mock(RestRequestBuilder.class);
+		when(restBuilder.buildRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+			RestRequestDTO request = new RestRequestDTO();
+			request.setHeaders(new HttpHeaders());
+			return request;
+		});
+		when(tokenProvider.authenticate(Mockito.any())).thenAnswer(invocation -> {
+			RestRequestDTO request = invocation.getArgument(0);
+			request.getHeaders().set(HttpHeaders.COOKIE, "Authorization=service-token");
+			return request;
+		});
+		when(restHelper.requestSync(Mockito.any())).thenAnswer(invocation -> {
+			requestTokens.add(String.valueOf(
+					invocation.<RestRequestDTO>getArgument(0).getHeaders().getFirst(HttpHeaders.COOKIE)));
+			ResponseWrapper<Object> response = new ResponseWrapper<>();
+			response.setResponse(
+					Collections.singletonMap("vid", String.valueOf(5000000000L + generatedVids.incrementAndGet())));
+			return response;
+		});
+		env = new MockEnvironment().withProperty("mosip.idrepo.vid.pool.enabled", "true")
+				.withProperty("mosip.idrepo.vid.pool.size", "10")
+				.withProperty("mosip.idrepo.vid.pool.low-watermark", "5");
+		ReflectionTestUtils.setField(vidPool, "env", env);
+		ReflectionTestUtils.setField(vidPool, "restHelper", restHelper);
+		ReflectionTestUtils.setField(vidPool, "restBuilder", restBuilder);
+		ReflectionTestUtils.setField(vidPool, "tokenProvider", tokenProvider);
+	}
+
+	@After
+	public void after() {
+		vidPool.destroy();
+		SecurityContextHolder.clearContext();
+	}
+
+	private void awaitSize(int size) throws InterruptedException {
+		for (int i = 0; i < 500 && vidPool.size() != size; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(size, vidPool.size());
+	}
+
+	@Test
+	public void testGetVidDisabled() throws IdRepoAppException, RestServiceException {
+		env.setProperty("mosip.idrepo.vid.pool.enabled", "false");
+		vidPool.init();
+		assertEquals("5000000001", vidPool.getVid());
+		assertEquals("5000000002", vidPool.getVid());
+		verify(restHelper, times(2)).requestSync(Mockito.any());
+		verify(tokenProvider, never()).authenticate(Mockito.any());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testFillWithoutSecurityContextUsesServiceToken() throws InterruptedException {
+		vidPool.init();
+		awaitSize(10);
+		((Collection<String>) ReflectionTestUtils.getField(vidPool, "vids")).clear();
+		requestTokens.clear();
+		SecurityContextHolder.clearContext();
+		ReflectionTestUtils.invokeMethod(vidPool, "fill");
+		assertEquals(10, vidPool.size());
+		assertEquals(10, requestTokens.size());
+		assertTrue(requestTokens.stream().allMatch("Authorization=service-token"::equals));
+	}
+
+	@Test
+	public void testGetVidFromPool() throws IdRepoAppException, InterruptedException {
+		vidPool.init();
+		awaitSize(10);
+		Set<String> vids = new HashSet<>();
+		for (int i = 0; i < 5; i++) {
+			vids.add(vidPool.getVid());
+		}
+		assertEquals(5, vids.size());
+		assertEquals(10, generatedVids.get());
+	}
+
+	@Test
+	public void testRefillBelowLowWatermark() throws IdRepoAppException, InterruptedException {
+		vidPool.init();
+		awaitSize(10);
+		Set<String> vids = new HashSet<>();
+		for (int i = 0; i < 6; i++) {
+			vids.add(vidPool.getVid());
+		}
+		awaitSize(10);
+		assertEquals(16, generatedVids.get());
+		for (int i = 0; i < 10; i++) {
+			assertTrue(vids.add(vidPool.getVid()));
+		}
+	}
+
+	@Test
+	public void testGetVidGeneratorFailed() throws RestServiceException, InterruptedException {
+		when(restHelper.requestSync(Mockito.any()))
+				.thenThrow(new RestServiceException(IdRepoErrorConstants.CLIENT_ERROR));
+		vidPool.init();
+		awaitSize(0);
+		try {
+			vidPool.getVid();
+			fail();
+		} catch (IdRepoAppException e) {
+			assertEquals(IdRepoErrorConstants.VID_GENERATION_FAILED.getErrorCode(), e.getErrorCode());
+		}
+	}
+}